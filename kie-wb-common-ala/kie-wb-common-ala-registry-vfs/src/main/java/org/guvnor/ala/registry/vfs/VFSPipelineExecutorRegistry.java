@@ -88,7 +88,7 @@ public class VFSPipelineExecutorRegistry
         checkNotNull("taskId",
                      taskId);
         final Path path = buildTracePath(taskId);
-        registryHelper.deleteBatch(path);
+        registryHelper.deleteEntry(path);
         super.deregister(taskId);
     }
 
@@ -17,8 +17,15 @@
 package org.guvnor.ala.registry.vfs;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -27,6 +34,7 @@ import org.apache.commons.codec.digest.DigestUtils;
 import org.guvnor.ala.marshalling.Marshaller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.IOException;
 import org.uberfire.java.nio.file.DirectoryStream;
@@ -35,6 +43,12 @@ import org.uberfire.java.nio.file.Path;
 
 /**
  * Helper class for implementing the different VFS based registries that are backed by using VFSRegistryEntry elements.
+ * <p>
+ * The registries keep their elements in memory, so stored and deleted entries are written behind: the changes are
+ * coalesced by path and written FLUSH_INTERVAL_PROPERTY_NAME milliseconds after the first of them in a single batch,
+ * i.e. a single commit, per file system, by a task of the managed executor service. Values are marshalled when stored,
+ * so only the writes are deferred. Entries that can't be written are retried with the next flushes, up to
+ * MAX_WRITE_ATTEMPTS times. A flush interval of 0 writes every change immediately.
  */
 @ApplicationScoped
 public class VFSRegistryHelper {
@@ -43,6 +57,12 @@ public class VFSRegistryHelper {
 
     protected static final String PROVISIONING_PATH = "provisioning";
 
+    protected static final String FLUSH_INTERVAL_PROPERTY_NAME = "org.guvnor.ala.registry.vfs.flushInterval";
+
+    protected static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    protected static final int MAX_WRITE_ATTEMPTS = 5;
+
     private static final Logger logger = LoggerFactory.getLogger(VFSRegistryHelper.class);
 
     private VFSMarshallerRegistry marshallerRegistry;
@@ -55,6 +75,23 @@ public class VFSRegistryHelper {
 
     private VFSRegistryEntryMarshaller entryMarshaller;
 
+    /**
+     * Entries pending to be written by path.
+     */
+    private final Map<Path, PendingEntry> pendingEntries = new LinkedHashMap<>();
+
+    private final Object flushLock = new Object();
+
+    private long flushInterval;
+
+    private ExecutorService executorService;
+
+    /**
+     * Whether a flush task was submitted to the executor service and has not started flushing yet, guarded by
+     * pendingEntries.
+     */
+    private boolean flushScheduled = false;
+
     public VFSRegistryHelper() {
         //Empty constructor for Weld proxying
     }
@@ -62,10 +99,12 @@ public class VFSRegistryHelper {
     @Inject
     public VFSRegistryHelper(final VFSMarshallerRegistry marshallerRegistry,
                              final @Named("ioStrategy") IOService ioService,
-                             final @Named("systemFS") FileSystem fileSystem) {
+                             final @Named("systemFS") FileSystem fileSystem,
+                             final @Managed ExecutorService executorService) {
         this.marshallerRegistry = marshallerRegistry;
         this.ioService = ioService;
         this.fileSystem = fileSystem;
+        this.executorService = executorService;
     }
 
     @PostConstruct
@@ -80,6 +119,23 @@ public class VFSRegistryHelper {
                          e);
         }
         entryMarshaller = (VFSRegistryEntryMarshaller) marshallerRegistry.get(VFSRegistryEntry.class);
+        initFlushInterval();
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        flush();
+    }
+
+    private void initFlushInterval() {
+        try {
+            flushInterval = Long.parseLong(System.getProperty(FLUSH_INTERVAL_PROPERTY_NAME,
+                                                              Long.toString(DEFAULT_FLUSH_INTERVAL)));
+        } catch (NumberFormatException e) {
+            flushInterval = DEFAULT_FLUSH_INTERVAL;
+            logger.error(FLUSH_INTERVAL_PROPERTY_NAME + " property was set to a wrong value, by default value will be used: " + DEFAULT_FLUSH_INTERVAL,
+                         e);
+        }
     }
 
     /**
@@ -108,10 +164,11 @@ public class VFSRegistryHelper {
     }
 
     /**
-     * Stores an Object marshalled value as a VFSRegistryEntry in the target path.
+     * Stores an Object marshalled value as a VFSRegistryEntry in the target path. The value is marshalled right away
+     * and written with the next flush, replacing any other value pending to be written in the same path.
      * @param path a path for storing the generated VFSRegistryEntry.
      * @param value an object value to marshall and store.
-     * @throws Exception exceptions might be thrown in cases of filesystem or marshalling errors.
+     * @throws Exception exceptions might be thrown in cases of marshalling errors.
      */
     public void storeEntry(final Path path,
                            final Object value) throws Exception {
@@ -119,13 +176,147 @@ public class VFSRegistryHelper {
         if (marshaller == null) {
             throw new Exception("No marshaller was found for class: " + value.getClass());
         }
-        @SuppressWarnings("unchecked")
+        enqueue(path,
+                new PendingEntry(marshal(value,
+                                         marshaller)));
+    }
+
+    /**
+     * Deletes the VFSRegistryEntry stored in the target path with the next flush.
+     * @param path a path to delete.
+     */
+    public void deleteEntry(final Path path) {
+        enqueue(path,
+                new PendingEntry(null));
+    }
+
+    private void enqueue(final Path path,
+                         final PendingEntry entry) {
+        synchronized (pendingEntries) {
+            //re-inserted, so the changes are written in the order they were last made.
+            pendingEntries.remove(path);
+            pendingEntries.put(path,
+                               entry);
+        }
+        if (flushInterval <= 0) {
+            flush();
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        synchronized (pendingEntries) {
+            if (flushScheduled || pendingEntries.isEmpty()) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        try {
+            executorService.execute(this::delayedFlush);
+        } catch (RejectedExecutionException e) {
+            synchronized (pendingEntries) {
+                flushScheduled = false;
+            }
+            flush();
+        }
+    }
+
+    private void delayedFlush() {
+        try {
+            Thread.sleep(flushInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (pendingEntries) {
+            flushScheduled = false;
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("An error was produced while flushing the registry entries.",
+                         e);
+        }
+        if (!Thread.currentThread().isInterrupted()) {
+            //the entries that couldn't be written are retried.
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Writes all the pending entry changes, using a single batch per file system.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            final Map<Path, PendingEntry> entries;
+            synchronized (pendingEntries) {
+                if (pendingEntries.isEmpty()) {
+                    return;
+                }
+                entries = new LinkedHashMap<>(pendingEntries);
+                pendingEntries.clear();
+            }
+
+            final Map<FileSystem, Map<Path, String>> contents = new LinkedHashMap<>();
+            entries.forEach((path, entry) -> contents.computeIfAbsent(path.getFileSystem(),
+                                                                      fileSystem -> new LinkedHashMap<>()).put(path,
+                                                                                                               entry.content));
+
+            contents.forEach((fileSystem, fileSystemContents) -> {
+                try {
+                    ioService.startBatch(fileSystem);
+                } catch (Exception e) {
+                    logger.error("An error was produced while starting the registry entries batch, they will be written with the next flush.",
+                                 e);
+                    fileSystemContents.keySet().forEach(path -> retain(path,
+                                                                       entries.get(path)));
+                    return;
+                }
+                try {
+                    fileSystemContents.forEach((path, content) -> {
+                        if (content == null) {
+                            ioService.deleteIfExists(path);
+                        } else {
+                            ioService.write(path,
+                                            content);
+                        }
+                    });
+                } catch (Exception e) {
+                    logger.error("An error was produced while writing the registry entries, they will be written with the next flush.",
+                                 e);
+                    fileSystemContents.keySet().forEach(path -> retain(path,
+                                                                       entries.get(path)));
+                } finally {
+                    ioService.endBatch();
+                }
+            });
+        }
+    }
+
+    /**
+     * Puts back an entry that couldn't be written, unless a newer change for the same path is already pending or the
+     * entry failed to be written too many times.
+     */
+    private void retain(final Path path,
+                        final PendingEntry entry) {
+        if (++entry.attempts >= MAX_WRITE_ATTEMPTS) {
+            logger.error("Entry for path: " + path + " couldn't be written after " + entry.attempts + " attempts, it will be discarded.");
+            return;
+        }
+        synchronized (pendingEntries) {
+            if (!pendingEntries.containsKey(path)) {
+                pendingEntries.put(path,
+                                   entry);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String marshal(final Object value,
+                           final Marshaller marshaller) throws Exception {
         final String marshalledValue = marshaller.marshal(value);
-        final VFSRegistryEntry entry = new VFSRegistryEntry(value.getClass().getName(),
-                                                            marshalledValue);
-        final String content = entryMarshaller.marshal(entry);
-        writeBatch(path,
-                   content);
+        return entryMarshaller.marshal(new VFSRegistryEntry(value.getClass().getName(),
+                                                            marshalledValue));
     }
 
     /**
@@ -145,21 +336,40 @@ public class VFSRegistryHelper {
     }
 
     /**
-     * Reads a list of entries from a path by filtering the files by a given filter.
+     * Reads a list of entries from a path by filtering the files by a given filter. The entries are read in parallel
+     * by the managed executor service.
      * @param rootPath a path for looking of the VFSRegistryEntry files.
      * @param filter a filter for selecting the files.
-     * @return a list with the unmarshalled objects backed by the filtered files.
+     * @return a list with the unmarshalled objects backed by the filtered files, in directory order.
      */
     public List<Object> readEntries(final Path rootPath,
                                     final DirectoryStream.Filter<Path> filter) throws Exception {
-        final List<Object> entries = new ArrayList<>();
+        final List<Path> paths = new ArrayList<>();
         for (Path path : ioService.newDirectoryStream(rootPath,
                                                       filter)) {
+            paths.add(path);
+        }
+        final List<CompletableFuture<Object>> futureEntries = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            futureEntries.add(CompletableFuture.supplyAsync(() -> {
+                                                                try {
+                                                                    return readEntry(path);
+                                                                } catch (Exception e) {
+                                                                    throw new CompletionException(e);
+                                                                }
+                                                            },
+                                                            executorService));
+        }
+        final List<Object> entries = new ArrayList<>(paths.size());
+        for (int i = 0; i < paths.size(); i++) {
             try {
-                entries.add(readEntry(path));
-            } catch (Exception e) {
-                logger.error("An error was produced while processing entry for path: " + path,
-                             e);
+                entries.add(futureEntries.get(i).join());
+            } catch (CompletionException e) {
+                logger.error("An error was produced while processing entry for path: " + paths.get(i),
+                             e.getCause());
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
                 throw e;
             }
         }
@@ -173,8 +383,8 @@ public class VFSRegistryHelper {
      */
     public void writeBatch(final Path path,
                            final String content) {
+        ioService.startBatch(path.getFileSystem());
         try {
-            ioService.startBatch(path.getFileSystem());
             ioService.write(path,
                             content);
         } finally {
@@ -187,14 +397,31 @@ public class VFSRegistryHelper {
      * @param path a path to delete.
      */
     public void deleteBatch(final Path path) {
+        ioService.startBatch(path.getFileSystem());
         try {
-            ioService.startBatch(path.getFileSystem());
             ioService.deleteIfExists(path);
         } finally {
             ioService.endBatch();
         }
     }
 
+    private static class PendingEntry {
+
+        /**
+         * The marshalled entry, null stands for a pending delete.
+         */
+        private final String content;
+
+        /**
+         * The failed attempts to write the entry, only accessed by the flushing thread.
+         */
+        private int attempts = 0;
+
+        private PendingEntry(final String content) {
+            this.content = content;
+        }
+    }
+
     /**
      * Helper class for filtering files by a suffix. Files that ends with the expected suffix verifies the filter.
      */
@@ -133,7 +133,7 @@ public class VFSPipelineExecutorRegistryTest
 
         pipelineExecutorRegistry.deregister(PIPELINE_EXECUTION_ID);
         verify(registryHelper,
-               times(1)).deleteBatch(traceTargetPath);
+               times(1)).deleteEntry(traceTargetPath);
         result = pipelineExecutorRegistry.getExecutorTrace(PIPELINE_EXECUTION_ID);
         assertNull(result);
     }
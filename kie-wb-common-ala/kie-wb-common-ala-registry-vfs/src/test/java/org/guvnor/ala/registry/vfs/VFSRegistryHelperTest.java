@@ -18,9 +18,12 @@ package org.guvnor.ala.registry.vfs;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.codec.digest.DigestUtils;
 import org.guvnor.ala.marshalling.Marshaller;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -64,6 +67,8 @@ public class VFSRegistryHelperTest {
 
     private VFSRegistryHelper registryHelper;
 
+    private ExecutorService executorService;
+
     @Mock
     private Path provisioningPath;
 
@@ -105,15 +110,23 @@ public class VFSRegistryHelperTest {
 
         when(marshallerRegistry.get(VFSRegistryEntry.class)).thenReturn(entryMarshaller);
 
+        executorService = Executors.newFixedThreadPool(2);
         registryHelper = spy(new VFSRegistryHelper(marshallerRegistry,
                                                    ioService,
-                                                   fileSystem));
+                                                   fileSystem,
+                                                   executorService));
         registryHelper.init();
         verify(fileSystem,
                times(1)).getPath(PROVISIONING_BRANCH,
                                  PROVISIONING_PATH);
     }
 
+    @After
+    public void tearDown() {
+        registryHelper.destroy();
+        executorService.shutdownNow();
+    }
+
     @Test
     public void testEnsureDirectoryWhenDirectoryExists() {
         Path path = mock(Path.class);
@@ -178,14 +191,120 @@ public class VFSRegistryHelperTest {
                                                               MARSHALLED_VALUE);
         when(entryMarshaller.marshal(expectedEntry)).thenReturn(MARSHALLED_ENTRY);
 
+        when(path.getFileSystem()).thenReturn(fileSystem);
+
         registryHelper.storeEntry(path,
                                   value);
+        registryHelper.flush();
 
         verify(marshallerRegistry,
                times(1)).get(value.getClass());
-        verify(registryHelper,
-               times(1)).writeBatch(path,
-                                    MARSHALLED_ENTRY);
+        verify(ioService,
+               times(1)).startBatch(fileSystem);
+        verify(ioService,
+               times(1)).write(path,
+                               MARSHALLED_ENTRY);
+        verify(ioService,
+               times(1)).endBatch();
+    }
+
+    @Test
+    public void testPendingChangesAreCoalesced() throws Exception {
+        when(marshallerRegistry.get(value.getClass())).thenReturn(marshaller);
+        when(marshaller.marshal(value)).thenReturn(MARSHALLED_VALUE);
+        when(entryMarshaller.marshal(new VFSRegistryEntry(value.getClass().getName(),
+                                                          MARSHALLED_VALUE))).thenReturn(MARSHALLED_ENTRY);
+        when(path.getFileSystem()).thenReturn(fileSystem);
+        final Path deletedPath = mock(Path.class);
+        when(deletedPath.getFileSystem()).thenReturn(fileSystem);
+
+        registryHelper.storeEntry(path,
+                                  value);
+        registryHelper.storeEntry(path,
+                                  value);
+        registryHelper.storeEntry(deletedPath,
+                                  value);
+        registryHelper.deleteEntry(deletedPath);
+        registryHelper.flush();
+        registryHelper.flush();
+
+        verify(marshaller,
+               times(3)).marshal(value);
+        verify(ioService,
+               times(1)).startBatch(fileSystem);
+        verify(ioService,
+               times(1)).write(path,
+                               MARSHALLED_ENTRY);
+        verify(ioService,
+               never()).write(eq(deletedPath),
+                              anyString());
+        verify(ioService,
+               times(1)).deleteIfExists(deletedPath);
+        verify(ioService,
+               times(1)).endBatch();
+    }
+
+    @Test
+    public void testStoreEntryWhenMarshallingFails() throws Exception {
+        when(marshallerRegistry.get(value.getClass())).thenReturn(marshaller);
+        when(marshaller.marshal(value)).thenThrow(new RuntimeException(ERROR_MESSAGE));
+        expectedException.expectMessage(ERROR_MESSAGE);
+
+        try {
+            registryHelper.storeEntry(path,
+                                      value);
+        } finally {
+            registryHelper.flush();
+            verify(ioService,
+                   never()).startBatch(any(FileSystem.class));
+        }
+    }
+
+    @Test
+    public void testEntryThatFailsToBeWrittenIsDiscarded() throws Exception {
+        when(marshallerRegistry.get(value.getClass())).thenReturn(marshaller);
+        when(marshaller.marshal(value)).thenReturn(MARSHALLED_VALUE);
+        when(entryMarshaller.marshal(new VFSRegistryEntry(value.getClass().getName(),
+                                                          MARSHALLED_VALUE))).thenReturn(MARSHALLED_ENTRY);
+        when(path.getFileSystem()).thenReturn(fileSystem);
+        doThrow(new RuntimeException(ERROR_MESSAGE)).when(ioService).write(path,
+                                                                           MARSHALLED_ENTRY);
+
+        registryHelper.storeEntry(path,
+                                  value);
+        for (int i = 0; i < VFSRegistryHelper.MAX_WRITE_ATTEMPTS + 1; i++) {
+            registryHelper.flush();
+        }
+
+        verify(ioService,
+               times(VFSRegistryHelper.MAX_WRITE_ATTEMPTS)).write(path,
+                                                                  MARSHALLED_ENTRY);
+    }
+
+    @Test
+    public void testBatchThatFailsToStartIsNotEnded() throws Exception {
+        when(marshallerRegistry.get(value.getClass())).thenReturn(marshaller);
+        when(marshaller.marshal(value)).thenReturn(MARSHALLED_VALUE);
+        when(entryMarshaller.marshal(new VFSRegistryEntry(value.getClass().getName(),
+                                                          MARSHALLED_VALUE))).thenReturn(MARSHALLED_ENTRY);
+        when(path.getFileSystem()).thenReturn(fileSystem);
+        doThrow(new RuntimeException(ERROR_MESSAGE)).doNothing().when(ioService).startBatch(fileSystem);
+
+        registryHelper.storeEntry(path,
+                                  value);
+        registryHelper.flush();
+        verify(ioService,
+               never()).write(path,
+                              MARSHALLED_ENTRY);
+        verify(ioService,
+               never()).endBatch();
+
+        registryHelper.flush();
+        verify(ioService,
+               times(1)).write(path,
+                               MARSHALLED_ENTRY);
+        verify(ioService,
+               times(1)).endBatch();
     }
 
     @Test
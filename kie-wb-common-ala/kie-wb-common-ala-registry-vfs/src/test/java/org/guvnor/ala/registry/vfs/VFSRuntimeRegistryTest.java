@@ -147,7 +147,7 @@ public class VFSRuntimeRegistryTest
 
         runtimeRegistry.deregisterProvider(provider);
         verify(registryHelper,
-               times(1)).deleteBatch(providerTargetPath);
+               times(1)).deleteEntry(providerTargetPath);
         verifyProviderIsNotRegistered(provider);
     }
 
@@ -160,7 +160,7 @@ public class VFSRuntimeRegistryTest
 
         runtimeRegistry.deregisterProvider(provider.getId());
         verify(registryHelper,
-               times(1)).deleteBatch(providerTargetPath);
+               times(1)).deleteEntry(providerTargetPath);
         verifyProviderIsNotRegistered(provider);
     }
 
@@ -210,7 +210,7 @@ public class VFSRuntimeRegistryTest
 
         runtimeRegistry.deregisterRuntime(runtime);
         verify(registryHelper,
-               times(1)).deleteBatch(runtimeTargetPath);
+               times(1)).deleteEntry(runtimeTargetPath);
         verifyRuntimeIsNotRegistered(runtime);
     }
 
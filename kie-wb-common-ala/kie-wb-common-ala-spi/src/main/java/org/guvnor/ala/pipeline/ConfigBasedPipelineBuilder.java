@@ -16,6 +16,8 @@
 
 package org.guvnor.ala.pipeline;
 
+import java.util.List;
+
 import org.guvnor.ala.config.Config;
 
 /**
@@ -26,6 +28,15 @@ public interface ConfigBasedPipelineBuilder {
     ConfigBasedPipelineBuilder addConfigStage(final String name,
                                               final Config config);
 
+    /**
+     * Adds a stage that is executed once the given stages have finished.
+     * @param dependencies the names of the stages this stage depends on.
+     * @see PipelineConfigStage#getDependencies()
+     */
+    ConfigBasedPipelineBuilder addConfigStage(final String name,
+                                              final Config config,
+                                              final List<String> dependencies);
+
     ConfigBasedPipelineBuilder addConfigStage(final PipelineConfigStage configStage);
 
     ConfigBasedPipeline buildAs(final String name);
@@ -16,10 +16,16 @@
 
 package org.guvnor.ala.pipeline;
 
+import java.util.List;
+
 import org.guvnor.ala.config.Config;
 
 /**
  * Defines a pipeline stage based on a config.
+ * <p>
+ * A stage can optionally declare the names of the stages it depends on. Stages that don't declare their dependencies
+ * depend on the previous stage of the pipeline, so a pipeline where no stage declares them is executed sequentially.
+ * A stage that declares an empty list of dependencies only depends on the pipeline input.
  */
 public class PipelineConfigStage {
 
@@ -27,12 +33,22 @@ public class PipelineConfigStage {
 
     private org.guvnor.ala.config.Config config;
 
+    private List<String> dependencies;
+
     public PipelineConfigStage(String name,
                                Config config) {
         this.name = name;
         this.config = config;
     }
 
+    public PipelineConfigStage(String name,
+                               Config config,
+                               List<String> dependencies) {
+        this.name = name;
+        this.config = config;
+        this.dependencies = dependencies;
+    }
+
     public String getName() {
         return name;
     }
@@ -41,11 +57,21 @@ public class PipelineConfigStage {
         return config;
     }
 
+    /**
+     * Get the names of the stages this stage depends on.
+     * @return the names of the stages that must be finished before this stage is executed, or null if the stage
+     * depends on the previous stage of the pipeline.
+     */
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
     @Override
     public String toString() {
         return "PipelineConfigStage{" +
                 "name='" + name + '\'' +
                 ", config=" + config +
+                ", dependencies=" + dependencies +
                 '}';
     }
 }
@@ -45,6 +45,16 @@ public final class PipelineFactory {
                 return this;
             }
 
+            @Override
+            public ConfigBasedPipelineBuilder addConfigStage(final String name,
+                                                             final Config config,
+                                                             final List<String> dependencies) {
+                configStages.add(new PipelineConfigStage(name,
+                                                         config,
+                                                         dependencies));
+                return this;
+            }
+
             @Override
             public ConfigBasedPipelineBuilder addConfigStage(final PipelineConfigStage configStage) {
                 configStages.add(configStage);
@@ -94,6 +94,16 @@ public class PipelineContext {
         lastOutput = Optional.of(initialInput);
     }
 
+    /**
+     * Finishes the process with the values and the output of a pipeline whose stages were executed out of order.
+     */
+    void finish(final Map<String, Object> values,
+                final Object output) {
+        this.values.putAll(values);
+        lastOutput = Optional.of(output);
+        currentStage = Optional.empty();
+    }
+
     boolean isStarted() {
         return currentStage.isPresent() || lastOutput.isPresent();
     }
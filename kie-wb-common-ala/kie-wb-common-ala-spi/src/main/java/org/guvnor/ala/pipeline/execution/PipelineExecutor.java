@@ -15,11 +15,20 @@
  */
 package org.guvnor.ala.pipeline.execution;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 
 import org.guvnor.ala.pipeline.BiFunctionConfigExecutor;
@@ -42,6 +51,10 @@ import static org.guvnor.ala.util.VariableInterpolation.interpolate;
 /*
  * Represent the Pipeline Executor which will be in charge of executing a pipeline instance 
  *  by using the Input data provided. After executing the pipeline a Consumer callback will be executed.
+ *
+ * Stages are executed one after another, unless the pipeline config declares the dependencies between its stages.
+ * In that case every stage is executed as soon as the stages it depends on are finished, running up to
+ * maxParallelStages stages at once on the stage executor.
 */
 public class PipelineExecutor {
 
@@ -49,6 +62,10 @@ public class PipelineExecutor {
 
     private final Map<Class, ConfigExecutor> configExecutors = new HashMap<>();
 
+    private Executor stageExecutor;
+
+    private int maxParallelStages = 1;
+
     public PipelineExecutor() {
     }
 
@@ -63,18 +80,38 @@ public class PipelineExecutor {
         init(configExecutors);
     }
 
+    /**
+     * Sets the executor used to run the independent stages of a pipeline in parallel.
+     * @param stageExecutor the executor for running the stages, when null all the stages are executed by the thread
+     * that executes the pipeline.
+     * @param maxParallelStages the maximum number of stages of a pipeline execution that can be running at once.
+     */
+    public void setStageExecutor(final Executor stageExecutor,
+                                 final int maxParallelStages) {
+        this.stageExecutor = stageExecutor;
+        this.maxParallelStages = Math.max(1,
+                                          maxParallelStages);
+    }
+
     public <T> void execute(final Input input,
                             final Pipeline pipeline,
                             final Consumer<T> callback,
                             final PipelineEventListener... eventListeners) {
+        final StageGraph stageGraph = StageGraph.of(pipeline);
         final PipelineContext context = new PipelineContext(pipeline);
         context.start(input);
         context.pushCallback(callback);
         propagateEvent(new BeforePipelineExecutionEvent(context.getExecutionId(),
                                                         pipeline),
                        eventListeners);
-        continuePipeline(context,
-                         eventListeners);
+        if (stageGraph == null) {
+            continuePipeline(context,
+                             eventListeners);
+        } else {
+            new StageGraphExecution(context,
+                                    stageGraph,
+                                    eventListeners).execute();
+        }
         propagateEvent(new AfterPipelineExecutionEvent(context.getExecutionId(),
                                                        pipeline),
                        eventListeners);
@@ -94,26 +131,14 @@ public class PipelineExecutor {
                 stage.execute(newInput,
                               output -> {
 
-                                  final ConfigExecutor executor = resolve(output.getClass());
-                                  if (output instanceof ContextAware) {
-                                      ((ContextAware) output).setContext(Collections.unmodifiableMap(context.getValues()));
-                                  }
-                                  final Object newOutput = interpolate(context.getValues(),
-                                                                       output);
-                                  if (executor == null) {
-                                      throw new RuntimeException("Fail to resolve ConfigExecutor for: " + output.getClass());
-                                  }
-                                  context.getValues().put(executor.inputId(),
-                                                          newOutput);
-                                  if (executor instanceof BiFunctionConfigExecutor) {
-                                      final Optional result = (Optional) ((BiFunctionConfigExecutor) executor).apply(newInput,
-                                                                                                                     newOutput);
-                                      context.pushOutput(executor.outputId(),
-                                                         result.get());
-                                  } else if (executor instanceof FunctionConfigExecutor) {
-                                      final Optional result = (Optional) ((FunctionConfigExecutor) executor).apply(newOutput);
-                                      context.pushOutput(executor.outputId(),
-                                                         result.get());
+                                  final StageOutput stageOutput = applyConfigExecutor(context.getValues(),
+                                                                                      newInput,
+                                                                                      output);
+                                  context.getValues().put(stageOutput.configId,
+                                                          stageOutput.config);
+                                  if (stageOutput.hasResult()) {
+                                      context.pushOutput(stageOutput.resultId,
+                                                         stageOutput.result);
                                   }
 
                                   propagateEvent(new AfterStageExecutionEvent(context.getExecutionId(),
@@ -138,12 +163,57 @@ public class PipelineExecutor {
                 throw exception;
             }
         }
+        applyCallbacks(context);
+    }
+
+    private static void applyCallbacks(final PipelineContext context) {
         final Object output = pollOutput(context);
         while (context.hasCallbacks()) {
             context.applyCallbackAndPop(output);
         }
     }
 
+    /**
+     * Resolves the ConfigExecutor for the output of a stage and applies it.
+     * @param values the pipeline values the output config is interpolated with.
+     * @param input the input of the stage.
+     * @param output the output of the stage.
+     * @return the interpolated config and the result of the ConfigExecutor, which are not added to the values. When
+     * the ConfigExecutor produces no result the input is passed on, as the next stage gets it when they are executed
+     * sequentially.
+     */
+    private StageOutput applyConfigExecutor(final Map<String, Object> values,
+                                            final Object input,
+                                            final Object output) {
+        final ConfigExecutor executor = resolve(output.getClass());
+        if (output instanceof ContextAware) {
+            ((ContextAware) output).setContext(Collections.unmodifiableMap(values));
+        }
+        final Object newOutput = interpolate(values,
+                                             output);
+        if (executor == null) {
+            throw new RuntimeException("Fail to resolve ConfigExecutor for: " + output.getClass());
+        }
+        if (executor instanceof BiFunctionConfigExecutor) {
+            final Optional result = (Optional) ((BiFunctionConfigExecutor) executor).apply(input,
+                                                                                           newOutput);
+            return new StageOutput(executor.inputId(),
+                                   newOutput,
+                                   executor.outputId(),
+                                   result.get());
+        } else if (executor instanceof FunctionConfigExecutor) {
+            final Optional result = (Optional) ((FunctionConfigExecutor) executor).apply(newOutput);
+            return new StageOutput(executor.inputId(),
+                                   newOutput,
+                                   executor.outputId(),
+                                   result.get());
+        }
+        return new StageOutput(executor.inputId(),
+                               newOutput,
+                               null,
+                               input);
+    }
+
     private ConfigExecutor resolve(final Class<?> clazz) {
         final ConfigExecutor result = configExecutors.get(clazz);
         if (result != null) {
@@ -209,4 +279,262 @@ public class PipelineExecutor {
             eventListener.afterPipelineExecution(afterPipelineExecutionEvent);
         }
     }
-}
\ No newline at end of file
+
+    /*
+     * Executes the stages of a pipeline following the dependencies between them.
+     *
+     * The values a stage sees are the pipeline values before the execution plus the values added by the stages it
+     * depends on, directly or indirectly, applied in pipeline order. The values after the execution are merged the
+     * same way from all the stages. The input of a stage is the output of the last of its dependencies in pipeline
+     * order, or the pipeline input if it has none, and the pipeline output is the output of the last stage. The
+     * results are therefore the same regardless of the order in which the stages finish.
+    */
+    private class StageGraphExecution {
+
+        private final PipelineContext context;
+
+        private final StageGraph stageGraph;
+
+        private final PipelineEventListener[] eventListeners;
+
+        private final Object input;
+
+        private final Map<String, Object> initialValues;
+
+        private final StageOutput[] outputs;
+
+        private final int[] pendingDependencies;
+
+        private final TreeSet<Integer> ready = new TreeSet<>();
+
+        private final BlockingQueue<StageResult> finished = new LinkedBlockingQueue<>();
+
+        private final List<FutureTask<Void>> submitted = new ArrayList<>();
+
+        private final List<StageResult> failures = new ArrayList<>();
+
+        private int running = 0;
+
+        private StageGraphExecution(final PipelineContext context,
+                                    final StageGraph stageGraph,
+                                    final PipelineEventListener... eventListeners) {
+            this.context = context;
+            this.stageGraph = stageGraph;
+            this.eventListeners = eventListeners;
+            this.input = pollOutput(context);
+            this.initialValues = new HashMap<>(context.getValues());
+            this.outputs = new StageOutput[stageGraph.size()];
+            this.pendingDependencies = new int[stageGraph.size()];
+            for (int i = 0; i < stageGraph.size(); i++) {
+                pendingDependencies[i] = stageGraph.getDependencies(i).size();
+                if (pendingDependencies[i] == 0) {
+                    ready.add(i);
+                }
+            }
+        }
+
+        private void execute() {
+            int finishedStages = 0;
+            while (finishedStages < stageGraph.size()) {
+                while (failures.isEmpty() && !ready.isEmpty() && running < maxParallelStages) {
+                    start(ready.pollFirst());
+                }
+                if (running == 0) {
+                    //a stage failed and the stages that were running when it failed are finished.
+                    break;
+                }
+                final StageResult result = awaitStage();
+                running--;
+                finishedStages++;
+                if (result.error != null) {
+                    failures.add(result);
+                } else {
+                    outputs[result.index] = result.output;
+                    for (final int dependent : stageGraph.getDependents(result.index)) {
+                        if (--pendingDependencies[dependent] == 0) {
+                            ready.add(dependent);
+                        }
+                    }
+                }
+            }
+            if (!failures.isEmpty()) {
+                fail();
+            }
+
+            final BitSet stages = new BitSet(stageGraph.size());
+            stages.set(0,
+                       stageGraph.size());
+            context.finish(mergeValues(stages),
+                           stageGraph.size() > 0 ? outputs[stageGraph.size() - 1].result : input);
+            applyCallbacks(context);
+        }
+
+        private void start(final int index) {
+            final List<Integer> dependencies = stageGraph.getDependencies(index);
+            final Object stageInput = dependencies.isEmpty() ? input : outputs[dependencies.get(dependencies.size() - 1)].result;
+            final Map<String, Object> values = mergeValues(stageGraph.getAncestors(index));
+            final FutureTask<Void> task = new FutureTask<>(() -> finished.add(executeStage(index,
+                                                                                           stageInput,
+                                                                                           values)),
+                                                           null);
+            running++;
+            if (stageExecutor != null && maxParallelStages > 1) {
+                submitted.add(task);
+                try {
+                    stageExecutor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    task.run();
+                }
+            } else {
+                task.run();
+            }
+        }
+
+        private StageResult awaitStage() {
+            StageResult result = finished.poll();
+            if (result == null) {
+                //the stages that no executor thread has picked up yet are executed by the pipeline thread, so the
+                //execution can't get stuck when all the executor threads are busy, e.g. executing other pipelines.
+                submitted.removeIf(FutureTask::isDone);
+                for (final FutureTask<Void> task : new ArrayList<>(submitted)) {
+                    task.run();
+                    result = finished.poll();
+                    if (result != null) {
+                        return result;
+                    }
+                }
+            }
+            try {
+                return result != null ? result : finished.take();
+            } catch (InterruptedException e) {
+                submitted.forEach(task -> task.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("The execution of the pipeline was interrupted.",
+                                           e);
+            }
+        }
+
+        private StageResult executeStage(final int index,
+                                         final Object stageInput,
+                                         final Map<String, Object> values) {
+            final Stage<Object, ?> stage = stageGraph.getStage(index);
+            try {
+                notifyListeners(() -> propagateEvent(new BeforeStageExecutionEvent(context.getExecutionId(),
+                                                                                   context.getPipeline(),
+                                                                                   stage),
+                                                     eventListeners));
+                final StageOutput[] stageOutput = new StageOutput[1];
+                stage.execute(stageInput,
+                              output -> {
+                                  stageOutput[0] = applyConfigExecutor(values,
+                                                                       stageInput,
+                                                                       output);
+                                  notifyListeners(() -> propagateEvent(new AfterStageExecutionEvent(context.getExecutionId(),
+                                                                                                    context.getPipeline(),
+                                                                                                    stage),
+                                                                       eventListeners));
+                              });
+                if (stageOutput[0] == null) {
+                    throw new IllegalStateException("The " + stage.getName() + " stage finished with no output.");
+                }
+                return new StageResult(index,
+                                       stageOutput[0],
+                                       null);
+            } catch (final Throwable t) {
+                return new StageResult(index,
+                                       null,
+                                       t);
+            }
+        }
+
+        /**
+         * Listeners are notified of the events of one stage at a time, as they are when the stages are executed
+         * sequentially.
+         */
+        private synchronized void notifyListeners(final Runnable notification) {
+            notification.run();
+        }
+
+        private void fail() {
+            failures.sort((result1, result2) -> Integer.compare(result1.index,
+                                                                result2.index));
+            RuntimeException firstException = null;
+            Stage<Object, ?> firstStage = null;
+            for (final StageResult failure : failures) {
+                final Stage<Object, ?> stage = stageGraph.getStage(failure.index);
+                final RuntimeException exception = new RuntimeException("An error occurred while executing the " + stage.getName() + " stage.",
+                                                                        failure.error);
+                propagateEvent(new OnErrorStageExecutionEvent(context.getExecutionId(),
+                                                              context.getPipeline(),
+                                                              stage,
+                                                              exception),
+                               eventListeners);
+                if (firstException == null) {
+                    firstException = exception;
+                    firstStage = stage;
+                }
+            }
+            propagateEvent(new OnErrorPipelineExecutionEvent(context.getExecutionId(),
+                                                             context.getPipeline(),
+                                                             firstStage,
+                                                             firstException),
+                           eventListeners);
+            throw firstException;
+        }
+
+        private Map<String, Object> mergeValues(final BitSet stages) {
+            final Map<String, Object> values = new HashMap<>(initialValues);
+            for (int i = stages.nextSetBit(0); i >= 0; i = stages.nextSetBit(i + 1)) {
+                values.put(outputs[i].configId,
+                           outputs[i].config);
+                if (outputs[i].hasResult()) {
+                    values.put(outputs[i].resultId,
+                               outputs[i].result);
+                }
+            }
+            return values;
+        }
+    }
+
+    private static class StageOutput {
+
+        private final String configId;
+
+        private final Object config;
+
+        private final String resultId;
+
+        private final Object result;
+
+        private StageOutput(final String configId,
+                            final Object config,
+                            final String resultId,
+                            final Object result) {
+            this.configId = configId;
+            this.config = config;
+            this.resultId = resultId;
+            this.result = result;
+        }
+
+        private boolean hasResult() {
+            return resultId != null;
+        }
+    }
+
+    private static class StageResult {
+
+        private final int index;
+
+        private final StageOutput output;
+
+        private final Throwable error;
+
+        private StageResult(final int index,
+                            final StageOutput output,
+                            final Throwable error) {
+            this.index = index;
+            this.output = output;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.guvnor.ala.pipeline.execution;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.guvnor.ala.pipeline.ConfigBasedPipeline;
+import org.guvnor.ala.pipeline.Pipeline;
+import org.guvnor.ala.pipeline.PipelineConfigStage;
+import org.guvnor.ala.pipeline.Stage;
+
+/*
+ * Represent the dependencies between the stages of a pipeline, as declared by its PipelineConfigStages. Stages are
+ * identified by their position in the pipeline.
+*/
+class StageGraph {
+
+    private final List<Stage> stages;
+
+    private final List<List<Integer>> dependencies = new ArrayList<>();
+
+    private final List<List<Integer>> dependents = new ArrayList<>();
+
+    private final List<BitSet> ancestors = new ArrayList<>();
+
+    private StageGraph(final List<Stage> stages,
+                       final List<PipelineConfigStage> configStages) {
+        this.stages = stages;
+
+        final Map<String, Integer> indexes = new HashMap<>();
+        final Set<String> duplicatedNames = new HashSet<>();
+        for (int i = 0; i < configStages.size(); i++) {
+            if (indexes.putIfAbsent(configStages.get(i).getName(),
+                                    i) != null) {
+                duplicatedNames.add(configStages.get(i).getName());
+            }
+            dependents.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < configStages.size(); i++) {
+            final PipelineConfigStage configStage = configStages.get(i);
+            final List<Integer> stageDependencies = new ArrayList<>();
+            if (configStage.getDependencies() == null) {
+                if (i > 0) {
+                    stageDependencies.add(i - 1);
+                }
+            } else {
+                for (final String dependency : configStage.getDependencies()) {
+                    final Integer index = indexes.get(dependency);
+                    if (index == null) {
+                        throw new IllegalArgumentException("The " + configStage.getName() + " stage depends on the unknown stage: " + dependency);
+                    }
+                    if (duplicatedNames.contains(dependency)) {
+                        throw new IllegalArgumentException("The " + configStage.getName() + " stage depends on the stage: " + dependency +
+                                                                   " but more than one stage has that name.");
+                    }
+                    if (!stageDependencies.contains(index)) {
+                        stageDependencies.add(index);
+                    }
+                }
+                stageDependencies.sort(null);
+            }
+            dependencies.add(stageDependencies);
+            final int stageIndex = i;
+            stageDependencies.forEach(dependency -> dependents.get(dependency).add(stageIndex));
+        }
+        computeAncestors();
+    }
+
+    /**
+     * Builds the stage graph of a pipeline.
+     * @param pipeline the pipeline to build the graph for.
+     * @return the graph of the stages of the pipeline, or null if the pipeline doesn't declare any stage dependencies,
+     * and should therefore be executed sequentially.
+     * @throws IllegalArgumentException if a stage depends on an unknown stage or the dependencies contain a cycle.
+     */
+    static StageGraph of(final Pipeline pipeline) {
+        if (!(pipeline instanceof ConfigBasedPipeline) || ((ConfigBasedPipeline) pipeline).getConfig() == null) {
+            return null;
+        }
+        final List<PipelineConfigStage> configStages = ((ConfigBasedPipeline) pipeline).getConfig().getConfigStages();
+        if (configStages == null || configStages.size() != pipeline.getStages().size() ||
+                configStages.stream().allMatch(configStage -> configStage.getDependencies() == null)) {
+            return null;
+        }
+        return new StageGraph(pipeline.getStages(),
+                              configStages);
+    }
+
+    int size() {
+        return stages.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    Stage<Object, ?> getStage(final int index) {
+        return stages.get(index);
+    }
+
+    /**
+     * @return the stages the given stage directly depends on, in pipeline order.
+     */
+    List<Integer> getDependencies(final int index) {
+        return dependencies.get(index);
+    }
+
+    /**
+     * @return the stages that directly depend on the given stage, in pipeline order.
+     */
+    List<Integer> getDependents(final int index) {
+        return dependents.get(index);
+    }
+
+    /**
+     * @return the stages the given stage directly or indirectly depends on.
+     */
+    BitSet getAncestors(final int index) {
+        return ancestors.get(index);
+    }
+
+    private void computeAncestors() {
+        //Kahn's algorithm: the ancestors of a stage are complete once all its dependencies were visited.
+        final int[] pendingDependencies = new int[size()];
+        final List<Integer> visitable = new ArrayList<>();
+        for (int i = 0; i < size(); i++) {
+            ancestors.add(new BitSet(size()));
+            pendingDependencies[i] = dependencies.get(i).size();
+            if (pendingDependencies[i] == 0) {
+                visitable.add(i);
+            }
+        }
+        int visited = 0;
+        while (!visitable.isEmpty()) {
+            final int index = visitable.remove(0);
+            visited++;
+            for (final int dependency : dependencies.get(index)) {
+                ancestors.get(index).set(dependency);
+                ancestors.get(index).or(ancestors.get(dependency));
+            }
+            for (final int dependent : dependents.get(index)) {
+                if (--pendingDependencies[dependent] == 0) {
+                    visitable.add(dependent);
+                }
+            }
+        }
+        if (visited != size()) {
+            throw new IllegalArgumentException("The stage dependencies of the pipeline contain a cycle.");
+        }
+    }
+}
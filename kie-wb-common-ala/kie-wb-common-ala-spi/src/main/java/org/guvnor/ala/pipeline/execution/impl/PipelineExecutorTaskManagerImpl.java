@@ -62,6 +62,13 @@ public class PipelineExecutorTaskManagerImpl
 
     protected static final String THREAD_POOL_SIZE_PROPERTY_NAME = "org.guvnor.ala.pipeline.execution.threadPoolSize";
 
+    protected static final int DEFAULT_MAX_PARALLEL_STAGES = 4;
+
+    /**
+     * Maximum number of independent stages of a pipeline execution that can run at once on the executor.
+     */
+    protected static final String MAX_PARALLEL_STAGES_PROPERTY_NAME = "org.guvnor.ala.pipeline.execution.maxParallelStages";
+
     protected ExecutorService executor;
 
     protected List<PipelineEventListener> externalListeners;
@@ -163,6 +170,8 @@ public class PipelineExecutorTaskManagerImpl
 
     private void initPipelineExecutor() {
         pipelineExecutor = taskManagerHelper.createPipelineExecutor();
+        pipelineExecutor.setStageExecutor(executor,
+                                          taskManagerHelper.getMaxParallelStages());
     }
 
     private void initLocalListener() {
@@ -249,11 +258,12 @@ public class PipelineExecutorTaskManagerImpl
      * @return the taskId assigned to the running task.
      * @see PipelineExecutorTaskDef
      */
-    private synchronized String executeAsync(final PipelineExecutorTaskDef taskDef) {
+    private String executeAsync(final PipelineExecutorTaskDef taskDef) {
         final PipelineExecutorTaskImpl task = taskManagerHelper.createTask(taskDef);
         storeTaskEntry(TaskEntry.newAsyncEntry(task));
-        startAsyncTask(task);
+        //the scheduled task is registered before it starts, so it can't overwrite the trace of the running task.
         updateExecutorRegistry(task);
+        startAsyncTask(task);
         return task.getId();
     }
 
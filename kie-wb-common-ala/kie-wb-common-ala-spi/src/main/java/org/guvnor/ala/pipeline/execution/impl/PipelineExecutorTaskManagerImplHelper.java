@@ -39,7 +39,9 @@ import org.guvnor.ala.pipeline.execution.PipelineExecutorTaskDef;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.guvnor.ala.pipeline.execution.impl.PipelineExecutorTaskManagerImpl.DEFAULT_MAX_PARALLEL_STAGES;
 import static org.guvnor.ala.pipeline.execution.impl.PipelineExecutorTaskManagerImpl.DEFAULT_THREAD_POOL_SIZE;
+import static org.guvnor.ala.pipeline.execution.impl.PipelineExecutorTaskManagerImpl.MAX_PARALLEL_STAGES_PROPERTY_NAME;
 import static org.guvnor.ala.pipeline.execution.impl.PipelineExecutorTaskManagerImpl.THREAD_POOL_SIZE_PROPERTY_NAME;
 
 /**
@@ -61,28 +63,41 @@ public class PipelineExecutorTaskManagerImplHelper {
     }
 
     public ExecutorService createExecutorService() {
-        final String threadPoolSizeValue = System.getProperties().getProperty(THREAD_POOL_SIZE_PROPERTY_NAME);
-        int threadPoolSize;
-        if (threadPoolSizeValue == null) {
-            threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
-            logger.debug(THREAD_POOL_SIZE_PROPERTY_NAME + " property was not set, by default value will be used: " + DEFAULT_THREAD_POOL_SIZE);
+        return Executors.newFixedThreadPool(getPositiveIntProperty(THREAD_POOL_SIZE_PROPERTY_NAME,
+                                                                   DEFAULT_THREAD_POOL_SIZE));
+    }
+
+    /**
+     * @return the maximum number of stages of a pipeline execution that can be running at once.
+     */
+    public int getMaxParallelStages() {
+        return getPositiveIntProperty(MAX_PARALLEL_STAGES_PROPERTY_NAME,
+                                      DEFAULT_MAX_PARALLEL_STAGES);
+    }
+
+    private static int getPositiveIntProperty(final String propertyName,
+                                              final int defaultValue) {
+        final String propertyValue = System.getProperties().getProperty(propertyName);
+        int value;
+        if (propertyValue == null) {
+            value = defaultValue;
+            logger.debug(propertyName + " property was not set, by default value will be used: " + defaultValue);
         } else {
             try {
-                threadPoolSize = Integer.parseInt(threadPoolSizeValue);
-                if (threadPoolSize <= 0) {
-                    threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
-                    logger.error(THREAD_POOL_SIZE_PROPERTY_NAME + " property must be greater than 0, by default value will be used: " + DEFAULT_THREAD_POOL_SIZE);
+                value = Integer.parseInt(propertyValue);
+                if (value <= 0) {
+                    value = defaultValue;
+                    logger.error(propertyName + " property must be greater than 0, by default value will be used: " + defaultValue);
                 } else {
-                    logger.debug(THREAD_POOL_SIZE_PROPERTY_NAME + " property will be set to: " + threadPoolSize);
+                    logger.debug(propertyName + " property will be set to: " + value);
                 }
             } catch (Exception e) {
-                threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
-                logger.error(THREAD_POOL_SIZE_PROPERTY_NAME + " property was set to a wrong value, by default value will be used: " + DEFAULT_THREAD_POOL_SIZE,
+                value = defaultValue;
+                logger.error(propertyName + " property was set to a wrong value, by default value will be used: " + defaultValue,
                              e);
             }
         }
-
-        return Executors.newFixedThreadPool(threadPoolSize);
+        return value;
     }
 
     public PipelineExecutor createPipelineExecutor() {
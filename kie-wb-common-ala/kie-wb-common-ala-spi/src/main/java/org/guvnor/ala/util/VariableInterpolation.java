@@ -46,8 +46,12 @@ public final class VariableInterpolation {
 
     public static <T> T interpolate(final Map<String, Object> values,
                                     final T object) {
-        interpolator.setDefaultLookup(new MapOfMapStrLookup(values));
-        return proxy(object);
+        //every interpolated object looks its variables up in its own values, pipeline stages can be interpolated
+        //concurrently.
+        final ConfigurationInterpolator valuesInterpolator = new ConfigurationInterpolator();
+        valuesInterpolator.setDefaultLookup(new MapOfMapStrLookup(values));
+        return proxy(object,
+                     new StrSubstitutor(valuesInterpolator));
     }
 
     private static class MapOfMapStrLookup extends StrLookup {
@@ -87,6 +91,12 @@ public final class VariableInterpolation {
     }
 
     public static <T> T proxy(final T instance) {
+        return proxy(instance,
+                     substitutor);
+    }
+
+    private static <T> T proxy(final T instance,
+                               final StrSubstitutor substitutor) {
         try {
             Class<?>[] _interfaces;
             Class<?> currentClass = instance.getClass();
@@ -99,7 +109,8 @@ public final class VariableInterpolation {
                     .subclass(Object.class)
                     .implement(_interfaces)
                     .method(ElementMatchers.any())
-                    .intercept(InvocationHandlerAdapter.of(new InterpolationHandler(instance)))
+                    .intercept(InvocationHandlerAdapter.of(new InterpolationHandler(instance,
+                                                                                    substitutor)))
                     .make()
                     .load(instance.getClass().getClassLoader(),
                           ClassLoadingStrategy.Default.INJECTION)
@@ -119,8 +130,17 @@ public final class VariableInterpolation {
 
         Object object;
 
+        private final StrSubstitutor substitutor;
+
         public InterpolationHandler(final Object object) {
+            this(object,
+                 VariableInterpolation.substitutor);
+        }
+
+        public InterpolationHandler(final Object object,
+                                    final StrSubstitutor substitutor) {
             this.object = object;
+            this.substitutor = substitutor;
         }
 
         @Override
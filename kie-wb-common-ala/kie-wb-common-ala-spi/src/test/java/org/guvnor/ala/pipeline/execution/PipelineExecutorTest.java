@@ -0,0 +1,337 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.guvnor.ala.pipeline.execution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.guvnor.ala.config.Config;
+import org.guvnor.ala.pipeline.BiFunctionConfigExecutor;
+import org.guvnor.ala.pipeline.ConfigBasedPipelineBuilder;
+import org.guvnor.ala.pipeline.ConfigExecutor;
+import org.guvnor.ala.pipeline.Input;
+import org.guvnor.ala.pipeline.Pipeline;
+import org.guvnor.ala.pipeline.PipelineFactory;
+import org.guvnor.ala.pipeline.events.AfterStageExecutionEvent;
+import org.guvnor.ala.pipeline.events.BeforeStageExecutionEvent;
+import org.guvnor.ala.pipeline.events.OnErrorPipelineExecutionEvent;
+import org.guvnor.ala.pipeline.events.OnErrorStageExecutionEvent;
+import org.guvnor.ala.pipeline.events.PipelineEventListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class PipelineExecutorTest {
+
+    private static final String FAILING_STAGE = "failing";
+
+    private static final String NAME = "name";
+
+    private ExecutorService executorService;
+
+    private PipelineExecutor pipelineExecutor;
+
+    private PipelineEventListener listener;
+
+    private CountDownLatch parallelStages;
+
+    private List<String> executedStages;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(2);
+        listener = mock(PipelineEventListener.class);
+        executedStages = Collections.synchronizedList(new ArrayList<>());
+        pipelineExecutor = new PipelineExecutor(Collections.singletonList(new StageConfigExecutor()));
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testStagesWithoutDependenciesAreExecutedSequentially() {
+        final Pipeline pipeline = PipelineFactory.newBuilder()
+                .addConfigStage("a",
+                                stageConfig("a"))
+                .addConfigStage("b",
+                                stageConfig("b"))
+                .addConfigStage("c",
+                                stageConfig("c"))
+                .buildAs("pipeline");
+
+        assertEquals("input->a->b->c",
+                     execute(pipeline));
+        assertEquals(Arrays.asList("a",
+                                   "b",
+                                   "c"),
+                     executedStages);
+    }
+
+    @Test
+    public void testIndependentStagesAreExecutedInParallel() {
+        pipelineExecutor.setStageExecutor(executorService,
+                                          2);
+        parallelStages = new CountDownLatch(2);
+        final Pipeline pipeline = PipelineFactory.newBuilder()
+                .addConfigStage("a",
+                                stageConfig("a"),
+                                Collections.emptyList())
+                .addConfigStage("b",
+                                stageConfig("b"),
+                                Collections.emptyList())
+                .addConfigStage("c",
+                                stageConfig("c"),
+                                Arrays.asList("b",
+                                              "a"))
+                .buildAs("pipeline");
+
+        //a and b wait for each other, so the pipeline only finishes if they run at the same time.
+        assertEquals("input->b->c",
+                     execute(pipeline));
+        assertEquals("c",
+                     executedStages.get(2));
+        verify(listener,
+               times(3)).beforeStageExecution(any(BeforeStageExecutionEvent.class));
+    }
+
+    @Test
+    public void testIndependentStagesWithoutStageExecutor() {
+        final Pipeline pipeline = PipelineFactory.newBuilder()
+                .addConfigStage("a",
+                                stageConfig("a"),
+                                Collections.emptyList())
+                .addConfigStage("b",
+                                stageConfig("b"),
+                                Collections.emptyList())
+                .addConfigStage("c",
+                                stageConfig("c"),
+                                Arrays.asList("a",
+                                              "b"))
+                .buildAs("pipeline");
+
+        assertEquals("input->b->c",
+                     execute(pipeline));
+        assertEquals(Arrays.asList("a",
+                                   "b",
+                                   "c"),
+                     executedStages);
+    }
+
+    @Test
+    public void testStagesWithoutDeclaredDependenciesDependOnThePreviousStage() {
+        pipelineExecutor.setStageExecutor(executorService,
+                                          2);
+        final Pipeline pipeline = PipelineFactory.newBuilder()
+                .addConfigStage("a",
+                                stageConfig("a"),
+                                Collections.emptyList())
+                .addConfigStage("b",
+                                stageConfig("b"))
+                .addConfigStage("c",
+                                stageConfig("c"),
+                                Collections.emptyList())
+                .buildAs("pipeline");
+
+        //c is the last stage, so its output is the pipeline output.
+        assertEquals("input->c",
+                     execute(pipeline));
+        assertTrue(executedStages.indexOf("a") < executedStages.indexOf("b"));
+    }
+
+    @Test
+    public void testStageWithoutResult() {
+        pipelineExecutor = new PipelineExecutor(Arrays.asList(new StageConfigExecutor(),
+                                                              new NotificationConfigExecutor()));
+        pipelineExecutor.setStageExecutor(executorService,
+                                          2);
+        final Pipeline pipeline = PipelineFactory.newBuilder()
+                .addConfigStage("a",
+                                stageConfig("a"),
+                                Collections.emptyList())
+                .addConfigStage("notify",
+                                (NotificationConfig) () -> "notify",
+                                Collections.singletonList("a"))
+                .addConfigStage("c",
+                                stageConfig("c"),
+                                Collections.singletonList("notify"))
+                .buildAs("pipeline");
+
+        //as when the stages are executed sequentially, a stage without result passes its input on.
+        assertEquals("input->a->c",
+                     execute(pipeline));
+        assertEquals(Arrays.asList("a",
+                                   "c"),
+                     executedStages);
+        verify(listener,
+               times(3)).afterStageExecution(any(AfterStageExecutionEvent.class));
+    }
+
+    @Test
+    public void testStageFailure() {
+        pipelineExecutor.setStageExecutor(executorService,
+                                          2);
+        final Pipeline pipeline = PipelineFactory.newBuilder()
+                .addConfigStage("a",
+                                stageConfig("a"),
+                                Collections.emptyList())
+                .addConfigStage(FAILING_STAGE,
+                                stageConfig(FAILING_STAGE),
+                                Collections.emptyList())
+                .addConfigStage("c",
+                                stageConfig("c"),
+                                Arrays.asList("a",
+                                              FAILING_STAGE))
+                .buildAs("pipeline");
+
+        try {
+            execute(pipeline);
+            fail("The pipeline execution should have failed.");
+        } catch (RuntimeException e) {
+            assertEquals("An error occurred while executing the " + FAILING_STAGE + " stage.",
+                         e.getMessage());
+        }
+
+        final ArgumentCaptor<OnErrorStageExecutionEvent> stageErrorCaptor = ArgumentCaptor.forClass(OnErrorStageExecutionEvent.class);
+        verify(listener,
+               times(1)).onStageError(stageErrorCaptor.capture());
+        assertEquals(FAILING_STAGE,
+                     stageErrorCaptor.getValue().getStage().getName());
+        verify(listener,
+               times(1)).onPipelineError(any(OnErrorPipelineExecutionEvent.class));
+        assertFalse(executedStages.contains("c"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDependencyOnUnknownStage() {
+        execute(PipelineFactory.newBuilder()
+                        .addConfigStage("a",
+                                        stageConfig("a"),
+                                        Collections.singletonList("unknown"))
+                        .buildAs("pipeline"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDependencyCycle() {
+        final ConfigBasedPipelineBuilder builder = PipelineFactory.newBuilder()
+                .addConfigStage("a",
+                                stageConfig("a"),
+                                Collections.singletonList("b"))
+                .addConfigStage("b",
+                                stageConfig("b"),
+                                Collections.singletonList("a"));
+        execute(builder.buildAs("pipeline"));
+    }
+
+    private String execute(final Pipeline pipeline) {
+        final Input input = new Input();
+        input.put(NAME,
+                  "input");
+        final Input[] result = new Input[1];
+        pipelineExecutor.execute(input,
+                                 pipeline,
+                                 (Input output) -> result[0] = output,
+                                 listener);
+        return result[0].get(NAME);
+    }
+
+    private static StageConfig stageConfig(final String name) {
+        return () -> name;
+    }
+
+    public interface StageConfig extends Config {
+
+        String getName();
+    }
+
+    public interface NotificationConfig extends Config {
+
+        String getName();
+    }
+
+    /**
+     * A ConfigExecutor that is neither a FunctionConfigExecutor nor a BiFunctionConfigExecutor, so it has no result.
+     */
+    private class NotificationConfigExecutor implements ConfigExecutor {
+
+        @Override
+        public Class<? extends Config> executeFor() {
+            return NotificationConfig.class;
+        }
+
+        @Override
+        public String outputId() {
+            return "notification";
+        }
+    }
+
+    /**
+     * Appends the name of the stage to the name of its input.
+     */
+    private class StageConfigExecutor implements BiFunctionConfigExecutor<Input, StageConfig, Input> {
+
+        @Override
+        public Optional<Input> apply(final Input input,
+                                     final StageConfig config) {
+            if (parallelStages != null && !config.getName().equals("c")) {
+                parallelStages.countDown();
+                try {
+                    assertTrue(parallelStages.await(10,
+                                                    TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            if (FAILING_STAGE.equals(config.getName())) {
+                throw new IllegalStateException("Stage failed");
+            }
+            executedStages.add(config.getName());
+            final Input output = new Input();
+            output.put(NAME,
+                       input.get(NAME) + "->" + config.getName());
+            return Optional.of(output);
+        }
+
+        @Override
+        public Class<? extends Config> executeFor() {
+            return StageConfig.class;
+        }
+
+        @Override
+        public String outputId() {
+            return "stage";
+        }
+
+        @Override
+        public String inputId() {
+            return "stage-config";
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.kie.workbench.common.dmn.api.definition.v1_1.InformationItem;
 import org.kie.workbench.common.dmn.client.commands.VetoExecutionCommand;
 import org.kie.workbench.common.dmn.client.commands.VetoUndoCommand;
 import org.kie.workbench.common.dmn.client.commands.util.CommandUtils;
+import org.kie.workbench.common.dmn.client.commands.util.ExpressionSizeEstimator;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.context.ContextEntryDefaultValueUtilities;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.context.ContextUIModelMapper;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.DMNGridRow;
@@ -34,6 +35,7 @@ import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultB
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
@@ -41,7 +43,8 @@ import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 
 public class AddContextEntryCommand extends AbstractCanvasGraphCommand implements VetoExecutionCommand,
-                                                                                  VetoUndoCommand {
+                                                                                  VetoUndoCommand,
+                                                                                  HasEstimatedSize {
 
     private final Context context;
     private final ContextEntry contextEntry;
@@ -69,6 +72,13 @@ public class AddContextEntryCommand extends AbstractCanvasGraphCommand implement
         this.name = ContextEntryDefaultValueUtilities.getNewContextEntryName(context);
     }
 
+    @Override
+    public long getEstimatedSize() {
+        return ExpressionSizeEstimator.COMMAND_SIZE +
+                ExpressionSizeEstimator.estimate(contextEntry) +
+                ExpressionSizeEstimator.estimate(uiModelRow);
+    }
+
     @Override
     protected Command<GraphCommandExecutionContext, RuleViolation> newGraphCommand(final AbstractCanvasHandler handler) {
         return new AbstractGraphCommand() {
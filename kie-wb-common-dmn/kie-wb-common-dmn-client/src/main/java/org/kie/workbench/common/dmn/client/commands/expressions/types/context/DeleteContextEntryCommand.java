@@ -23,6 +23,7 @@ import org.kie.workbench.common.dmn.api.definition.v1_1.ContextEntry;
 import org.kie.workbench.common.dmn.client.commands.VetoExecutionCommand;
 import org.kie.workbench.common.dmn.client.commands.VetoUndoCommand;
 import org.kie.workbench.common.dmn.client.commands.util.CommandUtils;
+import org.kie.workbench.common.dmn.client.commands.util.ExpressionSizeEstimator;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.command.AbstractCanvasCommand;
 import org.kie.workbench.common.stunner.core.client.canvas.command.AbstractCanvasGraphCommand;
@@ -30,6 +31,7 @@ import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultB
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
@@ -38,7 +40,8 @@ import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
 
 public class DeleteContextEntryCommand extends AbstractCanvasGraphCommand implements VetoExecutionCommand,
-                                                                                     VetoUndoCommand {
+                                                                                     VetoUndoCommand,
+                                                                                     HasEstimatedSize {
 
     private final Context context;
     private final GridData uiModel;
@@ -61,6 +64,13 @@ public class DeleteContextEntryCommand extends AbstractCanvasGraphCommand implem
         this.oldUiModelRow = uiModel.getRow(uiRowIndex);
     }
 
+    @Override
+    public long getEstimatedSize() {
+        return ExpressionSizeEstimator.COMMAND_SIZE +
+                ExpressionSizeEstimator.estimate(oldContextEntry) +
+                ExpressionSizeEstimator.estimate(oldUiModelRow);
+    }
+
     @Override
     protected Command<GraphCommandExecutionContext, RuleViolation> newGraphCommand(final AbstractCanvasHandler handler) {
         return new AbstractGraphCommand() {
@@ -26,6 +26,7 @@ import org.kie.workbench.common.dmn.api.property.dmn.Description;
 import org.kie.workbench.common.dmn.client.commands.VetoExecutionCommand;
 import org.kie.workbench.common.dmn.client.commands.VetoUndoCommand;
 import org.kie.workbench.common.dmn.client.commands.util.CommandUtils;
+import org.kie.workbench.common.dmn.client.commands.util.ExpressionSizeEstimator;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.dtable.DecisionTableDefaultValueUtilities;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.dtable.DecisionTableUIModelMapper;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.DMNGridRow;
@@ -36,6 +37,7 @@ import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultB
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
@@ -43,7 +45,8 @@ import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 
 public class AddDecisionRuleCommand extends AbstractCanvasGraphCommand implements VetoExecutionCommand,
-                                                                                  VetoUndoCommand {
+                                                                                  VetoUndoCommand,
+                                                                                  HasEstimatedSize {
 
     private final DecisionTable dtable;
     private final DecisionRule rule;
@@ -69,6 +72,13 @@ public class AddDecisionRuleCommand extends AbstractCanvasGraphCommand implement
         this.canvasOperation = canvasOperation;
     }
 
+    @Override
+    public long getEstimatedSize() {
+        return ExpressionSizeEstimator.COMMAND_SIZE +
+                ExpressionSizeEstimator.estimate(rule) +
+                ExpressionSizeEstimator.estimate(uiModelRow);
+    }
+
     @Override
     protected Command<GraphCommandExecutionContext, RuleViolation> newGraphCommand(final AbstractCanvasHandler context) {
         return new AbstractGraphCommand() {
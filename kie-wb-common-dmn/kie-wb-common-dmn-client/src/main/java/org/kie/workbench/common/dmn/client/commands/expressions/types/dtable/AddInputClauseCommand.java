@@ -23,6 +23,7 @@ import org.kie.workbench.common.dmn.api.definition.v1_1.UnaryTests;
 import org.kie.workbench.common.dmn.client.commands.VetoExecutionCommand;
 import org.kie.workbench.common.dmn.client.commands.VetoUndoCommand;
 import org.kie.workbench.common.dmn.client.commands.util.CommandUtils;
+import org.kie.workbench.common.dmn.client.commands.util.ExpressionSizeEstimator;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.dtable.DecisionTableDefaultValueUtilities;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.dtable.DecisionTableUIModelMapper;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.dtable.DecisionTableUIModelMapperHelper;
@@ -34,6 +35,7 @@ import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultB
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
@@ -41,7 +43,8 @@ import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 
 public class AddInputClauseCommand extends AbstractCanvasGraphCommand implements VetoExecutionCommand,
-                                                                                 VetoUndoCommand {
+                                                                                 VetoUndoCommand,
+                                                                                 HasEstimatedSize {
 
     private final DecisionTable dtable;
     private final InputClause inputClause;
@@ -69,6 +72,12 @@ public class AddInputClauseCommand extends AbstractCanvasGraphCommand implements
         this.name = DecisionTableDefaultValueUtilities.getNewInputClauseName(dtable);
     }
 
+    @Override
+    public long getEstimatedSize() {
+        return ExpressionSizeEstimator.COMMAND_SIZE +
+                ExpressionSizeEstimator.estimate(inputClause);
+    }
+
     @Override
     protected Command<GraphCommandExecutionContext, RuleViolation> newGraphCommand(final AbstractCanvasHandler context) {
         return new AbstractGraphCommand() {
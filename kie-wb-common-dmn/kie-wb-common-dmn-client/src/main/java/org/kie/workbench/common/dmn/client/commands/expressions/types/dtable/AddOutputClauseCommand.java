@@ -22,6 +22,7 @@ import org.kie.workbench.common.dmn.api.definition.v1_1.OutputClause;
 import org.kie.workbench.common.dmn.client.commands.VetoExecutionCommand;
 import org.kie.workbench.common.dmn.client.commands.VetoUndoCommand;
 import org.kie.workbench.common.dmn.client.commands.util.CommandUtils;
+import org.kie.workbench.common.dmn.client.commands.util.ExpressionSizeEstimator;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.dtable.DecisionTableDefaultValueUtilities;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.dtable.DecisionTableUIModelMapper;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.dtable.DecisionTableUIModelMapperHelper;
@@ -33,6 +34,7 @@ import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultB
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
@@ -40,7 +42,8 @@ import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 
 public class AddOutputClauseCommand extends AbstractCanvasGraphCommand implements VetoExecutionCommand,
-                                                                                  VetoUndoCommand {
+                                                                                  VetoUndoCommand,
+                                                                                  HasEstimatedSize {
 
     private final DecisionTable dtable;
     private final OutputClause outputClause;
@@ -68,6 +71,12 @@ public class AddOutputClauseCommand extends AbstractCanvasGraphCommand implement
         this.name = DecisionTableDefaultValueUtilities.getNewOutputClauseName(dtable);
     }
 
+    @Override
+    public long getEstimatedSize() {
+        return ExpressionSizeEstimator.COMMAND_SIZE +
+                ExpressionSizeEstimator.estimate(outputClause);
+    }
+
     @Override
     protected Command<GraphCommandExecutionContext, RuleViolation> newGraphCommand(final AbstractCanvasHandler context) {
         return new AbstractGraphCommand() {
@@ -22,6 +22,7 @@ import org.kie.workbench.common.dmn.api.definition.v1_1.Expression;
 import org.kie.workbench.common.dmn.api.definition.v1_1.FunctionDefinition;
 import org.kie.workbench.common.dmn.client.commands.VetoExecutionCommand;
 import org.kie.workbench.common.dmn.client.commands.VetoUndoCommand;
+import org.kie.workbench.common.dmn.client.commands.util.ExpressionSizeEstimator;
 import org.kie.workbench.common.dmn.client.editors.expressions.types.function.KindUtilities;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.GridCellValueTuple;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
@@ -31,6 +32,7 @@ import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultB
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
@@ -41,7 +43,8 @@ import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import static org.kie.workbench.common.dmn.client.commands.util.CommandUtils.extractGridCellValue;
 
 public class SetKindCommand extends AbstractCanvasGraphCommand implements VetoExecutionCommand,
-                                                                          VetoUndoCommand {
+                                                                          VetoUndoCommand,
+                                                                          HasEstimatedSize {
 
     private final GridCellValueTuple cellTuple;
     private final FunctionDefinition function;
@@ -69,6 +72,14 @@ public class SetKindCommand extends AbstractCanvasGraphCommand implements VetoEx
         this.oldCellValue = extractGridCellValue(cellTuple);
     }
 
+    @Override
+    public long getEstimatedSize() {
+        return ExpressionSizeEstimator.COMMAND_SIZE +
+                ExpressionSizeEstimator.estimate(expression.orElse(null)) +
+                ExpressionSizeEstimator.estimate(oldExpression.orElse(null)) +
+                ExpressionSizeEstimator.estimate(oldCellValue.orElse(null));
+    }
+
     @Override
     protected Command<GraphCommandExecutionContext, RuleViolation> newGraphCommand(final AbstractCanvasHandler handler) {
         return new AbstractGraphCommand() {
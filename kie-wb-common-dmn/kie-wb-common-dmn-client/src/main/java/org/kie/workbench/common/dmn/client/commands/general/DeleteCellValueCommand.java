@@ -21,6 +21,7 @@ import java.util.function.Supplier;
 
 import org.kie.workbench.common.dmn.client.commands.VetoExecutionCommand;
 import org.kie.workbench.common.dmn.client.commands.VetoUndoCommand;
+import org.kie.workbench.common.dmn.client.commands.util.ExpressionSizeEstimator;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.GridCellTuple;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.UIModelMapper;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
@@ -30,6 +31,7 @@ import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultB
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
@@ -39,7 +41,8 @@ import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
 import static org.kie.workbench.common.dmn.client.commands.util.CommandUtils.extractGridCellValue;
 
 public class DeleteCellValueCommand extends AbstractCanvasGraphCommand implements VetoExecutionCommand,
-                                                                                  VetoUndoCommand {
+                                                                                  VetoUndoCommand,
+                                                                                  HasEstimatedSize {
 
     private final GridCellTuple cellTuple;
     private final Supplier<UIModelMapper> uiModelMapper;
@@ -57,6 +60,12 @@ public class DeleteCellValueCommand extends AbstractCanvasGraphCommand implement
         this.oldCellValue = extractGridCellValue(cellTuple);
     }
 
+    @Override
+    public long getEstimatedSize() {
+        return ExpressionSizeEstimator.COMMAND_SIZE +
+                ExpressionSizeEstimator.estimate(oldCellValue.orElse(null));
+    }
+
     @Override
     protected Command<GraphCommandExecutionContext, RuleViolation> newGraphCommand(final AbstractCanvasHandler context) {
         return new AbstractGraphCommand() {
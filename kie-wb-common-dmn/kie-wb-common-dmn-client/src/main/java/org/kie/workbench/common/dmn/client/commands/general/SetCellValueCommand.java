@@ -21,6 +21,7 @@ import java.util.function.Supplier;
 
 import org.kie.workbench.common.dmn.client.commands.VetoExecutionCommand;
 import org.kie.workbench.common.dmn.client.commands.VetoUndoCommand;
+import org.kie.workbench.common.dmn.client.commands.util.ExpressionSizeEstimator;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.GridCellValueTuple;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.UIModelMapper;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
@@ -30,6 +31,7 @@ import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultB
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
@@ -40,7 +42,8 @@ import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import static org.kie.workbench.common.dmn.client.commands.util.CommandUtils.extractGridCellValue;
 
 public class SetCellValueCommand extends AbstractCanvasGraphCommand implements VetoExecutionCommand,
-                                                                               VetoUndoCommand {
+                                                                               VetoUndoCommand,
+                                                                               HasEstimatedSize {
 
     private final GridCellValueTuple cellTuple;
     private final Supplier<UIModelMapper> uiModelMapper;
@@ -58,6 +61,13 @@ public class SetCellValueCommand extends AbstractCanvasGraphCommand implements V
         this.oldCellValue = extractGridCellValue(cellTuple);
     }
 
+    @Override
+    public long getEstimatedSize() {
+        return ExpressionSizeEstimator.COMMAND_SIZE +
+                ExpressionSizeEstimator.estimate(cellTuple.getValue()) +
+                ExpressionSizeEstimator.estimate(oldCellValue.orElse(null));
+    }
+
     @Override
     protected Command<GraphCommandExecutionContext, RuleViolation> newGraphCommand(final AbstractCanvasHandler context) {
         return new AbstractGraphCommand() {
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.dmn.client.commands.util;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.kie.workbench.common.dmn.api.definition.v1_1.Binding;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Context;
+import org.kie.workbench.common.dmn.api.definition.v1_1.ContextEntry;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DMNElement;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DMNModelInstrumentedBase;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DecisionRule;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DecisionTable;
+import org.kie.workbench.common.dmn.api.definition.v1_1.FunctionDefinition;
+import org.kie.workbench.common.dmn.api.definition.v1_1.InformationItem;
+import org.kie.workbench.common.dmn.api.definition.v1_1.InputClause;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Invocation;
+import org.kie.workbench.common.dmn.api.definition.v1_1.List;
+import org.kie.workbench.common.dmn.api.definition.v1_1.LiteralExpression;
+import org.kie.workbench.common.dmn.api.definition.v1_1.OutputClause;
+import org.kie.workbench.common.dmn.api.definition.v1_1.Relation;
+import org.kie.workbench.common.dmn.api.definition.v1_1.UnaryTests;
+import org.kie.workbench.common.dmn.client.editors.expressions.types.context.ExpressionCellValue;
+import org.kie.workbench.common.dmn.client.widgets.grid.BaseExpressionGrid;
+import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
+import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+
+import static org.kie.workbench.common.stunner.core.command.util.CommandSizeEstimator.OBJECT_SIZE;
+import static org.kie.workbench.common.stunner.core.command.util.CommandSizeEstimator.REFERENCE_SIZE;
+import static org.kie.workbench.common.stunner.core.command.util.CommandSizeEstimator.estimateValue;
+
+/**
+ * Rough estimations of the memory, in bytes, retained by the DMN model elements and the grid rows and cells kept
+ * by the expression editor commands for undoing their changes.
+ */
+public final class ExpressionSizeEstimator {
+
+    /**
+     * The command, its graph and canvas commands, and the references they keep.
+     */
+    public static final long COMMAND_SIZE = 160;
+
+    // The element, its id, description, type reference and attribute maps.
+    static final long ELEMENT_SIZE = 160;
+
+    // The widget of an expression editor, without its UI model.
+    static final long GRID_SIZE = 1024;
+
+    private ExpressionSizeEstimator() {
+    }
+
+    /**
+     * Estimates the memory retained by a DMN model element and its nested elements, eg: an expression, a decision
+     * table rule or a context entry.
+     */
+    public static long estimate(final DMNModelInstrumentedBase element) {
+        if (null == element) {
+            return 0;
+        }
+        long size = ELEMENT_SIZE;
+        if (element instanceof DMNElement) {
+            final DMNElement dmnElement = (DMNElement) element;
+            size += null != dmnElement.getId() ? estimateValue(dmnElement.getId().getValue()) : 0;
+            size += null != dmnElement.getDescription() ? estimateValue(dmnElement.getDescription().getValue()) : 0;
+        }
+        if (element instanceof LiteralExpression) {
+            size += estimateValue(((LiteralExpression) element).getText());
+        } else if (element instanceof UnaryTests) {
+            size += estimateValue(((UnaryTests) element).getText());
+        } else if (element instanceof InformationItem) {
+            final InformationItem informationItem = (InformationItem) element;
+            size += null != informationItem.getName() ? estimateValue(informationItem.getName().getValue()) : 0;
+        } else if (element instanceof ContextEntry) {
+            size += estimate(((ContextEntry) element).getVariable());
+            size += estimate(((ContextEntry) element).getExpression());
+        } else if (element instanceof Context) {
+            size += estimateAll(((Context) element).getContextEntry());
+        } else if (element instanceof DecisionTable) {
+            final DecisionTable dtable = (DecisionTable) element;
+            size += estimateAll(dtable.getInput());
+            size += estimateAll(dtable.getOutput());
+            size += estimateAll(dtable.getRule());
+            size += estimateValue(dtable.getOutputLabel());
+        } else if (element instanceof InputClause) {
+            size += estimate(((InputClause) element).getInputExpression());
+            size += estimate(((InputClause) element).getInputValues());
+        } else if (element instanceof OutputClause) {
+            size += estimate(((OutputClause) element).getOutputValues());
+            size += estimate(((OutputClause) element).getDefaultOutputEntry());
+            size += estimateValue(((OutputClause) element).getName());
+        } else if (element instanceof DecisionRule) {
+            size += estimateAll(((DecisionRule) element).getInputEntry());
+            size += estimateAll(((DecisionRule) element).getOutputEntry());
+        } else if (element instanceof FunctionDefinition) {
+            size += estimateAll(((FunctionDefinition) element).getFormalParameter());
+            size += estimate(((FunctionDefinition) element).getExpression());
+        } else if (element instanceof Invocation) {
+            size += estimate(((Invocation) element).getExpression());
+            size += estimateAll(((Invocation) element).getBinding());
+        } else if (element instanceof Binding) {
+            size += estimate(((Binding) element).getParameter());
+            size += estimate(((Binding) element).getExpression());
+        } else if (element instanceof Relation) {
+            size += estimateAll(((Relation) element).getColumn());
+            size += estimateAll(((Relation) element).getRow());
+        } else if (element instanceof List) {
+            size += estimateAll(((List) element).getExpression());
+        }
+        return size;
+    }
+
+    /**
+     * Estimates the memory retained by a list of DMN model elements.
+     */
+    public static long estimateAll(final Collection<? extends DMNModelInstrumentedBase> elements) {
+        if (null == elements) {
+            return 0;
+        }
+        long size = OBJECT_SIZE * 2;
+        for (final DMNModelInstrumentedBase element : elements) {
+            size += REFERENCE_SIZE + estimate(element);
+        }
+        return size;
+    }
+
+    /**
+     * Estimates the memory retained by a row of a grid and the values of its cells.
+     */
+    public static long estimate(final GridRow row) {
+        if (null == row) {
+            return 0;
+        }
+        long size = OBJECT_SIZE * 2;
+        for (final GridCell<?> cell : row.getCells().values()) {
+            size += OBJECT_SIZE * 2;
+            size += null != cell ? estimate(cell.getValue()) : 0;
+        }
+        return size;
+    }
+
+    /**
+     * Estimates the memory retained by the value of a grid cell. The values of the cells holding an expression
+     * editor retain the whole editor.
+     */
+    public static long estimate(final GridCellValue<?> value) {
+        if (null == value) {
+            return 0;
+        }
+        if (value instanceof ExpressionCellValue) {
+            final Optional<BaseExpressionGrid> editor = ((ExpressionCellValue) value).getValue();
+            return OBJECT_SIZE + (editor.isPresent() ? estimate(editor.get()) : 0);
+        }
+        return OBJECT_SIZE + estimateValue(value.getValue());
+    }
+
+    /**
+     * Estimates the memory retained by an expression editor. Its UI model mirrors the expression, so it is
+     * considered as big as the expression itself.
+     */
+    @SuppressWarnings("unchecked")
+    public static long estimate(final BaseExpressionGrid editor) {
+        if (null == editor) {
+            return 0;
+        }
+        final Optional<DMNModelInstrumentedBase> expression = editor.getExpression();
+        return GRID_SIZE + (expression.isPresent() ? 2 * estimate(expression.get()) : 0);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.dmn.client.commands.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DecisionRule;
+import org.kie.workbench.common.dmn.api.definition.v1_1.DecisionTable;
+import org.kie.workbench.common.dmn.api.definition.v1_1.LiteralExpression;
+import org.kie.workbench.common.dmn.api.definition.v1_1.UnaryTests;
+import org.kie.workbench.common.dmn.client.editors.expressions.types.context.ExpressionCellValue;
+import org.kie.workbench.common.dmn.client.widgets.grid.BaseExpressionGrid;
+import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridCell;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridCellValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class ExpressionSizeEstimatorTest {
+
+    @Test
+    public void testEstimateGrowsWithTheNestedElements() {
+        final DecisionTable dtable = new DecisionTable();
+        final long emptySize = ExpressionSizeEstimator.estimate(dtable);
+
+        final DecisionRule rule = new DecisionRule();
+        final UnaryTests inputEntry = new UnaryTests();
+        inputEntry.setText("> 10");
+        rule.getInputEntry().add(inputEntry);
+        final LiteralExpression outputEntry = new LiteralExpression();
+        outputEntry.setText("\"a long output entry of the decision table rule\"");
+        rule.getOutputEntry().add(outputEntry);
+        dtable.getRule().add(rule);
+
+        final long size = ExpressionSizeEstimator.estimate(dtable);
+        assertTrue(size > emptySize);
+        assertTrue(size - emptySize >= ExpressionSizeEstimator.estimate(inputEntry) + ExpressionSizeEstimator.estimate(outputEntry));
+
+        outputEntry.setText(outputEntry.getText() + outputEntry.getText());
+        assertTrue(ExpressionSizeEstimator.estimate(dtable) > size);
+    }
+
+    @Test
+    public void testEstimateNull() {
+        assertEquals(0,
+                     ExpressionSizeEstimator.estimate((DecisionTable) null));
+        assertEquals(0,
+                     ExpressionSizeEstimator.estimateAll(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEstimateRowWithExpressionEditor() {
+        final LiteralExpression expression = new LiteralExpression();
+        expression.setText("a literal expression");
+        final BaseExpressionGrid editor = mock(BaseExpressionGrid.class);
+        doReturn(Optional.of(expression)).when(editor).getExpression();
+
+        final Map<Integer, GridCell<?>> cells = new HashMap<>();
+        final GridRow row = mock(GridRow.class);
+        doReturn(cells).when(row).getCells();
+        cells.put(0,
+                  new BaseGridCell<>(new BaseGridCellValue<>("name")));
+        final long size = ExpressionSizeEstimator.estimate(row);
+        cells.put(1,
+                  new BaseGridCell<>(new ExpressionCellValue(Optional.of(editor))));
+
+        // The editor retains its expression and a UI model mirroring it.
+        assertTrue(ExpressionSizeEstimator.estimate(row) - size > ExpressionSizeEstimator.GRID_SIZE + 2 * ExpressionSizeEstimator.estimate(expression));
+    }
+}
@@ -110,7 +110,7 @@ public class DMNEditorSessionTest extends BaseDMNSessionTest<DMNEditorSession> {
     @Override
     @SuppressWarnings("unchecked")
     public void setup() {
-        when(registryFactory.newCommandRegistry()).thenReturn(commandRegistry);
+        when(registryFactory.newUndoCommandRegistry()).thenReturn(commandRegistry);
         super.setup();
     }
 
@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.forms.services.backend.serialization;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 import org.kie.workbench.common.forms.model.FormDefinition;
 
 public interface FormDefinitionSerializer {
@@ -23,4 +26,17 @@ public interface FormDefinitionSerializer {
     String serialize(FormDefinition form);
 
     FormDefinition deserialize(String serializedForm);
+
+    /**
+     * Writes the form as UTF-8 JSON to the given stream, without building the whole JSON in memory first. The
+     * stream is flushed but not closed.
+     */
+    void serialize(FormDefinition form,
+                   OutputStream out);
+
+    /**
+     * Reads a form from the UTF-8 JSON in the given stream, without reading the whole stream into memory first.
+     * The stream is not closed.
+     */
+    FormDefinition deserialize(InputStream in);
 }
@@ -16,11 +16,22 @@
 
 package org.kie.workbench.common.forms.services.backend.serialization.impl;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -46,6 +57,13 @@ public class FormDefinitionSerializerImpl implements FormDefinitionSerializer {
 
     private MetaDataEntryManager metaDataEntryManager;
 
+    // Gson instances are thread-safe, so they are built once and shared by all (de)serializations. Serialization
+    // and deserialization need different instances: the deserializers registered for the model interfaces would
+    // otherwise replace the runtime type serialization of their implementations.
+    private Gson serializationGson;
+
+    private Gson deserializationGson;
+
     @Inject
     public FormDefinitionSerializerImpl(FieldSerializer fieldSerializer,
                                         FormModelSerializer formModelSerializer,
@@ -53,23 +71,54 @@ public class FormDefinitionSerializerImpl implements FormDefinitionSerializer {
         this.fieldSerializer = fieldSerializer;
         this.formModelSerializer = formModelSerializer;
         this.metaDataEntryManager = metaDataEntryManager;
+        this.serializationGson = buildSerializationGson();
+        this.deserializationGson = buildDeserializationGson();
     }
 
     @Override
     public String serialize(FormDefinition form) {
+        return serializationGson.toJson(form);
+    }
+
+    @Override
+    public FormDefinition deserialize(String serializedForm) {
+        return deserializationGson.fromJson(serializedForm,
+                                            FormDefinition.class);
+    }
+
+    @Override
+    public void serialize(FormDefinition form,
+                          OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out,
+                                                                      StandardCharsets.UTF_8));
+            serializationGson.toJson(form,
+                                     FormDefinition.class,
+                                     writer);
+            writer.flush();
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+    }
+
+    @Override
+    public FormDefinition deserialize(InputStream in) {
+        return deserializationGson.fromJson(new BufferedReader(new InputStreamReader(in,
+                                                                                     StandardCharsets.UTF_8)),
+                                            FormDefinition.class);
+    }
+
+    private Gson buildSerializationGson() {
         GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter(FormModel.class,
                                     formModelSerializer);
         builder.registerTypeAdapter(FieldDefinition.class,
                                     fieldSerializer);
 
-        Gson gson = builder.create();
-
-        return gson.toJson(form);
+        return builder.create();
     }
 
-    @Override
-    public FormDefinition deserialize(String serializedForm) {
+    private Gson buildDeserializationGson() {
         GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter(FormModel.class,
                                     formModelSerializer);
@@ -95,9 +144,6 @@ public class FormDefinitionSerializerImpl implements FormDefinitionSerializer {
                                                                    metaDataEntryManager.getMetaDataEntryClass(jsonName.getAsString()));
                                     });
 
-        Gson gson = builder.create();
-
-        return gson.fromJson(serializedForm,
-                             FormDefinition.class);
+        return builder.create();
     }
 }
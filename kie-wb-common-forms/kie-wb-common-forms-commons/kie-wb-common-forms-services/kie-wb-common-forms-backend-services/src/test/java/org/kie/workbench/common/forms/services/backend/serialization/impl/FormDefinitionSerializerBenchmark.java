@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.services.backend.serialization.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.kie.workbench.common.forms.fields.shared.fieldTypes.basic.BasicTypeFieldProvider;
+import org.kie.workbench.common.forms.fields.test.TestFieldManager;
+import org.kie.workbench.common.forms.fields.test.TestMetaDataEntryManager;
+import org.kie.workbench.common.forms.model.FieldDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.JavaFormModel;
+import org.kie.workbench.common.forms.model.impl.ModelPropertyImpl;
+import org.kie.workbench.common.forms.model.impl.PortableJavaModel;
+import org.kie.workbench.common.forms.model.impl.TypeInfoImpl;
+import org.uberfire.ext.layout.editor.api.editor.LayoutTemplate;
+
+/**
+ * Measures the form serialization throughput of a shared {@link FormDefinitionSerializerImpl}, using both the
+ * String and the streaming methods, against creating a new serializer (and so new Gson instances) for every form,
+ * which is what every call used to cost.
+ * <p>
+ * Run it from the IDE or with "mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=..." and, optionally, the
+ * number of forms and the number of copies of the basic fields in each form as arguments.
+ */
+public class FormDefinitionSerializerBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int forms = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int fieldCopies = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        FormDefinition form = buildForm(fieldCopies);
+        FormDefinitionSerializerImpl serializer = newSerializer();
+        String serializedForm = serializer.serialize(form);
+        byte[] serializedBytes = serializedForm.getBytes(StandardCharsets.UTF_8);
+
+        System.out.println(String.format("%d forms of %d fields, %d bytes each",
+                                         forms,
+                                         form.getFields().size(),
+                                         serializedBytes.length));
+
+        run("serialize, new serializer",
+            forms,
+            () -> newSerializer().serialize(form).length());
+        run("serialize, shared",
+            forms,
+            () -> serializer.serialize(form).length());
+        run("serialize, streaming",
+            forms,
+            () -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(serializedBytes.length);
+                serializer.serialize(form,
+                                     out);
+                return out.size();
+            });
+        run("deserialize, new serializer",
+            forms,
+            () -> newSerializer().deserialize(serializedForm).getFields().size());
+        run("deserialize, shared",
+            forms,
+            () -> serializer.deserialize(serializedForm).getFields().size());
+        run("deserialize, streaming",
+            forms,
+            () -> serializer.deserialize(new ByteArrayInputStream(serializedBytes)).getFields().size());
+    }
+
+    private static FormDefinitionSerializerImpl newSerializer() {
+        return new FormDefinitionSerializerImpl(new FieldSerializer(),
+                                                new FormModelSerializer(),
+                                                new TestMetaDataEntryManager());
+    }
+
+    private static FormDefinition buildForm(int fieldCopies) {
+        TestFieldManager fieldManager = new TestFieldManager();
+
+        JavaFormModel model = new PortableJavaModel("org.test.MyModel");
+
+        FormDefinition form = new FormDefinition(model);
+        form.setId("benchmarkForm");
+        form.setName("benchmarkForm");
+        form.setLayoutTemplate(new LayoutTemplate());
+
+        for (int i = 0; i < fieldCopies; i++) {
+            for (BasicTypeFieldProvider provider : fieldManager.getAllBasicTypeProviders()) {
+                for (String type : provider.getSupportedTypes()) {
+                    FieldDefinition field = provider.getFieldByType(new TypeInfoImpl(type));
+
+                    String fieldDescription = provider.getFieldTypeName() + "_" + type + "_" + i;
+
+                    field.setName(fieldDescription);
+                    field.setLabel(fieldDescription);
+                    field.setStandaloneClassName(type);
+                    field.setBinding(fieldDescription);
+
+                    model.getProperties().add(new ModelPropertyImpl(fieldDescription,
+                                                                    new TypeInfoImpl(type)));
+
+                    form.getFields().add(field);
+                }
+            }
+        }
+        return form;
+    }
+
+    private static void run(String name,
+                            int forms,
+                            Operation operation) throws Exception {
+        long count = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS * forms; i++) {
+            count += operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS * forms; i++) {
+            count += operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%-30s %10.0f forms/s (%d)",
+                                         name,
+                                         ITERATIONS * forms / (elapsed / 1_000_000_000.0),
+                                         count));
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        long run() throws Exception;
+    }
+}
@@ -16,6 +16,16 @@
 
 package org.kie.workbench.common.forms.services.backend.serialization.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import junit.framework.TestCase;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
@@ -141,6 +151,46 @@ public class FormDefinitionSerializerImplTest extends TestCase {
 
         FormDefinition deSerializedForm = definitionSerializer.deserialize(serializedForm);
 
+        verifyDeserializedForm(deSerializedForm);
+    }
+
+    @Test
+    public void testStreamingSerialization() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        definitionSerializer.serialize(formDefinition,
+                                       out);
+
+        assertEquals(definitionSerializer.serialize(formDefinition),
+                     new String(out.toByteArray(),
+                                StandardCharsets.UTF_8));
+
+        FormDefinition deSerializedForm = definitionSerializer.deserialize(new ByteArrayInputStream(out.toByteArray()));
+
+        verifyDeserializedForm(deSerializedForm);
+    }
+
+    @Test
+    public void testConcurrentSerialization() throws Exception {
+        String serializedForm = doSerializationTest();
+        String expected = definitionSerializer.serialize(definitionSerializer.deserialize(serializedForm));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<String>> tasks = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                tasks.add(() -> definitionSerializer.serialize(definitionSerializer.deserialize(serializedForm)));
+            }
+            for (Future<String> result : executor.invokeAll(tasks)) {
+                assertEquals(expected,
+                             result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected void verifyDeserializedForm(FormDefinition deSerializedForm) {
         assertNotNull(deSerializedForm);
 
         assertEquals(formDefinition.getFields().size(),
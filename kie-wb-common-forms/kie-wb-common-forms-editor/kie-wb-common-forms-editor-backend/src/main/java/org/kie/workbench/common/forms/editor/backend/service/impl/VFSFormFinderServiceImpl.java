@@ -17,7 +17,7 @@
 package org.kie.workbench.common.forms.editor.backend.service.impl;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import javax.enterprise.context.Dependent;
@@ -27,15 +27,12 @@ import javax.inject.Named;
 import org.guvnor.common.services.project.model.Module;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.forms.editor.service.shared.VFSFormFinderService;
-import org.kie.workbench.common.forms.editor.type.FormResourceTypeDefinition;
 import org.kie.workbench.common.forms.model.FormDefinition;
 import org.kie.workbench.common.forms.model.JavaFormModel;
 import org.kie.workbench.common.forms.services.backend.serialization.FormDefinitionSerializer;
-import org.kie.workbench.common.services.datamodeller.util.FileUtils;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
@@ -51,25 +48,34 @@ public class VFSFormFinderServiceImpl implements VFSFormFinderService {
 
     private FormDefinitionSerializer serializer;
 
+    private VFSFormIndex formIndex;
+
     @Inject
     public VFSFormFinderServiceImpl(@Named("ioStrategy") IOService ioService,
                                     KieModuleService moduleService,
-                                    FormDefinitionSerializer serializer) {
+                                    FormDefinitionSerializer serializer,
+                                    VFSFormIndex formIndex) {
         this.ioService = ioService;
         this.moduleService = moduleService;
         this.serializer = serializer;
+        this.formIndex = formIndex;
     }
 
     @Override
     public List<FormDefinition> findAllForms(Path path) {
-        return findForms(path,
+        Module module = moduleService.resolveModule(path);
+
+        return readForms(formIndex.findAllForms(module),
                          null);
     }
 
     @Override
     public List<FormDefinition> findFormsForType(final String typeName,
                                                  Path path) {
-        return findForms(path,
+        Module module = moduleService.resolveModule(path);
+
+        return readForms(formIndex.findFormsForType(module,
+                                                    typeName),
                          new FormSearchConstraint() {
                              @Override
                              public boolean accepts(FormDefinition form) {
@@ -86,7 +92,16 @@ public class VFSFormFinderServiceImpl implements VFSFormFinderService {
     @Override
     public FormDefinition findFormById(final String id,
                                        Path path) {
-        List<FormDefinition> forms = findForms(path,
+        Module module = moduleService.resolveModule(path);
+
+        org.uberfire.java.nio.file.Path formPath = formIndex.findFormById(module,
+                                                                          id);
+
+        if (formPath == null) {
+            return null;
+        }
+
+        List<FormDefinition> forms = readForms(Collections.singletonList(formPath),
                                                new FormSearchConstraint() {
                                                    @Override
                                                    public boolean accepts(FormDefinition form) {
@@ -100,36 +115,22 @@ public class VFSFormFinderServiceImpl implements VFSFormFinderService {
         return null;
     }
 
-    private List<FormDefinition> findForms(final Path path,
+    private List<FormDefinition> readForms(final List<org.uberfire.java.nio.file.Path> formPaths,
                                            final FormSearchConstraint constraint) {
 
         List<FormDefinition> result = new ArrayList<>();
 
-        Module module = moduleService.resolveModule(path);
-
-        FileUtils utils = FileUtils.getInstance();
-
-        List<org.uberfire.java.nio.file.Path> nioPaths = new ArrayList<>();
-
-        nioPaths.add(Paths.convert(module.getRootPath()));
-
-        Collection<FileUtils.ScanResult> forms = utils.scan(ioService,
-                                                            nioPaths,
-                                                            FormResourceTypeDefinition.EXTENSION,
-                                                            true);
-
-        for (FileUtils.ScanResult form : forms) {
-            org.uberfire.java.nio.file.Path formPath = form.getFile();
-
+        for (org.uberfire.java.nio.file.Path formPath : formPaths) {
             try {
                 FormDefinition formDefinition = serializer.deserialize(ioService.readAllString(formPath).trim());
 
+                // The form may have changed since it was indexed
                 if (constraint == null || constraint.accepts(formDefinition)) {
                     result.add(formDefinition);
                 }
             } catch (Exception ex) {
                 logger.warn("Unable to generate FormDefinition for {}",
-                            path,
+                            formPath,
                             ex);
             }
         }
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.guvnor.common.services.project.model.Module;
+import org.kie.workbench.common.forms.editor.type.FormResourceTypeDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.JavaFormModel;
+import org.kie.workbench.common.forms.services.backend.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Keeps, for every module, the id and the model type of each of its forms, so forms can be looked up without
+ * reading and deserializing all the forms in the module.
+ * <p>
+ * The module is still scanned on every lookup to find the form files, but a form is only read again when it is new
+ * or when a resource event reports it as changed.
+ */
+@ApplicationScoped
+public class VFSFormIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VFSFormIndex.class);
+
+    private static final String FORM_SUFFIX = "." + FormResourceTypeDefinition.EXTENSION;
+
+    private final Map<String, ModuleForms> modules = new ConcurrentHashMap<>();
+
+    private IOService ioService;
+
+    private FormDefinitionSerializer serializer;
+
+    public VFSFormIndex() {
+        //CDI proxy
+    }
+
+    @Inject
+    public VFSFormIndex(@Named("ioStrategy") IOService ioService,
+                        FormDefinitionSerializer serializer) {
+        this.ioService = ioService;
+        this.serializer = serializer;
+    }
+
+    public List<Path> findAllForms(Module module) {
+        return refresh(module).getPaths();
+    }
+
+    public List<Path> findFormsForType(Module module,
+                                       String typeName) {
+        return refresh(module).getPathsForType(typeName);
+    }
+
+    public Path findFormById(Module module,
+                             String id) {
+        return refresh(module).getPathById(id);
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        invalidate(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        invalidate(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        invalidate(event.getPath());
+    }
+
+    public void onResourceCopied(@Observes final ResourceCopiedEvent event) {
+        invalidate(event.getDestinationPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        invalidate(event.getPath());
+        invalidate(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::invalidate);
+    }
+
+    void invalidate(org.uberfire.backend.vfs.Path path) {
+        if (path != null && path.getFileName() != null && path.getFileName().endsWith(FORM_SUFFIX)) {
+            modules.values().forEach(moduleForms -> moduleForms.invalidate(path.toURI()));
+        }
+    }
+
+    private ModuleForms refresh(Module module) {
+        ModuleForms moduleForms = modules.computeIfAbsent(module.getRootPath().toURI(),
+                                                          uri -> new ModuleForms());
+        moduleForms.refresh(scan(module));
+        return moduleForms;
+    }
+
+    private Collection<Path> scan(Module module) {
+        List<Path> nioPaths = new ArrayList<>();
+
+        nioPaths.add(Paths.convert(module.getRootPath()));
+
+        List<Path> result = new ArrayList<>();
+
+        for (FileUtils.ScanResult form : FileUtils.getInstance().scan(ioService,
+                                                                     nioPaths,
+                                                                     FormResourceTypeDefinition.EXTENSION,
+                                                                     true)) {
+            result.add(form.getFile());
+        }
+        return result;
+    }
+
+    private FormEntry readEntry(Path formPath) {
+        try {
+            FormDefinition formDefinition = serializer.deserialize(ioService.readAllString(formPath).trim());
+
+            String modelType = null;
+
+            if (formDefinition.getModel() instanceof JavaFormModel) {
+                modelType = ((JavaFormModel) formDefinition.getModel()).getType();
+            }
+
+            return new FormEntry(formPath,
+                                 formDefinition.getId(),
+                                 modelType);
+        } catch (Exception ex) {
+            logger.warn("Unable to generate FormDefinition for {}",
+                        formPath,
+                        ex);
+            //Kept in the index so the broken form isn't read again until it changes
+            return new FormEntry(formPath,
+                                 null,
+                                 null);
+        }
+    }
+
+    private class ModuleForms {
+
+        private Map<String, FormEntry> entries = new LinkedHashMap<>();
+
+        private Map<String, Path> pathsById = new HashMap<>();
+
+        private Map<String, List<Path>> pathsByType = new HashMap<>();
+
+        synchronized void refresh(Collection<Path> formPaths) {
+            Map<String, FormEntry> currentEntries = new LinkedHashMap<>();
+            boolean changed = formPaths.size() != entries.size();
+
+            for (Path formPath : formPaths) {
+                String uri = formPath.toUri().toString();
+                FormEntry entry = entries.get(uri);
+                if (entry == null) {
+                    entry = readEntry(formPath);
+                    changed = true;
+                }
+                currentEntries.put(uri,
+                                   entry);
+            }
+
+            if (changed) {
+                entries = currentEntries;
+                rebuildLookups();
+            }
+        }
+
+        synchronized void invalidate(String uri) {
+            entries.remove(uri);
+        }
+
+        synchronized List<Path> getPaths() {
+            List<Path> result = new ArrayList<>();
+            for (FormEntry entry : entries.values()) {
+                if (entry.id != null) {
+                    result.add(entry.path);
+                }
+            }
+            return result;
+        }
+
+        synchronized List<Path> getPathsForType(String typeName) {
+            return new ArrayList<>(pathsByType.getOrDefault(typeName,
+                                                            Collections.emptyList()));
+        }
+
+        synchronized Path getPathById(String id) {
+            return pathsById.get(id);
+        }
+
+        private void rebuildLookups() {
+            pathsById = new HashMap<>();
+            pathsByType = new HashMap<>();
+
+            for (FormEntry entry : entries.values()) {
+                if (entry.id == null) {
+                    continue;
+                }
+                //Keeps the first form found for an id, as the scan did
+                pathsById.putIfAbsent(entry.id,
+                                      entry.path);
+                if (entry.modelType != null) {
+                    pathsByType.computeIfAbsent(entry.modelType,
+                                                type -> new ArrayList<>()).add(entry.path);
+                }
+            }
+        }
+    }
+
+    private static class FormEntry {
+
+        private final Path path;
+
+        private final String id;
+
+        private final String modelType;
+
+        FormEntry(Path path,
+                  String id,
+                  String modelType) {
+            this.path = path;
+            this.id = id;
+            this.modelType = modelType;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.guvnor.common.services.project.model.Module;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.impl.PortableJavaModel;
+import org.kie.workbench.common.forms.services.backend.serialization.FormDefinitionSerializer;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class VFSFormIndexTest {
+
+    private static final String PERSON_TYPE = "org.test.Person";
+
+    private static final String ADDRESS_TYPE = "org.test.Address";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
+
+    private File moduleDir;
+
+    private Module module;
+
+    private IOService ioService;
+
+    private FormDefinitionSerializer serializer;
+
+    private VFSFormIndex index;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        moduleDir = tempFolder.newFolder("module");
+
+        module = mock(Module.class);
+        when(module.getRootPath()).thenReturn(Paths.convert(fs.getPath(moduleDir.toURI())));
+
+        ioService = mock(IOService.class);
+        when(ioService.newDirectoryStream(any(Path.class),
+                                          any(DirectoryStream.Filter.class))).thenAnswer(invocation -> Files.newDirectoryStream((Path) invocation.getArguments()[0],
+                                                                                                                                (DirectoryStream.Filter<Path>) invocation.getArguments()[1]));
+        when(ioService.readAllString(any(Path.class))).thenAnswer(invocation -> new String(java.nio.file.Files.readAllBytes(((Path) invocation.getArguments()[0]).toFile().toPath()),
+                                                                                           StandardCharsets.UTF_8));
+
+        //Forms are stored as "id:modelType" to keep the test independent from the real serialization format
+        serializer = mock(FormDefinitionSerializer.class);
+        when(serializer.deserialize(anyString())).thenAnswer(invocation -> {
+            String[] content = ((String) invocation.getArguments()[0]).split(":");
+            FormDefinition form = new FormDefinition(new PortableJavaModel(content[1]));
+            form.setId(content[0]);
+            return form;
+        });
+
+        writeForm("src/main/resources/org/test/Person.frm",
+                  "person",
+                  PERSON_TYPE);
+        writeForm("src/main/resources/org/test/PersonShort.frm",
+                  "personShort",
+                  PERSON_TYPE);
+        writeForm("src/main/resources/org/test/Address.frm",
+                  "address",
+                  ADDRESS_TYPE);
+
+        index = new VFSFormIndex(ioService,
+                                 serializer);
+    }
+
+    @Test
+    public void testLookups() {
+        assertThat(index.findAllForms(module)).hasSize(3);
+
+        assertThat(index.findFormById(module,
+                                      "address").getFileName().toString()).isEqualTo("Address.frm");
+        assertThat(index.findFormById(module,
+                                      "unknown")).isNull();
+
+        assertThat(index.findFormsForType(module,
+                                          PERSON_TYPE)).extracting(path -> path.getFileName().toString())
+                .containsOnly("Person.frm",
+                              "PersonShort.frm");
+        assertThat(index.findFormsForType(module,
+                                          "org.test.Unknown")).isEmpty();
+
+        //Every form is read once, when the module is first indexed
+        verify(serializer,
+               times(3)).deserialize(anyString());
+    }
+
+    @Test
+    public void testNewAndDeletedForms() throws Exception {
+        index.findAllForms(module);
+        reset(serializer);
+
+        writeForm("src/main/resources/org/test/Company.frm",
+                  "company",
+                  "org.test.Company");
+        new File(moduleDir,
+                 "src/main/resources/org/test/Address.frm").delete();
+
+        assertThat(index.findFormById(module,
+                                      "company")).isNotNull();
+        assertThat(index.findFormById(module,
+                                      "address")).isNull();
+
+        verify(serializer,
+               times(1)).deserialize(anyString());
+    }
+
+    @Test
+    public void testChangedFormIsReadAgainWhenInvalidated() throws Exception {
+        index.findAllForms(module);
+
+        final Path addressPath = writeForm("src/main/resources/org/test/Address.frm",
+                                           "billingAddress",
+                                           ADDRESS_TYPE);
+
+        assertThat(index.findFormById(module,
+                                      "address")).isNotNull();
+
+        index.invalidate(Paths.convert(addressPath));
+
+        assertThat(index.findFormById(module,
+                                      "address")).isNull();
+        assertThat(index.findFormById(module,
+                                      "billingAddress")).isNotNull();
+    }
+
+    private Path writeForm(final String path,
+                           final String id,
+                           final String modelType) throws Exception {
+        final File file = new File(moduleDir,
+                                   path);
+        file.getParentFile().mkdirs();
+        java.nio.file.Files.write(file.toPath(),
+                                  (id + ":" + modelType).getBytes(StandardCharsets.UTF_8));
+        return fs.getPath(file.toURI());
+    }
+}
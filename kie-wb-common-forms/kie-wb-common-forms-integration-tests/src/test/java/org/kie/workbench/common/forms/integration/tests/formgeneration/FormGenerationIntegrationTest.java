@@ -34,6 +34,7 @@ import org.kie.workbench.common.forms.commons.shared.layout.impl.StaticFormLayou
 import org.kie.workbench.common.forms.data.modeller.service.DataObjectFinderService;
 import org.kie.workbench.common.forms.data.modeller.service.impl.DataObjectFinderServiceImpl;
 import org.kie.workbench.common.forms.editor.backend.service.impl.VFSFormFinderServiceImpl;
+import org.kie.workbench.common.forms.editor.backend.service.impl.VFSFormIndex;
 import org.kie.workbench.common.forms.editor.client.editor.FormEditorHelper;
 import org.kie.workbench.common.forms.editor.model.FormModelerContent;
 import org.kie.workbench.common.forms.editor.service.backend.FormModelHandlerManager;
@@ -201,7 +202,9 @@ public class FormGenerationIntegrationTest {
 
         formFinderService = new VFSFormFinderServiceImpl(ioService,
                                                          moduleService,
-                                                         formSerializer);
+                                                         formSerializer,
+                                                         new VFSFormIndex(ioService,
+                                                                          formSerializer));
 
         service = new BPMNVFSFormDefinitionGeneratorService(fieldManager,
                                                             formModelHandlerManager,
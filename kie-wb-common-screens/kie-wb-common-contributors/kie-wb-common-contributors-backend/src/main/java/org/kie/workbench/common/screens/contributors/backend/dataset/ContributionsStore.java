@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.contributors.backend.dataset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.uberfire.java.nio.base.version.VersionRecord;
+
+/**
+ * In-memory store of the contributions (commits) made to every project branch, keyed by the project root uri.
+ * <p>
+ * Project contributions are only reloaded once some resource inside the project has changed, so building the
+ * contributors data set does not walk the history of the projects that have not changed since the last build.
+ */
+public class ContributionsStore {
+
+    private final Map<String, ProjectContributions> contributions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the contributions to the project with the given root uri, loading the history only if the
+     * project is not known yet or it has changed since last time.
+     */
+    public List<VersionRecord> getContributions(final String projectRootUri,
+                                                final Function<String, List<VersionRecord>> historyLoader) {
+        return contributions.computeIfAbsent(normalize(projectRootUri),
+                                             uri -> new ProjectContributions())
+                .get(projectRootUri,
+                     historyLoader);
+    }
+
+    /**
+     * Marks the project containing the given resource as changed.
+     */
+    public void resourceChanged(final String resourceUri) {
+        if (resourceUri == null) {
+            return;
+        }
+        final String uri = normalize(resourceUri);
+        contributions.forEach((projectRootUri, projectContributions) -> {
+            if (uri.equals(projectRootUri) || uri.startsWith(projectRootUri + "/")) {
+                projectContributions.markChanged();
+            }
+        });
+    }
+
+    /**
+     * Discards the contributions for the projects that are no longer present.
+     */
+    public void retainAll(final Collection<String> projectRootUris) {
+        final List<String> retained = new ArrayList<>(projectRootUris.size());
+        projectRootUris.forEach(uri -> retained.add(normalize(uri)));
+        contributions.keySet().retainAll(retained);
+    }
+
+    public void clear() {
+        contributions.clear();
+    }
+
+    public int size() {
+        return contributions.size();
+    }
+
+    private static String normalize(final String uri) {
+        return uri.endsWith("/") ? uri.substring(0,
+                                                 uri.length() - 1) : uri;
+    }
+
+    static class ProjectContributions {
+
+        private List<VersionRecord> records = Collections.emptyList();
+
+        private volatile boolean changed = true;
+
+        synchronized List<VersionRecord> get(final String projectRootUri,
+                                             final Function<String, List<VersionRecord>> historyLoader) {
+            if (changed) {
+                // clear the flag before loading so changes made meanwhile are not lost
+                changed = false;
+                records = Collections.unmodifiableList(new ArrayList<>(historyLoader.apply(projectRootUri)));
+            }
+            return records;
+        }
+
+        void markChanged() {
+            changed = true;
+        }
+    }
+}
@@ -19,9 +19,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -89,6 +91,11 @@ public class ContributorsManager implements DataSetGenerator {
     @Inject
     protected Event<DataSetStaleEvent> dataSetStaleEvent;
 
+    /**
+     * Contributions made to every project, only reloaded when the project changes
+     */
+    protected ContributionsStore contributionsStore = new ContributionsStore();
+
     /**
      * Map holding alias to author name mappings
      */
@@ -132,6 +139,7 @@ public class ContributorsManager implements DataSetGenerator {
                              columnDef.getColumnType());
         }
 
+        final Set<String> projectRootUris = new HashSet<>();
         final Collection<OrganizationalUnit> orgUnitList = organizationalUnitService.getOrganizationalUnits();
         for (final OrganizationalUnit orgUnit : orgUnitList) {
             final String org = orgUnit.getName();
@@ -150,9 +158,10 @@ public class ContributorsManager implements DataSetGenerator {
                 for (final WorkspaceProject project : projects) {
                     final String repoAlias = project.getRepository().getAlias();
                     final String projectName = project.getName();
-                    org.uberfire.backend.vfs.Path rootPath = project.getRootPath();
-                    final Path projectRoot = Paths.convert(rootPath);
-                    final List<VersionRecord> recordList = recordService.loadVersionRecords(projectRoot);
+                    final org.uberfire.backend.vfs.Path rootPath = project.getRootPath();
+                    projectRootUris.add(rootPath.toURI());
+                    final List<VersionRecord> recordList = contributionsStore.getContributions(rootPath.toURI(),
+                                                                                               uri -> loadVersionRecords(rootPath));
 
                     if (recordList.isEmpty()) {
                         dsBuilder.row(org, //org
@@ -180,11 +189,24 @@ public class ContributorsManager implements DataSetGenerator {
             }
         }
 
+        contributionsStore.retainAll(projectRootUris);
+
         DataSet dataSet = dsBuilder.buildDataSet();
         dataSet.setUUID(GIT_CONTRIB);
         return dataSet;
     }
 
+    protected List<VersionRecord> loadVersionRecords(final org.uberfire.backend.vfs.Path rootPath) {
+        final Path projectRoot = Paths.convert(rootPath);
+        return recordService.loadVersionRecords(projectRoot);
+    }
+
+    protected void onResourceChanged(final org.uberfire.backend.vfs.Path path) {
+        if (path != null) {
+            contributionsStore.resourceChanged(path.toURI());
+        }
+    }
+
     protected void invalidateDataSet() {
         dataSetStaleEvent.fire(new DataSetStaleEvent(dataSetdef));
     }
@@ -218,36 +240,44 @@ public class ContributorsManager implements DataSetGenerator {
     public void processResourceAdd(@Observes final ResourceAddedEvent event) {
         checkNotNull("event",
                      event);
+        onResourceChanged(event.getPath());
         invalidateDataSet();
     }
 
     public void processResourceDelete(@Observes final ResourceDeletedEvent event) {
         checkNotNull("event",
                      event);
+        onResourceChanged(event.getPath());
         invalidateDataSet();
     }
 
     public void processResourceUpdate(@Observes final ResourceUpdatedEvent event) {
         checkNotNull("event",
                      event);
+        onResourceChanged(event.getPath());
         invalidateDataSet();
     }
 
     public void processResourceCopied(@Observes final ResourceCopiedEvent event) {
         checkNotNull("event",
                      event);
+        onResourceChanged(event.getPath());
+        onResourceChanged(event.getDestinationPath());
         invalidateDataSet();
     }
 
     public void processResourceRenamed(@Observes final ResourceRenamedEvent event) {
         checkNotNull("event",
                      event);
+        onResourceChanged(event.getPath());
+        onResourceChanged(event.getDestinationPath());
         invalidateDataSet();
     }
 
     public void processBatchChanges(@Observes final ResourceBatchChangesEvent event) {
         checkNotNull("event",
                      event);
+        event.getBatch().keySet().forEach(this::onResourceChanged);
         invalidateDataSet();
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.screens.contributors.backend.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.screens.contributors.backend.dataset.ContributionsStore;
+import org.uberfire.ext.editor.commons.version.impl.PortableVersionRecord;
+import org.uberfire.java.nio.base.version.VersionRecord;
+
+import static org.junit.Assert.assertEquals;
+
+public class ContributionsStoreTest {
+
+    private static final String PROJECT1 = "default://master@repo1/project1";
+    private static final String PROJECT2 = "default://master@repo1/project2";
+
+    private ContributionsStore store;
+    private List<VersionRecord> history;
+    private AtomicInteger loads;
+    private Function<String, List<VersionRecord>> historyLoader;
+
+    @Before
+    public void setUp() {
+        store = new ContributionsStore();
+        history = new ArrayList<>(Arrays.asList(record("c1"),
+                                                record("c2")));
+        loads = new AtomicInteger();
+        historyLoader = uri -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(history);
+        };
+    }
+
+    @Test
+    public void testHistoryIsLoadedOnce() {
+        assertEquals(2,
+                     store.getContributions(PROJECT1,
+                                            historyLoader).size());
+        assertEquals(2,
+                     store.getContributions(PROJECT1,
+                                            historyLoader).size());
+        assertEquals(1,
+                     loads.get());
+    }
+
+    @Test
+    public void testChangedProjectIsReloaded() {
+        store.getContributions(PROJECT1,
+                               historyLoader);
+        history.add(record("c3"));
+        store.resourceChanged(PROJECT1 + "/src/main/resources/file.drl");
+
+        final List<VersionRecord> contributions = store.getContributions(PROJECT1,
+                                                                         historyLoader);
+        assertEquals(2,
+                     loads.get());
+        assertEquals(3,
+                     contributions.size());
+        assertEquals("c3",
+                     contributions.get(2).id());
+    }
+
+    @Test
+    public void testOnlyChangedProjectIsReloaded() {
+        store.getContributions(PROJECT1,
+                               historyLoader);
+        store.getContributions(PROJECT2,
+                               historyLoader);
+        store.resourceChanged(PROJECT2 + "/pom.xml");
+        store.resourceChanged(PROJECT1 + "-other/pom.xml");
+
+        store.getContributions(PROJECT1,
+                               historyLoader);
+        store.getContributions(PROJECT2,
+                               historyLoader);
+        assertEquals(3,
+                     loads.get());
+    }
+
+    @Test
+    public void testRetainAll() {
+        store.getContributions(PROJECT1,
+                               historyLoader);
+        store.getContributions(PROJECT2 + "/",
+                               historyLoader);
+        store.retainAll(Collections.singletonList(PROJECT2 + "/"));
+
+        assertEquals(1,
+                     store.size());
+    }
+
+    private static VersionRecord record(final String id) {
+        return new PortableVersionRecord(id,
+                                         "author",
+                                         "author@example.com",
+                                         "commit " + id,
+                                         new Date(),
+                                         "default://" + id + "@repo1/file");
+    }
+}
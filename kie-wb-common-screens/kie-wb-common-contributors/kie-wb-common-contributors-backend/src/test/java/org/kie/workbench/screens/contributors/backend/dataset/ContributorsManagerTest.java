@@ -48,6 +48,7 @@ import org.uberfire.backend.vfs.PathFactory;
 import org.uberfire.ext.editor.commons.backend.version.VersionRecordService;
 import org.uberfire.ext.editor.commons.version.impl.PortableVersionRecord;
 import org.uberfire.java.nio.base.version.VersionRecord;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.junit.Assert.*;
 import static org.kie.workbench.common.screens.contributors.model.ContributorsDataSetColumns.COLUMN_AUTHOR;
@@ -595,4 +596,26 @@ public class ContributorsManagerTest {
         DataSetMetadata metadata = dataSet.getMetadata();
         assertNotNull(metadata);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBuildDataSetOnlyReloadsChangedProjects() throws Exception {
+        contributorsManager.buildDataSet(null);
+        verify(recordService,
+               times(2)).loadVersionRecords(any());
+
+        DataSet dataSet = contributorsManager.buildDataSet(null);
+        assertEquals(68,
+                     dataSet.getRowCount());
+        verify(recordService,
+               times(2)).loadVersionRecords(any());
+
+        contributorsManager.processResourceUpdate(new ResourceUpdatedEvent(PathFactory.newPath("file",
+                                                                                                "file:///project1/src/file"),
+                                                                            "",
+                                                                            null));
+        contributorsManager.buildDataSet(null);
+        verify(recordService,
+               times(3)).loadVersionRecords(any());
+        verify(dataSetStaleEvent).fire(any(DataSetStaleEvent.class));
+    }
+}
@@ -77,7 +77,6 @@ import org.kie.workbench.common.services.datamodeller.core.PropertyType;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.PropertyTypeFactoryImpl;
 import org.kie.workbench.common.services.datamodeller.driver.FilterHolder;
-import org.kie.workbench.common.services.datamodeller.driver.ModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriverException;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.impl.ModuleDataModelOracleUtils;
@@ -157,6 +156,8 @@ public class DataModelerServiceImpl
     private Instance<DomainHandler> domainHandlers;
     @Inject
     private FilterHolder filterHolder;
+    @Inject
+    private JavaSourceParseCacheManager parseCacheManager;
 
     public DataModelerServiceImpl() {
     }
@@ -325,10 +326,12 @@ public class DataModelerServiceImpl
 
             ClassLoader classLoader = classLoaderHelper.getModuleClassLoader(module);
 
-            ModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
-                                                                 Paths.convert(defaultPackage.getPackageMainSrcPath()),
-                                                                 classLoader,
-                                                                 filterHolder);
+            JavaRoasterModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
+                                                                            Paths.convert(defaultPackage.getPackageMainSrcPath()),
+                                                                            classLoader,
+                                                                            filterHolder);
+            modelDriver.setParseCache(parseCacheManager.getCache(module),
+                                      parseCacheManager.getExecutor());
             ModelDriverResult result = modelDriver.loadModel();
             dataModel = result.getDataModel();
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceParseCache;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.concurrent.Managed;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamed;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdated;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Holds a {@link JavaSourceParseCache} for each of the most recently loaded modules, and drops the cached sources
+ * that are updated, deleted or renamed. The sources that are not cached are parsed by the managed executor.
+ */
+@ApplicationScoped
+public class JavaSourceParseCacheManager {
+
+    public static final String MAX_MODULES_PROPERTY = "org.kie.workbench.datamodeller.parsecache.modules";
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.datamodeller.parsecache.size";
+
+    public static final String PARSER_THREADS_PROPERTY = "org.kie.workbench.datamodeller.parser.threads";
+
+    private static final String JAVA_EXTENSION = ".java";
+
+    private static final int MAX_MODULES = Integer.getInteger(MAX_MODULES_PROPERTY,
+                                                              10);
+
+    private static final int MAX_ENTRIES = Integer.getInteger(MAX_ENTRIES_PROPERTY,
+                                                              1000);
+
+    private static final int PARSER_THREADS = Integer.getInteger(PARSER_THREADS_PROPERTY,
+                                                                 Math.min(4,
+                                                                          Runtime.getRuntime().availableProcessors()));
+
+    //keyed by the module root uri
+    private final Map<String, JavaSourceParseCache> caches = new LinkedHashMap<String, JavaSourceParseCache>(16,
+                                                                                                           0.75f,
+                                                                                                           true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, JavaSourceParseCache> eldest) {
+            return size() > MAX_MODULES;
+        }
+    };
+
+    private ExecutorService executorService;
+
+    public JavaSourceParseCacheManager() {
+    }
+
+    @Inject
+    public JavaSourceParseCacheManager(final @Managed ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public JavaSourceParseCache getCache(final KieModule module) {
+        synchronized (caches) {
+            return caches.computeIfAbsent(module.getRootPath().toURI(),
+                                          root -> new JavaSourceParseCache(MAX_ENTRIES,
+                                                                           PARSER_THREADS));
+        }
+    }
+
+    public Executor getExecutor() {
+        return executorService;
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        onContentChanged(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        onRemoved(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        onRemoved(event.getPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (final Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            for (final ResourceChange change : entry.getValue()) {
+                if (change instanceof ResourceUpdated) {
+                    onContentChanged(entry.getKey());
+                } else if (change instanceof ResourceDeleted || change instanceof ResourceRenamed) {
+                    onRemoved(entry.getKey());
+                }
+            }
+        }
+    }
+
+    int size() {
+        synchronized (caches) {
+            return caches.size();
+        }
+    }
+
+    void onContentChanged(final Path path) {
+        if (path == null || !path.toURI().endsWith(JAVA_EXTENSION)) {
+            return;
+        }
+        final String uri = path.toURI();
+        synchronized (caches) {
+            for (final Map.Entry<String, JavaSourceParseCache> entry : caches.entrySet()) {
+                if (uri.startsWith(entry.getKey() + "/")) {
+                    entry.getValue().invalidate(uri);
+                }
+            }
+        }
+    }
+
+    void onRemoved(final Path path) {
+        if (path == null) {
+            return;
+        }
+        final String uri = path.toURI();
+        if (uri.endsWith(JAVA_EXTENSION)) {
+            onContentChanged(path);
+            return;
+        }
+        synchronized (caches) {
+            final List<String> removed = new ArrayList<String>();
+            for (final Map.Entry<String, JavaSourceParseCache> entry : caches.entrySet()) {
+                final String root = entry.getKey();
+                if (root.equals(uri) || root.startsWith(uri + "/")) {
+                    //the module, or a folder that contains it, is gone
+                    removed.add(root);
+                } else if (uri.startsWith(root + "/") && isFolder(uri)) {
+                    //a folder of the module, with any of its sources
+                    entry.getValue().clear();
+                }
+            }
+            removed.forEach(caches::remove);
+        }
+    }
+
+    private static boolean isFolder(final String uri) {
+        return uri.lastIndexOf('.') < uri.lastIndexOf('/');
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceParseCache;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceParseCache.ParseRequest;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceParseCache.ParseResult;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JavaSourceParseCacheManagerTest {
+
+    private static final String ROOT = "default://master@repo/module";
+
+    private static final String POJO = ROOT + "/src/main/java/org/test/Pojo.java";
+
+    @Mock
+    private KieModule module;
+
+    private JavaSourceParseCacheManager manager;
+
+    @Before
+    public void setUp() {
+        when(module.getRootPath()).thenReturn(path("module",
+                                                   ROOT));
+        manager = new JavaSourceParseCacheManager(null);
+    }
+
+    @Test
+    public void testCachePerModule() {
+        final KieModule otherModule = mock(KieModule.class);
+        when(otherModule.getRootPath()).thenReturn(path("other",
+                                                        "default://master@repo/other"));
+
+        assertSame(manager.getCache(module),
+                   manager.getCache(module));
+        assertNotSame(manager.getCache(module),
+                      manager.getCache(otherModule));
+        assertEquals(2,
+                     manager.size());
+    }
+
+    @Test
+    public void testUpdatedSourceIsInvalidated() {
+        final JavaSourceParseCache cache = manager.getCache(module);
+        parse(cache);
+        assertEquals(1,
+                     cache.size());
+
+        manager.onResourceUpdated(new ResourceUpdatedEvent(path("Pojo.java",
+                                                                POJO),
+                                                           "message",
+                                                           null));
+
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testDeletedModuleIsDropped() {
+        final JavaSourceParseCache cache = manager.getCache(module);
+        parse(cache);
+
+        manager.onResourceDeleted(new ResourceDeletedEvent(path("module",
+                                                                ROOT),
+                                                           "message",
+                                                           null));
+
+        assertEquals(0,
+                     manager.size());
+        assertNotSame(cache,
+                      manager.getCache(module));
+    }
+
+    @Test
+    public void testDeletedFolderClearsTheModuleCache() {
+        final JavaSourceParseCache cache = manager.getCache(module);
+        parse(cache);
+
+        manager.onResourceDeleted(new ResourceDeletedEvent(path("test",
+                                                                ROOT + "/src/main/java/org/test"),
+                                                           "message",
+                                                           null));
+
+        assertEquals(0,
+                     cache.size());
+        assertSame(cache,
+                   manager.getCache(module));
+    }
+
+    private static void parse(final JavaSourceParseCache cache) {
+        final List<ParseResult> results = cache.parseAll(Collections.singletonList(new ParseRequest(POJO,
+                                                                                                    "package org.test; public class Pojo { }")),
+                                                         null);
+        cache.release(results);
+    }
+
+    private static Path path(final String name,
+                             final String uri) {
+        return PathFactory.newPath(name,
+                                   uri);
+    }
+}
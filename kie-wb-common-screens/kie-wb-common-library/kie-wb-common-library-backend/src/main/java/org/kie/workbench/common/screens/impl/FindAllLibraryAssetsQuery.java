@@ -28,7 +28,6 @@ import org.kie.workbench.common.screens.library.api.index.LibraryRepositoryRootI
 import org.kie.workbench.common.screens.library.api.index.LibraryValueFileNameIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryValueRepositoryRootIndexTerm;
 import org.kie.workbench.common.services.refactoring.backend.server.query.NamedQuery;
-import org.kie.workbench.common.services.refactoring.backend.server.query.response.FileDetailsResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.standard.AbstractFindQuery;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
@@ -42,7 +41,7 @@ public class FindAllLibraryAssetsQuery
     public static String NAME = "FindAllLibraryAssetsQuery";
 
     @Inject
-    private FileDetailsResponseBuilder responseBuilder;
+    private LibraryAssetsResponseBuilder responseBuilder;
 
     @Override
     public String getName() {
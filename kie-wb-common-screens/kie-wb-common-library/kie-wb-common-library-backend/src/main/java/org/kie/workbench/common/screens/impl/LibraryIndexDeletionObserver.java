@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.impl;
+
+import java.util.Collection;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.engine.MetaIndexEngine;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+
+/**
+ * Removes the deleted assets from the library index as soon as they are deleted, so the library screen, which lists
+ * the assets straight from the index, does not need to check that every listed asset still exists.
+ */
+@ApplicationScoped
+public class LibraryIndexDeletionObserver {
+
+    private final MetaIndexEngine indexEngine;
+    private final LibraryIndexer libraryIndexer;
+    private final Logger logger;
+
+    // For proxying
+    public LibraryIndexDeletionObserver() {
+        this.indexEngine = null;
+        this.libraryIndexer = null;
+        this.logger = null;
+    }
+
+    @Inject
+    public LibraryIndexDeletionObserver(final MetadataConfig config,
+                                        final LibraryIndexer libraryIndexer,
+                                        final Logger logger) {
+        this.indexEngine = config.getIndexEngine();
+        this.libraryIndexer = libraryIndexer;
+        this.logger = logger;
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        delete(event.getPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            for (final ResourceChange change : entry.getValue()) {
+                if (change instanceof ResourceDeleted) {
+                    delete(entry.getKey());
+                }
+            }
+        }
+    }
+
+    private void delete(final org.uberfire.backend.vfs.Path deleted) {
+        try {
+            final Path path = Paths.convert(deleted);
+            if (libraryIndexer.supportsPath(path)) {
+                indexEngine.delete(libraryIndexer.toKObjectKey(path));
+            }
+        } catch (Exception e) {
+            logger.warn("Unable to remove '" + deleted.toURI() + "' from the library index.",
+                        e);
+        }
+    }
+}
@@ -16,7 +16,9 @@
 package org.kie.workbench.common.screens.impl;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -26,8 +28,12 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
 import org.guvnor.common.services.project.model.Package;
+import org.kie.workbench.common.screens.library.api.LibraryService;
 import org.kie.workbench.common.screens.library.api.index.Constants;
+import org.kie.workbench.common.screens.library.api.index.LibraryCreatedTimeIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryFileNameIndexTerm;
+import org.kie.workbench.common.screens.library.api.index.LibraryLastModifiedByIndexTerm;
+import org.kie.workbench.common.screens.library.api.index.LibraryLastModifiedTimeIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryRepositoryRootIndexTerm;
 import org.kie.workbench.common.services.refactoring.KPropertyImpl;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer;
@@ -43,8 +49,12 @@ import org.uberfire.ext.metadata.model.KObject;
 import org.uberfire.ext.metadata.model.KObjectKey;
 import org.uberfire.ext.metadata.model.KProperty;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.base.version.VersionAttributeView;
+import org.uberfire.java.nio.base.version.VersionAttributes;
+import org.uberfire.java.nio.base.version.VersionRecord;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.FileTime;
 import org.uberfire.workbench.annotations.VisibleAsset;
 import org.uberfire.workbench.type.ResourceTypeDefinition;
 
@@ -101,6 +111,8 @@ public class LibraryIndexer extends AbstractFileIndexer {
         // responsible for basic index info: file name, project root path
         final String fileName = Paths.convert(path).getFileName();
         final String repoRoot = getRootBackendPath(path);
+        // timestamps and committer are stored so the library screen doesn't need to read them from the file system
+        final AssetAttributes attributes = readAssetAttributes(path);
 
         final IndexBuilder builder = () -> {
             final Set<KProperty<?>> indexElements = new HashSet<>();
@@ -113,11 +125,62 @@ public class LibraryIndexer extends AbstractFileIndexer {
                                                   true));
             indexElements.add(new KPropertyImpl<>(LibraryRepositoryRootIndexTerm.TERM, repoRoot));
 
+            if (attributes != null) {
+                indexElements.add(new KPropertyImpl<>(LibraryCreatedTimeIndexTerm.TERM,
+                                                      String.valueOf(attributes.createdTime)));
+                indexElements.add(new KPropertyImpl<>(LibraryLastModifiedTimeIndexTerm.TERM,
+                                                      String.valueOf(attributes.lastModifiedTime)));
+                if (attributes.lastModifiedBy != null) {
+                    indexElements.add(new KPropertyImpl<>(LibraryLastModifiedByIndexTerm.TERM,
+                                                          attributes.lastModifiedBy));
+                }
+            }
+
             return indexElements;
         };
         return builder;
     }
 
+    AssetAttributes readAssetAttributes(final Path path) {
+        try {
+            final VersionAttributeView versionView = ioService.getFileAttributeView(path,
+                                                                                    VersionAttributeView.class);
+            if (versionView != null) {
+                // a single history walk provides both the timestamps and the last committer
+                final VersionAttributes versionAttributes = versionView.readAttributes();
+                final String lastModifiedBy = versionAttributes.history().records().stream()
+                        .max(Comparator.comparing(VersionRecord::date))
+                        .map(VersionRecord::author)
+                        .orElse(null);
+                return new AssetAttributes(versionAttributes.creationTime().toMillis(),
+                                           versionAttributes.lastModifiedTime().toMillis(),
+                                           lastModifiedBy);
+            }
+        } catch (UnsupportedOperationException e) {
+            // not a versioned file system, fall back to the basic attributes
+        } catch (Exception e) {
+            logger.warn("Unable to read the version attributes of '" + path.toUri().toString() + "'.",
+                        e);
+            return null;
+        }
+
+        try {
+            final Map<String, Object> attributes = ioService.readAttributes(path);
+            final FileTime createdTime = (FileTime) attributes.get(LibraryService.CREATED_TIME);
+            final FileTime lastModifiedTime = (FileTime) attributes.get(LibraryService.LAST_MODIFIED_TIME);
+            if (createdTime == null || lastModifiedTime == null) {
+                return null;
+            }
+            return new AssetAttributes(createdTime.toMillis(),
+                                       lastModifiedTime.toMillis(),
+                                       null);
+        } catch (Exception e) {
+            logger.warn("Unable to read the attributes of '" + path.toUri().toString() + "'.",
+                        e);
+            return null;
+        }
+    }
+
     private String getRootBackendPath(final Path path) {
         Path root = path;
         while (root.getParent() != null) {
@@ -185,5 +248,20 @@ public class LibraryIndexer extends AbstractFileIndexer {
     protected Set<ResourceTypeDefinition> getVisibleResourceTypes() {
         return this.visibleResourceTypes;
     }
+
+    static class AssetAttributes {
+
+        private final long createdTime;
+        private final long lastModifiedTime;
+        private final String lastModifiedBy;
+
+        AssetAttributes(final long createdTime,
+                        final long lastModifiedTime,
+                        final String lastModifiedBy) {
+            this.createdTime = createdTime;
+            this.lastModifiedTime = lastModifiedTime;
+            this.lastModifiedBy = lastModifiedBy;
+        }
+    }
 }
 
@@ -352,49 +352,57 @@ public class LibraryServiceImpl implements LibraryService {
                                                                                                                                   query.getStartIndex(),
                                                                                                                                   query.getAmount(),
                                                                                                                                   Boolean.TRUE));
-        final List<FolderItem> assets = findRulesByProjectQuery
-                .getPageRowList()
-                .stream()
-                .map(row -> {
-                    final Path path = (Path) row.getValue();
-                    return new FolderItem(path,
-                                          path.getFileName(),
-                                          FolderItemType.FILE,
-                                          false,
-                                          Paths.readLockedBy(path),
-                                          Collections.<String>emptyList(),
-                                          explorerServiceHelper.getRestrictedOperations(path));
-                })
-                .collect(Collectors.toList());
+        final List<RefactoringPageRow> rows = findRulesByProjectQuery.getPageRowList();
 
         log.info("Asset lookup result: project [{}] is indexed with {} index hits.",
                  projectIdentifierFrom(query),
-                 assets.size());
-        return AssetQueryResult.normal(assets.stream()
-                                               .map(asset -> {
-                                                   AssetInfo info = null;
-                                                   try {
-                                                       final Map<String, Object> attributes = ioService.readAttributes(Paths.convert((Path) asset.getItem()));
-
-                                                       final FileTime lastModifiedFileTime = (FileTime) getAttribute(LibraryService.LAST_MODIFIED_TIME,
-                                                                                                                     attributes).get();
-                                                       final FileTime createdFileTime = (FileTime) getAttribute(LibraryService.CREATED_TIME,
-                                                                                                                attributes).get();
-                                                       final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
-                                                       final Date createdTime = new Date(createdFileTime.toMillis());
-                                                       info = new AssetInfo(asset,
-                                                                            lastModifiedTime,
-                                                                            createdTime);
-                                                   } catch (NoSuchFileException nfe) {
-                                                       log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
-                                                   }
-                                                   return Optional.ofNullable(info);
-                                               })
+                 rows.size());
+        return AssetQueryResult.normal(rows.stream()
+                                               .map(this::toAssetInfo)
                                                .filter(Optional::isPresent)
                                                .map(Optional::get)
                                                .collect(Collectors.toList()));
     }
 
+    private Optional<AssetInfo> toAssetInfo(final RefactoringPageRow row) {
+        final Path path = (Path) row.getValue();
+        final FolderItem asset = new FolderItem(path,
+                                                path.getFileName(),
+                                                FolderItemType.FILE,
+                                                false,
+                                                Paths.readLockedBy(path),
+                                                Collections.<String>emptyList(),
+                                                explorerServiceHelper.getRestrictedOperations(path));
+
+        if (row instanceof LibraryAssetPageRow) {
+            final LibraryAssetPageRow assetRow = (LibraryAssetPageRow) row;
+            if (assetRow.getLastModifiedTime() != null && assetRow.getCreatedTime() != null) {
+                return Optional.of(new AssetInfo(asset,
+                                                 assetRow.getLastModifiedTime(),
+                                                 assetRow.getCreatedTime()));
+            }
+        }
+
+        // assets indexed without their timestamps
+        AssetInfo info = null;
+        try {
+            final Map<String, Object> attributes = ioService.readAttributes(Paths.convert(path));
+
+            final FileTime lastModifiedFileTime = (FileTime) getAttribute(LibraryService.LAST_MODIFIED_TIME,
+                                                                          attributes).get();
+            final FileTime createdFileTime = (FileTime) getAttribute(LibraryService.CREATED_TIME,
+                                                                     attributes).get();
+            final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
+            final Date createdTime = new Date(createdFileTime.toMillis());
+            info = new AssetInfo(asset,
+                                 lastModifiedTime,
+                                 createdTime);
+        } catch (NoSuchFileException nfe) {
+            log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
+        }
+        return Optional.ofNullable(info);
+    }
+
     private static String projectIdentifierFrom(final ProjectAssetsQuery query) {
         return Optional.ofNullable(query.getProject().getRepository())
                 .map(repo -> repo.getIdentifier())
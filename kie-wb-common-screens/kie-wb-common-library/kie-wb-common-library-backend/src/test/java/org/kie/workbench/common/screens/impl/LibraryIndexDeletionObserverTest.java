@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.engine.MetaIndexEngine;
+import org.uberfire.ext.metadata.model.KObjectKey;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAdded;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LibraryIndexDeletionObserverTest {
+
+    @Mock
+    private MetadataConfig config;
+
+    @Mock
+    private MetaIndexEngine indexEngine;
+
+    @Mock
+    private LibraryIndexer libraryIndexer;
+
+    @Mock
+    private KObjectKey key;
+
+    private LibraryIndexDeletionObserver observer;
+
+    @Before
+    public void setup() {
+        when(config.getIndexEngine()).thenReturn(indexEngine);
+        when(libraryIndexer.toKObjectKey(any())).thenReturn(key);
+
+        observer = new LibraryIndexDeletionObserver(config,
+                                                    libraryIndexer,
+                                                    mock(Logger.class));
+    }
+
+    @Test
+    public void deletedAssetIsRemovedFromTheIndex() {
+        when(libraryIndexer.supportsPath(any())).thenReturn(true);
+
+        observer.onResourceDeleted(new ResourceDeletedEvent(mockPath("file://the_project/delete.me"),
+                                                            "",
+                                                            mock(SessionInfo.class)));
+
+        verify(indexEngine).delete(key);
+    }
+
+    @Test
+    public void deletedFileThatIsNotAnAssetIsIgnored() {
+        when(libraryIndexer.supportsPath(any())).thenReturn(false);
+
+        observer.onResourceDeleted(new ResourceDeletedEvent(mockPath("file://the_project/.gitignore"),
+                                                            "",
+                                                            mock(SessionInfo.class)));
+
+        verify(indexEngine,
+               never()).delete(any(KObjectKey.class));
+    }
+
+    @Test
+    public void onlyDeletedAssetsOfABatchAreRemovedFromTheIndex() {
+        when(libraryIndexer.supportsPath(any())).thenReturn(true);
+        final Map<Path, Collection<ResourceChange>> batch = new HashMap<>();
+        batch.put(mockPath("file://the_project/added.me"),
+                  Collections.singletonList(new ResourceAdded("")));
+        batch.put(mockPath("file://the_project/delete.me"),
+                  Collections.singletonList(new ResourceDeleted("")));
+
+        final ResourceBatchChangesEvent event = mock(ResourceBatchChangesEvent.class);
+        when(event.getBatch()).thenReturn(batch);
+
+        observer.onBatchResourceChanges(event);
+
+        verify(indexEngine,
+               times(1)).delete(key);
+    }
+
+    private Path mockPath(final String uri) {
+        final Path path = mock(Path.class);
+        when(path.toURI()).thenReturn(uri);
+        return path;
+    }
+}
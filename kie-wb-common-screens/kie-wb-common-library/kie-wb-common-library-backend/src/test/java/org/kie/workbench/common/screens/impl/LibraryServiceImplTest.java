@@ -18,6 +18,7 @@ package org.kie.workbench.common.screens.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -94,6 +95,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -477,6 +479,54 @@ public class LibraryServiceImplTest {
         assertTrue(projectAssets.isEmpty());
     }
 
+    @Test
+    public void queryAssetsUsesIndexedTimestamps() throws Exception {
+
+        final Path path = mockPath("file://the_project");
+
+        final Branch branch = mock(Branch.class);
+
+        when(branch.getPath()).thenReturn(path);
+        final WorkspaceProject project = spy(new WorkspaceProject(ou1,
+                                                                  repo1,
+                                                                  branch,
+                                                                  null));
+
+        doReturn(true).when(ioService).exists(any());
+
+        final ProjectAssetsQuery query = new ProjectAssetsQuery(project,
+                                                                "",
+                                                                0,
+                                                                10,
+                                                                Collections.emptyList());
+
+        final PageResponse<RefactoringPageRow> pageRowPageResponse = new PageResponse<>();
+        final ArrayList<RefactoringPageRow> assetPageRowList = new ArrayList<>();
+        final Path filePath = mockPath("file://the_project/rule.drl");
+        when(filePath.getFileName()).thenReturn("rule.drl");
+        final LibraryAssetPageRow pageRow = new LibraryAssetPageRow();
+        pageRow.setValue(filePath);
+        pageRow.setCreatedTime(new Date(1000L));
+        pageRow.setLastModifiedTime(new Date(2000L));
+        assetPageRowList.add(pageRow);
+
+        pageRowPageResponse.setPageRowList(assetPageRowList);
+        when(refactoringQueryService.query(any(RefactoringPageRequest.class))).thenReturn(pageRowPageResponse);
+
+        final AssetQueryResult result = libraryService.getProjectAssets(query);
+
+        assertEquals(ResultType.Normal, result.getResultType());
+        final List<AssetInfo> projectAssets = result.getAssetInfos().get();
+        assertEquals(1,
+                     projectAssets.size());
+        assertEquals(new Date(1000L),
+                     projectAssets.get(0).getCreatedTime());
+        assertEquals(new Date(2000L),
+                     projectAssets.get(0).getLastModifiedTime());
+        verify(ioService,
+               never()).readAttributes(any());
+    }
+
     private Path mockPath(final String uri) {
         final Path path = mock(Path.class);
         when(path.toURI()).thenReturn(uri);
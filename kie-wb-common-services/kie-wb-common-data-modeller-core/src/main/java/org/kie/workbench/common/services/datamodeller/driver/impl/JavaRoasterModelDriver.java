@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.forge.roaster.ParserException;
@@ -106,6 +107,10 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
     private FilterHolder filterHolder;
 
+    private JavaSourceParseCache parseCache;
+
+    private Executor parseExecutor;
+
     private static final String DATA_OBJECT_LOAD_ERROR = "It was not possible to create or load DataObject: \"{0}\" .";
 
     private static final String ANNOTATION_LOAD_ERROR = "It was not possible to create or load a DataObject or Field annotation for annotation class name: \"{0}\" .";
@@ -142,6 +147,16 @@ public class JavaRoasterModelDriver implements ModelDriver {
         this.filterHolder = filterHolder;
     }
 
+    /**
+     * Sets the cache of the parsed sources of the module, and the executor for parsing the sources that are not
+     * cached. Without them, every source is parsed in the calling thread.
+     */
+    public void setParseCache(JavaSourceParseCache parseCache,
+                              Executor parseExecutor) {
+        this.parseCache = parseCache;
+        this.parseExecutor = parseExecutor;
+    }
+
     @Override
     public List<AnnotationDefinition> getConfiguredAnnotations() {
         return configuredAnnotations;
@@ -180,6 +195,8 @@ public class JavaRoasterModelDriver implements ModelDriver {
                                                                                     ".java",
                                                                                     true);
         if (scanResults != null) {
+            final List<Path> files = new ArrayList<Path>(scanResults.size());
+            final List<JavaSourceParseCache.ParseRequest> parseRequests = new ArrayList<JavaSourceParseCache.ParseRequest>(scanResults.size());
             for (FileUtils.ScanResult scanResult : scanResults) {
 
                 logger.debug("Starting file loading into model, file: " + scanResult.getFile());
@@ -190,49 +207,79 @@ public class JavaRoasterModelDriver implements ModelDriver {
                                                     Paths.convert(scanResult.getFile())));
                     continue;
                 }
-                try {
-                    JavaType<?> javaType = Roaster.parse(fileContent);
-                    final boolean isManaged = isManagedJavaType(javaType);
-                    final boolean vetoed = (isManaged ? isVetoed(javaType) : false);
-                    if (isManaged && !vetoed) {
-                        if (javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty()) {
-                            //if a file has parsing errors it will be skipped.
-                            addSyntaxErrors(result,
-                                            scanResult.getFile(),
-                                            javaType.getSyntaxErrors());
-                        } else if (javaType.isEnum()) {
-                            loadFromJavaEnum((JavaEnumSource) javaType,
-                                             scanResult.getFile(),
-                                             dataModel,
-                                             result);
-                        } else {
-                            loadFromJavaClass((JavaClassSource) javaType,
-                                              scanResult.getFile(),
-                                              dataModel,
-                                              result);
-                        }
-                    } else if (vetoed) {
-                        logger.debug("The class, {}, in the file, {}, was vetoed and will be skipped.",
-                                     javaType.getQualifiedName(),
-                                     scanResult.getFile());
+                files.add(scanResult.getFile());
+                parseRequests.add(new JavaSourceParseCache.ParseRequest(scanResult.getFile().toUri().toString(),
+                                                                        fileContent));
+            }
+
+            //unchanged files are taken from the cache, the remaining ones are parsed in parallel.
+            final JavaSourceParseCache cache = parseCache != null ? parseCache : new JavaSourceParseCache(0,
+                                                                                                        1);
+            final List<JavaSourceParseCache.ParseResult> parseResults = cache.parseAll(parseRequests,
+                                                                                       parseExecutor);
+            try {
+                loadParseResults(files,
+                                 parseResults,
+                                 dataModel,
+                                 result);
+            } finally {
+                cache.release(parseResults);
+            }
+        }
+        return result;
+    }
+
+    private void loadParseResults(List<Path> files,
+                                  List<JavaSourceParseCache.ParseResult> parseResults,
+                                  DataModel dataModel,
+                                  ModelDriverResult result) throws ModelDriverException {
+        for (int i = 0; i < files.size(); i++) {
+            final Path file = files.get(i);
+            final JavaSourceParseCache.ParseResult parseResult = parseResults.get(i);
+            try {
+                if (parseResult.getError() != null) {
+                    throw parseResult.getError();
+                }
+                JavaType<?> javaType = parseResult.getJavaType();
+                final boolean isManaged = isManagedJavaType(javaType);
+                final boolean vetoed = (isManaged ? isVetoed(javaType) : false);
+                if (isManaged && !vetoed) {
+                    if (javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty()) {
+                        //if a file has parsing errors it will be skipped.
+                        addSyntaxErrors(result,
+                                        file,
+                                        javaType.getSyntaxErrors());
+                    } else if (javaType.isEnum()) {
+                        loadFromJavaEnum((JavaEnumSource) javaType,
+                                         file,
+                                         dataModel,
+                                         result);
                     } else {
-                        logger.debug("File: " + scanResult.getFile() + " do not contain a managed java type, it will be skipped.");
+                        loadFromJavaClass((JavaClassSource) javaType,
+                                          file,
+                                          dataModel,
+                                          result);
                     }
-                } catch (ParserException e) {
-                    result.addError(new DriverError(e.getMessage(),
-                                                    Paths.convert(scanResult.getFile())));
-                } catch (Exception e) {
-                    //Unexpected error.
-                    logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
-                                              javaRootPath.toUri()),
-                                 e);
-                    throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
-                                                                javaRootPath.toUri()),
-                                                   e);
+                } else if (vetoed) {
+                    logger.debug("The class, {}, in the file, {}, was vetoed and will be skipped.",
+                                 javaType.getQualifiedName(),
+                                 file);
+                } else {
+                    logger.debug("File: " + file + " do not contain a managed java type, it will be skipped.");
                 }
+            } catch (ParserException e) {
+                result.addError(new DriverError(e.getMessage(),
+                                                Paths.convert(file)));
+            } catch (Exception e) {
+                //Unexpected error.
+                logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                          javaRootPath.toUri()),
+                             e);
+                throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                            javaRootPath.toUri()),
+                                               e);
             }
         }
-        return result;
     }
 
     private boolean isVetoed(final JavaType<?> javaType) {
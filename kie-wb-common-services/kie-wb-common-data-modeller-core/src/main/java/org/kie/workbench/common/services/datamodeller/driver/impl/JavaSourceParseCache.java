@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
+
+/**
+ * Keeps the results of parsing the java sources of a module with Roaster, so that unchanged files are not parsed
+ * again when the module's data model is loaded.
+ * <p>
+ * Entries are keyed by the file path and validated against a hash of the file content. Roaster types are mutable
+ * and not thread safe, so a cached type is never shared: {@link #parseAll(List, Executor)} takes the cached types
+ * out of the cache, a concurrent load of the same files parses its own ones, and the types are put back by
+ * {@link #release(List)} once the load that took them has finished reading them.
+ */
+public class JavaSourceParseCache {
+
+    private final Map<String, Entry> entries;
+
+    private final int parserThreads;
+
+    public JavaSourceParseCache(final int maxEntries,
+                                final int parserThreads) {
+        this.entries = new LinkedHashMap<String, Entry>(16,
+                                                        0.75f,
+                                                        true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.parserThreads = Math.max(1,
+                                      parserThreads);
+    }
+
+    /**
+     * Parses the given sources, taking the unchanged ones from the cache. The remaining ones are parsed by up to the
+     * configured number of tasks run by the given executor, or in the calling thread when there's no executor.
+     * Results are returned in the same order as the requests.
+     */
+    public List<ParseResult> parseAll(final List<ParseRequest> requests,
+                                      final Executor executor) {
+        final List<ParseResult> results = new ArrayList<ParseResult>(requests.size());
+        final List<Integer> pending = new ArrayList<Integer>();
+        for (int i = 0; i < requests.size(); i++) {
+            final ParseRequest request = requests.get(i);
+            request.hash = DigestUtils.sha1Hex(request.source);
+            final JavaType<?> cached = take(request.key,
+                                            request.hash);
+            results.add(cached != null ? new ParseResult(request,
+                                                         cached,
+                                                         null) : null);
+            if (cached == null) {
+                pending.add(i);
+            }
+        }
+
+        final int tasks = Math.min(parserThreads,
+                                   pending.size());
+        if (executor == null || tasks <= 1) {
+            parse(requests,
+                  results,
+                  pending);
+        } else {
+            //each task parses a slice of the pending files, so that no more than parserThreads are busy at once.
+            final List<CompletableFuture<Void>> futures = new ArrayList<CompletableFuture<Void>>(tasks);
+            for (int task = 0; task < tasks; task++) {
+                final List<Integer> slice = new ArrayList<Integer>();
+                for (int i = task; i < pending.size(); i += tasks) {
+                    slice.add(pending.get(i));
+                }
+                futures.add(CompletableFuture.runAsync(() -> parse(requests,
+                                                                   results,
+                                                                   slice),
+                                                       executor));
+            }
+            await(futures);
+        }
+        return results;
+    }
+
+    /**
+     * Puts back into the cache the types taken or parsed by {@link #parseAll(List, Executor)}. They must not have
+     * been modified.
+     */
+    public void release(final List<ParseResult> results) {
+        synchronized (entries) {
+            for (final ParseResult result : results) {
+                if (result != null && result.javaType != null) {
+                    entries.put(result.key,
+                                new Entry(result.hash,
+                                          result.javaType));
+                }
+            }
+        }
+    }
+
+    public void invalidate(final String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private JavaType<?> take(final String key,
+                             final String hash) {
+        synchronized (entries) {
+            final Entry entry = entries.remove(key);
+            return entry != null && entry.hash.equals(hash) ? entry.javaType : null;
+        }
+    }
+
+    private void parse(final List<ParseRequest> requests,
+                       final List<ParseResult> results,
+                       final List<Integer> indexes) {
+        for (final Integer index : indexes) {
+            final ParseResult result = doParse(requests.get(index));
+            synchronized (results) {
+                results.set(index,
+                            result);
+            }
+        }
+    }
+
+    private ParseResult doParse(final ParseRequest request) {
+        try {
+            return new ParseResult(request,
+                                   Roaster.parse(request.source),
+                                   null);
+        } catch (Exception e) {
+            return new ParseResult(request,
+                                   null,
+                                   e);
+        }
+    }
+
+    private void await(final List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+        } catch (CompletionException e) {
+            //parse errors are kept in the results, any other failure is unexpected.
+            throw new IllegalStateException("Java sources parsing failed.",
+                                            e.getCause());
+        }
+    }
+
+    public static class ParseRequest {
+
+        private final String key;
+
+        private final String source;
+
+        private String hash;
+
+        public ParseRequest(final String key,
+                            final String source) {
+            this.key = key;
+            this.source = source;
+        }
+    }
+
+    public static class ParseResult {
+
+        private final String key;
+
+        private final String hash;
+
+        private final JavaType<?> javaType;
+
+        private final Exception error;
+
+        ParseResult(final ParseRequest request,
+                    final JavaType<?> javaType,
+                    final Exception error) {
+            this.key = request.key;
+            this.hash = request.hash;
+            this.javaType = javaType;
+            this.error = error;
+        }
+
+        public JavaType<?> getJavaType() {
+            return javaType;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+    }
+
+    private static class Entry {
+
+        private final String hash;
+
+        private final JavaType<?> javaType;
+
+        private Entry(final String hash,
+                      final JavaType<?> javaType) {
+            this.hash = hash;
+            this.javaType = javaType;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceParseCache;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceParseCache.ParseRequest;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceParseCache.ParseResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class JavaSourceParseCacheTest {
+
+    private static final String POJO1 = "package org.test; public class Pojo1 { private String name; }";
+
+    private static final String POJO1_CHANGED = "package org.test; public class Pojo1 { private String name; private int age; }";
+
+    private static final String POJO2 = "package org.test; public class Pojo2 { }";
+
+    private JavaSourceParseCache cache;
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        cache = new JavaSourceParseCache(10,
+                                         2);
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testParseAllKeepsOrder() {
+        final List<ParseRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            requests.add(new ParseRequest("file" + i,
+                                          "package org.test; public class Pojo" + i + " { }"));
+        }
+
+        final List<ParseResult> results = cache.parseAll(requests,
+                                                         executorService);
+
+        assertEquals(8,
+                     results.size());
+        for (int i = 0; i < 8; i++) {
+            assertNull(results.get(i).getError());
+            assertEquals("org.test.Pojo" + i,
+                         results.get(i).getJavaType().getQualifiedName());
+        }
+        assertEquals(0,
+                     cache.size());
+        cache.release(results);
+        assertEquals(8,
+                     cache.size());
+    }
+
+    @Test
+    public void testUnchangedSourceIsNotParsedAgain() {
+        final ParseResult first = parse("file1",
+                                        POJO1);
+        final ParseResult second = parse("file1",
+                                         POJO1);
+
+        assertSame(first.getJavaType(),
+                   second.getJavaType());
+    }
+
+    @Test
+    public void testCachedTypeIsNotShared() {
+        final ParseResult first = cache.parseAll(Collections.singletonList(new ParseRequest("file1",
+                                                                                            POJO1)),
+                                                 null).get(0);
+        //the first result is not released yet, so it is in use by another load.
+        final ParseResult second = cache.parseAll(Collections.singletonList(new ParseRequest("file1",
+                                                                                             POJO1)),
+                                                  null).get(0);
+
+        assertNotSame(first.getJavaType(),
+                      second.getJavaType());
+    }
+
+    @Test
+    public void testChangedSourceIsParsedAgain() {
+        final ParseResult first = parse("file1",
+                                        POJO1);
+        final ParseResult second = parse("file1",
+                                         POJO1_CHANGED);
+
+        assertNotSame(first.getJavaType(),
+                      second.getJavaType());
+        assertEquals(1,
+                     cache.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final ParseResult first = parse("file1",
+                                        POJO1);
+        parse("file2",
+              POJO2);
+        cache.invalidate("file1");
+
+        assertEquals(1,
+                     cache.size());
+        assertNotSame(first.getJavaType(),
+                      parse("file1",
+                            POJO1).getJavaType());
+    }
+
+    @Test
+    public void testMaxEntries() {
+        cache = new JavaSourceParseCache(1,
+                                         1);
+        cache.release(cache.parseAll(Arrays.asList(new ParseRequest("file1",
+                                                                    POJO1),
+                                                   new ParseRequest("file2",
+                                                                    POJO2)),
+                                     executorService));
+        assertEquals(1,
+                     cache.size());
+    }
+
+    private ParseResult parse(final String key,
+                              final String source) {
+        final List<ParseResult> results = cache.parseAll(Collections.singletonList(new ParseRequest(key,
+                                                                                                    source)),
+                                                         executorService);
+        cache.release(results);
+        return results.get(0);
+    }
+}
@@ -21,6 +21,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +51,11 @@ public class ClassFactBuilder extends BaseFactBuilder {
 
     private final Map<String, FactBuilder> fieldFactBuilders = new HashMap<String, FactBuilder>();
 
+    private final Map<String, String[]> fieldEnums = new HashMap<String, String[]>();
+
+    //The classes inspected to create this builder, so it can be re-used while none of them changes
+    private final Set<String> inspectedTypes = new HashSet<String>();
+
     public ClassFactBuilder(final ModuleDataModelOracleBuilder builder,
                             final Class<?> clazz,
                             final boolean isEvent,
@@ -71,6 +77,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
               isEvent,
               typeSource);
         this.superTypes = getSuperTypes(clazz);
+        addInspectedTypes(clazz);
         this.annotations.addAll(AnnotationUtils.getClassAnnotations(clazz));
         loadClassFields(clazz,
                         discoveredFieldFactBuilders);
@@ -84,6 +91,21 @@ public class ClassFactBuilder extends BaseFactBuilder {
         oracle.addModuleSuperTypes(buildSuperTypes());
         oracle.addModuleTypeAnnotations(buildTypeAnnotations());
         oracle.addModuleTypeFieldsAnnotations(buildTypeFieldsAnnotations());
+        oracle.addModuleJavaEnumDefinitions(fieldEnums);
+    }
+
+    public Set<String> getInspectedTypes() {
+        return inspectedTypes;
+    }
+
+    private void addInspectedTypes(final Class<?> clazz) {
+        if (clazz == null || !inspectedTypes.add(clazz.getName())) {
+            return;
+        }
+        addInspectedTypes(clazz.getSuperclass());
+        for (Class<?> anInterface : clazz.getInterfaces()) {
+            addInspectedTypes(anInterface);
+        }
     }
 
     private List<String> getSuperTypes(final Class<?> clazz) {
@@ -202,6 +224,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
                                   final String fieldName,
                                   final Class<?> fieldClazz) {
         if (fieldClazz.isEnum()) {
+            inspectedTypes.add(fieldClazz.getName());
             final Field[] enumFields = fieldClazz.getDeclaredFields();
             final List<String> enumValues = new ArrayList<String>();
             for (final Field enumField : enumFields) {
@@ -216,9 +239,8 @@ public class ClassFactBuilder extends BaseFactBuilder {
             }
             final String a[] = new String[enumValues.size()];
             enumValues.toArray(a);
-            getDataModelBuilder().addEnum(className,
-                                          fieldName,
-                                          a);
+            fieldEnums.put(className + "#" + fieldName,
+                           a);
         }
     }
 
@@ -274,7 +296,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
     }
 
     @Override
-    public Map<String, FactBuilder> getInternalBuilders() {
+    public synchronized Map<String, FactBuilder> getInternalBuilders() {
         for (final FactBuilder factBuilder : new ArrayList<FactBuilder>(this.fieldFactBuilders.values())) {
             this.fieldFactBuilders.putAll(factBuilder.getInternalBuilders());
         }
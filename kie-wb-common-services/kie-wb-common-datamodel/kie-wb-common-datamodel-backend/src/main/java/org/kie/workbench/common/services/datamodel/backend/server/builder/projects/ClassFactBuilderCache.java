@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.soup.project.datamodel.oracle.TypeSource;
+
+/**
+ * Keeps what the {@link ClassFactBuilder}s created for the classes of a module added to its ModuleDataModelOracle
+ * between successive builds, so only the classes that changed (or depend on a changed class) are inspected again.
+ * <p>
+ * The fact builders themselves are not kept, as they refer to the ModuleDataModelOracleBuilder that created them.
+ * Instead the fields, methods, annotations, etc. each of them added to an oracle are kept by type name, and added
+ * again by a {@link FactBuilder} of the current build. These are re-used if every class the fact builder (or any of
+ * its field fact builders) inspected is unchanged: the class itself, its super classes and interfaces and the enums
+ * used by its fields. Classes are compared by a stamp: the size and modification time of the jar or file they are
+ * loaded from or, for classes loaded from memory, a checksum of their bytecode. JDK classes are assumed not to change.
+ */
+public class ClassFactBuilderCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    Session newSession(final ModuleDataModelOracleBuilder builder) {
+        return new Session(builder);
+    }
+
+    /**
+     * The use of the cache by a single ModuleDataModelOracle build. Class stamps are calculated at most once per
+     * session, and the classes that were not added during the session are evicted when it ends.
+     */
+    class Session {
+
+        private final ModuleDataModelOracleBuilder builder;
+
+        private final Map<String, String> stamps = new HashMap<>();
+
+        private final Set<String> added = new HashSet<>();
+
+        private Session(final ModuleDataModelOracleBuilder builder) {
+            this.builder = builder;
+        }
+
+        FactBuilder get(final Class<?> clazz,
+                        final boolean isEvent,
+                        final TypeSource typeSource) {
+            added.add(clazz.getName());
+            final Entry entry = entries.get(clazz.getName());
+            if (entry == null || entry.isEvent != isEvent || entry.typeSource != typeSource) {
+                return null;
+            }
+            for (Map.Entry<String, String> e : entry.stamps.entrySet()) {
+                if (!e.getValue().equals(stamp(clazz.getClassLoader(),
+                                               e.getKey()))) {
+                    return null;
+                }
+            }
+
+            final Map<String, FactBuilder> internalBuilders = new HashMap<>();
+            for (Map.Entry<String, ModuleDataModelOracle> e : entry.facts.entrySet()) {
+                if (!e.getKey().equals(clazz.getName())) {
+                    internalBuilders.put(e.getKey(),
+                                         new CachedFactBuilder(builder,
+                                                               e.getValue(),
+                                                               new HashMap<>()));
+                }
+            }
+            return new CachedFactBuilder(builder,
+                                         entry.facts.get(clazz.getName()),
+                                         internalBuilders);
+        }
+
+        void put(final Class<?> clazz,
+                 final boolean isEvent,
+                 final TypeSource typeSource,
+                 final ClassFactBuilder factBuilder) {
+            final Set<String> inspectedTypes = new HashSet<>(factBuilder.getInspectedTypes());
+            final Map<String, ModuleDataModelOracle> facts = new LinkedHashMap<>();
+            facts.put(clazz.getName(),
+                      facts(factBuilder));
+            for (Map.Entry<String, FactBuilder> e : factBuilder.getInternalBuilders().entrySet()) {
+                if (!(e.getValue() instanceof ClassFactBuilder)) {
+                    //Only the facts of ClassFactBuilders are known to depend on the inspected types alone
+                    entries.remove(clazz.getName());
+                    return;
+                }
+                inspectedTypes.addAll(((ClassFactBuilder) e.getValue()).getInspectedTypes());
+                facts.putIfAbsent(e.getKey(),
+                                  facts(e.getValue()));
+            }
+
+            final Map<String, String> typeStamps = new HashMap<>();
+            for (String type : inspectedTypes) {
+                if (isJdkType(type)) {
+                    continue;
+                }
+                final String stamp = stamp(clazz.getClassLoader(),
+                                           type);
+                if (stamp.isEmpty()) {
+                    //The class can't be found, e.g. for generated classes, so it can't be checked later
+                    entries.remove(clazz.getName());
+                    return;
+                }
+                typeStamps.put(type,
+                               stamp);
+            }
+            entries.put(clazz.getName(),
+                        new Entry(isEvent,
+                                  typeSource,
+                                  typeStamps,
+                                  facts));
+        }
+
+        void end() {
+            entries.keySet().retainAll(added);
+        }
+
+        private String stamp(final ClassLoader classLoader,
+                             final String type) {
+            return stamps.computeIfAbsent(type,
+                                          t -> ClassFactBuilderCache.stamp(classLoader,
+                                                                           t));
+        }
+    }
+
+    private static ModuleDataModelOracle facts(final FactBuilder factBuilder) {
+        final ModuleDataModelOracleImpl facts = new ModuleDataModelOracleImpl();
+        factBuilder.build(facts);
+        return facts;
+    }
+
+    private static boolean isJdkType(final String type) {
+        return type.startsWith("java.") || type.startsWith("javax.");
+    }
+
+    static String stamp(final ClassLoader classLoader,
+                        final String type) {
+        if (classLoader == null) {
+            return "";
+        }
+        final String resourceName = type.replace('.',
+                                                 '/') + ".class";
+        final URL url = classLoader.getResource(resourceName);
+        if (url != null) {
+            final File file = toFile(url);
+            if (file != null && file.isFile()) {
+                return url + ":" + file.length() + ":" + file.lastModified();
+            }
+        }
+        try (InputStream is = classLoader.getResourceAsStream(resourceName)) {
+            if (is == null) {
+                return "";
+            }
+            final CRC32 crc = new CRC32();
+            final byte[] buffer = new byte[8192];
+            long length = 0;
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                crc.update(buffer,
+                           0,
+                           read);
+                length += read;
+            }
+            return "crc32:" + length + ":" + crc.getValue();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    //The jar or class file a class is loaded from, if any
+    private static File toFile(final URL url) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return new File(url.toURI());
+            }
+            if ("jar".equals(url.getProtocol())) {
+                final String path = url.getPath();
+                final int separator = path.indexOf("!/");
+                if (separator > 0 && path.startsWith("file:")) {
+                    return new File(new URL(path.substring(0,
+                                                           separator)).toURI());
+                }
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            //Fall back to the bytecode checksum
+        }
+        return null;
+    }
+
+    /**
+     * Adds the facts kept for a type to the oracle of the current build.
+     */
+    private static class CachedFactBuilder implements FactBuilder {
+
+        private final ModuleDataModelOracleBuilder builder;
+        private final ModuleDataModelOracle facts;
+        private final Map<String, FactBuilder> internalBuilders;
+
+        private CachedFactBuilder(final ModuleDataModelOracleBuilder builder,
+                                  final ModuleDataModelOracle facts,
+                                  final Map<String, FactBuilder> internalBuilders) {
+            this.builder = builder;
+            this.facts = facts;
+            this.internalBuilders = internalBuilders;
+        }
+
+        @Override
+        public ModuleDataModelOracleBuilder end() {
+            return builder;
+        }
+
+        @Override
+        public Map<String, FactBuilder> getInternalBuilders() {
+            return internalBuilders;
+        }
+
+        @Override
+        public void build(final ModuleDataModelOracleImpl oracle) {
+            oracle.addModuleModelFields(facts.getModuleModelFields());
+            oracle.addModuleCollectionTypes(facts.getModuleCollectionTypes());
+            oracle.addModuleEventTypes(facts.getModuleEventTypes());
+            oracle.addModuleTypeSources(facts.getModuleTypeSources());
+            oracle.addModuleMethodInformation(facts.getModuleMethodInformation());
+            oracle.addModuleFieldParametersType(facts.getModuleFieldParametersType());
+            oracle.addModuleSuperTypes(facts.getModuleSuperTypes());
+            oracle.addModuleTypeAnnotations(facts.getModuleTypeAnnotations());
+            oracle.addModuleTypeFieldsAnnotations(facts.getModuleTypeFieldsAnnotations());
+            oracle.addModuleJavaEnumDefinitions(facts.getModuleJavaEnumDefinitions());
+        }
+    }
+
+    private static class Entry {
+
+        private final boolean isEvent;
+        private final TypeSource typeSource;
+        private final Map<String, String> stamps;
+        //The facts added by the fact builder of the class and by its field fact builders, by type
+        private final Map<String, ModuleDataModelOracle> facts;
+
+        private Entry(final boolean isEvent,
+                      final TypeSource typeSource,
+                      final Map<String, String> stamps,
+                      final Map<String, ModuleDataModelOracle> facts) {
+            this.isEvent = isEvent;
+            this.typeSource = typeSource;
+            this.stamps = stamps;
+            this.facts = facts;
+        }
+    }
+}
@@ -45,12 +45,29 @@ public final class ModuleDataModelOracleBuilder {
 
     private MVELEvaluator evaluator;
 
+    private ClassFactBuilderCache.Session classFactBuilderCacheSession;
+
     public static ModuleDataModelOracleBuilder newModuleOracleBuilder(MVELEvaluator evaluator) {
-        return new ModuleDataModelOracleBuilder(evaluator);
+        return new ModuleDataModelOracleBuilder(evaluator,
+                                                null);
+    }
+
+    /**
+     * Creates a builder that re-uses the facts kept in the given cache for the classes that did not change since the
+     * last build, and updates the cache with the ones of the classes inspected by this build.
+     */
+    public static ModuleDataModelOracleBuilder newModuleOracleBuilder(MVELEvaluator evaluator,
+                                                                      ClassFactBuilderCache classFactBuilderCache) {
+        return new ModuleDataModelOracleBuilder(evaluator,
+                                                classFactBuilderCache);
     }
 
-    private ModuleDataModelOracleBuilder(MVELEvaluator evaluator) {
+    private ModuleDataModelOracleBuilder(MVELEvaluator evaluator,
+                                         ClassFactBuilderCache classFactBuilderCache) {
         this.evaluator = evaluator;
+        if (classFactBuilderCache != null) {
+            this.classFactBuilderCacheSession = classFactBuilderCache.newSession(this);
+        }
     }
 
     //Used by tests
@@ -95,11 +112,31 @@ public final class ModuleDataModelOracleBuilder {
     public ModuleDataModelOracleBuilder addClass(final Class clazz,
                                                  final boolean isEvent,
                                                  final TypeSource typeSource) throws IOException {
-        final FactBuilder builder = new ClassFactBuilder(this,
-                                                         discoveredFieldFactBuilders,
-                                                         clazz,
-                                                         isEvent,
-                                                         typeSource);
+        if (classFactBuilderCacheSession == null) {
+            factTypeBuilders.put(clazz.getName(),
+                                 new ClassFactBuilder(this,
+                                                      discoveredFieldFactBuilders,
+                                                      clazz,
+                                                      isEvent,
+                                                      typeSource));
+            return this;
+        }
+
+        FactBuilder builder = classFactBuilderCacheSession.get(clazz,
+                                                               isEvent,
+                                                               typeSource);
+        if (builder == null) {
+            final ClassFactBuilder classFactBuilder = new ClassFactBuilder(this,
+                                                                           discoveredFieldFactBuilders,
+                                                                           clazz,
+                                                                           isEvent,
+                                                                           typeSource);
+            classFactBuilderCacheSession.put(clazz,
+                                             isEvent,
+                                             typeSource,
+                                             classFactBuilder);
+            builder = classFactBuilder;
+        }
         factTypeBuilders.put(clazz.getName(),
                              builder);
         return this;
@@ -144,6 +181,10 @@ public final class ModuleDataModelOracleBuilder {
         loadEnums();
         loadPackageNames();
 
+        if (classFactBuilderCacheSession != null) {
+            classFactBuilderCacheSession.end();
+        }
+
         return oracle;
     }
 
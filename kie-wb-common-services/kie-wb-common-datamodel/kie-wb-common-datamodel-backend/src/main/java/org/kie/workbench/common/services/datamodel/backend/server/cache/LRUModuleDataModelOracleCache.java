@@ -15,6 +15,10 @@
 
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -25,6 +29,7 @@ import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCach
 import org.kie.soup.commons.validation.PortablePreconditions;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ClassFactBuilderCache;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.uberfire.backend.vfs.Path;
@@ -37,9 +42,23 @@ import org.uberfire.backend.vfs.Path;
 public class LRUModuleDataModelOracleCache
         extends LRUCache<KieModule, ModuleDataModelOracle> {
 
+    private static final int MAX_CLASS_FACT_BUILDER_CACHES = Integer.getInteger("org.kie.workbench.datamodel.factbuilder.cache.modules",
+                                                                                10);
+
     private ModuleDataModelOracleBuilderProvider builderProvider;
     private KieModuleService moduleService;
     private BuildInfoService buildInfoService;
+    private ModuleDataModelOracleSnapshotStore snapshotStore;
+
+    //The facts of the module classes are kept after the ModuleOracle is invalidated so that only the changed classes are inspected again
+    private final Map<KieModule, ClassFactBuilderCache> classFactBuilderCaches = Collections.synchronizedMap(new LinkedHashMap<KieModule, ClassFactBuilderCache>(16,
+                                                                                                                                                                0.75f,
+                                                                                                                                                                true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<KieModule, ClassFactBuilderCache> eldest) {
+            return size() > MAX_CLASS_FACT_BUILDER_CACHES;
+        }
+    });
 
     public LRUModuleDataModelOracleCache() {
     }
@@ -47,10 +66,12 @@ public class LRUModuleDataModelOracleCache
     @Inject
     public LRUModuleDataModelOracleCache(final ModuleDataModelOracleBuilderProvider builderProvider,
                                          final KieModuleService moduleService,
-                                         final BuildInfoService buildInfoService) {
+                                         final BuildInfoService buildInfoService,
+                                         final ModuleDataModelOracleSnapshotStore snapshotStore) {
         this.builderProvider = builderProvider;
         this.moduleService = moduleService;
         this.buildInfoService = buildInfoService;
+        this.snapshotStore = snapshotStore;
     }
 
     public void invalidateModuleCache(@Observes final InvalidateDMOModuleCacheEvent event) {
@@ -76,8 +97,16 @@ public class LRUModuleDataModelOracleCache
         return moduleOracle;
     }
 
+    //The Module is only built if there's no up to date snapshot of its oracle
     private ModuleDataModelOracle makeModuleOracle(final KieModule module) {
-        return builderProvider.newBuilder(module,
-                                          buildInfoService.getBuildInfo(module)).build();
+        return snapshotStore.getOrBuild(module,
+                                        () -> builderProvider.newBuilder(module,
+                                                                         buildInfoService.getBuildInfo(module),
+                                                                         getClassFactBuilderCache(module)).build());
+    }
+
+    private ClassFactBuilderCache getClassFactBuilderCache(final KieModule module) {
+        return classFactBuilderCaches.computeIfAbsent(module,
+                                                      m -> new ClassFactBuilderCache());
     }
 }
\ No newline at end of file
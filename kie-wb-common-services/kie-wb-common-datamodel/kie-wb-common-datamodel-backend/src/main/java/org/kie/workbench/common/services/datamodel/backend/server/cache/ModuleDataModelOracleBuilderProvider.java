@@ -27,6 +27,7 @@ import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.soup.project.datamodel.oracle.TypeSource;
 import org.kie.workbench.common.services.backend.builder.core.TypeSourceResolver;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ClassFactBuilderCache;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ModuleDataModelOracleBuilder;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
@@ -57,18 +58,30 @@ public class ModuleDataModelOracleBuilderProvider {
 
     public InnerBuilder newBuilder(final KieModule project,
                                    final BuildInfo buildInfo) {
+        return newBuilder(project,
+                          buildInfo,
+                          null);
+    }
+
+    /**
+     * @param classFactBuilderCache facts of the classes inspected by the previous build of the module to re-use, or null
+     */
+    public InnerBuilder newBuilder(final KieModule project,
+                                   final BuildInfo buildInfo,
+                                   final ClassFactBuilderCache classFactBuilderCache) {
 
         final KieModuleMetaData kieModuleMetaData = buildInfo.getKieModuleMetaDataIgnoringErrors();
         final TypeSourceResolver typeSourceResolver = buildInfo.getTypeSourceResolver(kieModuleMetaData);
 
         return new InnerBuilder(project,
                                 kieModuleMetaData,
-                                typeSourceResolver);
+                                typeSourceResolver,
+                                classFactBuilderCache);
     }
 
     class InnerBuilder {
 
-        private final ModuleDataModelOracleBuilder pdBuilder = ModuleDataModelOracleBuilder.newModuleOracleBuilder(new RawMVELEvaluator());
+        private final ModuleDataModelOracleBuilder pdBuilder;
 
         private final KieModule project;
         private final KieModuleMetaData kieModuleMetaData;
@@ -76,10 +89,13 @@ public class ModuleDataModelOracleBuilderProvider {
 
         private InnerBuilder(final KieModule project,
                              final KieModuleMetaData kieModuleMetaData,
-                             final TypeSourceResolver typeSourceResolver) {
+                             final TypeSourceResolver typeSourceResolver,
+                             final ClassFactBuilderCache classFactBuilderCache) {
             this.project = project;
             this.kieModuleMetaData = kieModuleMetaData;
             this.typeSourceResolver = typeSourceResolver;
+            this.pdBuilder = ModuleDataModelOracleBuilder.newModuleOracleBuilder(new RawMVELEvaluator(),
+                                                                                 classFactBuilderCache);
         }
 
         public ModuleDataModelOracle build() {
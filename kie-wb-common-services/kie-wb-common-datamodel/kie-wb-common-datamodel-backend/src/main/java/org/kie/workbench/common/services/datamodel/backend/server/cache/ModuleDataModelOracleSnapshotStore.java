@@ -0,0 +1,316 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.appformer.maven.integration.DependencyDescriptor;
+import org.appformer.maven.integration.MavenRepository;
+import org.eclipse.aether.artifact.Artifact;
+import org.guvnor.common.services.backend.file.DotFileFilter;
+import org.guvnor.common.services.project.model.Dependency;
+import org.guvnor.common.services.project.model.POM;
+import org.jboss.errai.marshalling.server.ServerMarshalling;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Keeps a snapshot of every built {@link ModuleDataModelOracle} on disk, so that the oracles do not need to be built
+ * again, e.g. after a restart, while the module has not changed.
+ * <p>
+ * Snapshots are keyed by the module GAV plus a hash of its declared dependencies, their artifacts and the transitive
+ * ones as found in the Maven repository (path, size and modification time, so rebuilt SNAPSHOT dependencies are
+ * noticed) and the module resources. Resources are identified by their file key, i.e. the git object id of their
+ * content, so checking a snapshot neither builds the module nor reads its resources. A snapshot is only used if both
+ * its format version and key match the current ones; otherwise the oracle is built again and the snapshot replaced.
+ * Snapshots are stored in the directory set by {@link #SNAPSHOT_DIR_PROPERTY} or, by default, in a
+ * ".dmo-snapshots" directory next to the git repositories.
+ */
+@ApplicationScoped
+public class ModuleDataModelOracleSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ModuleDataModelOracleSnapshotStore.class);
+
+    public static final String SNAPSHOT_DIR_PROPERTY = "org.kie.workbench.datamodel.snapshot.dir";
+
+    public static final String SNAPSHOT_ENABLED_PROPERTY = "org.kie.workbench.datamodel.snapshot.enabled";
+
+    static final int SNAPSHOT_VERSION = 1;
+
+    private static final String SNAPSHOT_EXTENSION = ".dmo";
+
+    private final DirectoryStream.Filter<Path> dotFileFilter = new DotFileFilter();
+
+    private File snapshotDir;
+
+    public ModuleDataModelOracleSnapshotStore() {
+        this(Boolean.parseBoolean(System.getProperty(SNAPSHOT_ENABLED_PROPERTY,
+                                                     "true")) ? defaultSnapshotDir() : null);
+    }
+
+    /**
+     * @param snapshotDir the directory to store the snapshots in, or null to disable them.
+     */
+    public ModuleDataModelOracleSnapshotStore(final File snapshotDir) {
+        this.snapshotDir = snapshotDir;
+    }
+
+    /**
+     * Returns the oracle stored for the given module if it is up to date, otherwise builds a new one and stores it.
+     */
+    public ModuleDataModelOracle getOrBuild(final KieModule module,
+                                            final Supplier<ModuleDataModelOracle> builder) {
+        if (snapshotDir == null) {
+            return builder.get();
+        }
+
+        final File snapshotFile = snapshotFile(module);
+        final String key;
+        try {
+            key = key(module);
+        } catch (Exception e) {
+            log.warn("Unable to calculate the data model snapshot key for module '" + module.getModuleName() + "'.",
+                     e);
+            return builder.get();
+        }
+
+        final ModuleDataModelOracle snapshot = read(snapshotFile,
+                                                    key);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        final ModuleDataModelOracle oracle = builder.get();
+        write(snapshotFile,
+              key,
+              oracle);
+        return oracle;
+    }
+
+    String key(final KieModule module) {
+        final MessageDigest digest = newDigest();
+        final POM pom = module.getPom();
+        if (pom != null) {
+            update(digest,
+                   String.valueOf(pom.getGav()));
+            for (Dependency dependency : pom.getDependencies()) {
+                update(digest,
+                       dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion() + ":" + dependency.getScope());
+            }
+            for (String artifact : artifacts(pom)) {
+                update(digest,
+                       stamp(artifact));
+            }
+        }
+
+        final Path root = Paths.convert(module.getRootPath());
+        final String rootUri = root.toUri().toString();
+        for (Path path : resources(root)) {
+            update(digest,
+                   path.toUri().toString().substring(rootUri.length()));
+            update(digest,
+                   contentId(path));
+        }
+        return toHex(digest.digest());
+    }
+
+    //The declared dependencies and the transitive ones, as found in the Maven repository without building the module
+    private Set<String> artifacts(final POM pom) {
+        final Set<String> artifacts = new LinkedHashSet<>();
+        for (Dependency dependency : pom.getDependencies()) {
+            if (dependency.getVersion() == null) {
+                continue;
+            }
+            final String gav = dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion();
+            artifacts.add(gav);
+            for (DependencyDescriptor transitive : getMavenRepository().getArtifactDependecies(gav)) {
+                artifacts.add(transitive.getGroupId() + ":" + transitive.getArtifactId() + ":" + transitive.getVersion());
+            }
+        }
+        return artifacts;
+    }
+
+    private String stamp(final String gav) {
+        final Artifact artifact = getMavenRepository().resolveArtifact(gav);
+        if (artifact == null || artifact.getFile() == null) {
+            return gav;
+        }
+        final File file = artifact.getFile();
+        return file.getPath() + ":" + file.length() + ":" + file.lastModified();
+    }
+
+    //The git object id of the content where available, otherwise the size and modification time of the file
+    private String contentId(final Path path) {
+        final BasicFileAttributes attributes = Files.readAttributes(path,
+                                                                    BasicFileAttributes.class);
+        if (attributes.fileKey() != null) {
+            return attributes.fileKey().toString();
+        }
+        return attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+    }
+
+    private List<Path> resources(final Path root) {
+        final List<Path> resources = new ArrayList<>();
+        collectResources(root,
+                         resources);
+        //Directory streams are not guaranteed to be ordered
+        Collections.sort(resources,
+                         (p1, p2) -> p1.toUri().toString().compareTo(p2.toUri().toString()));
+        return resources;
+    }
+
+    private void collectResources(final Path directory,
+                                  final List<Path> resources) {
+        for (Path path : Files.newDirectoryStream(directory)) {
+            if (dotFileFilter.accept(path)) {
+                continue;
+            }
+            if (Files.isDirectory(path)) {
+                collectResources(path,
+                                 resources);
+            } else {
+                resources.add(path);
+            }
+        }
+    }
+
+    private ModuleDataModelOracle read(final File snapshotFile,
+                                       final String key) {
+        if (!snapshotFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(snapshotFile))))) {
+            if (in.readInt() != SNAPSHOT_VERSION || !key.equals(in.readUTF())) {
+                return null;
+            }
+            final byte[] json = new byte[in.readInt()];
+            in.readFully(json);
+            return (ModuleDataModelOracle) ServerMarshalling.fromJSON(new String(json,
+                                                                                 StandardCharsets.UTF_8));
+        } catch (Exception | LinkageError e) {
+            log.warn("Unable to read data model snapshot '" + snapshotFile + "', it will be rebuilt.",
+                     e);
+            return null;
+        }
+    }
+
+    private void write(final File snapshotFile,
+                       final String key,
+                       final ModuleDataModelOracle oracle) {
+        File tmpFile = null;
+        try {
+            if (!snapshotDir.isDirectory() && !snapshotDir.mkdirs()) {
+                log.warn("Unable to create data model snapshot directory '" + snapshotDir + "'.");
+                return;
+            }
+            final byte[] json = ServerMarshalling.toJSON(oracle).getBytes(StandardCharsets.UTF_8);
+            tmpFile = File.createTempFile("dmo",
+                                          ".tmp",
+                                          snapshotDir);
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile))))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeUTF(key);
+                out.writeInt(json.length);
+                out.write(json);
+            }
+            java.nio.file.Files.move(tmpFile.toPath(),
+                                     snapshotFile.toPath(),
+                                     StandardCopyOption.REPLACE_EXISTING,
+                                     StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception | LinkageError e) {
+            log.warn("Unable to write data model snapshot '" + snapshotFile + "'.",
+                     e);
+            if (tmpFile != null) {
+                tmpFile.delete();
+            }
+        }
+    }
+
+    private File snapshotFile(final KieModule module) {
+        final MessageDigest digest = newDigest();
+        update(digest,
+               module.getRootPath().toURI());
+        return new File(snapshotDir,
+                        toHex(digest.digest()) + SNAPSHOT_EXTENSION);
+    }
+
+    protected MavenRepository getMavenRepository() {
+        return MavenRepository.getMavenRepository();
+    }
+
+    private static File defaultSnapshotDir() {
+        final String snapshotDir = System.getProperty(SNAPSHOT_DIR_PROPERTY);
+        if (snapshotDir != null) {
+            return new File(snapshotDir);
+        }
+        return new File(System.getProperty("org.uberfire.nio.git.dir",
+                                           System.getProperty("java.io.tmpdir")),
+                        ".dmo-snapshots");
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(final MessageDigest digest,
+                               final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF,
+                                         16));
+            sb.append(Character.forDigit(b & 0xF,
+                                         16));
+        }
+        return sb.toString();
+    }
+}
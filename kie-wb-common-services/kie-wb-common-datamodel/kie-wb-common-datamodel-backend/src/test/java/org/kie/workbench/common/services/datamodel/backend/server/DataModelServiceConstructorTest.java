@@ -87,6 +87,7 @@ import org.kie.workbench.common.services.backend.kmodule.KModuleContentHandler;
 import org.kie.workbench.common.services.backend.kmodule.KModuleServiceImpl;
 import org.kie.workbench.common.services.backend.project.KieModuleRepositoriesServiceImpl;
 import org.kie.workbench.common.services.backend.project.KieModuleServiceImpl;
+import org.kie.workbench.common.services.backend.project.KieModuleRootCache;
 import org.kie.workbench.common.services.backend.project.KieResourceResolver;
 import org.kie.workbench.common.services.backend.project.ModuleSaver;
 import org.kie.workbench.common.services.backend.project.ProjectImportsServiceImpl;
@@ -97,6 +98,7 @@ import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListS
 import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUDataModelOracleCache;
 import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUModuleDataModelOracleCache;
 import org.kie.workbench.common.services.datamodel.backend.server.cache.ModuleDataModelOracleBuilderProvider;
+import org.kie.workbench.common.services.datamodel.backend.server.cache.ModuleDataModelOracleSnapshotStore;
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
 import org.kie.workbench.common.services.datamodel.spi.DataModelExtension;
 import org.kie.workbench.common.services.shared.dependencies.DependencyService;
@@ -228,7 +230,8 @@ public class DataModelServiceConstructorTest {
                                                                        pomService,
                                                                        commentedOptionFactory,
                                                                        kModuleService,
-                                                                       resourcePathResolversInstance);
+                                                                       resourcePathResolversInstance,
+                                                                       new KieModuleRootCache());
         ModuleSaver moduleSaver = null;
         moduleService = new HackedKieModuleServiceImpl(ioService,
                                                        moduleSaver,
@@ -294,8 +297,8 @@ public class DataModelServiceConstructorTest {
                                                            dependenciesClassLoaderCache,
                                                            pomModelCache,
                                                            packageNameWhiteListService,
-                                                           classFilterBeans
-        );
+                                                           classFilterBeans,
+                                                           null);
 
         Instance<PostBuildHandler> handlerInstance = mock(Instance.class);
         Iterator<PostBuildHandler> mockIterator = mock(Iterator.class);
@@ -331,7 +334,8 @@ public class DataModelServiceConstructorTest {
 
         LRUModuleDataModelOracleCache cacheModules = new LRUModuleDataModelOracleCache(builderProvider,
                                                                                        moduleService,
-                                                                                       buildInfoService);
+                                                                                       buildInfoService,
+                                                                                       new ModuleDataModelOracleSnapshotStore(null));
 
         dependenciesClassLoaderCache.setBuildInfoService(buildInfoService);
         LRUDataModelOracleCache cachePackages = new LRUDataModelOracleCache(ioService,
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.soup.project.datamodel.commons.util.RawMVELEvaluator;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.soup.project.datamodel.oracle.TypeSource;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.ProductOrder;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ClassFactBuilderCacheTest {
+
+    private ClassFactBuilderCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ClassFactBuilderCache();
+    }
+
+    @Test
+    public void testUnchangedClassesAreReused() throws Exception {
+        final ModuleDataModelOracle oracle = build(Product.class,
+                                                   PapaSmurf.class);
+        assertEquals(2,
+                     cache.size());
+
+        final ModuleDataModelOracleBuilder builder = ModuleDataModelOracleBuilder.newModuleOracleBuilder(new RawMVELEvaluator());
+        final FactBuilder productBuilder = cache.newSession(builder).get(Product.class,
+                                                                         false,
+                                                                         TypeSource.JAVA_PROJECT);
+        assertNotNull(productBuilder);
+        assertFalse(productBuilder instanceof ClassFactBuilder);
+        //Re-used facts are bound to the builder of the current build
+        assertSame(builder,
+                   productBuilder.end());
+
+        final ModuleDataModelOracle rebuiltOracle = build(Product.class,
+                                                          PapaSmurf.class);
+        assertEquals(oracle.getModuleSuperTypes(),
+                     rebuiltOracle.getModuleSuperTypes());
+        assertEquals(oracle.getModuleModelFields().keySet(),
+                     rebuiltOracle.getModuleModelFields().keySet());
+        assertEquals(oracle.getModuleMethodInformation().keySet(),
+                     rebuiltOracle.getModuleMethodInformation().keySet());
+        assertEquals(oracle.getModuleTypeAnnotations(),
+                     rebuiltOracle.getModuleTypeAnnotations());
+        assertNotNull(rebuiltOracle.getModuleJavaEnumDefinitions().get(Product.class.getName() + "#colour"));
+    }
+
+    @Test
+    public void testFieldFactsAreReused() throws Exception {
+        final ModuleDataModelOracle oracle = build(ProductOrder.class);
+        final ModuleDataModelOracle rebuiltOracle = build(ProductOrder.class);
+
+        assertTrue(oracle.getModuleModelFields().containsKey(Product.class.getName()));
+        assertEquals(oracle.getModuleModelFields().keySet(),
+                     rebuiltOracle.getModuleModelFields().keySet());
+    }
+
+    @Test
+    public void testStampOfClassInJar() throws Exception {
+        final String stamp = ClassFactBuilderCache.stamp(Test.class.getClassLoader(),
+                                                         Test.class.getName());
+        assertTrue(stamp.startsWith("jar:"));
+        assertEquals(stamp,
+                     ClassFactBuilderCache.stamp(Test.class.getClassLoader(),
+                                                 Test.class.getName()));
+    }
+
+    @Test
+    public void testStampOfUnknownClass() throws Exception {
+        assertEquals("",
+                     ClassFactBuilderCache.stamp(getClass().getClassLoader(),
+                                                 "org.test.DoesNotExist"));
+    }
+
+    @Test
+    public void testDifferentTypeSourceIsNotReused() throws Exception {
+        build(Product.class);
+
+        assertNull(cache.newSession(null).get(Product.class,
+                                              false,
+                                              TypeSource.JAVA_DEPENDENCY));
+        assertNull(cache.newSession(null).get(Product.class,
+                                              true,
+                                              TypeSource.JAVA_PROJECT));
+    }
+
+    @Test
+    public void testRemovedClassesAreEvicted() throws Exception {
+        build(Product.class,
+              PapaSmurf.class);
+        build(PapaSmurf.class);
+
+        assertEquals(1,
+                     cache.size());
+        assertNull(cache.newSession(null).get(Product.class,
+                                              false,
+                                              TypeSource.JAVA_PROJECT));
+    }
+
+    @Test
+    public void testInspectedTypes() throws Exception {
+        final ClassFactBuilder builder = new ClassFactBuilder(ModuleDataModelOracleBuilder.newModuleOracleBuilder(new RawMVELEvaluator()),
+                                                              ProductOrder.class,
+                                                              false,
+                                                              TypeSource.JAVA_PROJECT);
+
+        assertTrue(builder.getInspectedTypes().contains(ProductOrder.class.getName()));
+        assertTrue(builder.getInternalBuilders().containsKey(Product.class.getName()));
+        assertTrue(((ClassFactBuilder) builder.getInternalBuilders().get(Product.class.getName())).getInspectedTypes().contains(Product.Colour.class.getName()));
+    }
+
+    private ModuleDataModelOracle build(final Class<?>... classes) throws Exception {
+        final ModuleDataModelOracleBuilder builder = ModuleDataModelOracleBuilder.newModuleOracleBuilder(new RawMVELEvaluator(),
+                                                                                                         cache);
+        for (Class<?> clazz : classes) {
+            builder.addClass(clazz);
+        }
+        return builder.build();
+    }
+}
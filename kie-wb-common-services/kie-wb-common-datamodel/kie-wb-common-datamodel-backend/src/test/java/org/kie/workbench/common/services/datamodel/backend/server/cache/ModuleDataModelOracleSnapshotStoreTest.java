@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.appformer.maven.integration.DependencyDescriptor;
+import org.appformer.maven.integration.MavenRepository;
+import org.eclipse.aether.artifact.Artifact;
+import org.guvnor.common.services.project.model.Dependency;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ModuleDataModelOracleSnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
+
+    private MavenRepository mavenRepository;
+    private File moduleDir;
+    private File dependencyJar;
+    private File snapshotDir;
+    private POM pom;
+    private KieModule module;
+    private AtomicInteger builds;
+    private Supplier<ModuleDataModelOracle> builder;
+
+    @Before
+    public void setUp() throws Exception {
+        moduleDir = tempFolder.newFolder("module");
+        snapshotDir = tempFolder.newFolder("snapshots");
+        dependencyJar = tempFolder.newFile("dependency-1.0-SNAPSHOT.jar");
+        write("pom.xml",
+              "<project/>");
+        write("src/main/java/org/test/Person.java",
+              "package org.test; public class Person {}");
+
+        pom = new POM(new GAV("org.test",
+                              "module",
+                              "1.0"));
+        module = mock(KieModule.class);
+        when(module.getPom()).thenReturn(pom);
+        when(module.getRootPath()).thenReturn(Paths.convert(fs.getPath(moduleDir.toURI())));
+
+        //The module depends on org.test:dependency:1.0, which depends on the SNAPSHOT dependency jar
+        final DependencyDescriptor transitive = mock(DependencyDescriptor.class);
+        when(transitive.getGroupId()).thenReturn("org.test");
+        when(transitive.getArtifactId()).thenReturn("transitive");
+        when(transitive.getVersion()).thenReturn("1.0-SNAPSHOT");
+        final Artifact artifact = mock(Artifact.class);
+        when(artifact.getFile()).thenReturn(dependencyJar);
+        mavenRepository = mock(MavenRepository.class);
+        when(mavenRepository.getArtifactDependecies(anyString())).thenReturn(Collections.emptyList());
+        when(mavenRepository.getArtifactDependecies("org.test:dependency:1.0")).thenReturn(Collections.singletonList(transitive));
+        when(mavenRepository.resolveArtifact("org.test:transitive:1.0-SNAPSHOT")).thenReturn(artifact);
+
+        builds = new AtomicInteger();
+        builder = () -> {
+            builds.incrementAndGet();
+            return new ModuleDataModelOracleImpl();
+        };
+    }
+
+    @Test
+    public void testKeyChangesWithResources() throws Exception {
+        final ModuleDataModelOracleSnapshotStore store = newStore(snapshotDir);
+        final String key = store.key(module);
+        assertEquals(key,
+                     store.key(module));
+
+        write(".gitignore",
+              "target");
+        assertEquals(key,
+                     store.key(module));
+
+        write("src/main/java/org/test/Person.java",
+              "package org.test; public class Person { private String name; }");
+        assertNotEquals(key,
+                        store.key(module));
+    }
+
+    @Test
+    public void testKeyChangesWithDependencies() throws Exception {
+        final ModuleDataModelOracleSnapshotStore store = newStore(snapshotDir);
+        final String key = store.key(module);
+
+        pom.getDependencies().add(new Dependency(new GAV("org.test",
+                                                         "dependency",
+                                                         "1.0")));
+        assertNotEquals(key,
+                        store.key(module));
+    }
+
+    @Test
+    public void testKeyChangesWithResolvedArtifacts() throws Exception {
+        pom.getDependencies().add(new Dependency(new GAV("org.test",
+                                                         "dependency",
+                                                         "1.0")));
+        final ModuleDataModelOracleSnapshotStore store = newStore(snapshotDir);
+        final String key = store.key(module);
+
+        //e.g. a SNAPSHOT or transitive dependency rebuilt without any change to the module pom.xml
+        java.nio.file.Files.write(dependencyJar.toPath(),
+                                  "rebuilt".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(key,
+                        store.key(module));
+    }
+
+    @Test
+    public void testSnapshotIsReusedAfterRestart() throws Exception {
+        assertNotNull(newStore(snapshotDir).getOrBuild(module,
+                                                       builder));
+        assertNotNull(newStore(snapshotDir).getOrBuild(module,
+                                                       builder));
+        assertEquals(1,
+                     builds.get());
+
+        write("src/main/java/org/test/Address.java",
+              "package org.test; public class Address {}");
+        newStore(snapshotDir).getOrBuild(module,
+                                         builder);
+        assertEquals(2,
+                     builds.get());
+    }
+
+    @Test
+    public void testDisabledSnapshots() throws Exception {
+        final ModuleDataModelOracleSnapshotStore store = newStore(null);
+        store.getOrBuild(module,
+                         builder);
+        store.getOrBuild(module,
+                         builder);
+        assertEquals(2,
+                     builds.get());
+    }
+
+    private ModuleDataModelOracleSnapshotStore newStore(final File snapshotDir) {
+        return new ModuleDataModelOracleSnapshotStore(snapshotDir) {
+            @Override
+            protected MavenRepository getMavenRepository() {
+                return mavenRepository;
+            }
+        };
+    }
+
+    private void write(final String path,
+                       final String content) throws Exception {
+        final File file = new File(moduleDir,
+                                   path);
+        file.getParentFile().mkdirs();
+        java.nio.file.Files.write(file.toPath(),
+                                  content.getBytes(StandardCharsets.UTF_8));
+    }
+}
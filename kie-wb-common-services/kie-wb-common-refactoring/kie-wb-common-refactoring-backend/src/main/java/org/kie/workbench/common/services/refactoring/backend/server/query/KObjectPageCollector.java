@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.uberfire.ext.metadata.model.KObject;
+
+/**
+ * Collects a window of query results in a single pass, optionally discarding duplicated hits.
+ * <p>
+ * In a cluster environment the same file can be indexed more than once, so hits are considered
+ * duplicated when they share both the cluster id and the key. Only the hits inside the requested
+ * window are retained, while the total number of (distinct) hits is counted for all of them.
+ */
+public class KObjectPageCollector {
+
+    public static final int ALL = Integer.MAX_VALUE;
+
+    private final int startIndex;
+    private final int pageSize;
+    private final boolean distinct;
+    private final Set<String> seen;
+    private final List<KObject> page;
+    private int totalHits;
+
+    public KObjectPageCollector(final int startIndex,
+                                final int pageSize,
+                                final boolean distinct) {
+        this.startIndex = Math.max(0,
+                                   startIndex);
+        this.pageSize = Math.max(0,
+                                 pageSize);
+        this.distinct = distinct;
+        this.seen = distinct ? new HashSet<>() : null;
+        this.page = new ArrayList<>(Math.min(this.pageSize,
+                                             100));
+        this.totalHits = 0;
+    }
+
+    public static KObjectPageCollector countOnly(final boolean distinct) {
+        return new KObjectPageCollector(0,
+                                        0,
+                                        distinct);
+    }
+
+    public KObjectPageCollector collect(final Iterable<KObject> kObjects) {
+        for (final KObject kObject : kObjects) {
+            collect(kObject);
+        }
+        return this;
+    }
+
+    public boolean collect(final KObject kObject) {
+        if (distinct && !seen.add(generateUniqueIdentifier(kObject))) {
+            return false;
+        }
+        if (totalHits >= startIndex && page.size() < pageSize) {
+            page.add(kObject);
+        }
+        totalHits++;
+        return true;
+    }
+
+    /**
+     * Whether the requested window has been filled, so no more hits are required to build the page. Collectors
+     * counting the hits never get full.
+     */
+    public boolean isPageFull() {
+        return pageSize > 0 && page.size() >= pageSize;
+    }
+
+    public boolean isDistinct() {
+        return distinct;
+    }
+
+    public List<KObject> getPage() {
+        return page;
+    }
+
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * The number of hits that must be read from the index to fill the requested window, or 0 when every hit is
+     * required. When results are de-duplicated more hits may be needed, see {@link #nextWindow(int)}.
+     */
+    int getRequiredHits() {
+        if (pageSize == 0) {
+            return 0;
+        }
+        final long required = (long) startIndex + (long) pageSize;
+        return required >= ALL ? 0 : (int) required;
+    }
+
+    /**
+     * The number of hits to read from the index when the previous window was not enough to fill the page, as
+     * duplicated hits were discarded. Windows grow twice as big, or 0 to read every hit.
+     */
+    static int nextWindow(final int window) {
+        return window >= ALL / 2 ? 0 : window * 2;
+    }
+
+    static String generateUniqueIdentifier(final KObject kObject) {
+        return kObject.getClusterId() + kObject.getKey();
+    }
+}
@@ -21,11 +21,6 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-import java.util.function.IntFunction;
-import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -34,8 +29,6 @@ import javax.inject.Named;
 
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
-import org.apache.lucene.search.TopFieldDocs;
-import org.apache.lucene.search.TotalHitCountCollector;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.soup.commons.validation.PortablePreconditions;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
@@ -103,16 +96,19 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Sort sort = namedQuery.getSortOrder();
 
         try {
-            List<KObject> found = config.getIndexProvider().findByQuery(Collections.EMPTY_LIST,
-                                                                        query,
-                                                                        sort,
-                                                                        0);
-
-            if (request.distinctResults()) {
-                found = distinct(found);
+            final long hits = config.getIndexProvider().findHitsByQuery(Collections.emptyList(),
+                                                                        query);
+            if (!request.distinctResults() || hits <= 1) {
+                return (int) hits;
             }
 
-            return found.size();
+            //Duplicated hits can only be discarded by looking at their keys
+            final KObjectPageCollector collector = KObjectPageCollector.countOnly(true);
+            collect(Collections.emptyList(),
+                    query,
+                    sort,
+                    collector);
+            return collector.getTotalHits();
         } catch (final Exception ex) {
             throw new RuntimeException("Error during Query!",
                                        ex);
@@ -124,19 +120,11 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         //for library assets list and count.
         //In cluster environment library index each file more than once.
         //The index should be revised on next release (7.6).
-        return found
-                .stream()
-                .filter(distinctByKey(RefactoringQueryServiceImpl::generateUniqueIdentifierForKObject))
-                .collect(Collectors.toList());
-    }
-
-    private static String generateUniqueIdentifierForKObject(final KObject kObject) {
-        return kObject.getClusterId() + kObject.getKey();
-    }
-
-    private static <T> Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
-        Set<Object> seen = ConcurrentHashMap.newKeySet();
-        return t -> seen.add(keyExtractor.apply(t));
+        return new KObjectPageCollector(0,
+                                        KObjectPageCollector.ALL,
+                                        true)
+                .collect(found)
+                .getPage();
     }
 
     @Override
@@ -156,15 +144,16 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final int pageSize = request.getPageSize();
         final int startIndex = request.getStartRowIndex();
 
-        List<KObject> kObjects
+        if (pageSize <= 0) {
+            return emptyResponse;
+        }
+
+        final List<KObject> kObjects
                 = search(query,
                          sort,
-                         () -> (startIndex),
-                         // start index of docs to get
-                         (numHits) -> (numHits - startIndex > pageSize ? pageSize : numHits - startIndex),
-                         request.distinctResults()
-                         // num docs to add to response
-        );
+                         new KObjectPageCollector(startIndex,
+                                                  pageSize,
+                                                  request.distinctResults()));
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -195,12 +184,9 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final List<KObject> kObjects
                 = search(query,
                          sort,
-                         () -> (0),
-                         // start index of docs to get
-                         (numHits) -> (numHits),
-                         false
-                         // num docs to add to response
-        );
+                         new KObjectPageCollector(0,
+                                                  KObjectPageCollector.ALL,
+                                                  false));
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -212,9 +198,7 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
     private List<KObject> search(final Query query,
                                  final Sort sort,
-                                 final Supplier<Integer> startIndexSupplier,
-                                 final IntFunction<Integer> numOfHitsToReturnSupplier,
-                                 final boolean distinct,
+                                 final KObjectPageCollector collector,
                                  final ClusterSegment... clusterSegments) {
 
         try {
@@ -222,28 +206,46 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
                     .map(clusterSegment -> clusterSegment.getClusterId())
                     .collect(Collectors.toList());
 
-            List<KObject> found = config.getIndexProvider().findByQuery(indices,
-                                                                        query,
-                                                                        sort,
-                                                                        0);
-
-            if (distinct) {
-                found = distinct(found);
-            }
-            final int startIndex = startIndexSupplier.get();
-            final int numOfHitsToReturn = numOfHitsToReturnSupplier.apply(found.size());
-
-            return found.subList(startIndex,
-                                 startIndex + numOfHitsToReturn);
-        } catch (
-                final Exception ex)
+            collect(indices,
+                    query,
+                    sort,
+                    collector);
 
-        {
+            return collector.getPage();
+        } catch (final Exception ex) {
             throw new RuntimeException("Error during Query!",
                                        ex);
         }
     }
 
+    /**
+     * Feeds the hits of the query to the collector until its page is full. The index is read in growing windows
+     * starting at the hits the page requires, so a page is built reading only a few more hits than the duplicated
+     * ones found before its end. As windows are sorted, the hits of the previous window are not collected again.
+     */
+    private void collect(final List<String> indices,
+                         final Query query,
+                         final Sort sort,
+                         final KObjectPageCollector collector) {
+        int limit = collector.getRequiredHits();
+        int read = 0;
+        while (true) {
+            final List<KObject> found = config.getIndexProvider().findByQuery(indices,
+                                                                              query,
+                                                                              sort,
+                                                                              limit);
+            for (int i = read; i < found.size() && !collector.isPageFull(); i++) {
+                collector.collect(found.get(i));
+            }
+            read = found.size();
+
+            if (collector.isPageFull() || limit == 0 || read < limit) {
+                return;
+            }
+            limit = KObjectPageCollector.nextWindow(limit);
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.kie.workbench.common.services.refactoring.service.RefactoringQueryService#queryToPageResponse(org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest)
      */
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.uberfire.ext.metadata.model.KObject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KObjectPageCollectorTest {
+
+    @Test
+    public void testPageWindow() {
+        final List<KObject> hits = Arrays.asList(kObject("c1",
+                                                         "a"),
+                                                 kObject("c1",
+                                                         "b"),
+                                                 kObject("c1",
+                                                         "c"),
+                                                 kObject("c1",
+                                                         "d"));
+        final KObjectPageCollector collector = new KObjectPageCollector(1,
+                                                                        2,
+                                                                        false).collect(hits);
+
+        assertEquals(Arrays.asList(hits.get(1),
+                                   hits.get(2)),
+                     collector.getPage());
+        assertEquals(4,
+                     collector.getTotalHits());
+        assertEquals(3,
+                     collector.getRequiredHits());
+        assertTrue(collector.isPageFull());
+    }
+
+    @Test
+    public void testPageWindowOutOfRange() {
+        final KObjectPageCollector collector = new KObjectPageCollector(10,
+                                                                        5,
+                                                                        false).collect(Arrays.asList(kObject("c1",
+                                                                                                             "a"),
+                                                                                                     kObject("c1",
+                                                                                                             "b")));
+
+        assertTrue(collector.getPage().isEmpty());
+        assertEquals(2,
+                     collector.getTotalHits());
+        assertFalse(collector.isPageFull());
+    }
+
+    @Test
+    public void testDistinct() {
+        final KObject a = kObject("c1",
+                                  "a");
+        final KObject b = kObject("c1",
+                                  "b");
+        final KObject otherClusterA = kObject("c2",
+                                              "a");
+        final KObjectPageCollector collector = new KObjectPageCollector(0,
+                                                                        KObjectPageCollector.ALL,
+                                                                        true);
+
+        assertTrue(collector.collect(a));
+        assertFalse(collector.collect(kObject("c1",
+                                              "a")));
+        assertTrue(collector.collect(b));
+        assertTrue(collector.collect(otherClusterA));
+        assertFalse(collector.collect(kObject("c1",
+                                              "b")));
+
+        assertEquals(Arrays.asList(a,
+                                   b,
+                                   otherClusterA),
+                     collector.getPage());
+        assertEquals(3,
+                     collector.getTotalHits());
+    }
+
+    @Test
+    public void testCountOnly() {
+        final KObjectPageCollector collector = KObjectPageCollector.countOnly(true).collect(Arrays.asList(kObject("c1",
+                                                                                                                  "a"),
+                                                                                                          kObject("c1",
+                                                                                                                  "a"),
+                                                                                                          kObject("c1",
+                                                                                                                  "b")));
+
+        assertTrue(collector.getPage().isEmpty());
+        assertEquals(2,
+                     collector.getTotalHits());
+    }
+
+    @Test
+    public void testRequiredHitsForAll() {
+        assertEquals(0,
+                     new KObjectPageCollector(0,
+                                              KObjectPageCollector.ALL,
+                                              false).getRequiredHits());
+        assertEquals(0,
+                     new KObjectPageCollector(5,
+                                              KObjectPageCollector.ALL,
+                                              false).getRequiredHits());
+    }
+
+    @Test
+    public void testCountOnlyIsNeverFull() {
+        final KObjectPageCollector collector = KObjectPageCollector.countOnly(true);
+
+        assertFalse(collector.isPageFull());
+        assertEquals(0,
+                     collector.getRequiredHits());
+    }
+
+    @Test
+    public void testNextWindow() {
+        assertEquals(6,
+                     KObjectPageCollector.nextWindow(3));
+        assertEquals(0,
+                     KObjectPageCollector.nextWindow(KObjectPageCollector.ALL / 2 + 1));
+    }
+
+    private static KObject kObject(final String clusterId,
+                                   final String key) {
+        final KObject kObject = mock(KObject.class);
+        when(kObject.getClusterId()).thenReturn(clusterId);
+        when(kObject.getKey()).thenReturn(key);
+        return kObject;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.mockito.ArgumentCaptor;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.model.KObject;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RefactoringQueryServiceImplTest {
+
+    private static final String QUERY_NAME = "query";
+
+    private MetadataConfig config;
+    private ResponseBuilder responseBuilder;
+    private RefactoringQueryServiceImpl service;
+    private List<KObject> hits;
+
+    @Before
+    public void setup() {
+        config = mock(MetadataConfig.class,
+                      RETURNS_DEEP_STUBS);
+        responseBuilder = mock(ResponseBuilder.class);
+        final NamedQuery namedQuery = mock(NamedQuery.class);
+        when(namedQuery.getResponseBuilder()).thenReturn(responseBuilder);
+        final NamedQueries namedQueries = mock(NamedQueries.class);
+        when(namedQueries.findNamedQuery(QUERY_NAME)).thenReturn(namedQuery);
+
+        hits = new ArrayList<>();
+        when(config.getIndexProvider().findByQuery(anyListOf(String.class),
+                                                   any(Query.class),
+                                                   any(Sort.class),
+                                                   anyInt())).thenAnswer(invocation -> {
+            final int limit = (Integer) invocation.getArguments()[3];
+            return limit == 0 ? hits : hits.subList(0,
+                                                    Math.min(limit,
+                                                             hits.size()));
+        });
+        when(config.getIndexProvider().findHitsByQuery(anyListOf(String.class),
+                                                       any(Query.class))).thenAnswer(invocation -> (long) hits.size());
+
+        service = new RefactoringQueryServiceImpl(config,
+                                                  namedQueries);
+        service.init();
+    }
+
+    @Test
+    public void testPageReadsOnlyTheRequiredHits() {
+        addHits("a",
+                "b",
+                "c",
+                "d",
+                "e",
+                "f");
+
+        service.query(new RefactoringPageRequest(QUERY_NAME,
+                                                 Collections.emptySet(),
+                                                 1,
+                                                 2));
+
+        verify(config.getIndexProvider()).findByQuery(anyListOf(String.class),
+                                                      any(Query.class),
+                                                      any(Sort.class),
+                                                      eq(3));
+        assertPage(1,
+                   2,
+                   "b",
+                   "c");
+    }
+
+    @Test
+    public void testDistinctPageGrowsTheWindowUntilFull() {
+        addHits("a",
+                "a",
+                "b",
+                "b",
+                "c",
+                "d");
+
+        service.query(new RefactoringPageRequest(QUERY_NAME,
+                                                 Collections.emptySet(),
+                                                 1,
+                                                 2,
+                                                 true));
+
+        verify(config.getIndexProvider()).findByQuery(anyListOf(String.class),
+                                                      any(Query.class),
+                                                      any(Sort.class),
+                                                      eq(3));
+        verify(config.getIndexProvider()).findByQuery(anyListOf(String.class),
+                                                      any(Query.class),
+                                                      any(Sort.class),
+                                                      eq(6));
+        assertPage(1,
+                   2,
+                   "b",
+                   "c");
+    }
+
+    @Test
+    public void testDistinctPageStopsAtTheEndOfTheIndex() {
+        addHits("a",
+                "a",
+                "b");
+
+        service.query(new RefactoringPageRequest(QUERY_NAME,
+                                                 Collections.emptySet(),
+                                                 0,
+                                                 10,
+                                                 true));
+
+        verify(config.getIndexProvider(),
+               times(1)).findByQuery(anyListOf(String.class),
+                                     any(Query.class),
+                                     any(Sort.class),
+                                     anyInt());
+        assertPage(0,
+                   10,
+                   "a",
+                   "b");
+    }
+
+    @Test
+    public void testDistinctHitCount() {
+        addHits("a",
+                "a",
+                "b",
+                "c",
+                "c");
+
+        assertEquals(3,
+                     service.queryHitCount(new RefactoringPageRequest(QUERY_NAME,
+                                                                      Collections.emptySet(),
+                                                                      0,
+                                                                      null,
+                                                                      true)));
+        assertEquals(5,
+                     service.queryHitCount(new RefactoringPageRequest(QUERY_NAME,
+                                                                      Collections.emptySet(),
+                                                                      0,
+                                                                      null,
+                                                                      false)));
+    }
+
+    @Test
+    public void testDistinctHitCountWithoutDuplicatesToDiscard() {
+        addHits("a");
+
+        assertEquals(1,
+                     service.queryHitCount(new RefactoringPageRequest(QUERY_NAME,
+                                                                      Collections.emptySet(),
+                                                                      0,
+                                                                      null,
+                                                                      true)));
+        verify(config.getIndexProvider(),
+               times(0)).findByQuery(anyListOf(String.class),
+                                     any(Query.class),
+                                     any(Sort.class),
+                                     anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertPage(final int startIndex,
+                            final int pageSize,
+                            final String... keys) {
+        final ArgumentCaptor<List> page = ArgumentCaptor.forClass(List.class);
+        verify(responseBuilder).buildResponse(eq(pageSize),
+                                              eq(startIndex),
+                                              page.capture());
+        assertEquals(keys.length,
+                     page.getValue().size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i],
+                         ((KObject) page.getValue().get(i)).getKey());
+        }
+    }
+
+    private void addHits(final String... keys) {
+        for (final String key : keys) {
+            final KObject kObject = mock(KObject.class);
+            when(kObject.getClusterId()).thenReturn("cluster");
+            when(kObject.getKey()).thenReturn(key);
+            hits.add(kObject);
+        }
+    }
+}
@@ -27,6 +27,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 
 import org.appformer.maven.support.DependencyFilter;
@@ -61,6 +67,7 @@ import org.kie.internal.builder.InternalKieBuilder;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.soup.project.datamodel.imports.Import;
 import org.kie.soup.project.datamodel.imports.Imports;
+import org.kie.workbench.common.services.backend.project.MapClassLoader;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
@@ -91,6 +98,13 @@ public class Builder implements Serializable {
     private final static String ERROR_CLASS_NOT_FOUND = "Definition of class \"{0}\" was not found.\n" +
             "Please check the necessary external dependencies for this project are configured correctly.";
 
+    public static final String VALIDATION_THREADS_PROPERTY = "org.kie.workbench.builder.validation.threads";
+
+    private static final int VALIDATION_THREADS = Math.max(1,
+                                                           Integer.getInteger(VALIDATION_THREADS_PROPERTY,
+                                                                              Math.min(4,
+                                                                                       Runtime.getRuntime().availableProcessors())));
+
     private final GAV projectGAV;
     private final KieServices kieServices;
     private final KieFileSystem kieFileSystem;
@@ -110,7 +124,16 @@ public class Builder implements Serializable {
     private final DirectoryStream.Filter<Path> dotFileFilter = new DotFileFilter();
     private final Set<String> javaResources = new HashSet<String>();
     private final Predicate<String> classFilter;
-    private KieBuilder kieBuilder;
+    //Runs the external BuildValidationHelper passes; null runs them on the calling thread
+    private final ExecutorService validationExecutor;
+    //Full builds use a new KieBuilder that is only published once built, so readers keep using the previous one
+    //meanwhile. Incremental builds update the KieModule in place, so they exclude readers through this lock. Overlays
+    //build into the KieModule of their base Builder, so they share its lock.
+    private final ReadWriteLock kieModuleLock;
+    private volatile KieBuilder kieBuilder;
+    //Increased by every full or incremental build, to tell when the module ClassLoader is out of date
+    private final AtomicLong buildGeneration = new AtomicLong();
+    private volatile ModuleClassLoader moduleClassLoader;
     private LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
@@ -126,6 +149,32 @@ public class Builder implements Serializable {
                    final Predicate<String> classFilter,
                    final KieBuilder kieBuilder,
                    final KieFileSystem kieFileSystem) {
+        this(project,
+             ioService,
+             moduleService,
+             importsService,
+             buildValidationHelpers,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilter,
+             null,
+             kieBuilder,
+             kieFileSystem);
+    }
+
+    private Builder(final Module project,
+                    final IOService ioService,
+                    final KieModuleService moduleService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                    final LRUPomModelCache pomModelCache,
+                    final PackageNameWhiteListService packageNameWhiteListService,
+                    final Predicate<String> classFilter,
+                    final ExecutorService validationExecutor,
+                    final KieBuilder kieBuilder,
+                    final KieFileSystem kieFileSystem) {
         this.project = project;
         this.ioService = ioService;
         this.moduleService = moduleService;
@@ -133,6 +182,8 @@ public class Builder implements Serializable {
         this.buildValidationHelpers = buildValidationHelpers;
         this.packageNameWhiteListService = packageNameWhiteListService;
         this.classFilter = classFilter;
+        this.validationExecutor = validationExecutor;
+        this.kieModuleLock = new ReentrantReadWriteLock();
 
         this.projectGAV = project.getPom().getGav();
         this.projectRoot = Paths.convert(project.getRootPath());
@@ -165,6 +216,34 @@ public class Builder implements Serializable {
              pomModelCache,
              packageNameWhiteListService,
              classFilter,
+             null);
+    }
+
+    /**
+     * @param validationExecutor Container managed executor the external {@link BuildValidationHelper} passes of a full
+     * build are spread over, using no more threads than the {@value #VALIDATION_THREADS_PROPERTY} system property
+     * allows. When null they run on the thread calling {@link #build()}.
+     */
+    public Builder(final Module project,
+                   final IOService ioService,
+                   final KieModuleService moduleService,
+                   final ProjectImportsService importsService,
+                   final List<BuildValidationHelper> buildValidationHelpers,
+                   final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                   final LRUPomModelCache pomModelCache,
+                   final PackageNameWhiteListService packageNameWhiteListService,
+                   final Predicate<String> classFilter,
+                   final ExecutorService validationExecutor) {
+        this(project,
+             ioService,
+             moduleService,
+             importsService,
+             buildValidationHelpers,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilter,
+             validationExecutor,
              null,
              KieServices.Factory.get().newKieFileSystem());
     }
@@ -182,10 +261,57 @@ public class Builder implements Serializable {
                            pomModelCache,
                            packageNameWhiteListService,
                            classFilter,
+                           validationExecutor,
                            kieBuilder,
                            kieFileSystemClone);
     }
 
+    /**
+     * Creates a lightweight copy of this Builder to validate changes, e.g. to a single resource. Unlike {@link #clone()}
+     * the module resources are not read again: the copy shares the (immutable) file contents of this Builder's
+     * {@link KieFileSystem} and only the entries written or deleted later are replaced. The copy has its own resources,
+     * but its incremental builds compile into the KieModule of this Builder, which reflects the changes afterwards.
+     * Those builds take this Builder's KieModule lock, so they never run while this Builder is read or built incrementally.
+     */
+    public Builder overlay() {
+        synchronized (kieFileSystem) {
+            final KieFileSystem kieFileSystemClone = kieFileSystemClone();
+            final KieBuilderImpl kieBuilder = kieBuilderClone(kieFileSystemClone);
+
+            return new Builder(this,
+                               kieBuilder,
+                               kieFileSystemClone);
+        }
+    }
+
+    private Builder(final Builder base,
+                    final KieBuilder kieBuilder,
+                    final KieFileSystem kieFileSystem) {
+        this.project = base.project;
+        this.ioService = base.ioService;
+        this.moduleService = base.moduleService;
+        this.importsService = base.importsService;
+        this.buildValidationHelpers = base.buildValidationHelpers;
+        this.packageNameWhiteListService = base.packageNameWhiteListService;
+        this.classFilter = base.classFilter;
+        this.validationExecutor = base.validationExecutor;
+        this.kieModuleLock = base.kieModuleLock;
+
+        this.projectGAV = base.projectGAV;
+        this.projectRoot = base.projectRoot;
+        this.projectPrefix = base.projectPrefix;
+        this.kieServices = base.kieServices;
+        this.kieBuilder = kieBuilder;
+        this.kieFileSystem = kieFileSystem;
+        this.dependenciesClassLoaderCache = base.dependenciesClassLoaderCache;
+        this.pomModelCache = base.pomModelCache;
+
+        this.handles.putAll(base.handles);
+        this.nonKieResourceValidationHelpers.putAll(base.nonKieResourceValidationHelpers);
+        this.nonKieResourceValidationHelperMessages.putAll(base.nonKieResourceValidationHelperMessages);
+        this.javaResources.addAll(base.javaResources);
+    }
+
     private KieFileSystem kieFileSystemClone() {
         return ((KieFileSystemImpl) this.kieFileSystem).clone();
     }
@@ -206,7 +332,7 @@ public class Builder implements Serializable {
         final BuildResults results = new BuildResults(projectGAV);
         synchronized (kieFileSystem) {
             //KieBuilder is not re-usable for successive "full" builds
-            kieBuilder = createKieBuilder(kieFileSystem);
+            final KieBuilder kieBuilder = createKieBuilder(kieFileSystem);
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
             try {
@@ -229,14 +355,17 @@ public class Builder implements Serializable {
                     pomModelCache.setEntry(project,
                                            pomModel);
                 }
+                this.kieBuilder = kieBuilder;
+                buildGeneration.incrementAndGet();
             }
         }
 
         //Add validate messages from external helpers
-        for (Map.Entry<Path, BuildValidationHelper> e : nonKieResourceValidationHelpers.entrySet()) {
-            final org.uberfire.backend.vfs.Path vfsPath = Paths.convert(e.getKey());
-            final List<ValidationMessage> validationMessages = e.getValue().validate(vfsPath);
-            nonKieResourceValidationHelperMessages.put(e.getKey(),
+        final List<Map.Entry<Path, BuildValidationHelper>> helpers = new ArrayList<>(nonKieResourceValidationHelpers.entrySet());
+        final List<List<ValidationMessage>> helpersMessages = validate(helpers);
+        for (int i = 0; i < helpers.size(); i++) {
+            final List<ValidationMessage> validationMessages = helpersMessages.get(i);
+            nonKieResourceValidationHelperMessages.put(helpers.get(i).getKey(),
                                                        validationMessages);
             results.addAllBuildMessages(convertValidationMessages(validationMessages));
         }
@@ -529,7 +658,9 @@ public class Builder implements Serializable {
 
     private void buildIncrementally(final IncrementalBuildResults results,
                                     final String... destinationPath) {
+        kieModuleLock.writeLock().lock();
         try {
+            buildGeneration.incrementAndGet();
             final IncrementalResults incrementalResults = ((InternalKieBuilder) kieBuilder).createFileSet(destinationPath).build();
             results.addAllAddedMessages(convertMessages(incrementalResults.getAddedMessages(),
                                                         handles));
@@ -550,6 +681,8 @@ public class Builder implements Serializable {
             logger.error(msg,
                          e);
             results.addAddedMessage(makeErrorMessage(msg));
+        } finally {
+            kieModuleLock.writeLock().unlock();
         }
     }
 
@@ -564,8 +697,11 @@ public class Builder implements Serializable {
         if (!isBuilt()) {
             build();
         }
-        synchronized (kieFileSystem) {
+        kieModuleLock.readLock().lock();
+        try {
             return kieBuilder.getKieModule();
+        } finally {
+            kieModuleLock.readLock().unlock();
         }
     }
 
@@ -574,8 +710,11 @@ public class Builder implements Serializable {
         if (!isBuilt()) {
             build();
         }
-        synchronized (kieFileSystem) {
+        kieModuleLock.readLock().lock();
+        try {
             return ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
+        } finally {
+            kieModuleLock.readLock().unlock();
         }
     }
 
@@ -584,6 +723,43 @@ public class Builder implements Serializable {
                                                               DependencyFilter.COMPILE_FILTER);
     }
 
+    /**
+     * Returns a ClassLoader for the classes of the module, delegating to the given dependencies ClassLoader. The same
+     * ClassLoader is returned until the module is built again, fully or incrementally, or the dependencies ClassLoader
+     * changes; it goes away with this Builder when the Builder is invalidated.
+     */
+    public ClassLoader getModuleClassLoader(final ClassLoader dependenciesClassLoader) {
+        //Kie classes are only available once built
+        if (!isBuilt()) {
+            build();
+        }
+        kieModuleLock.readLock().lock();
+        try {
+            //The generation is read before the KieBuilder so a concurrent full build can only make the entry stale
+            final long generation = buildGeneration.get();
+            final ModuleClassLoader current = moduleClassLoader;
+            if (current != null && current.generation == generation && current.dependenciesClassLoader == dependenciesClassLoader) {
+                return current.classLoader;
+            }
+
+            final org.kie.api.builder.KieModule kieModule = ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
+            final ClassLoader classLoader;
+            if (kieModule instanceof InternalKieModule) {
+                //will always be an internal kie module
+                classLoader = new MapClassLoader(((InternalKieModule) kieModule).getClassesMap(true),
+                                                 dependenciesClassLoader);
+            } else {
+                classLoader = KieModuleMetaData.Factory.newKieModuleMetaData(kieModule).getClassLoader();
+            }
+            moduleClassLoader = new ModuleClassLoader(generation,
+                                                      dependenciesClassLoader,
+                                                      classLoader);
+            return classLoader;
+        } finally {
+            kieModuleLock.readLock().unlock();
+        }
+    }
+
     public TypeSourceResolver getTypeSourceResolver(KieModuleMetaData kieModuleMetaData) {
         return new TypeSourceResolver(kieModuleMetaData,
                                       javaResources);
@@ -595,6 +771,22 @@ public class Builder implements Serializable {
         //Kie classes are only available once built
         if (!isBuilt()) {
             results = build();
+        }
+
+        kieModuleLock.readLock().lock();
+        try {
+            return getKieContainer(kieBuilder,
+                                   results);
+        } finally {
+            kieModuleLock.readLock().unlock();
+        }
+    }
+
+    private KieContainer getKieContainer(final KieBuilder kieBuilder,
+                                         final BuildResults buildResults) {
+        final BuildResults results;
+        if (buildResults != null) {
+            results = buildResults;
         } else {
             results = new BuildResults();
             results.addAllBuildMessages(convertMessages(kieBuilder.getResults().getMessages(),
@@ -676,6 +868,57 @@ public class Builder implements Serializable {
         return (packageName.equals("") ? className : packageName + "." + className);
     }
 
+    private List<List<ValidationMessage>> validate(final List<Map.Entry<Path, BuildValidationHelper>> helpers) {
+        final int slices = Math.min(VALIDATION_THREADS,
+                                    helpers.size());
+        final List<List<ValidationMessage>> messages = new ArrayList<>(helpers.size());
+        for (int i = 0; i < helpers.size(); i++) {
+            messages.add(null);
+        }
+        if (validationExecutor == null || slices < 2) {
+            validate(helpers,
+                     messages,
+                     0,
+                     1);
+            return messages;
+        }
+
+        //Each slice validates every n-th helper, so no more than VALIDATION_THREADS managed threads are taken
+        final CompletableFuture[] futures = new CompletableFuture[slices];
+        for (int i = 0; i < slices; i++) {
+            final int first = i;
+            futures[i] = CompletableFuture.runAsync(() -> validate(helpers,
+                                                                   messages,
+                                                                   first,
+                                                                   slices),
+                                                    validationExecutor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+        return messages;
+    }
+
+    private void validate(final List<Map.Entry<Path, BuildValidationHelper>> helpers,
+                          final List<List<ValidationMessage>> messages,
+                          final int first,
+                          final int step) {
+        for (int i = first; i < helpers.size(); i += step) {
+            final Map.Entry<Path, BuildValidationHelper> e = helpers.get(i);
+            final List<ValidationMessage> validationMessages = e.getValue().validate(Paths.convert(e.getKey()));
+            messages.set(i,
+                         validationMessages);
+        }
+    }
+
     private BuildValidationHelper getBuildValidationHelper(final Path nioResource) {
         for (BuildValidationHelper validator : buildValidationHelpers) {
             final org.uberfire.backend.vfs.Path resource = Paths.convert(nioResource);
@@ -689,4 +932,23 @@ public class Builder implements Serializable {
     KieFileSystem getKieFileSystem() {
         return kieFileSystem;
     }
+
+    ReadWriteLock getKieModuleLock() {
+        return kieModuleLock;
+    }
+
+    private static class ModuleClassLoader {
+
+        private final long generation;
+        private final ClassLoader dependenciesClassLoader;
+        private final ClassLoader classLoader;
+
+        private ModuleClassLoader(final long generation,
+                                  final ClassLoader dependenciesClassLoader,
+                                  final ClassLoader classLoader) {
+            this.generation = generation;
+            this.dependenciesClassLoader = dependenciesClassLoader;
+            this.classLoader = classLoader;
+        }
+    }
 }
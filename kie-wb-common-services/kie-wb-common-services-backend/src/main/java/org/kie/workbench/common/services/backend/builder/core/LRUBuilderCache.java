@@ -17,6 +17,7 @@ package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -38,6 +39,7 @@ import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListS
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 
 import static java.util.stream.Collectors.toCollection;
@@ -59,6 +61,7 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListServiceImpl packageNameWhiteListService;
     private Instance<Predicate<String>> classFilterBeans;
+    private ExecutorService executorService;
 
     public LRUBuilderCache() {
         //CDI proxy
@@ -72,7 +75,8 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
                            final @Named("LRUModuleDependenciesClassLoaderCache") LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
                            final @Named("LRUPomModelCache") LRUPomModelCache pomModelCache,
                            final PackageNameWhiteListService packageNameWhiteListService,
-                           final @JavaSourceFilter Instance<Predicate<String>> classFilterBeans) {
+                           final @JavaSourceFilter Instance<Predicate<String>> classFilterBeans,
+                           final @Managed ExecutorService executorService) {
         this.ioService = ioService;
         this.moduleService = moduleService;
         this.importsService = importsService;
@@ -81,6 +85,7 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
         this.pomModelCache = pomModelCache;
         this.packageNameWhiteListService = (PackageNameWhiteListServiceImpl) packageNameWhiteListService;
         this.classFilterBeans = classFilterBeans;
+        this.executorService = executorService;
     }
 
     @PostConstruct
@@ -137,7 +142,8 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
                                   dependenciesClassLoaderCache,
                                   pomModelCache,
                                   packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
+                                  createSingleClassFilterPredicate(),
+                                  executorService);
 
             setEntry(module,
                      builder);
@@ -50,6 +50,12 @@ public interface BuildInfo {
      */
     KieModuleMetaData getKieModuleMetaDataIgnoringErrors();
 
+    /**
+     * @return a ClassLoader for the classes of the underlying project, delegating to the given dependencies ClassLoader.
+     * The same ClassLoader is returned until the project is built again.
+     */
+    ClassLoader getModuleClassLoader( ClassLoader dependenciesClassLoader );
+
     /**
      * @return a TypeResourceResolver based on the kieModuleMetaData for the underlying project.
      */
@@ -46,6 +46,11 @@ public class BuildInfoImpl
         return builder.getKieModuleMetaDataIgnoringErrors();
     }
 
+    @Override
+    public ClassLoader getModuleClassLoader( ClassLoader dependenciesClassLoader ) {
+        return builder.getModuleClassLoader( dependenciesClassLoader );
+    }
+
     @Override
     public TypeSourceResolver getTypeSourceResolver( KieModuleMetaData kieModuleMetaData ) {
         return builder.getTypeSourceResolver( kieModuleMetaData );
@@ -59,8 +59,6 @@ import org.apache.maven.cli.event.ExecutionEventLogger;
 import org.apache.maven.cli.internal.BootstrapCoreExtensionManager;
 import org.apache.maven.cli.internal.extension.model.CoreExtension;
 import org.apache.maven.cli.internal.extension.model.io.xpp3.CoreExtensionsXpp3Reader;
-import org.apache.maven.cli.logging.Slf4jConfiguration;
-import org.apache.maven.cli.logging.Slf4jConfigurationFactory;
 import org.apache.maven.cli.logging.Slf4jLoggerManager;
 import org.apache.maven.cli.logging.Slf4jStdoutLogger;
 import org.apache.maven.cli.transfer.ConsoleMavenTransferListener;
@@ -140,7 +138,13 @@ public class AFMavenCli {
 
     private Map<String, AFConfigurationProcessor> configurationProcessors;
 
-    private PrintStream output;
+    private final PrintStream output;
+
+    /**
+     * Stream of the request being executed: the -l log file when requested, the default output otherwise.
+     * Kept per instance instead of redirecting System.out/System.err, several compilers run in parallel.
+     */
+    private PrintStream requestOutput;
 
     public AFMavenCli() {
         this.output = System.out;
@@ -240,14 +244,13 @@ public class AFMavenCli {
 
         properties.setProperty(name,
                                value);
-        System.setProperty(name,
-                           value);
     }
 
     public int doMain(AFCliRequest cliRequest,
                       ClassWorld classWorld) {
 
         PlexusContainer localContainer = null;
+        requestOutput = output;
         try {
             initialize(cliRequest);
             cli(cliRequest);
@@ -288,6 +291,10 @@ public class AFMavenCli {
                 localContainer.dispose();
                 localContainer = null;
             }
+            if (requestOutput != output) {
+                requestOutput.close();
+            }
+            requestOutput = output;
         }
     }
 
@@ -301,7 +308,7 @@ public class AFMavenCli {
         if (cliRequest.getMultiModuleProjectDirectory() == null) {
             String basedirProperty = System.getProperty(MULTIMODULE_PROJECT_DIRECTORY);
             if (basedirProperty == null) {
-                System.err.format("-D%s system propery is not set."
+                requestOutput.format("-D%s system propery is not set."
                                           + " Check $M2_HOME environment variable and mvn script match.",
                                   MULTIMODULE_PROJECT_DIRECTORY);
                 throw new ExitException(1);
@@ -341,8 +348,8 @@ public class AFMavenCli {
                 }
             }
         } catch (ParseException e) {
-            System.err.println("Unable to parse maven.config: " + e.getMessage());
-            cliManager.displayHelp(output);
+            requestOutput.println("Unable to parse maven.config: " + e.getMessage());
+            cliManager.displayHelp(requestOutput);
             throw e;
         }
 
@@ -351,8 +358,8 @@ public class AFMavenCli {
                         Arrays.asList(cliRequest.getArgs()));
             cliRequest.setCommandLine(cliManager.parse(args.toArray(new String[args.size()])));
         } catch (ParseException e) {
-            System.err.println("Unable to parse command line options: " + e.getMessage());
-            cliManager.displayHelp(output);
+            requestOutput.println("Unable to parse command line options: " + e.getMessage());
+            cliManager.displayHelp(requestOutput);
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             PrintStream ps = new PrintStream(baos);
             cliManager.displayHelp(ps);
@@ -360,7 +367,7 @@ public class AFMavenCli {
         }
 
         if (cliRequest.getCommandLine().hasOption(CLIManager.HELP)) {
-            cliManager.displayHelp(output);
+            cliManager.displayHelp(requestOutput);
 
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             PrintStream ps = new PrintStream(baos);
@@ -369,7 +376,7 @@ public class AFMavenCli {
         }
 
         if (cliRequest.getCommandLine().hasOption(CLIManager.VERSION)) {
-            System.out.println(AFCLIReportingUtils.showVersion());
+            requestOutput.println(AFCLIReportingUtils.showVersion());
             throw new ExitException(0);
         }
     }
@@ -380,14 +387,12 @@ public class AFMavenCli {
         cliRequest.setShowErrors(cliRequest.isDebug() || cliRequest.getCommandLine().hasOption(CLIManager.ERRORS));
 
         slf4jLoggerFactory = LoggerFactory.getILoggerFactory();
-        Slf4jConfiguration slf4jConfiguration = Slf4jConfigurationFactory.getConfiguration(slf4jLoggerFactory);
 
+        // the level is set on the execution request only, the slf4j root logger is shared by the whole JVM
         if (cliRequest.isDebug()) {
             cliRequest.getRequest().setLoggingLevel(MavenExecutionRequest.LOGGING_LEVEL_DEBUG);
-            slf4jConfiguration.setRootLoggerLevel(Slf4jConfiguration.Level.DEBUG);
         } else if (cliRequest.isQuiet()) {
             cliRequest.getRequest().setLoggingLevel(MavenExecutionRequest.LOGGING_LEVEL_ERROR);
-            slf4jConfiguration.setRootLoggerLevel(Slf4jConfiguration.Level.ERROR);
         }
 
         if (cliRequest.getCommandLine().hasOption(CLIManager.LOG_FILE)) {
@@ -396,23 +401,19 @@ public class AFMavenCli {
                                   cliRequest.getWorkingDirectory());
 
             try {
-                PrintStream ps = new PrintStream(new FileOutputStream(logFile));
-                System.setOut(ps);
-                System.setErr(ps);
+                requestOutput = new PrintStream(new FileOutputStream(logFile));
             } catch (FileNotFoundException e) {
                 logger.error(e.getMessage());
             }
         }
 
-        slf4jConfiguration.activate();
-
         plexusLoggerManager = new Slf4jLoggerManager();
         slf4jLogger = slf4jLoggerFactory.getLogger(this.getClass().getName());
     }
 
     protected void version(AFCliRequest cliRequest) {
         if (cliRequest.isDebug() || cliRequest.getCommandLine().hasOption(CLIManager.SHOW_VERSION)) {
-            System.out.println(AFCLIReportingUtils.showVersion());
+            requestOutput.println(AFCLIReportingUtils.showVersion());
         }
     }
 
@@ -1209,7 +1210,7 @@ public class AFMavenCli {
     }
 
     protected TransferListener getConsoleTransferListener() {
-        return new ConsoleMavenTransferListener(output);
+        return new ConsoleMavenTransferListener(requestOutput);
     }
 
     //
@@ -72,10 +72,18 @@ public class ClassLoaderProviderImpl implements AFClassLoaderProvider {
     }
 
     /**
-     * Execute a maven run to create the classloaders with the dependencies in the Poms, transitive inclueded
+     * Execute a maven run to create the classloaders with the dependencies in the Poms, transitive inclueded.
+     * The resolved classpath is cached, so the maven run is skipped until a pom of the project changes.
      */
     public Optional<ClassLoader> getClassloaderFromAllDependencies(String prjPath,
                                                                    String localRepo) {
+        DependenciesClasspathCache cache = new DependenciesClasspathCache(localRepo);
+        String key = cache.key(prjPath);
+        Optional<List<URL>> cachedDeps = cache.get(prjPath,
+                                                   key);
+        if (cachedDeps.isPresent()) {
+            return buildResult(cachedDeps.get());
+        }
         AFCompiler compiler = MavenCompilerFactory.getCompiler(Decorator.NONE);
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(Paths.get(prjPath));
         StringBuilder sb = new StringBuilder(MavenConfig.MAVEN_DEP_PLUGING_OUTPUT_FILE).append(MavenConfig.CLASSPATH_FILENAME).append(MavenConfig.CLASSPATH_EXT);
@@ -90,9 +98,22 @@ public class ClassLoaderProviderImpl implements AFClassLoaderProvider {
              it override each time and at the end only the last writted is present in  the file,
              for this reason we use a relative path and then we read each file present in each module to build a unique classpath file
              * */
-            Optional<ClassLoader> urlClassLoader = createClassloaderFromCpFiles(prjPath);
-            if (urlClassLoader != null) {
-                return urlClassLoader;
+            List<URL> deps = readAllCpFilesAsUrls(prjPath,
+                                                  MavenConfig.CLASSPATH_EXT);
+            if (!deps.isEmpty()) {
+                //the compilation could have enhanced the poms, the next lookups will use them
+                String enhancedKey = cache.key(prjPath);
+                if (enhancedKey.equals(key)) {
+                    cache.put(prjPath,
+                              deps,
+                              key);
+                } else {
+                    cache.put(prjPath,
+                              deps,
+                              key,
+                              enhancedKey);
+                }
+                return buildResult(deps);
             }
         }
         return Optional.empty();
@@ -197,17 +218,6 @@ public class ClassLoaderProviderImpl implements AFClassLoaderProvider {
         }
     }
 
-    private Optional<ClassLoader> createClassloaderFromCpFiles(String prjPath) {
-        List<URL> deps = readAllCpFilesAsUrls(prjPath,
-                                              MavenConfig.CLASSPATH_EXT);
-        if (deps.isEmpty()) {
-            return Optional.empty();
-        } else {
-            URLClassLoader urlClassLoader = new URLClassLoader(deps.toArray(new URL[deps.size()]));
-            return Optional.of(urlClassLoader);
-        }
-    }
-
     private List<URL> readAllCpFilesAsUrls(String prjPath,
                                            String extension) {
         List<String> classPathFiles = new ArrayList<>();
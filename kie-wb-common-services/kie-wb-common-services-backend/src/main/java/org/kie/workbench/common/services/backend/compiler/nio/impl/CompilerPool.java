@@ -0,0 +1,294 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.workbench.common.services.backend.compiler.nio.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
+import org.kie.workbench.common.services.backend.compiler.nio.CompilationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Bounded pool of compilers with the same decorators. Every compilation checks out an idle compiler,
+ * creating it if less than size compilers exist or waiting for one to be returned if all of them are busy,
+ * so each compiler (and its Maven CLI) only runs one build at a time while up to size builds run in parallel.
+ * The factories pre-create some compilers with {@link #warmUp(int)} so the first builds don't pay for it.
+ * Checkouts that wait for a busy compiler and a periodic usage summary are logged at info level.
+ */
+public class CompilerPool<T extends CompilationResponse> implements AFCompiler<T> {
+
+    /**
+     * System property with the maximum number of compilers of each pool, by default the number of available processors
+     */
+    public static final String POOL_SIZE_PROPERTY = "org.kie.workbench.compiler.pool.size";
+
+    /**
+     * System property with the number of compilers created along with each pool, by default 1
+     */
+    public static final String WARM_UP_PROPERTY = "org.kie.workbench.compiler.pool.warmup";
+
+    /**
+     * Checkouts waiting at least this long for a compiler are logged
+     */
+    static final long SLOW_CHECKOUT_MILLIS = 100;
+
+    /**
+     * Number of checkouts between two usage summaries in the log
+     */
+    static final long STATS_INTERVAL = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(CompilerPool.class);
+
+    private final String name;
+
+    private final Supplier<AFCompiler<T>> factory;
+
+    private final BlockingQueue<AFCompiler<T>> idle;
+
+    private final int size;
+
+    private volatile int created;
+
+    private volatile AFCompiler<T> responseBuilder;
+
+    private final AtomicLong checkouts = new AtomicLong();
+
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public CompilerPool(final String name,
+                        final Supplier<AFCompiler<T>> factory,
+                        final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The pool size must be at least 1, was " + size);
+        }
+        this.name = name;
+        this.factory = factory;
+        this.size = size;
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Reads the pool size from the {@link #POOL_SIZE_PROPERTY} system property
+     */
+    public static int defaultSize() {
+        final String size = System.getProperty(POOL_SIZE_PROPERTY);
+        if (size != null) {
+            try {
+                return Math.max(1,
+                                Integer.parseInt(size.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value {} for {}, using the number of available processors",
+                            size,
+                            POOL_SIZE_PROPERTY);
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Reads the number of compilers to pre-create from the {@link #WARM_UP_PROPERTY} system property
+     */
+    public static int defaultWarmUp() {
+        final String warmUp = System.getProperty(WARM_UP_PROPERTY);
+        if (warmUp != null) {
+            try {
+                return Math.max(0,
+                                Integer.parseInt(warmUp.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value {} for {}, using 1",
+                            warmUp,
+                            WARM_UP_PROPERTY);
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Creates up to count idle compilers, without going over the size of the pool
+     * @return this pool
+     */
+    public CompilerPool<T> warmUp(final int count) {
+        for (int i = 0; i < count; i++) {
+            final AFCompiler<T> compiler = create();
+            if (compiler == null) {
+                break;
+            }
+            release(compiler);
+        }
+        logger.info("Compiler pool {} warmed up with {} of {} compilers",
+                    name,
+                    created,
+                    size);
+        return this;
+    }
+
+    @Override
+    public T compileSync(final CompilationRequest req) {
+        final AFCompiler<T> compiler;
+        try {
+            compiler = checkout();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while waiting for a compiler");
+            return getResponseBuilder().buildDefaultCompilationResponse(Boolean.FALSE,
+                                                                        Collections.singletonList("Interrupted while waiting for a compiler"));
+        }
+        try {
+            return compiler.compileSync(req);
+        } finally {
+            release(compiler);
+        }
+    }
+
+    /**
+     * Takes an idle compiler out of the pool, creating a new one if the pool isn't full yet or
+     * waiting for one if all of them are busy. It must be given back with {@link #release(AFCompiler)}.
+     */
+    public AFCompiler<T> checkout() throws InterruptedException {
+        final long start = System.nanoTime();
+        AFCompiler<T> compiler = idle.poll();
+        if (compiler == null) {
+            compiler = create();
+        }
+        if (compiler == null) {
+            compiler = idle.take();
+        }
+        final long wait = System.nanoTime() - start;
+        final long count = checkouts.incrementAndGet();
+        final long total = totalWaitNanos.addAndGet(wait);
+        final long max = maxWaitNanos.accumulateAndGet(wait,
+                                                       Math::max);
+        final long waitMillis = TimeUnit.NANOSECONDS.toMillis(wait);
+        if (waitMillis >= SLOW_CHECKOUT_MILLIS) {
+            logger.info("Compiler pool {} checkout waited {} ms, all {} compilers were busy",
+                        name,
+                        waitMillis,
+                        size);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Compiler pool {} checkout waited {} ms, {} of {} idle",
+                         name,
+                         waitMillis,
+                         idle.size(),
+                         size);
+        }
+        if (count % STATS_INTERVAL == 0) {
+            logger.info("Compiler pool {}: {} checkouts, {} of {} compilers created, {} idle, average wait {} ms, max wait {} ms",
+                        name,
+                        count,
+                        created,
+                        size,
+                        idle.size(),
+                        TimeUnit.NANOSECONDS.toMillis(total / count),
+                        TimeUnit.NANOSECONDS.toMillis(max));
+        }
+        return compiler;
+    }
+
+    /**
+     * Creates a new compiler if the pool isn't full yet, returns null otherwise
+     */
+    private synchronized AFCompiler<T> create() {
+        if (created >= size) {
+            return null;
+        }
+        final AFCompiler<T> compiler = factory.get();
+        if (responseBuilder == null) {
+            responseBuilder = compiler;
+        }
+        created++;
+        return compiler;
+    }
+
+    private AFCompiler<T> getResponseBuilder() {
+        if (responseBuilder == null) {
+            final AFCompiler<T> compiler = create();
+            if (compiler != null) {
+                release(compiler);
+            }
+        }
+        return responseBuilder;
+    }
+
+    /**
+     * Gives back a compiler taken with {@link #checkout()}
+     */
+    public void release(final AFCompiler<T> compiler) {
+        if (!idle.offer(compiler)) {
+            throw new IllegalStateException("Compiler released to a pool it doesn't belong to");
+        }
+    }
+
+    @Override
+    public T buildDefaultCompilationResponse(final Boolean value) {
+        return getResponseBuilder().buildDefaultCompilationResponse(value);
+    }
+
+    @Override
+    public T buildDefaultCompilationResponse(final Boolean successful,
+                                             final List<String> output) {
+        return getResponseBuilder().buildDefaultCompilationResponse(successful,
+                                                                    output);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Number of compilers created so far, never more than the size
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    public int getIdle() {
+        return idle.size();
+    }
+
+    public long getCheckouts() {
+        return checkouts.get();
+    }
+
+    /**
+     * Total time spent by the checkouts waiting for an idle compiler
+     */
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.get();
+    }
+
+    /**
+     * Longest time a checkout waited for an idle compiler
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.workbench.common.services.backend.compiler.nio.impl;
+
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.Paths;
+import org.uberfire.java.nio.file.StandardCopyOption;
+
+/**
+ * Persistent cache of the dependencies classpath resolved by Maven for a project, stored in the local Maven repository.
+ * There is one entry per project and local repository, holding the classpath along with the keys it is valid for.
+ * A key is a hash of the content of every pom in the project, so a change in any pom makes the project miss the cache
+ * and the next put overwrites the entry instead of adding a new one. An entry is also ignored (and deleted) when any of
+ * its files is no longer present, e.g. after it was removed from the local repository.
+ */
+public class DependenciesClasspathCache {
+
+    public static final String CACHE_FOLDER = ".kie-classpath-cache";
+
+    private static final Logger logger = LoggerFactory.getLogger(DependenciesClasspathCache.class);
+
+    private final String localRepo;
+
+    private final Path cacheFolder;
+
+    public DependenciesClasspathCache(String localRepo) {
+        this.localRepo = localRepo;
+        this.cacheFolder = Paths.get(localRepo,
+                                     CACHE_FOLDER);
+    }
+
+    /**
+     * Computes the cache key of the project in its current state
+     */
+    public String key(String prjPath) {
+        List<String> poms = new ArrayList<>();
+        MavenUtils.searchPoms(Paths.get(prjPath),
+                              poms);
+        Collections.sort(poms);
+        MessageDigest digest = newDigest();
+        for (String pom : poms) {
+            digest.update(pom.getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(Paths.get(pom)));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Returns the classpath cached for the project if it was stored for the given key
+     */
+    public Optional<List<URL>> get(String prjPath,
+                                   String key) {
+        Path entry = entry(prjPath);
+        if (!Files.exists(entry)) {
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(entry,
+                                                    StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !Arrays.asList(lines.get(0).split(" ")).contains(key)) {
+                return Optional.empty();
+            }
+            List<URL> urls = new ArrayList<>();
+            for (String line : lines.subList(1,
+                                             lines.size())) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                URL url = new URL(line);
+                if (!Files.exists(Paths.get(url.toURI()))) {
+                    logger.info("Dependency {} not found, discarding the cached classpath of {}",
+                                url,
+                                prjPath);
+                    Files.deleteIfExists(entry);
+                    return Optional.empty();
+                }
+                urls.add(url);
+            }
+            return Optional.of(urls);
+        } catch (MalformedURLException | URISyntaxException e) {
+            logger.error(e.getMessage());
+            Files.deleteIfExists(entry);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the classpath of the project, valid for the given keys, replacing the one cached before
+     */
+    public void put(String prjPath,
+                    List<URL> urls,
+                    String... keys) {
+        StringBuilder sb = new StringBuilder(String.join(" ",
+                                                         keys)).append('\n');
+        for (URL url : urls) {
+            sb.append(url.toExternalForm()).append('\n');
+        }
+        try {
+            Files.createDirectories(cacheFolder);
+            //written aside and moved, so a concurrent get never reads a partial entry
+            Path entry = entry(prjPath);
+            Path tmp = cacheFolder.resolve(entry.getFileName().toString() + "." + Thread.currentThread().getId() + ".tmp");
+            Files.write(tmp,
+                        sb.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp,
+                       entry,
+                       StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            logger.error("Unable to cache the classpath of {}: {}",
+                         prjPath,
+                         e.getMessage());
+        }
+    }
+
+    private Path entry(String prjPath) {
+        MessageDigest digest = newDigest();
+        digest.update(Paths.get(prjPath).toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update(localRepo.getBytes(StandardCharsets.UTF_8));
+        return cacheFolder.resolve(toHex(digest.digest()));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x",
+                                    b));
+        }
+        return sb.toString();
+    }
+}
@@ -19,6 +19,7 @@ package org.kie.workbench.common.services.backend.compiler.nio.impl;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.configuration.Decorator;
 import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.JGITCompilerBeforeDecorator;
@@ -35,17 +36,19 @@ public class MavenCompilerFactory {
     }
 
     /**
-     * Provides a Maven compiler decorated with a Decorator Behaviour
+     * Provides a Maven compiler decorated with a Decorator Behaviour, backed by a {@link CompilerPool}
+     * so concurrent compilations run on different compiler instances. The pool is created with its warm up
+     * compilers on the first request for the decorator
      */
     public static AFCompiler getCompiler(Decorator decorator) {
-        AFCompiler compiler = compilers.get(decorator.name());
-        if (compiler == null) {
-            compiler = createAndAddNewCompiler(decorator);
-        }
-        return compiler;
+        return compilers.computeIfAbsent(decorator.name(),
+                                         name -> new CompilerPool<CompilationResponse>(name,
+                                                                                       () -> createCompiler(decorator),
+                                                                                       CompilerPool.defaultSize())
+                                                 .warmUp(CompilerPool.defaultWarmUp()));
     }
 
-    private static AFCompiler createAndAddNewCompiler(Decorator decorator) {
+    private static AFCompiler createCompiler(Decorator decorator) {
         AFCompiler<?> compiler;
         switch (decorator) {
             case NONE:
@@ -67,8 +70,6 @@ public class MavenCompilerFactory {
             default:
                 compiler = new DefaultMavenCompiler();
         }
-        compilers.put(Decorator.NONE.name(),
-                      compiler);
         return compiler;
     }
 
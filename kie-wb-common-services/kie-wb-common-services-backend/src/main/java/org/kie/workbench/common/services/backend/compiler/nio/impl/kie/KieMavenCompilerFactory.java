@@ -18,12 +18,13 @@ package org.kie.workbench.common.services.backend.compiler.nio.impl.kie;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import org.kie.workbench.common.services.backend.compiler.configuration.Decorator;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.configuration.KieDecorator;
 import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.JGITCompilerBeforeDecorator;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.OutputLogAfterDecorator;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.KieAfterDecorator;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.CompilerPool;
 
 /***
  * Factory to create compilers with correct order of decorators to build Kie Projects
@@ -37,17 +38,19 @@ public class KieMavenCompilerFactory {
     }
 
     /**
-     * Provides a Maven compiler decorated with a Decorator Behaviour
+     * Provides a Maven compiler decorated with a Decorator Behaviour, backed by a {@link CompilerPool}
+     * so concurrent compilations run on different compiler instances. The pool is created with its warm up
+     * compilers on the first request for the decorator
      */
     public static AFCompiler getCompiler(KieDecorator decorator) {
-        AFCompiler compiler = compilers.get(decorator.name());
-        if (compiler == null) {
-            compiler = createAndAddNewCompiler(decorator);
-        }
-        return compiler;
+        return compilers.computeIfAbsent(decorator.name(),
+                                         name -> new CompilerPool<CompilationResponse>(name,
+                                                                                       () -> createCompiler(decorator),
+                                                                                       CompilerPool.defaultSize())
+                                                 .warmUp(CompilerPool.defaultWarmUp()));
     }
 
-    private static AFCompiler createAndAddNewCompiler(KieDecorator decorator) {
+    private static AFCompiler createCompiler(KieDecorator decorator) {
 
         AFCompiler compiler;
         switch (decorator) {
@@ -86,8 +89,6 @@ public class KieMavenCompilerFactory {
             default:
                 compiler = new KieDefaultMavenCompiler();
         }
-        compilers.put(Decorator.NONE.name(),
-                      compiler);
         return compiler;
     }
 
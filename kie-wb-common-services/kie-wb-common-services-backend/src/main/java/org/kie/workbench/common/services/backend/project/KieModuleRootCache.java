@@ -0,0 +1,377 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.guvnor.common.services.project.backend.server.utils.POMContentHandler;
+import org.guvnor.common.services.project.model.POM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceCopied;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamed;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdated;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.guvnor.common.services.project.utils.ModuleResourcePaths.POM_PATH;
+import static org.kie.workbench.common.services.backend.project.KieModuleResourcePaths.KMODULE_PATH;
+
+/**
+ * Caches the module root resolved by {@link KieResourceResolver} for each path, and the {@link POM} of each
+ * module root, in a trie of the path segments. Adding, deleting, copying or renaming a pom.xml or kmodule.xml file
+ * only drops the entries below the module root it belongs to, the only ones whose resolution can change, while
+ * updating a pom.xml file only drops its {@link POM}.
+ * <p>
+ * Every invalidation increases the generation, and values resolved while it changed are not stored, so a resolution
+ * racing with a change to the file system never caches a stale module.
+ * <p>
+ * The {@link POM} is kept as its XML content, every module gets its own instance. The trie holds at most
+ * {@link #MAX_NODES} segments, it is emptied when it is full.
+ */
+@ApplicationScoped
+public class KieModuleRootCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieModuleRootCache.class);
+
+    private static final String KMODULE_SUFFIX = "/" + KMODULE_PATH;
+
+    private static final String POM_SUFFIX = "/" + POM_PATH;
+
+    static final int MAX_NODES = 100_000;
+
+    private final POMContentHandler pomContentHandler = new POMContentHandler();
+
+    private final Node root = new Node();
+
+    private final int maxNodes;
+
+    private int nodes;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong moduleHits = new AtomicLong();
+
+    private final AtomicLong moduleMisses = new AtomicLong();
+
+    private final AtomicLong pomHits = new AtomicLong();
+
+    private final AtomicLong pomMisses = new AtomicLong();
+
+    public KieModuleRootCache() {
+        this(MAX_NODES);
+    }
+
+    KieModuleRootCache(final int maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * The current generation, to be read before resolving a value that will be stored.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Returns null when the module root of the path is not cached, and an empty value when the path is cached as
+     * not belonging to a module.
+     */
+    public Optional<Path> getModuleRoot(final Path path) {
+        synchronized (root) {
+            final Node node = find(path.toUri().toString());
+            if (node == null || !node.resolved) {
+                moduleMisses.incrementAndGet();
+                return null;
+            }
+            moduleHits.incrementAndGet();
+            return Optional.ofNullable(node.moduleRoot);
+        }
+    }
+
+    /**
+     * As {@link #getModuleRoot(Path)}, without counting the lookup, for the folders walked by a missed resolution.
+     */
+    Optional<Path> peekModuleRoot(final Path path) {
+        synchronized (root) {
+            final Node node = find(path.toUri().toString());
+            return node == null || !node.resolved ? null : Optional.ofNullable(node.moduleRoot);
+        }
+    }
+
+    /**
+     * Stores the module root of the path, null when it doesn't belong to a module, unless the cache was invalidated
+     * since the given generation.
+     */
+    public void putModuleRoot(final Path path,
+                              final Path moduleRoot,
+                              final long resolvedGeneration) {
+        synchronized (root) {
+            if (resolvedGeneration != generation.get()) {
+                return;
+            }
+            final Node node = findOrCreate(path.toUri().toString());
+            if (node == null) {
+                return;
+            }
+            node.resolved = true;
+            node.moduleRoot = moduleRoot;
+        }
+    }
+
+    /**
+     * Returns a new instance of the cached {@link POM} of the module root, or null when it is not cached.
+     */
+    public POM getPom(final Path moduleRoot) {
+        final String pom;
+        synchronized (root) {
+            final Node node = find(moduleRoot.toUri().toString());
+            pom = node == null ? null : node.pom;
+        }
+        if (pom != null) {
+            try {
+                final POM model = pomContentHandler.toModel(pom);
+                pomHits.incrementAndGet();
+                return model;
+            } catch (final Exception e) {
+                logger.warn("Unable to read the cached pom.xml of {}",
+                            moduleRoot);
+            }
+        }
+        pomMisses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the {@link POM} of the module root, unless the cache was invalidated since the given generation.
+     */
+    public void putPom(final Path moduleRoot,
+                       final POM pom,
+                       final long resolvedGeneration) {
+        final String content;
+        try {
+            content = pomContentHandler.toString(pom);
+        } catch (final Exception e) {
+            logger.debug("Unable to cache the pom.xml of {}",
+                         moduleRoot);
+            return;
+        }
+        synchronized (root) {
+            if (resolvedGeneration != generation.get()) {
+                return;
+            }
+            final Node node = findOrCreate(moduleRoot.toUri().toString());
+            if (node != null) {
+                node.pom = content;
+            }
+        }
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        onStructureChanged(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        onContentChanged(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        onStructureChanged(event.getPath());
+    }
+
+    public void onResourceCopied(@Observes final ResourceCopiedEvent event) {
+        onStructureChanged(event.getDestinationPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        onStructureChanged(event.getPath());
+        onStructureChanged(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            for (final ResourceChange change : entry.getValue()) {
+                if (change instanceof ResourceUpdated) {
+                    onContentChanged(entry.getKey());
+                } else if (change instanceof ResourceCopied) {
+                    onStructureChanged(((ResourceCopied) change).getDestinationPath());
+                } else if (change instanceof ResourceRenamed) {
+                    onStructureChanged(entry.getKey());
+                    onStructureChanged(((ResourceRenamed) change).getDestinationPath());
+                } else {
+                    onStructureChanged(entry.getKey());
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (root) {
+            generation.incrementAndGet();
+            root.children.clear();
+            nodes = 0;
+        }
+    }
+
+    public long getModuleHits() {
+        return moduleHits.get();
+    }
+
+    public long getModuleMisses() {
+        return moduleMisses.get();
+    }
+
+    public long getPomHits() {
+        return pomHits.get();
+    }
+
+    public long getPomMisses() {
+        return pomMisses.get();
+    }
+
+    /**
+     * Number of path segments in the trie
+     */
+    public int getSize() {
+        synchronized (root) {
+            return nodes;
+        }
+    }
+
+    void onStructureChanged(final org.uberfire.backend.vfs.Path path) {
+        if (path == null) {
+            return;
+        }
+        final String uri = path.toURI();
+        if (uri.endsWith(POM_SUFFIX)) {
+            invalidate(uri.substring(0,
+                                     uri.length() - POM_SUFFIX.length()));
+        } else if (uri.endsWith(KMODULE_SUFFIX)) {
+            invalidate(uri.substring(0,
+                                     uri.length() - KMODULE_SUFFIX.length()));
+        } else {
+            //A deleted or renamed folder takes any module below it
+            invalidate(uri);
+        }
+    }
+
+    void onContentChanged(final org.uberfire.backend.vfs.Path path) {
+        if (path == null || !path.toURI().endsWith(POM_SUFFIX)) {
+            return;
+        }
+        final String uri = path.toURI();
+        synchronized (root) {
+            final Node node = find(uri.substring(0,
+                                                 uri.length() - POM_SUFFIX.length()));
+            generation.incrementAndGet();
+            if (node != null) {
+                node.pom = null;
+            }
+        }
+    }
+
+    private void invalidate(final String path) {
+        final String uri = trim(path);
+        synchronized (root) {
+            generation.incrementAndGet();
+            final int separator = uri.lastIndexOf('/');
+            final Node parent = separator < 0 ? root : find(uri.substring(0,
+                                                                          separator));
+            final Node removed = parent == null ? null : parent.children.remove(uri.substring(separator + 1));
+            if (removed != null) {
+                nodes -= removed.count();
+                logger.debug("Module resolution cache invalidated below {}",
+                             uri);
+            }
+        }
+    }
+
+    private Node find(final String uri) {
+        Node node = root;
+        for (final String segment : trim(uri).split("/")) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns null when the path has more segments than the trie can hold
+     */
+    private Node findOrCreate(final String uri) {
+        final String[] segments = trim(uri).split("/");
+        if (segments.length > maxNodes) {
+            return null;
+        }
+        if (nodes + segments.length > maxNodes) {
+            //Values already stored are still valid, the generation doesn't change
+            logger.debug("Module resolution cache full, emptying it");
+            root.children.clear();
+            nodes = 0;
+        }
+        Node node = root;
+        for (final String segment : segments) {
+            Node child = node.children.get(segment);
+            if (child == null) {
+                child = new Node();
+                node.children.put(segment,
+                                  child);
+                nodes++;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private static String trim(final String uri) {
+        return uri.endsWith("/") ? trim(uri.substring(0,
+                                                      uri.length() - 1)) : uri;
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private boolean resolved;
+
+        private Path moduleRoot;
+
+        private String pom;
+
+        private int count() {
+            int count = 1;
+            for (final Node child : children.values()) {
+                count += child.count();
+            }
+            return count;
+        }
+    }
+}
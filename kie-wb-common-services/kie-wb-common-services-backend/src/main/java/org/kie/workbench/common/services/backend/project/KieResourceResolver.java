@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.services.backend.project;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -45,6 +48,8 @@ public class KieResourceResolver
 
     private KModuleService kModuleService;
 
+    private KieModuleRootCache moduleRootCache;
+
     public KieResourceResolver() {
 
     }
@@ -54,12 +59,14 @@ public class KieResourceResolver
                                final POMService pomService,
                                final CommentedOptionFactory commentedOptionFactory,
                                final KModuleService kModuleService,
-                               final Instance<ModuleResourcePathResolver> resourcePathResolversInstance) {
+                               final Instance<ModuleResourcePathResolver> resourcePathResolversInstance,
+                               final KieModuleRootCache moduleRootCache) {
         super(ioService,
               pomService,
               commentedOptionFactory,
               resourcePathResolversInstance);
         this.kModuleService = kModuleService;
+        this.moduleRootCache = moduleRootCache;
     }
 
     @Override
@@ -70,28 +77,15 @@ public class KieResourceResolver
                 return null;
             }
 
-            //Check if resource is the module root
-            org.uberfire.java.nio.file.Path path = Paths.convert(resource).normalize();
-
-            //A module root is the folder containing the pom.xml file. This will be the parent of the "src" folder
-            if (Files.isRegularFile(path)) {
-                path = path.getParent();
-            }
-            while (!hasPom(path)) {
-                path = path.getParent();
-                if (path == null) {
-                    return null;
-                }
-            }
-
-            if (!hasKModule(path)) {
+            final Optional<org.uberfire.java.nio.file.Path> moduleRoot = resolveModuleRoot(Paths.convert(resource).normalize());
+            if (!moduleRoot.isPresent()) {
                 return null;
             }
 
             if (loadPOM) {
-                return makeModule(path);
+                return makeModule(moduleRoot.get());
             } else {
-                return simpleModuleInstance(path);
+                return simpleModuleInstance(moduleRoot.get());
             }
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
@@ -103,7 +97,14 @@ public class KieResourceResolver
         try {
 
             final KieModule module = simpleModuleInstance(nioModuleRootPath);
-            final POM pom = pomService.load(module.getPomXMLPath());
+            final long generation = moduleRootCache.getGeneration();
+            POM pom = moduleRootCache.getPom(nioModuleRootPath);
+            if (pom == null) {
+                pom = pomService.load(module.getPomXMLPath());
+                moduleRootCache.putPom(nioModuleRootPath,
+                                       pom,
+                                       generation);
+            }
             module.setPom(pom);
 
             return module;
@@ -113,6 +114,44 @@ public class KieResourceResolver
         }
     }
 
+    private Optional<org.uberfire.java.nio.file.Path> resolveModuleRoot(final org.uberfire.java.nio.file.Path resourcePath) {
+        final long generation = moduleRootCache.getGeneration();
+        Optional<org.uberfire.java.nio.file.Path> moduleRoot = moduleRootCache.getModuleRoot(resourcePath);
+        if (moduleRoot != null) {
+            return moduleRoot;
+        }
+
+        //A module root is the folder containing the pom.xml file. This will be the parent of the "src" folder
+        final List<org.uberfire.java.nio.file.Path> resolvedPaths = new ArrayList<>();
+        org.uberfire.java.nio.file.Path path = resourcePath;
+        if (Files.isRegularFile(path)) {
+            resolvedPaths.add(path);
+            path = path.getParent();
+        }
+        while (moduleRoot == null) {
+            if (path == null) {
+                moduleRoot = Optional.empty();
+                break;
+            }
+            //Folders above the resource may have been resolved by a resource of another folder
+            moduleRoot = resolvedPaths.isEmpty() ? null : moduleRootCache.peekModuleRoot(path);
+            if (moduleRoot == null) {
+                if (hasPom(path)) {
+                    moduleRoot = hasKModule(path) ? Optional.of(path) : Optional.empty();
+                }
+                resolvedPaths.add(path);
+                path = path.getParent();
+            }
+        }
+
+        for (final org.uberfire.java.nio.file.Path resolvedPath : resolvedPaths) {
+            moduleRootCache.putModuleRoot(resolvedPath,
+                                          moduleRoot.orElse(null),
+                                          generation);
+        }
+        return moduleRoot;
+    }
+
     @Override
     public org.guvnor.common.services.project.model.Package resolvePackage(final Path resource) {
         try {
@@ -53,17 +53,20 @@ public class MapClassLoader extends ClassLoader {
 
     public Class<?> loadClass( final String name,
             final boolean resolve ) throws ClassNotFoundException {
-        Class<?> cls = fastFindClass( name );
+        // Module class loaders are shared, a class must only be defined once
+        synchronized ( getClassLoadingLock( name ) ) {
+            Class<?> cls = fastFindClass( name );
 
-        if ( cls == null ) {
-            cls = super.loadClass( name, resolve );
-        }
+            if ( cls == null ) {
+                cls = super.loadClass( name, resolve );
+            }
 
-        if ( cls == null ) {
-            throw new ClassNotFoundException( "Unable to load class: " + name );
-        }
+            if ( cls == null ) {
+                throw new ClassNotFoundException( "Unable to load class: " + name );
+            }
 
-        return cls;
+            return cls;
+        }
     }
 
     public Class<?> fastFindClass( final String name ) {
@@ -19,9 +19,8 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.drools.compiler.kie.builder.impl.InternalKieModule;
-import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.core.LRUModuleDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.shared.project.KieModule;
 
@@ -35,19 +34,12 @@ public class ModuleClassLoaderHelper {
     @Named("LRUModuleDependenciesClassLoaderCache")
     private LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache;
 
+    /**
+     * Returns the ClassLoader of the module classes, shared until the module is built again.
+     */
     public ClassLoader getModuleClassLoader(final KieModule kieModule) {
-
-        final org.kie.api.builder.KieModule module = buildInfoService.getBuildInfo(kieModule).getKieModuleIgnoringErrors();
-        ClassLoader dependenciesClassLoader = dependenciesClassLoaderCache.assertDependenciesClassLoader(kieModule);
-        ClassLoader moduleClassLoader;
-        if (module instanceof InternalKieModule) {
-            //will always be an internal kie module
-            InternalKieModule internalModule = (InternalKieModule) module;
-            moduleClassLoader = new MapClassLoader(internalModule.getClassesMap(true),
-                                                   dependenciesClassLoader);
-        } else {
-            moduleClassLoader = KieModuleMetaData.Factory.newKieModuleMetaData(module).getClassLoader();
-        }
-        return moduleClassLoader;
+        final BuildInfo buildInfo = buildInfoService.getBuildInfo(kieModule);
+        final ClassLoader dependenciesClassLoader = dependenciesClassLoaderCache.assertDependenciesClassLoader(kieModule);
+        return buildInfo.getModuleClassLoader(dependenciesClassLoader);
     }
 }
\ No newline at end of file
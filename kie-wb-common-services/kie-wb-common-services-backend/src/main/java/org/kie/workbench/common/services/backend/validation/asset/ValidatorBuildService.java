@@ -52,6 +52,12 @@ public class ValidatorBuildService {
     private KieModuleService moduleService;
     private BuildInfoService buildInfoService;
 
+    //Validations of the same module share the cached Builder's KieModule, so they are serialized per module only.
+    //Modules are mapped to a fixed set of locks, so that no lock is kept for every module ever validated.
+    private static final int MODULE_LOCK_STRIPES = 64;
+
+    private final Object[] moduleLocks = newLocks(MODULE_LOCK_STRIPES);
+
     public ValidatorBuildService() {
         //CDI proxies
     }
@@ -67,8 +73,8 @@ public class ValidatorBuildService {
         this.buildInfoService = buildInfoService;
     }
 
-    public synchronized List<ValidationMessage> validate(final Path resourcePath,
-                                                         final String content) {
+    public List<ValidationMessage> validate(final Path resourcePath,
+                                           final String content) {
         InputStream inputStream = null;
         try {
             inputStream = new ByteArrayInputStream(content.getBytes(Charsets.UTF_8));
@@ -92,7 +98,7 @@ public class ValidatorBuildService {
         }
     }
 
-    public synchronized List<ValidationMessage> validate(final Path resourcePath) {
+    public List<ValidationMessage> validate(final Path resourcePath) {
         InputStream inputStream = null;
         try {
             inputStream = ioService.newInputStream(Paths.convert(resourcePath));
@@ -118,33 +124,56 @@ public class ValidatorBuildService {
 
     private List<ValidationMessage> doValidation(final Path resourcePath,
                                                  final InputStream inputStream) throws NoModuleException {
-        final ValidatorResultBuilder resultBuilder = new ValidatorResultBuilder();
         final Module module = module(resourcePath);
+        synchronized (lockFor(module)) {
+            return doValidation(module,
+                                resourcePath,
+                                inputStream);
+        }
+    }
+
+    private List<ValidationMessage> doValidation(final Module module,
+                                                 final Path resourcePath,
+                                                 final InputStream inputStream) throws NoModuleException {
+        final ValidatorResultBuilder resultBuilder = new ValidatorResultBuilder();
         final org.uberfire.java.nio.file.Path nioResourcePath = Paths.convert(resourcePath);
 
         //Incremental Build does not support Java classes
         if (isIncrementalBuildPossible(resourcePath)) {
             //Build the Builder from the cache so it's "built" state can be preserved for re-use
             BuildInfo buildInfo = buildInfoService.getBuildInfo(module);
-            final Builder clone = ((BuildInfoImpl) buildInfo).getBuilder().clone();
+            final Builder overlay = ((BuildInfoImpl) buildInfo).getBuilder().overlay();
             //First delete resource otherwise if the resource already had errors following builder.build()
             //the incremental compilation will not report any additional errors and the resource will be
             //considered valid.
-            clone.deleteResource(nioResourcePath);
+            overlay.deleteResource(nioResourcePath);
 
-            final IncrementalBuildResults incrementalBuildResults = clone.updateResource(nioResourcePath,
-                                                                                         inputStream);
+            final IncrementalBuildResults incrementalBuildResults = overlay.updateResource(nioResourcePath,
+                                                                                           inputStream);
             resultBuilder.add(incrementalBuildResults.getAddedMessages());
         } else {
-            Builder builder = builderCache.assertBuilder(module(resourcePath));
-            final Builder clone = builder.clone();
-            resultBuilder.add(clone.build(nioResourcePath,
-                                          inputStream).getMessages());
+            Builder builder = builderCache.assertBuilder(module);
+            final Builder overlay = builder.overlay();
+            resultBuilder.add(overlay.build(nioResourcePath,
+                                            inputStream).getMessages());
         }
 
         return resultBuilder.results();
     }
 
+    private Object lockFor(final Module module) {
+        return moduleLocks[Math.floorMod(module.getRootPath().toURI().hashCode(),
+                                         MODULE_LOCK_STRIPES)];
+    }
+
+    private static Object[] newLocks(final int size) {
+        final Object[] locks = new Object[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
     private boolean isIncrementalBuildPossible(final Path resourcePath) throws NoModuleException {
         return getDestinationPath(resourcePath).startsWith("src/main/resources/");
     }
@@ -18,20 +18,27 @@ package org.kie.workbench.common.services.backend.builder.core;
 
 import java.io.File;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 
 import com.google.common.io.Resources;
+import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
 import org.drools.core.rule.TypeMetaInfo;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
 import org.guvnor.common.services.project.model.Module;
 import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.shared.message.Level;
 import org.guvnor.common.services.shared.validation.model.ValidationMessage;
 import org.junit.After;
 import org.junit.Before;
@@ -59,7 +66,9 @@ import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -374,6 +383,130 @@ public class BuilderTest
         assertTrue(errorMessages.get(0).getText().contains("mismatched input 'Build' expecting one of the following tokens:"));
     }
 
+    @Test
+    public void testOverlayKeepsItsOwnResources() throws Exception {
+        final URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue);
+        builder.build();
+
+        final Builder overlay = builder.overlay();
+        assertTrue(overlay.isBuilt());
+
+        overlay.deleteResource(path.resolve("src/main/resources/rule1.drl"));
+
+        final String rule1 = "src/main/resources/rule1.drl";
+        assertFalse(((KieFileSystemImpl) overlay.getKieFileSystem()).getMfs().existsFile(rule1));
+        assertTrue(((KieFileSystemImpl) builder.getKieFileSystem()).getMfs().existsFile(rule1));
+        assertTrue(((KieFileSystemImpl) overlay.getKieFileSystem()).getMfs().existsFile("src/main/resources/rule2.drl"));
+    }
+
+    @Test
+    public void testOverlayBuildsUnderTheBaseBuilderLock() throws Exception {
+        final URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue);
+        builder.build();
+
+        final Builder overlay = builder.overlay();
+        assertSame(builder.getKieModuleLock(),
+                   overlay.getKieModuleLock());
+        assertSame(builder.getKieModuleIgnoringErrors(),
+                   overlay.getKieModuleIgnoringErrors());
+    }
+
+    @Test
+    public void testModuleClassLoaderIsSharedUntilNextBuild() throws Exception {
+        final URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue);
+        final ClassLoader dependenciesClassLoader = getClass().getClassLoader();
+
+        final ClassLoader classLoader = builder.getModuleClassLoader(dependenciesClassLoader);
+        assertNotNull(classLoader);
+        assertSame(classLoader,
+                   builder.getModuleClassLoader(dependenciesClassLoader));
+        assertNotSame(classLoader,
+                      builder.getModuleClassLoader(new URLClassLoader(new URL[0])));
+
+        builder.build();
+        assertNotSame(classLoader,
+                      builder.getModuleClassLoader(dependenciesClassLoader));
+    }
+
+    @Test
+    public void testBuildCollectsMessagesFromAllValidationHelpers() throws Exception {
+        final URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final BuildValidationHelper helper = mock(BuildValidationHelper.class);
+        when(helper.accepts(any(org.uberfire.backend.vfs.Path.class))).thenAnswer(invocation -> ((org.uberfire.backend.vfs.Path) invocation.getArguments()[0]).getFileName().endsWith(".drl"));
+        when(helper.validate(any(org.uberfire.backend.vfs.Path.class))).thenAnswer(invocation -> Collections.singletonList(new ValidationMessage(Level.WARNING,
+                                                                                                                                       ((org.uberfire.backend.vfs.Path) invocation.getArguments()[0]).getFileName())));
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            Collections.singletonList(helper),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue,
+                                            executorService);
+
+        try {
+            final Set<String> texts = new HashSet<>();
+            for (BuildMessage message : builder.build().getMessages()) {
+                texts.add(message.getText());
+            }
+            assertTrue(texts.contains("rule1.drl"));
+            assertTrue(texts.contains("rule2.drl"));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     private PackageNameWhiteListService getPackageNameWhiteListService() {
         return new PackageNameWhiteListServiceImpl(ioService,
                                                    mock(KieModuleService.class),
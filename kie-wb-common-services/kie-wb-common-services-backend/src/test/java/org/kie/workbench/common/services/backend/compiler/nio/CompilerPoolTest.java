@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.compiler.nio;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.configuration.Decorator;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.CompilerPool;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.MavenCompilerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompilerPoolTest {
+
+    @Test
+    public void testCompilationsRunInParallelOnDifferentCompilers() throws Exception {
+        final CountDownLatch running = new CountDownLatch(2);
+        final Set<AFCompiler> busy = ConcurrentHashMap.newKeySet();
+        final AtomicInteger overlaps = new AtomicInteger();
+        final CompilerPool<CompilationResponse> pool = new CompilerPool<>("test",
+                                                                          () -> {
+            AFCompiler<CompilationResponse> compiler = mock(AFCompiler.class);
+            when(compiler.compileSync(any(CompilationRequest.class))).thenAnswer(invocation -> {
+                if (!busy.add(compiler)) {
+                    overlaps.incrementAndGet();
+                }
+                running.countDown();
+                //Both compilations must be running at the same time to get past the latch
+                running.await(10,
+                              TimeUnit.SECONDS);
+                busy.remove(compiler);
+                return new DefaultCompilationResponse(running.getCount() == 0);
+            });
+            return compiler;
+        },
+                                                                          2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<CompilationResponse> first = executor.submit(() -> pool.compileSync(mock(CompilationRequest.class)));
+            final Future<CompilationResponse> second = executor.submit(() -> pool.compileSync(mock(CompilationRequest.class)));
+
+            assertTrue(first.get().isSuccessful());
+            assertTrue(second.get().isSuccessful());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0,
+                     overlaps.get());
+        assertEquals(2,
+                     pool.getCreated());
+        assertEquals(2,
+                     pool.getIdle());
+        assertEquals(2,
+                     pool.getCheckouts());
+    }
+
+    @Test
+    public void testWarmUpCreatesIdleCompilers() throws Exception {
+        final AtomicInteger factoryCalls = new AtomicInteger();
+        final CompilerPool<CompilationResponse> pool = new CompilerPool<>("test",
+                                                                          () -> {
+            factoryCalls.incrementAndGet();
+            AFCompiler<CompilationResponse> compiler = mock(AFCompiler.class);
+            when(compiler.compileSync(any(CompilationRequest.class))).thenReturn(new DefaultCompilationResponse(Boolean.TRUE));
+            return compiler;
+        },
+                                                                          4).warmUp(2);
+        assertEquals(2,
+                     factoryCalls.get());
+        assertEquals(2,
+                     pool.getIdle());
+
+        assertTrue(pool.compileSync(mock(CompilationRequest.class)).isSuccessful());
+        assertTrue(pool.compileSync(mock(CompilationRequest.class)).isSuccessful());
+
+        //Sequential compilations reuse the pre-created compilers
+        assertEquals(2,
+                     factoryCalls.get());
+        assertEquals(2,
+                     pool.getCreated());
+        assertEquals(2,
+                     pool.getIdle());
+    }
+
+    @Test
+    public void testWarmUpStopsAtThePoolSize() {
+        final CompilerPool<CompilationResponse> pool = new CompilerPool<>("test",
+                                                                          () -> mock(AFCompiler.class),
+                                                                          2).warmUp(5);
+        assertEquals(2,
+                     pool.getCreated());
+        assertEquals(2,
+                     pool.getIdle());
+    }
+
+    @Test
+    public void testCheckoutWaitsForRelease() throws Exception {
+        final CompilerPool<CompilationResponse> pool = new CompilerPool<>("test",
+                                                                          () -> mock(AFCompiler.class),
+                                                                          1);
+        final AFCompiler<CompilationResponse> compiler = pool.checkout();
+        assertEquals(0,
+                     pool.getIdle());
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<AFCompiler<CompilationResponse>> waiting = executor.submit(pool::checkout);
+            Thread.sleep(50);
+            pool.release(compiler);
+
+            assertSame(compiler,
+                       waiting.get(10,
+                                   TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(pool.getMaxWaitNanos() > 0);
+        assertTrue(pool.getTotalWaitNanos() >= pool.getMaxWaitNanos());
+    }
+
+    @Test
+    public void testFactoryKeepsOnePoolPerDecorator() {
+        MavenCompilerFactory.clearCompilers();
+
+        final AFCompiler none = MavenCompilerFactory.getCompiler(Decorator.NONE);
+        final AFCompiler logOutput = MavenCompilerFactory.getCompiler(Decorator.LOG_OUTPUT_AFTER);
+
+        assertTrue(none instanceof CompilerPool);
+        assertNotSame(none,
+                      logOutput);
+        assertSame(logOutput,
+                   MavenCompilerFactory.getCompiler(Decorator.LOG_OUTPUT_AFTER));
+        //The pool is warmed up when the factory creates it
+        assertEquals(CompilerPool.defaultWarmUp(),
+                     ((CompilerPool) none).getCreated());
+        assertEquals(Decorator.NONE.name(),
+                     ((CompilerPool) none).getName());
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.compiler.nio;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.TestUtil;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.DependenciesClasspathCache;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DependenciesClasspathCacheTest {
+
+    private Path tmpRoot;
+    private Path prj;
+    private Path repo;
+    private DependenciesClasspathCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        tmpRoot = Files.createTempDirectory("cpcache");
+        prj = Files.createDirectories(Paths.get(tmpRoot.toString(),
+                                                "prj",
+                                                "module"));
+        repo = Files.createDirectories(Paths.get(tmpRoot.toString(),
+                                                 "repo"));
+        writePom(prj.getParent(),
+                 "<project/>");
+        writePom(prj,
+                 "<project/>");
+        cache = new DependenciesClasspathCache(repo.toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtil.rm(tmpRoot.toFile());
+    }
+
+    @Test
+    public void testCachedClasspath() throws Exception {
+        List<URL> deps = Arrays.asList(jar("a.jar"),
+                                       jar("b.jar"));
+        String prjPath = prj.getParent().toString();
+        String key = cache.key(prjPath);
+        assertFalse(cache.get(prjPath,
+                              key).isPresent());
+
+        cache.put(prjPath,
+                  deps,
+                  key);
+
+        assertEquals(key,
+                     cache.key(prjPath));
+        assertEquals(deps,
+                     cache.get(prjPath,
+                               key).get());
+        assertFalse(cache.get(prj.toString(),
+                              key).isPresent());
+    }
+
+    @Test
+    public void testNewPomRevisionOverwritesTheEntry() throws Exception {
+        String prjPath = prj.getParent().toString();
+        String key = cache.key(prjPath);
+        cache.put(prjPath,
+                  Arrays.asList(jar("a.jar")),
+                  key);
+
+        writePom(prj,
+                 "<project><modelVersion>4.0.0</modelVersion></project>");
+        String newKey = cache.key(prjPath);
+        List<URL> deps = Arrays.asList(jar("b.jar"));
+        cache.put(prjPath,
+                  deps,
+                  newKey);
+
+        assertFalse(cache.get(prjPath,
+                              key).isPresent());
+        assertEquals(deps,
+                     cache.get(prjPath,
+                               newKey).get());
+        assertEquals(1,
+                     Paths.get(repo.toString(),
+                               DependenciesClasspathCache.CACHE_FOLDER).toFile().list().length);
+    }
+
+    @Test
+    public void testEntryValidForEveryKey() throws Exception {
+        String prjPath = prj.getParent().toString();
+        List<URL> deps = Arrays.asList(jar("a.jar"));
+        cache.put(prjPath,
+                  deps,
+                  "original",
+                  "enhanced");
+
+        assertEquals(deps,
+                     cache.get(prjPath,
+                               "original").get());
+        assertEquals(deps,
+                     cache.get(prjPath,
+                               "enhanced").get());
+        assertFalse(cache.get(prjPath,
+                              "other").isPresent());
+    }
+
+    @Test
+    public void testModulePomChangeChangesKey() {
+        String key = cache.key(prj.getParent().toString());
+
+        writePom(prj,
+                 "<project><modelVersion>4.0.0</modelVersion></project>");
+
+        assertNotEquals(key,
+                        cache.key(prj.getParent().toString()));
+    }
+
+    @Test
+    public void testMissingDependencyDiscardsEntry() throws Exception {
+        URL removed = jar("removed.jar");
+        String prjPath = prj.getParent().toString();
+        String key = cache.key(prjPath);
+        cache.put(prjPath,
+                  Arrays.asList(jar("a.jar"),
+                                removed),
+                  key);
+
+        Files.delete(Paths.get(removed.toURI()));
+
+        assertFalse(cache.get(prjPath,
+                              key).isPresent());
+        assertEquals(0,
+                     Paths.get(repo.toString(),
+                               DependenciesClasspathCache.CACHE_FOLDER).toFile().list().length);
+    }
+
+    private void writePom(Path folder,
+                          String content) {
+        Path pom = folder.resolve("pom.xml");
+        Files.deleteIfExists(pom);
+        Files.write(pom,
+                    content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private URL jar(String name) throws Exception {
+        Path jar = Files.write(repo.resolve(name),
+                               new byte[0]);
+        assertTrue(Files.exists(jar));
+        return jar.toUri().toURL();
+    }
+}
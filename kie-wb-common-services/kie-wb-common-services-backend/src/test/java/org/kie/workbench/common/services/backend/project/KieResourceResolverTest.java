@@ -15,16 +15,22 @@
  */
 package org.kie.workbench.common.services.backend.project;
 
+import java.io.File;
+
 import javax.enterprise.inject.Instance;
 
 import org.guvnor.common.services.backend.util.CommentedOptionFactory;
 import org.guvnor.common.services.project.backend.server.ModuleResourcePathResolver;
+import org.guvnor.common.services.project.model.GAV;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.service.POMService;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.services.shared.kmodule.KModuleService;
+import org.kie.workbench.common.services.shared.project.KieModule;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
@@ -33,11 +39,21 @@ import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
 import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class KieResourceResolverTest {
@@ -60,16 +76,22 @@ public class KieResourceResolverTest {
     @Captor
     ArgumentCaptor<Path> pathArgumentCaptor;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private KieModuleRootCache moduleRootCache;
+
     private KieResourceResolver resolver;
 
     @Before
     public void setUp() throws Exception {
-
+        moduleRootCache = new KieModuleRootCache();
         resolver = new KieResourceResolver(ioService,
                                            pomService,
                                            commentedOptionFactory,
                                            kModuleService,
-                                           resourcePathResolversInstance);
+                                           resourcePathResolversInstance,
+                                           moduleRootCache);
     }
 
     @Test
@@ -88,4 +110,146 @@ public class KieResourceResolverTest {
     public void returnNullWhenSomethingGoesWrong() throws Exception {
         assertNull(resolver.makeModule(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void resolveModuleFromCache() throws Exception {
+        final File root = createModule();
+        final Path resource = toPath(new File(root,
+                                              "src/main/java/org/test/Test.java"));
+        final Path otherResource = toPath(new File(root,
+                                                   "src/main/java/org/test/Other.java"));
+
+        final KieModule module = resolver.resolveModule(resource,
+                                                        false);
+        assertThat(module.getRootPath().toURI()).endsWith("/module");
+        assertEquals(module.getRootPath(),
+                     resolver.resolveModule(resource,
+                                            false).getRootPath());
+        assertEquals(module.getRootPath(),
+                     resolver.resolveModule(otherResource,
+                                            false).getRootPath());
+
+        assertEquals(1,
+                     moduleRootCache.getModuleHits());
+        assertEquals(2,
+                     moduleRootCache.getModuleMisses());
+    }
+
+    @Test
+    public void resolveModuleAfterKModuleDeleted() throws Exception {
+        final File root = createModule();
+        final Path resource = toPath(new File(root,
+                                              "src/main/java/org/test/Test.java"));
+        assertNotNull(resolver.resolveModule(resource,
+                                             false));
+
+        final File kmodule = new File(root,
+                                      "src/main/resources/META-INF/kmodule.xml");
+        kmodule.delete();
+        assertNotNull(resolver.resolveModule(resource,
+                                             false));
+
+        final ResourceDeletedEvent event = mock(ResourceDeletedEvent.class);
+        when(event.getPath()).thenReturn(toPath(kmodule));
+        moduleRootCache.onResourceDeleted(event);
+
+        assertNull(resolver.resolveModule(resource,
+                                          false));
+    }
+
+    @Test
+    public void resolveModulePOMFromCache() throws Exception {
+        final File root = createModule();
+        final Path resource = toPath(new File(root,
+                                              "src/main/java/org/test/Test.java"));
+        final POM pom = new POM(new GAV("org.test",
+                                        "module",
+                                        "1.0"));
+        doReturn(pom).when(pomService).load(any(Path.class));
+
+        assertSame(pom,
+                   resolver.resolveModule(resource).getPom());
+        final POM cached = resolver.resolveModule(resource).getPom();
+        //Every module gets its own instance of the cached POM
+        assertNotSame(pom,
+                      cached);
+        assertEquals(pom.getGav(),
+                     cached.getGav());
+        verify(pomService,
+               times(1)).load(any(Path.class));
+
+        final ResourceUpdatedEvent event = mock(ResourceUpdatedEvent.class);
+        when(event.getPath()).thenReturn(toPath(new File(root,
+                                                         "pom.xml")));
+        moduleRootCache.onResourceUpdated(event);
+
+        resolver.resolveModule(resource);
+        verify(pomService,
+               times(2)).load(any(Path.class));
+        assertEquals(1,
+                     moduleRootCache.getPomHits());
+        assertEquals(2,
+                     moduleRootCache.getPomMisses());
+    }
+
+    @Test
+    public void resolveModuleWithFullCache() throws Exception {
+        final File root = createModule();
+        final File third = new File(root,
+                                    "src/main/java/org/test/Third.java");
+        third.createNewFile();
+        final Path resource = toPath(new File(root,
+                                              "src/main/java/org/test/Test.java"));
+        final Path otherResource = toPath(new File(root,
+                                                   "src/main/java/org/test/Other.java"));
+        //Room for the segments of one resource and a sibling
+        final int maxNodes = Paths.convert(resource).toUri().toString().split("/").length + 1;
+        moduleRootCache = new KieModuleRootCache(maxNodes);
+        resolver = new KieResourceResolver(ioService,
+                                           pomService,
+                                           commentedOptionFactory,
+                                           kModuleService,
+                                           resourcePathResolversInstance,
+                                           moduleRootCache);
+
+        final KieModule module = resolver.resolveModule(resource,
+                                                        false);
+        assertEquals(module.getRootPath(),
+                     resolver.resolveModule(otherResource,
+                                            false).getRootPath());
+        assertEquals(maxNodes,
+                     moduleRootCache.getSize());
+
+        //The third resource doesn't fit, the cache is emptied before storing it
+        assertEquals(module.getRootPath(),
+                     resolver.resolveModule(toPath(third),
+                                            false).getRootPath());
+        assertThat(moduleRootCache.getSize()).isLessThan(maxNodes);
+        assertEquals(module.getRootPath(),
+                     resolver.resolveModule(resource,
+                                            false).getRootPath());
+        assertEquals(4,
+                     moduleRootCache.getModuleMisses());
+    }
+
+    private File createModule() throws Exception {
+        final File root = temporaryFolder.newFolder("module");
+        new File(root,
+                 "pom.xml").createNewFile();
+        new File(root,
+                 "src/main/resources/META-INF").mkdirs();
+        new File(root,
+                 "src/main/resources/META-INF/kmodule.xml").createNewFile();
+        new File(root,
+                 "src/main/java/org/test").mkdirs();
+        new File(root,
+                 "src/main/java/org/test/Test.java").createNewFile();
+        new File(root,
+                 "src/main/java/org/test/Other.java").createNewFile();
+        return root;
+    }
+
+    private Path toPath(final File file) {
+        return Paths.convert(org.uberfire.java.nio.file.Paths.get(file.getAbsolutePath()));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.function.Supplier;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+
+/**
+ * Measures the throughput of an indexing pass resolving the module classes for every resource, and the classes and
+ * metaspace it uses, when every resource gets a new {@link MapClassLoader} with a copy of the module classes, which
+ * is what {@link ModuleClassLoaderHelper} used to do, and when all of them share the class loader cached by the
+ * Builder until the next build.
+ * <p>
+ * Run it from the IDE or with "mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=..." and, optionally, the
+ * number of resources indexed and the number of classes of the module as arguments. Give the JVM enough metaspace
+ * for the unshared case, e.g. -XX:MaxMetaspaceSize=1g.
+ */
+public class ModuleClassLoaderBenchmark {
+
+    private static final String PACKAGE = "org.kie.benchmark";
+
+    public static void main(String[] args) throws Exception {
+        int resources = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int classes = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        InternalKieModule module = buildModule(classes);
+        ClassLoader dependenciesClassLoader = ModuleClassLoaderBenchmark.class.getClassLoader();
+
+        System.out.println(String.format("%d resources, module of %d classes",
+                                         resources,
+                                         classes));
+
+        run("class loader per resource",
+            resources,
+            classes,
+            () -> new MapClassLoader(module.getClassesMap(true),
+                                     dependenciesClassLoader));
+
+        ClassLoader shared = new MapClassLoader(module.getClassesMap(true),
+                                                dependenciesClassLoader);
+        run("shared class loader",
+            resources,
+            classes,
+            () -> shared);
+    }
+
+    private static InternalKieModule buildModule(int classes) {
+        KieServices kieServices = KieServices.Factory.get();
+        KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
+        for (int i = 0; i < classes; i++) {
+            kieFileSystem.write("src/main/java/" + PACKAGE.replace('.',
+                                                                   '/') + "/Type" + i + ".java",
+                                "package " + PACKAGE + ";\n" +
+                                        "public class Type" + i + " implements java.io.Serializable {\n" +
+                                        "    private String name;\n" +
+                                        "    private int value;\n" +
+                                        "    public String getName() { return name; }\n" +
+                                        "    public void setName(String name) { this.name = name; }\n" +
+                                        "    public int getValue() { return value; }\n" +
+                                        "    public void setValue(int value) { this.value = value; }\n" +
+                                        "}\n");
+        }
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem).buildAll();
+        if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException(kieBuilder.getResults().toString());
+        }
+        return (InternalKieModule) kieBuilder.getKieModule();
+    }
+
+    private static void run(String name,
+                            int resources,
+                            int classes,
+                            Supplier<ClassLoader> moduleClassLoader) throws Exception {
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        long loadedBefore = classLoading.getTotalLoadedClassCount();
+        long metaspaceBefore = metaspaceUsed();
+
+        long start = System.nanoTime();
+        //Every indexed resource resolves the module types it references, as the indexers do
+        for (int i = 0; i < resources; i++) {
+            ClassLoader classLoader = moduleClassLoader.get();
+            for (int j = 0; j < classes; j++) {
+                classLoader.loadClass(PACKAGE + ".Type" + j);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(String.format("%-26s %10.1f resources/s %8d classes loaded %10.2f MB metaspace",
+                                         name,
+                                         resources / (elapsed / 1_000_000_000.0),
+                                         classLoading.getTotalLoadedClassCount() - loadedBefore,
+                                         (metaspaceUsed() - metaspaceBefore) / (1024.0 * 1024.0)));
+    }
+
+    private static long metaspaceUsed() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if ("Metaspace".equals(pool.getName())) {
+                return pool.getUsage().getUsed();
+            }
+        }
+        return 0;
+    }
+}
@@ -40,7 +40,7 @@ import org.uberfire.backend.vfs.Path;
 public class DiagramLookupServiceImpl
         extends AbstractDiagramLookupService<Metadata, Diagram<Graph, Metadata>> {
 
-    private final VFSLookupManager<Diagram<Graph, Metadata>> vfsLookupManager;
+    private final VFSLookupManager<Metadata> vfsLookupManager;
     private final DiagramServiceImpl diagramService;
 
     // CDI proxy.
@@ -50,7 +50,7 @@ public class DiagramLookupServiceImpl
     }
 
     @Inject
-    public DiagramLookupServiceImpl(final VFSLookupManager<Diagram<Graph, Metadata>> vfsLookupManager,
+    public DiagramLookupServiceImpl(final VFSLookupManager<Metadata> vfsLookupManager,
                                     final DiagramServiceImpl diagramService) {
         this.vfsLookupManager = vfsLookupManager;
         this.diagramService = diagramService;
@@ -68,7 +68,7 @@ public class DiagramLookupServiceImpl
 
     @Override
     @SuppressWarnings("unchecked")
-    protected List<Diagram<Graph, Metadata>> getItems(final DiagramLookupRequest request) {
+    protected List<Metadata> getItems(final DiagramLookupRequest request) {
         final Path path = null != request.getPath() ?
                 request.getPath() :
                 Paths.convert(getServiceImpl().getDiagramsPath());
@@ -77,11 +77,11 @@ public class DiagramLookupServiceImpl
 
     @Override
     protected boolean matches(final String criteria,
-                              final Diagram<Graph, Metadata> item) {
+                              final Metadata item) {
         final Map<String, String> criteriaMap = AbstractCriteriaLookupManager.parseCriteria(criteria);
         final String name = criteriaMap.get(DiagramLookupRequest.CRITERIA_NAME);
         if (null != name && name.trim().length() > 0) {
-            return name.equals(item.getName());
+            return name.equals(getDiagramName(item));
         }
         return true;
     }
@@ -20,12 +20,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.backend.lookup.impl.VFSLookupManager;
-import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
-import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -37,19 +36,23 @@ public class DiagramLookupServiceImplTest {
     private static final String NAME = "name1";
 
     @Mock
-    private VFSLookupManager<Diagram<Graph, Metadata>> vfsLookupManager;
+    private VFSLookupManager<Metadata> vfsLookupManager;
 
     @Mock
     private DiagramServiceImpl diagramService;
 
     @Mock
-    private Diagram<Graph, Metadata> diagram;
+    private Metadata metadata;
+
+    @Mock
+    private Path path;
 
     private DiagramLookupServiceImpl tested;
 
     @Before
     public void setup() {
-        when(diagram.getName()).thenReturn(NAME);
+        when(metadata.getPath()).thenReturn(path);
+        when(path.getFileName()).thenReturn(NAME + ".bpmn");
         tested = new DiagramLookupServiceImpl(vfsLookupManager,
                                               diagramService);
     }
@@ -59,8 +62,8 @@ public class DiagramLookupServiceImplTest {
         String criteria = DiagramLookupRequest.CRITERIA_NAME + "=" + NAME;
         String criteria1 = DiagramLookupRequest.CRITERIA_NAME + "=" + "name2";
         String criteria2 = "";
-        assertTrue(tested.matches(criteria, diagram));
-        assertFalse(tested.matches(criteria1, diagram));
-        assertTrue(tested.matches(criteria2, diagram));
+        assertTrue(tested.matches(criteria, metadata));
+        assertFalse(tested.matches(criteria1, metadata));
+        assertTrue(tested.matches(criteria2, metadata));
     }
 }
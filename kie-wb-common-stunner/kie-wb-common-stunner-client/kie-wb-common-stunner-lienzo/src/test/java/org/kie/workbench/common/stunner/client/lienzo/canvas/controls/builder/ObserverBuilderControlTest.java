@@ -217,7 +217,8 @@ public class ObserverBuilderControlTest {
                                                                     mock(Event.class),
                                                                     null,
                                                                     null,
-                                                                    null);
+                                                                    null,
+                                                                    mock(Event.class));
         canvasHandler.handle(mock(AbstractCanvas.class));
         canvasHandler.draw(diagram, mock(ParameterizedCommand.class));
         when(diagram.getGraph()).thenReturn(graph);
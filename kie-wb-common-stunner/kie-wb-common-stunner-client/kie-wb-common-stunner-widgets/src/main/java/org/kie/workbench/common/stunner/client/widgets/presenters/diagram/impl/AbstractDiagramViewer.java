@@ -21,6 +21,7 @@ import org.kie.workbench.common.stunner.client.widgets.presenters.diagram.Diagra
 import org.kie.workbench.common.stunner.client.widgets.views.WidgetWrapperView;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvas;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandlerImpl;
 import org.kie.workbench.common.stunner.core.client.canvas.CanvasSettings;
 import org.kie.workbench.common.stunner.core.client.preferences.StunnerPreferencesRegistries;
 import org.kie.workbench.common.stunner.core.client.service.ClientRuntimeError;
@@ -62,6 +63,7 @@ public abstract class AbstractDiagramViewer<D extends Diagram, H extends Abstrac
         final StunnerDiagramEditorPreferences editorPreferences = preferences.getDiagramEditorPreferences();
 
         final boolean isHiDPIEnabled = editorPreferences != null && editorPreferences.isHiDPIEnabled();
+        final boolean isProgressiveDrawEnabled = editorPreferences != null && editorPreferences.isProgressiveDrawEnabled();
 
         final int[] ds = getDiagramSize(diagram);
 
@@ -74,6 +76,9 @@ public abstract class AbstractDiagramViewer<D extends Diagram, H extends Abstrac
                    settings);
         // Notify listeners that the canvas and the handler are ready.
         callback.afterCanvasInitialized();
+        if (getHandler() instanceof CanvasHandlerImpl) {
+            ((CanvasHandlerImpl) getHandler()).setProgressiveDraw(isProgressiveDrawEnabled);
+        }
         // Loads and draw the diagram into the canvas handled instance.
         getHandler().draw(diagram,
                           new ParameterizedCommand<CommandResult<?>>() {
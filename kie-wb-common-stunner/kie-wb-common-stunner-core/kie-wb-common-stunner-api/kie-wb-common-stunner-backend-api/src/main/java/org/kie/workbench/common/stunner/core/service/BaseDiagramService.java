@@ -33,6 +33,13 @@ public interface BaseDiagramService<M extends Metadata, D extends Diagram<Graph,
      */
     D getDiagramByPath(final Path path);
 
+    /**
+     * Returns the metadata of the Diagram by the given path in the service, without
+     * building its graph when the implementation can avoid it.
+     * Implementations can throw unchecked exceptions.
+     */
+    M getMetadataByPath(final Path path);
+
     /**
      * Checks if this service accepts a given Diagram by its path.
      */
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.client.canvas.event;
+
+import org.jboss.errai.common.client.api.annotations.NonPortable;
+import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
+
+/**
+ * Event that is fired once all the elements of a diagram have been drawn by a canvas handler, with the time it took
+ * to load it.
+ * <p>
+ * The time to first paint is the time, in milliseconds, since the diagram load started until the first elements are
+ * drawn. It is the same as the draw time unless the diagram is drawn progressively, in that case only the elements
+ * in the visible area are drawn by then and the rest of them are drawn later on. The canvas is ready to be used once
+ * all of them are drawn, after the draw time.
+ */
+@NonPortable
+public final class CanvasDrawTimingEvent extends AbstractCanvasHandlerEvent<CanvasHandler> {
+
+    private final long timeToFirstPaint;
+    private final long drawTime;
+    private final int firstPassSize;
+    private final int size;
+
+    public CanvasDrawTimingEvent(final CanvasHandler canvasHandler,
+                                 final long timeToFirstPaint,
+                                 final long drawTime,
+                                 final int firstPassSize,
+                                 final int size) {
+        super(canvasHandler);
+        this.timeToFirstPaint = timeToFirstPaint;
+        this.drawTime = drawTime;
+        this.firstPassSize = firstPassSize;
+        this.size = size;
+    }
+
+    public long getTimeToFirstPaint() {
+        return timeToFirstPaint;
+    }
+
+    public long getDrawTime() {
+        return drawTime;
+    }
+
+    /**
+     * The number of elements drawn by the first paint.
+     */
+    public int getFirstPassSize() {
+        return firstPassSize;
+    }
+
+    /**
+     * The number of elements drawn.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "CanvasDrawTimingEvent [timeToFirstPaint=" + timeToFirstPaint +
+                ", drawTime=" + drawTime +
+                ", firstPassSize=" + firstPassSize +
+                ", size=" + size + "]";
+    }
+}
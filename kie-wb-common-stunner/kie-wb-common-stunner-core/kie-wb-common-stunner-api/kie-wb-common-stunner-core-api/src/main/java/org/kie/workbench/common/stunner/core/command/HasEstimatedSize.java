@@ -0,0 +1,31 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.command;
+
+/**
+ * A type that can estimate the memory, in bytes, it retains.
+ * <p>
+ * Commands that keep big values for undoing their changes, like whole definitions or property values, can implement
+ * it so the command registries can bound the memory used by the command history.
+ */
+public interface HasEstimatedSize {
+
+    /**
+     * Returns the estimated memory retained, in bytes.
+     */
+    long getEstimatedSize();
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.command;
+
+/**
+ * A command that can be merged with the one executed just before it, so both are kept as a single entry
+ * in the command history. Undoing the merged entry reverts the changes of the two commands.
+ * <p>
+ * Eg: consecutive updates of the same property of an element.
+ * @param <T> The command's context type.
+ * @param <V> The command violation type.
+ */
+public interface MergeableCommand<T, V> extends Command<T, V> {
+
+    /**
+     * Returns whether this command can be merged with the <code>previous</code> one, which has been executed
+     * just before.
+     */
+    boolean isMergeableWith(final Command<T, V> previous);
+}
@@ -20,6 +20,7 @@ import org.jboss.errai.common.client.api.annotations.MapsTo;
 import org.jboss.errai.common.client.api.annotations.NonPortable;
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.uberfire.backend.vfs.Path;
 
 @Portable
@@ -73,18 +74,27 @@ public class DiagramRepresentation {
     @NonPortable
     public static final class DiagramRepresentationBuilder {
 
-        private final Diagram diagram;
+        private final String name;
+        private final Metadata metadata;
         private final DiagramRepresentation representation;
         private String shapeSetId;
 
         public DiagramRepresentationBuilder(final Diagram diagram) {
-            this.diagram = diagram;
+            this(diagram.getName(),
+                 diagram.getMetadata());
+        }
+
+        public DiagramRepresentationBuilder(final String name,
+                                            final Metadata metadata) {
+            this.name = name;
+            this.metadata = metadata;
             this.representation = null;
         }
 
         public DiagramRepresentationBuilder(final DiagramRepresentation representation) {
             this.representation = representation;
-            this.diagram = null;
+            this.name = null;
+            this.metadata = null;
         }
 
         public DiagramRepresentationBuilder setShapeSetId(final String shapeSetId) {
@@ -93,13 +103,13 @@ public class DiagramRepresentation {
         }
 
         public DiagramRepresentation build() {
-            if (null != diagram) {
-                return new DiagramRepresentation(diagram.getName(),
-                                                 diagram.getMetadata().getTitle(),
-                                                 diagram.getMetadata().getDefinitionSetId(),
-                                                 null != shapeSetId ? shapeSetId : diagram.getMetadata().getShapeSetId(),
-                                                 diagram.getMetadata().getPath(),
-                                                 diagram.getMetadata().getThumbData());
+            if (null != metadata) {
+                return new DiagramRepresentation(name,
+                                                 metadata.getTitle(),
+                                                 metadata.getDefinitionSetId(),
+                                                 null != shapeSetId ? shapeSetId : metadata.getShapeSetId(),
+                                                 metadata.getPath(),
+                                                 metadata.getThumbData());
             }
             return new DiagramRepresentation(representation.getName(),
                                              representation.getTitle(),
@@ -48,6 +48,11 @@ public class StunnerDiagramEditorPreferences implements BasePreference<StunnerDi
             formType = PropertyFormType.BOOLEAN)
     boolean enableHiDPI;
 
+    @Property(bundleKey = "StunnerDiagramEditorPreferences.EnableProgressiveDraw.Label",
+            helpBundleKey = "StunnerDiagramEditorPreferences.EnableProgressiveDraw.Help",
+            formType = PropertyFormType.BOOLEAN)
+    boolean enableProgressiveDraw;
+
     public boolean isAutoHidePalettePanel() {
         return autoHidePalettePanel;
     }
@@ -79,4 +84,12 @@ public class StunnerDiagramEditorPreferences implements BasePreference<StunnerDi
     public void setEnableHiDPI(boolean enableHiDPI){
         this.enableHiDPI = enableHiDPI;
     }
+
+    public boolean isProgressiveDrawEnabled() {
+        return enableProgressiveDraw;
+    }
+
+    public void setEnableProgressiveDraw(boolean enableProgressiveDraw) {
+        this.enableProgressiveDraw = enableProgressiveDraw;
+    }
 }
\ No newline at end of file
@@ -34,6 +34,7 @@ public class StunnerPreferences implements BasePreference<StunnerPreferences>,
         defaultValue.diagramEditorPreferences.setCanvasWidth(2800);
         defaultValue.diagramEditorPreferences.setCanvasHeight(1400);
         defaultValue.diagramEditorPreferences.setEnableHiDPI(false);
+        defaultValue.diagramEditorPreferences.setEnableProgressiveDraw(false);
         return defaultValue;
     }
 
@@ -52,6 +52,12 @@ public interface RegistryFactory {
      */
     <C extends Command> CommandRegistry<C> newCommandRegistry();
 
+    /**
+     * Creates a new registry instance for undo histories. It is bounded by the estimated memory retained by the
+     * commands, and it merges consecutive commands that can be merged into a single entry.
+     */
+    <C extends Command> CommandRegistry<C> newUndoCommandRegistry();
+
     /**
      * Creates a new registry instance for model domain factories.
      */
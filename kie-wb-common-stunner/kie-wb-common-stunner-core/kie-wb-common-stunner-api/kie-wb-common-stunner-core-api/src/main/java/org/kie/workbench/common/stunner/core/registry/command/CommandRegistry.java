@@ -46,6 +46,7 @@ public interface CommandRegistry<C extends Command> extends DynamicRegistry<C>,
 
     /**
      * Returns the registered commands, can be composite commands as well.
+     * The most recent command comes first. The returned list is read-only.
      */
     List<C> getCommandHistory();
 
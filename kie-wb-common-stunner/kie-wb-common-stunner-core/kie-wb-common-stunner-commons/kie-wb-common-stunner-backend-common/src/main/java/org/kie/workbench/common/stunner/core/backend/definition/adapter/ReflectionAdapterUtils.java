@@ -21,8 +21,10 @@ import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionMetadata.FieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 
 public class ReflectionAdapterUtils {
@@ -82,37 +84,16 @@ public class ReflectionAdapterUtils {
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                A annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final List<FieldAccessor> fields = ReflectionMetadata.of(sourceType).getDeclaredFields(annotationType);
+        return fields.isEmpty() ? null : fields.get(0).get(object);
     }
 
     @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final Class<?> sourceType,
                                          final String fieldName) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final FieldAccessor field = ReflectionMetadata.of(sourceType).getDeclaredField(fieldName);
+        return null != field ? field.get(object) : null;
     }
 
     public static <T> Field getField(final T object,
@@ -131,15 +112,8 @@ public class ReflectionAdapterUtils {
 
     public static Field getField(final Class<?> sourceType,
                                  final String fieldName) throws IllegalAccessException {
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    return field;
-                }
-            }
-        }
-        return null;
+        final FieldAccessor field = ReflectionMetadata.of(sourceType).getDeclaredField(fieldName);
+        return null != field ? field.getField() : null;
     }
 
     public static <T extends Annotation> T getClassAnnotation(final Class<?> type,
@@ -158,35 +132,22 @@ public class ReflectionAdapterUtils {
     public static <T extends Annotation> Collection<Field> getFieldAnnotations(final Class<?> type,
                                                                                final Class<T> annotationType) {
         if (null != type && null != annotationType) {
-            Collection<Field> result = new LinkedList<>();
-            Class<?> c = type;
-            while (!c.getName().equals(Object.class.getName())) {
-                Collection<Field> fields = _getFieldAnnotations(c,
-                                                                annotationType);
-                if (null != fields && !fields.isEmpty()) {
-                    result.addAll(fields);
-                }
-                c = c.getSuperclass();
+            final Collection<Field> result = new LinkedList<>();
+            for (FieldAccessor field : getFieldAccessors(type,
+                                                         annotationType)) {
+                result.add(field.getField());
             }
             return result;
         }
         return null;
     }
 
-    private static <T extends Annotation> Collection<Field> _getFieldAnnotations(final Class<?> type,
-                                                                                 final Class<T> annotationType) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            Collection<Field> result = new LinkedList<>();
-            for (Field field : fields) {
-                T annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    result.add(field);
-                }
-            }
-            return result;
-        }
-        return null;
+    /**
+     * Same as {@link #getFieldAnnotations(Class, Class)}, but returning cached accessors for the fields.
+     */
+    public static <T extends Annotation> List<FieldAccessor> getFieldAccessors(final Class<?> type,
+                                                                               final Class<T> annotationType) {
+        return ReflectionMetadata.of(type).getFields(annotationType);
     }
 
     public static String getDefinitionId(final Class<?> type) {
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reflection metadata of a class, computed once per class: its declared fields, which of them are annotated with a
+ * given annotation type, and method handles to read and write them.
+ */
+public final class ReflectionMetadata {
+
+    private static final ClassValue<ReflectionMetadata> METADATA = new ClassValue<ReflectionMetadata>() {
+        @Override
+        protected ReflectionMetadata computeValue(final Class<?> type) {
+            return new ReflectionMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<FieldAccessor> declaredFields;
+    private final Map<String, FieldAccessor> declaredFieldsByName;
+    private final Map<Class<? extends Annotation>, List<FieldAccessor>> declaredAnnotatedFields = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Annotation>, List<FieldAccessor>> annotatedFields = new ConcurrentHashMap<>();
+
+    private ReflectionMetadata(final Class<?> type) {
+        this.type = type;
+        final Field[] fields = type.getDeclaredFields();
+        final List<FieldAccessor> accessors = new ArrayList<>(fields.length);
+        final Map<String, FieldAccessor> accessorsByName = new HashMap<>(fields.length);
+        for (Field field : fields) {
+            final FieldAccessor accessor = new FieldAccessor(field);
+            accessors.add(accessor);
+            accessorsByName.putIfAbsent(field.getName(),
+                                        accessor);
+        }
+        this.declaredFields = Collections.unmodifiableList(accessors);
+        this.declaredFieldsByName = accessorsByName;
+    }
+
+    public static ReflectionMetadata of(final Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    public List<FieldAccessor> getDeclaredFields() {
+        return declaredFields;
+    }
+
+    public FieldAccessor getDeclaredField(final String name) {
+        return declaredFieldsByName.get(name);
+    }
+
+    /**
+     * The fields declared by this class annotated with the given annotation type, in declaration order.
+     */
+    public List<FieldAccessor> getDeclaredFields(final Class<? extends Annotation> annotationType) {
+        return declaredAnnotatedFields.computeIfAbsent(annotationType,
+                                                       a -> {
+                                                           final List<FieldAccessor> result = new ArrayList<>();
+                                                           for (FieldAccessor accessor : declaredFields) {
+                                                               if (null != accessor.getField().getAnnotation(a)) {
+                                                                   result.add(accessor);
+                                                               }
+                                                           }
+                                                           return Collections.unmodifiableList(result);
+                                                       });
+    }
+
+    /**
+     * The fields declared by this class or any of its super classes annotated with the given annotation type,
+     * starting with the ones declared by this class.
+     */
+    public List<FieldAccessor> getFields(final Class<? extends Annotation> annotationType) {
+        return annotatedFields.computeIfAbsent(annotationType,
+                                               a -> {
+                                                   final List<FieldAccessor> result = new ArrayList<>();
+                                                   Class<?> c = type;
+                                                   while (null != c && !c.getName().equals(Object.class.getName())) {
+                                                       result.addAll(of(c).getDeclaredFields(a));
+                                                       c = c.getSuperclass();
+                                                   }
+                                                   return Collections.unmodifiableList(result);
+                                               });
+    }
+
+    public static final class FieldAccessor {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+                                                                            Object.class);
+
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,
+                                                                            Object.class,
+                                                                            Object.class);
+
+        private final Field field;
+        private volatile MethodHandle getter;
+        private volatile MethodHandle setter;
+
+        private FieldAccessor(final Field field) {
+            this.field = field;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <V> V get(final Object instance) throws IllegalAccessException {
+            try {
+                final Object value = (Object) getGetter().invokeExact(instance);
+                return (V) value;
+            } catch (IllegalAccessException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public void set(final Object instance,
+                        final Object value) throws IllegalAccessException {
+            try {
+                getSetter().invokeExact(instance,
+                                        value);
+            } catch (IllegalAccessException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private MethodHandle getGetter() throws IllegalAccessException {
+            if (null == getter) {
+                field.setAccessible(true);
+                getter = adapt(MethodHandles.lookup().unreflectGetter(field),
+                               GETTER_TYPE);
+            }
+            return getter;
+        }
+
+        private MethodHandle getSetter() throws IllegalAccessException {
+            if (null == setter) {
+                field.setAccessible(true);
+                setter = adapt(MethodHandles.lookup().unreflectSetter(field),
+                               SETTER_TYPE);
+            }
+            return setter;
+        }
+
+        private MethodHandle adapt(final MethodHandle handle,
+                                   final MethodType type) {
+            //Static fields (e.g. definition titles or categories) ignore the instance, as Field#get does
+            final MethodHandle instanceHandle = Modifier.isStatic(field.getModifiers()) ?
+                    MethodHandles.dropArguments(handle,
+                                                0,
+                                                Object.class) :
+                    handle;
+            return instanceHandle.asType(type);
+        }
+    }
+}
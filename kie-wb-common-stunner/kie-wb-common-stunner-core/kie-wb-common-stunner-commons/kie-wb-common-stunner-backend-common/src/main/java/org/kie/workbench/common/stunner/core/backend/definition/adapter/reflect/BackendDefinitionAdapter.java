@@ -16,18 +16,19 @@
 
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractReflectAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionAdapterUtils;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionMetadata;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionMetadata.FieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.HasInheritance;
@@ -156,15 +157,13 @@ public class BackendDefinitionAdapter<T> extends AbstractReflectAdapter<T>
 
     @Override
     public Set<?> getPropertySets(final T definition) {
-        Collection<Field> fields = getFieldAnnotations(definition.getClass(),
-                                                       PropertySet.class);
+        List<FieldAccessor> fields = ReflectionAdapterUtils.getFieldAccessors(definition.getClass(),
+                                                                              PropertySet.class);
         if (null != fields) {
             Set<Object> result = new LinkedHashSet<>();
             fields.forEach(field -> {
                 try {
-                    Object v = _getValue(field,
-                                         PropertySet.class,
-                                         definition);
+                    Object v = field.get(definition);
                     result.add(v);
                 } catch (Exception e) {
                     LOG.error("Error obtaining annotated property sets for Definition with id " + getId(definition));
@@ -184,14 +183,12 @@ public class BackendDefinitionAdapter<T> extends AbstractReflectAdapter<T>
             if (null != propertySetProperties) {
                 result.addAll(propertySetProperties);
             }
-            Collection<Field> fields = getFieldAnnotations(definition.getClass(),
-                                                           Property.class);
+            List<FieldAccessor> fields = ReflectionAdapterUtils.getFieldAccessors(definition.getClass(),
+                                                                                  Property.class);
             if (null != fields) {
                 fields.forEach(field -> {
                     try {
-                        Object v = _getValue(field,
-                                             Property.class,
-                                             definition);
+                        Object v = field.get(definition);
                         result.add(v);
                     } catch (Exception e) {
                         LOG.error("Error obtaining annotated properties for Definition with id " + getId(definition));
@@ -203,17 +200,6 @@ public class BackendDefinitionAdapter<T> extends AbstractReflectAdapter<T>
         return Collections.emptySet();
     }
 
-    @SuppressWarnings("unchecked")
-    private <V> V _getValue(final Field field,
-                            final Object annotation,
-                            final T definition) throws IllegalAccessException {
-        if (null != annotation) {
-            field.setAccessible(true);
-            return (V) field.get(definition);
-        }
-        return null;
-    }
-
     @Override
     public Class<? extends ElementFactory> getGraphFactoryType(final T definition) {
         Definition annotation = getDefinitionAnnotation(definition.getClass());
@@ -256,16 +242,12 @@ public class BackendDefinitionAdapter<T> extends AbstractReflectAdapter<T>
         throw new UnsupportedOperationException("Not implemented yet. Must keep some collection for this. ");
     }
 
+    @SuppressWarnings("unchecked")
     private boolean isBaseType(final Class<?> type) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                for (Class a : DEF_ANNOTATIONS) {
-                    Annotation annotation = field.getAnnotation(a);
-                    if (null != annotation) {
-                        return true;
-                    }
-                }
+        final ReflectionMetadata metadata = ReflectionMetadata.of(type);
+        for (Class a : DEF_ANNOTATIONS) {
+            if (!metadata.getDeclaredFields(a).isEmpty()) {
+                return true;
             }
         }
         return false;
@@ -16,16 +16,16 @@
 
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect;
 
-import java.lang.reflect.Field;
-import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.enterprise.context.Dependent;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractReflectAdapter;
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionAdapterUtils;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionMetadata.FieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.PropertyAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.annotation.Description;
@@ -61,10 +61,10 @@ public class BackendPropertyAdapter<T> extends AbstractReflectAdapter<T> impleme
                                            Type.class);
             // If no type found from annotations, try to figure it out given the class for the value instance.
             if (null == pType) {
-                final Collection<Field> valueFields = ReflectionAdapterUtils.getFieldAnnotations(property.getClass(),
+                final List<FieldAccessor> valueFields = ReflectionAdapterUtils.getFieldAccessors(property.getClass(),
                                                                                                  Value.class);
-                if (null != valueFields && !valueFields.isEmpty()) {
-                    final Class<?> valueType = valueFields.iterator().next().getType();
+                if (!valueFields.isEmpty()) {
+                    final Class<?> valueType = valueFields.get(0).getField().getType();
                     final Class<? extends PropertyType> defaultPropertyType = DefinitionUtils.getDefaultPropertyType(valueType);
                     if (null != defaultPropertyType) {
                         pType = defaultPropertyType.newInstance();
@@ -129,25 +129,14 @@ public class BackendPropertyAdapter<T> extends AbstractReflectAdapter<T> impleme
     @Override
     public Object getValue(final T property) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            while (!c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        Value annotation = field.getAnnotation(Value.class);
-                        if (null != annotation) {
-                            try {
-                                return _getValue(field,
-                                                 annotation,
-                                                 property);
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated value for Property with id " + getId(property),
-                                          e);
-                            }
-                        }
-                    }
+            for (FieldAccessor field : ReflectionAdapterUtils.getFieldAccessors(property.getClass(),
+                                                                                Value.class)) {
+                try {
+                    return field.get(property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated value for Property with id " + getId(property),
+                              e);
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
@@ -157,51 +146,32 @@ public class BackendPropertyAdapter<T> extends AbstractReflectAdapter<T> impleme
     public Map<Object, String> getAllowedValues(final T property) {
         Map<Object, String> result = new LinkedHashMap<>();
         if (null != property) {
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        AllowedValues annotation = field.getAnnotation(AllowedValues.class);
-                        if (null != annotation) {
-                            try {
-                                Iterable<?> value = _getValue(field,
-                                                              annotation,
-                                                              property);
-                                if (null != value && value.iterator().hasNext()) {
-                                    Iterator<?> vIt = value.iterator();
-                                    while (vIt.hasNext()) {
-                                        Object v = vIt.next();
-                                        result.put(v,
-                                                   v.toString());
-                                    }
-                                }
-                                done = true;
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated allowed values for Property with id " + getId(property));
-                            }
+            // Only the allowed values declared by the most specific type that declares any are considered.
+            Class<?> declaringType = null;
+            for (FieldAccessor field : ReflectionAdapterUtils.getFieldAccessors(property.getClass(),
+                                                                                AllowedValues.class)) {
+                if (null != declaringType && !declaringType.equals(field.getField().getDeclaringClass())) {
+                    break;
+                }
+                try {
+                    Iterable<?> value = field.get(property);
+                    if (null != value && value.iterator().hasNext()) {
+                        Iterator<?> vIt = value.iterator();
+                        while (vIt.hasNext()) {
+                            Object v = vIt.next();
+                            result.put(v,
+                                       v.toString());
                         }
                     }
+                    declaringType = field.getField().getDeclaringClass();
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated allowed values for Property with id " + getId(property));
                 }
-                c = c.getSuperclass();
             }
         }
         return !result.isEmpty() ? result : null;
     }
 
-    @SuppressWarnings("unchecked")
-    private <V> V _getValue(final Field field,
-                            final Object annotation,
-                            final T property) throws IllegalAccessException {
-        if (null != annotation) {
-            field.setAccessible(true);
-            V result = (V) field.get(property);
-            return result;
-        }
-        return null;
-    }
-
     @Override
     public void setValue(final T property,
                          final Object value) {
@@ -210,28 +180,16 @@ public class BackendPropertyAdapter<T> extends AbstractReflectAdapter<T> impleme
                 LOG.warn("Cannot set new value for property [" + getId(property) + "] as it is read only! ");
                 return;
             }
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        Value annotation = field.getAnnotation(Value.class);
-                        if (null != annotation) {
-                            try {
-                                field.setAccessible(true);
-                                field.set(property,
-                                          value);
-                                done = true;
-                                break;
-                            } catch (Exception e) {
-                                LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
-                                                  "and value [" + (value != null ? value.toString() : "null") + "]");
-                            }
-                        }
-                    }
+            for (FieldAccessor field : ReflectionAdapterUtils.getFieldAccessors(property.getClass(),
+                                                                                Value.class)) {
+                try {
+                    field.set(property,
+                              value);
+                    break;
+                } catch (Exception e) {
+                    LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
+                                      "and value [" + (value != null ? value.toString() : "null") + "]");
                 }
-                c = c.getSuperclass();
             }
         }
     }
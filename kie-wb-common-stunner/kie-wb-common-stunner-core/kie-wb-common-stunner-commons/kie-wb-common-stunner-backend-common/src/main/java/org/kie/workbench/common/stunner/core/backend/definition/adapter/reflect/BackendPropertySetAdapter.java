@@ -15,13 +15,14 @@
  */
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect;
 
-import java.lang.reflect.Field;
 import java.util.HashSet;
 import java.util.Set;
 
 import javax.enterprise.context.Dependent;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractReflectAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionMetadata;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionMetadata.FieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.PropertySetAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.annotation.Name;
@@ -57,20 +58,13 @@ public class BackendPropertySetAdapter<T> extends AbstractReflectAdapter<T> impl
     public Set<?> getProperties(final T propertySet) {
         Set<Object> result = null;
         if (null != propertySet) {
-            Field[] fields = propertySet.getClass().getDeclaredFields();
-            if (null != fields) {
-                result = new HashSet<>();
-                for (Field field : fields) {
-                    Property annotation = field.getAnnotation(Property.class);
-                    if (null != annotation) {
-                        try {
-                            field.setAccessible(true);
-                            Object property = field.get(propertySet);
-                            result.add(property);
-                        } catch (Exception e) {
-                            LOG.error("Error obtaining annotated properties for T with id " + getId(propertySet));
-                        }
-                    }
+            result = new HashSet<>();
+            for (FieldAccessor field : ReflectionMetadata.of(propertySet.getClass()).getDeclaredFields(Property.class)) {
+                try {
+                    Object property = field.get(propertySet);
+                    result.add(property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated properties for T with id " + getId(propertySet));
                 }
             }
         }
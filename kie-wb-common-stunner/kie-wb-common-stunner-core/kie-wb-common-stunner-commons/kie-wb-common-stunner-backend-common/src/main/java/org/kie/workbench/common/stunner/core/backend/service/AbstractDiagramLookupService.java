@@ -28,19 +28,30 @@ import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
 import org.kie.workbench.common.stunner.core.service.DiagramLookupService;
 
 public abstract class AbstractDiagramLookupService<M extends Metadata, D extends Diagram<Graph, M>>
-        extends AbstractLookupManager<D, DiagramRepresentation, DiagramLookupRequest>
+        extends AbstractLookupManager<M, DiagramRepresentation, DiagramLookupRequest>
         implements DiagramLookupManager,
                    DiagramLookupService {
 
-    public void initialize(final VFSLookupManager<D> vfsLookupManager) {
+    public void initialize(final VFSLookupManager<M> vfsLookupManager) {
         vfsLookupManager
                 .setPathAcceptor(getDiagramService()::accepts)
-                .setItemSupplier(getDiagramService()::getDiagramByPath);
+                .setItemSupplier(getDiagramService()::getMetadataByPath);
     }
 
     protected abstract BaseDiagramService<M, D> getDiagramService();
 
-    protected DiagramRepresentation buildResult(final D item) {
-        return new DiagramRepresentation.DiagramRepresentationBuilder(item).build();
+    protected DiagramRepresentation buildResult(final M item) {
+        return new DiagramRepresentation.DiagramRepresentationBuilder(getDiagramName(item),
+                                                                      item).build();
+    }
+
+    /**
+     * Returns the name of the diagram the given metadata belongs to, which is its file name without the extension.
+     */
+    protected String getDiagramName(final M item) {
+        final String fileName = item.getPath().getFileName();
+        final int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0,
+                                                  extension) : fileName;
     }
 }
@@ -18,11 +18,14 @@ package org.kie.workbench.common.stunner.core.backend.service;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.enterprise.inject.Instance;
 
@@ -52,6 +55,7 @@ import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.FileVisitResult;
 import org.uberfire.java.nio.file.SimpleFileVisitor;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.java.nio.file.attribute.FileTime;
 import org.uberfire.workbench.type.ResourceTypeDefinition;
 
 import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
@@ -70,6 +74,7 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     private final BackendRegistryFactory registryFactory;
     private Collection<DefinitionSetService> definitionSetServices = new LinkedList<>();
     private DiagramRegistry<D> registry;
+    private DiagramMetadataStore metadataStore = new DiagramMetadataStore();
 
     public AbstractVFSDiagramService(final DefinitionManager definitionManager,
                                      final FactoryManager factoryManager,
@@ -143,45 +148,132 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         return prefix + baseFileName + extension;
     }
 
-    @SuppressWarnings("unchecked")
     public D getDiagramByPath(final org.uberfire.backend.vfs.Path file) {
         if (accepts(file)) {
             DefinitionSetService services = getServiceByPath(file);
             if (null != services) {
-                final String defSetId = getDefinitionSetId(services);
-                final String name = parseFileName(file,
-                                                  services);
-                // Check if any metadata definition exist.
-                M metadata = obtainMetadata(services,
-                                            file,
-                                            defSetId,
-                                            name);
-                if (null == metadata) {
-                    metadata = (M) buildMetadataInstance(file,
-                                                         defSetId,
-                                                         name);
-                }
-                metadata.setPath(file);
-                // Parse and load the diagram raw data.
-                final InputStream is = loadPath(file);
-                try {
-                    Graph<DefinitionSet, ?> graph = services.getDiagramMarshaller().unmarshall(metadata,
-                                                                                               is);
-                    DiagramFactory<M, ?> factory = factoryManager.registry().getDiagramFactory(graph.getContent().getDefinition(),
-                                                                                               getMetadataType());
-                    return (D) factory.build(name,
-                                             metadata,
-                                             graph);
-                } catch (Exception e) {
-                    LOG.error("Cannot unmarshall diagram for diagram's path [" + file + "]", e);
-                    final String xml = getIoService().readAllString(Paths.convert(file));
-                    throw new DiagramParsingException(metadata, xml);
+                // The version is read first, so it never identifies a newer content than the unmarshalled one.
+                final String version = getVersion(file);
+                final byte[] content = getIoService().readAllBytes(Paths.convert(file));
+                return unmarshall(file,
+                                  services,
+                                  version,
+                                  content);
+            }
+        }
+        throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
+    }
+
+    /**
+     * Returns the metadata of the diagram in the given path, without reading nor unmarshalling the diagram if the
+     * file has not changed since it was last unmarshalled by this service, as told by its attributes.
+     * Each call returns a new metadata instance.
+     */
+    @Override
+    public M getMetadataByPath(final org.uberfire.backend.vfs.Path file) {
+        if (accepts(file)) {
+            DefinitionSetService services = getServiceByPath(file);
+            if (null != services) {
+                final String version = getVersion(file);
+                final DiagramMetadataStore.StoredMetadata stored = null != version ? metadataStore.get(file.toURI(),
+                                                                                                       version) : null;
+                if (null != stored) {
+                    final M metadata = newMetadata(file,
+                                                   services);
+                    stored.applyTo(metadata);
+                    return metadata;
                 }
+                final byte[] content = getIoService().readAllBytes(Paths.convert(file));
+                return unmarshall(file,
+                                  services,
+                                  version,
+                                  content).getMetadata();
             }
         }
         throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
     }
 
+    /**
+     * Identifies the current version of the file from its attributes: the git object id when the file system
+     * provides it as the file key, otherwise its size and last modified time. Returns null if the attributes
+     * cannot tell the version of the file apart.
+     */
+    private String getVersion(final org.uberfire.backend.vfs.Path file) {
+        try {
+            final Map<String, Object> attributes = getIoService().readAttributes(Paths.convert(file));
+            if (null == attributes) {
+                return null;
+            }
+            final Object fileKey = attributes.get("fileKey");
+            if (null != fileKey) {
+                return fileKey.toString();
+            }
+            final Object size = attributes.get("size");
+            final Object lastModifiedTime = attributes.get("lastModifiedTime");
+            if (null == size || !(lastModifiedTime instanceof FileTime)) {
+                return null;
+            }
+            return size + ":" + ((FileTime) lastModifiedTime).toMillis();
+        } catch (Exception e) {
+            LOG.warn("Unable to read the attributes of diagram's path [" + file + "]",
+                     e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private M newMetadata(final org.uberfire.backend.vfs.Path file,
+                          final DefinitionSetService services) {
+        final String defSetId = getDefinitionSetId(services);
+        final String name = parseFileName(file,
+                                          services);
+        // Check if any metadata definition exist.
+        M metadata = obtainMetadata(services,
+                                    file,
+                                    defSetId,
+                                    name);
+        if (null == metadata) {
+            metadata = (M) buildMetadataInstance(file,
+                                                 defSetId,
+                                                 name);
+        }
+        metadata.setPath(file);
+        return metadata;
+    }
+
+    @SuppressWarnings("unchecked")
+    private D unmarshall(final org.uberfire.backend.vfs.Path file,
+                         final DefinitionSetService services,
+                         final String version,
+                         final byte[] content) {
+        final String name = parseFileName(file,
+                                          services);
+        final M metadata = newMetadata(file,
+                                       services);
+        // Parse and load the diagram raw data.
+        final InputStream is = new ByteArrayInputStream(content);
+        try {
+            Graph<DefinitionSet, ?> graph = services.getDiagramMarshaller().unmarshall(metadata,
+                                                                                       is);
+            DiagramFactory<M, ?> factory = factoryManager.registry().getDiagramFactory(graph.getContent().getDefinition(),
+                                                                                       getMetadataType());
+            final D diagram = (D) factory.build(name,
+                                                metadata,
+                                                graph);
+            if (null != version) {
+                metadataStore.put(file.toURI(),
+                                  version,
+                                  diagram.getMetadata());
+            }
+            return diagram;
+        } catch (Exception e) {
+            LOG.error("Cannot unmarshall diagram for diagram's path [" + file + "]", e);
+            final String xml = new String(content,
+                                          StandardCharsets.UTF_8);
+            throw new DiagramParsingException(metadata, xml);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected abstract M obtainMetadata(final DefinitionSetService services,
                                         final org.uberfire.backend.vfs.Path diagramFilePath,
@@ -226,6 +318,9 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
 
     public boolean delete(final D diagram) {
         Path path = diagram.getMetadata().getPath();
+        if (null != path) {
+            metadataStore.remove(path.toURI());
+        }
         return doDelete(path);
     }
 
@@ -266,8 +361,22 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     }
 
     public Collection<D> getDiagramsByPath(final org.uberfire.java.nio.file.Path root) {
+        return collectByPath(root,
+                             this::getDiagramByPath);
+    }
+
+    /**
+     * Returns the metadata of all the diagrams in the given path, see {@link #getMetadataByPath(Path)}.
+     */
+    public Collection<M> getDiagramsMetadataByPath(final org.uberfire.java.nio.file.Path root) {
+        return collectByPath(root,
+                             this::getMetadataByPath);
+    }
+
+    private <T> Collection<T> collectByPath(final org.uberfire.java.nio.file.Path root,
+                                            final Function<org.uberfire.backend.vfs.Path, T> itemSupplier) {
         try {
-            final Collection<D> result = new ArrayList<D>();
+            final Collection<T> result = new ArrayList<T>();
             if (getIoService().exists(root)) {
                 walkFileTree(checkNotNull("root",
                                           root),
@@ -283,9 +392,9 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
                                      if (accepts(file)) {
                                          try {
                                              // portable diagram representation.
-                                             D diagram = getDiagramByPath(file);
-                                             if (null != diagram) {
-                                                 result.add(diagram);
+                                             T item = itemSupplier.apply(file);
+                                             if (null != item) {
+                                                 result.add(item);
                                              }
                                          } catch (Exception e) {
                                              //skipping add diagram to the result
@@ -374,4 +483,8 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     protected DiagramRegistry<D> getRegistry() {
         return registry;
     }
+
+    void setMetadataStore(final DiagramMetadataStore metadataStore) {
+        this.metadataStore = metadataStore;
+    }
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the metadata values of the last unmarshalled diagrams by path, along with the version of the file they
+ * were unmarshalled from. The most recently used entries are kept in memory and every entry is also stored in a
+ * file per diagram, so they survive restarts. An entry is only returned while its version matches the current
+ * version of the file.
+ */
+class DiagramMetadataStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiagramMetadataStore.class);
+
+    public static final String STORE_DIR_PROPERTY = "org.kie.workbench.stunner.metadata.store.dir";
+
+    public static final String STORE_ENABLED_PROPERTY = "org.kie.workbench.stunner.metadata.store.enabled";
+
+    static final int CACHE_SIZE = 1000;
+
+    static final int STORE_VERSION = 1;
+
+    private static final String STORE_EXTENSION = ".metadata";
+
+    private final Map<String, StoredMetadata> cache = Collections.synchronizedMap(new MetadataCache());
+
+    private final File storeDir;
+
+    DiagramMetadataStore() {
+        this(Boolean.parseBoolean(System.getProperty(STORE_ENABLED_PROPERTY,
+                                                     "true")) ? defaultStoreDir() : null);
+    }
+
+    /**
+     * @param storeDir the directory to store the entries in, or null to keep them in memory only.
+     */
+    DiagramMetadataStore(final File storeDir) {
+        this.storeDir = storeDir;
+    }
+
+    /**
+     * Returns the entry for the given path if it was stored for the given file version, otherwise null.
+     */
+    StoredMetadata get(final String uri,
+                       final String version) {
+        final StoredMetadata cached = cache.get(uri);
+        if (null != cached) {
+            return cached.version.equals(version) ? cached : null;
+        }
+        final StoredMetadata stored = read(uri);
+        if (null == stored) {
+            return null;
+        }
+        cache.put(uri,
+                  stored);
+        return stored.version.equals(version) ? stored : null;
+    }
+
+    void put(final String uri,
+             final String version,
+             final Metadata metadata) {
+        final StoredMetadata entry = new StoredMetadata(version,
+                                                        metadata.getTitle(),
+                                                        metadata.getShapeSetId(),
+                                                        metadata.getCanvasRootUUID(),
+                                                        metadata.getThumbData());
+        final StoredMetadata previous = cache.put(uri,
+                                                  entry);
+        if (null == previous || !previous.equals(entry)) {
+            write(uri,
+                  entry);
+        }
+    }
+
+    void remove(final String uri) {
+        cache.remove(uri);
+        if (null != storeDir) {
+            storeFile(uri).delete();
+        }
+    }
+
+    private StoredMetadata read(final String uri) {
+        if (null == storeDir) {
+            return null;
+        }
+        final File storeFile = storeFile(uri);
+        if (!storeFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(storeFile)))) {
+            if (in.readInt() != STORE_VERSION || !uri.equals(in.readUTF())) {
+                return null;
+            }
+            return new StoredMetadata(in.readUTF(),
+                                      readString(in),
+                                      readString(in),
+                                      readString(in),
+                                      readString(in));
+        } catch (Exception e) {
+            LOG.warn("Unable to read the diagram metadata stored in '" + storeFile + "'.",
+                     e);
+            return null;
+        }
+    }
+
+    private void write(final String uri,
+                       final StoredMetadata entry) {
+        if (null == storeDir) {
+            return;
+        }
+        final File storeFile = storeFile(uri);
+        File tmpFile = null;
+        try {
+            if (!storeDir.isDirectory() && !storeDir.mkdirs()) {
+                LOG.warn("Unable to create the diagram metadata directory '" + storeDir + "'.");
+                return;
+            }
+            tmpFile = File.createTempFile("metadata",
+                                          ".tmp",
+                                          storeDir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(STORE_VERSION);
+                out.writeUTF(uri);
+                out.writeUTF(entry.version);
+                writeString(out,
+                            entry.title);
+                writeString(out,
+                            entry.shapeSetId);
+                writeString(out,
+                            entry.canvasRootUUID);
+                writeString(out,
+                            entry.thumbData);
+            }
+            java.nio.file.Files.move(tmpFile.toPath(),
+                                     storeFile.toPath(),
+                                     StandardCopyOption.REPLACE_EXISTING,
+                                     StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            LOG.warn("Unable to store the diagram metadata in '" + storeFile + "'.",
+                     e);
+            if (null != tmpFile) {
+                tmpFile.delete();
+            }
+        }
+    }
+
+    // One file per path, so a new version of a diagram overwrites the entry of the previous one.
+    private File storeFile(final String uri) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(uri.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF,
+                                             16));
+                sb.append(Character.forDigit(b & 0xF,
+                                             16));
+            }
+            return new File(storeDir,
+                            sb.toString() + STORE_EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The thumbnails can exceed the length supported by writeUTF.
+    private static void writeString(final DataOutputStream out,
+                                    final String value) throws java.io.IOException {
+        if (null == value) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws java.io.IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes,
+                          StandardCharsets.UTF_8);
+    }
+
+    private static File defaultStoreDir() {
+        final String storeDir = System.getProperty(STORE_DIR_PROPERTY);
+        if (null != storeDir) {
+            return new File(storeDir);
+        }
+        return new File(System.getProperty("org.uberfire.nio.git.dir",
+                                           System.getProperty("java.io.tmpdir")),
+                        ".stunner-metadata");
+    }
+
+    private static class MetadataCache extends LinkedHashMap<String, StoredMetadata> {
+
+        private MetadataCache() {
+            super(16,
+                  0.75f,
+                  true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, StoredMetadata> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    }
+
+    // The values that unmarshalling the diagram content sets on a new metadata instance.
+    static class StoredMetadata {
+
+        private final String version;
+        private final String title;
+        private final String shapeSetId;
+        private final String canvasRootUUID;
+        private final String thumbData;
+
+        private StoredMetadata(final String version,
+                               final String title,
+                               final String shapeSetId,
+                               final String canvasRootUUID,
+                               final String thumbData) {
+            this.version = version;
+            this.title = title;
+            this.shapeSetId = shapeSetId;
+            this.canvasRootUUID = canvasRootUUID;
+            this.thumbData = thumbData;
+        }
+
+        void applyTo(final Metadata metadata) {
+            metadata.setTitle(title);
+            metadata.setShapeSetId(shapeSetId);
+            metadata.setCanvasRootUUID(canvasRootUUID);
+            metadata.setThumbData(thumbData);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StoredMetadata)) {
+                return false;
+            }
+            final StoredMetadata other = (StoredMetadata) o;
+            return version.equals(other.version) &&
+                    Objects.equals(title,
+                                             other.title) &&
+                    Objects.equals(shapeSetId,
+                                             other.shapeSetId) &&
+                    Objects.equals(canvasRootUUID,
+                                             other.canvasRootUUID) &&
+                    Objects.equals(thumbData,
+                                             other.thumbData);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version,
+                                          title,
+                                          shapeSetId,
+                                          canvasRootUUID);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionMetadata.FieldAccessor;
+import org.kie.workbench.common.stunner.core.definition.annotation.Property;
+import org.kie.workbench.common.stunner.core.definition.annotation.PropertySet;
+import org.kie.workbench.common.stunner.core.definition.annotation.definition.Title;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ReflectionMetadataTest {
+
+    @Test
+    public void testMetadataIsCached() {
+        final ReflectionMetadata metadata = ReflectionMetadata.of(FooTestBean.class);
+        assertSame(metadata,
+                   ReflectionMetadata.of(FooTestBean.class));
+        assertSame(metadata.getFields(Property.class),
+                   metadata.getFields(Property.class));
+        assertSame(metadata.getDeclaredField("fooProperty"),
+                   metadata.getDeclaredField("fooProperty"));
+    }
+
+    @Test
+    public void testAnnotatedFields() {
+        final ReflectionMetadata metadata = ReflectionMetadata.of(FooTestBean.class);
+        final List<FieldAccessor> propertySets = metadata.getDeclaredFields(PropertySet.class);
+        assertEquals(1,
+                     propertySets.size());
+        assertEquals("fooPropertySet",
+                     propertySets.get(0).getField().getName());
+        assertTrue(metadata.getDeclaredFields(Value.class).isEmpty());
+        assertNull(metadata.getDeclaredField("unknown"));
+    }
+
+    @Test
+    public void testHierarchyFieldsStartWithSubclass() {
+        final List<FieldAccessor> values = ReflectionMetadata.of(FooSubProperty.class).getFields(Value.class);
+        assertEquals(2,
+                     values.size());
+        assertEquals(FooSubProperty.class,
+                     values.get(0).getField().getDeclaringClass());
+        assertEquals(FooProperty1TestBean.class,
+                     values.get(1).getField().getDeclaringClass());
+    }
+
+    @Test
+    public void testGetAndSet() throws Exception {
+        final FooProperty1TestBean property = new FooProperty1TestBean("value1");
+        final FieldAccessor value = ReflectionMetadata.of(FooProperty1TestBean.class).getDeclaredField("value");
+        assertEquals("value1",
+                     value.get(property));
+        value.set(property,
+                  "value2");
+        assertEquals("value2",
+                     property.value);
+    }
+
+    @Test
+    public void testStaticField() throws Exception {
+        final FieldAccessor title = ReflectionMetadata.of(FooTestBean.class).getDeclaredFields(Title.class).get(0);
+        assertEquals(FooTestBean.TITLE,
+                     title.get(null));
+        assertEquals(FooTestBean.TITLE,
+                     title.get(new FooTestBean("value1",
+                                               "value2")));
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void testSetWrongType() throws Exception {
+        ReflectionMetadata.of(FooProperty1TestBean.class).getDeclaredField("value").set(new FooProperty1TestBean("value1"),
+                                                                                        1);
+    }
+
+    private static class FooSubProperty extends FooProperty1TestBean {
+
+        @Value
+        private String subValue;
+
+        private FooSubProperty() {
+            super("value");
+        }
+    }
+}
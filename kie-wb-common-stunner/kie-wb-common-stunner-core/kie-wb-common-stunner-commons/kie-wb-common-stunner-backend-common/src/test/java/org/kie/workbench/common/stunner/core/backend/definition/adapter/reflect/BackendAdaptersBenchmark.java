@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.FooProperty1TestBean;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.FooTestBean;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionAdapterUtils;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.ReflectionMetadata.FieldAccessor;
+import org.kie.workbench.common.stunner.core.definition.annotation.Property;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Value;
+
+/**
+ * Compares reading the annotated properties and values of definitions by scanning their fields on every call, as
+ * the backend adapters used to, with the cached reflection metadata they use now.
+ * <p>
+ * Run it from the IDE or with "mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=..." and, optionally, the
+ * number of definitions as argument.
+ */
+public class BackendAdaptersBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 50;
+
+    public static void main(final String[] args) throws Exception {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        final List<FooTestBean> definitions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            definitions.add(new FooTestBean("set" + i,
+                                            "property" + i));
+        }
+        final BackendPropertyAdapter<Object> propertyAdapter = new BackendPropertyAdapter<>();
+
+        run("field scan",
+            () -> {
+                long count = 0;
+                for (FooTestBean definition : definitions) {
+                    for (Object property : scanProperties(definition)) {
+                        count += null != scanValue(property) ? 1 : 0;
+                    }
+                }
+                return count;
+            });
+        run("cached metadata",
+            () -> {
+                long count = 0;
+                for (FooTestBean definition : definitions) {
+                    for (FieldAccessor field : ReflectionAdapterUtils.getFieldAccessors(definition.getClass(),
+                                                                                        Property.class)) {
+                        count += null != propertyAdapter.getValue(field.get(definition)) ? 1 : 0;
+                    }
+                }
+                return count;
+            });
+        run("property adapter set/get",
+            () -> {
+                long count = 0;
+                for (FooTestBean definition : definitions) {
+                    final FooProperty1TestBean property = definition.fooPropertySet.fooProperty;
+                    propertyAdapter.setValue(property,
+                                             property.value);
+                    count += null != propertyAdapter.getValue(property) ? 1 : 0;
+                }
+                return count;
+            });
+    }
+
+    private static List<Object> scanProperties(final Object definition) throws IllegalAccessException {
+        final List<Object> result = new ArrayList<>();
+        Class<?> c = definition.getClass();
+        while (!c.getName().equals(Object.class.getName())) {
+            for (Field field : c.getDeclaredFields()) {
+                if (null != field.getAnnotation(Property.class)) {
+                    field.setAccessible(true);
+                    result.add(field.get(definition));
+                }
+            }
+            c = c.getSuperclass();
+        }
+        return result;
+    }
+
+    private static Object scanValue(final Object property) throws IllegalAccessException {
+        Class<?> c = property.getClass();
+        while (!c.getName().equals(Object.class.getName())) {
+            for (Field field : c.getDeclaredFields()) {
+                if (null != field.getAnnotation(Value.class)) {
+                    field.setAccessible(true);
+                    return field.get(property);
+                }
+            }
+            c = c.getSuperclass();
+        }
+        return null;
+    }
+
+    private static void run(final String name,
+                            final Iteration iteration) throws Exception {
+        long count = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            count += iteration.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            count += iteration.run();
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%-25s %10.1f us/iteration (%d)",
+                                         name,
+                                         elapsed / 1000.0 / ITERATIONS,
+                                         count));
+    }
+
+    @FunctionalInterface
+    private interface Iteration {
+
+        long run() throws Exception;
+    }
+}
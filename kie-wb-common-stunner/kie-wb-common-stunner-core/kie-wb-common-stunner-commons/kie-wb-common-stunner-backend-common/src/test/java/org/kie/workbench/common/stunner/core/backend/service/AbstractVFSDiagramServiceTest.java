@@ -18,7 +18,9 @@ package org.kie.workbench.common.stunner.core.backend.service;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.enterprise.inject.Instance;
 
@@ -58,11 +60,14 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.SimpleFileVisitor;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.java.nio.file.attribute.FileTime;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
@@ -207,7 +212,9 @@ public abstract class AbstractVFSDiagramServiceTest<M extends Metadata, D extend
         when(adapters.forProperty()).thenReturn(propertyAdapter);
         when(propertyAdapter.getValue(idProperty)).thenReturn(DIAGRAM_FILE_ID);
 
-        diagramService = spy(createVFSDiagramService());
+        final AbstractVFSDiagramService<M, D> service = createVFSDiagramService();
+        service.setMetadataStore(new DiagramMetadataStore(null));
+        diagramService = spy(service);
         when(factoryRegistry.getDiagramFactory(DEFINITION_SET, getMetadataType())).thenReturn(diagramFactory);
     }
 
@@ -260,7 +267,7 @@ public abstract class AbstractVFSDiagramServiceTest<M extends Metadata, D extend
     public void testGetDiagramByPathParseException() throws IOException {
         final String processDefinition = "broken DEFINITION";
         final Path path = mockGetDiagramByPathObjects();
-        when(ioService.readAllString(Paths.convert(path))).thenReturn(processDefinition);
+        when(ioService.readAllBytes(Paths.convert(path))).thenReturn(processDefinition.getBytes());
 
         //Mock failure to unmarshall XML to Graph
         try {
@@ -277,6 +284,103 @@ public abstract class AbstractVFSDiagramServiceTest<M extends Metadata, D extend
         }
     }
 
+    @Test
+    public void testGetMetadataByPath() throws IOException {
+        final Path path = mockGetDiagramByPathObjects();
+        when(metadata.getTitle()).thenReturn("title");
+
+        assertEquals(metadata,
+                     diagramService.getMetadataByPath(path));
+        final M cached = diagramService.getMetadataByPath(path);
+        assertNotSame(metadata,
+                      cached);
+        assertEquals("title",
+                     cached.getTitle());
+        assertEquals(DIAGRAM_UUID,
+                     cached.getCanvasRootUUID());
+        assertNotSame(cached,
+                      diagramService.getMetadataByPath(path));
+        //The diagram is only unmarshalled again once its content changes
+        verify(diagramMarshaller,
+               times(1)).unmarshall(anyObject(),
+                                    anyObject());
+        //Nor read again, it is told by the file attributes
+        verify(ioService,
+               times(1)).readAllBytes(Paths.convert(path));
+
+        mockAttributes(path,
+                       "CHANGED".length(),
+                       2L);
+        when(ioService.readAllBytes(Paths.convert(path))).thenReturn("CHANGED".getBytes());
+        assertEquals(metadata,
+                     diagramService.getMetadataByPath(path));
+        verify(diagramMarshaller,
+               times(2)).unmarshall(anyObject(),
+                                    anyObject());
+    }
+
+    @Test
+    public void testGetMetadataByPathUsesTheFileKey() throws IOException {
+        final Path path = mockGetDiagramByPathObjects();
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put("fileKey",
+                       "objectId1");
+        when(ioService.readAttributes(Paths.convert(path))).thenReturn(attributes);
+
+        diagramService.getMetadataByPath(path);
+        diagramService.getMetadataByPath(path);
+        verify(diagramMarshaller,
+               times(1)).unmarshall(anyObject(),
+                                    anyObject());
+
+        attributes.put("fileKey",
+                       "objectId2");
+        diagramService.getMetadataByPath(path);
+        verify(diagramMarshaller,
+               times(2)).unmarshall(anyObject(),
+                                    anyObject());
+    }
+
+    @Test
+    public void testGetMetadataByPathWithoutAttributes() throws IOException {
+        final Path path = mockGetDiagramByPathObjects();
+        when(ioService.readAttributes(Paths.convert(path))).thenReturn(new HashMap<>());
+
+        diagramService.getMetadataByPath(path);
+        diagramService.getMetadataByPath(path);
+        //The version of the file is unknown, so it is always unmarshalled
+        verify(diagramMarshaller,
+               times(2)).unmarshall(anyObject(),
+                                    anyObject());
+    }
+
+    @Test
+    public void testDeleteRemovesTheStoredMetadata() throws IOException {
+        final Path path = mockGetDiagramByPathObjects();
+        final DiagramMetadataStore store = new DiagramMetadataStore(null);
+        diagramService.setMetadataStore(store);
+        when(metadata.getPath()).thenReturn(path);
+
+        diagramService.getMetadataByPath(path);
+        assertNotNull(store.get(FILE_URI,
+                                DIAGRAM_MARSHALLED.length() + ":1"));
+        diagramService.delete(diagram);
+        assertNull(store.get(FILE_URI,
+                             DIAGRAM_MARSHALLED.length() + ":1"));
+    }
+
+    @Test
+    public void testGetMetadataByPathAfterGetDiagramByPath() throws IOException {
+        final Path path = mockGetDiagramByPathObjects();
+
+        diagramService.getDiagramByPath(path);
+        assertEquals(DIAGRAM_UUID,
+                     diagramService.getMetadataByPath(path).getCanvasRootUUID());
+        verify(diagramMarshaller,
+               times(1)).unmarshall(anyObject(),
+                                    anyObject());
+    }
+
     protected Path mockGetDiagramByPathObjects() {
         final Path path = mock(Path.class);
         final String fileName = FILE_NAME + "." + RESOURCE_TYPE_SUFFIX;
@@ -287,10 +391,26 @@ public abstract class AbstractVFSDiagramServiceTest<M extends Metadata, D extend
         final byte[] content = DIAGRAM_MARSHALLED.getBytes();
         when(resourceType.accept(path)).thenReturn(true);
         when(ioService.readAllBytes(expectedNioPath)).thenReturn(content);
+        mockAttributes(path,
+                       content.length,
+                       1L);
 
         return path;
     }
 
+    protected void mockAttributes(final Path path,
+                                  final long size,
+                                  final long lastModifiedTime) {
+        final FileTime fileTime = mock(FileTime.class);
+        when(fileTime.toMillis()).thenReturn(lastModifiedTime);
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put("size",
+                       size);
+        attributes.put("lastModifiedTime",
+                       fileTime);
+        when(ioService.readAttributes(Paths.convert(path))).thenReturn(attributes);
+    }
+
     @Test
     public void testContains() {
         Path path = mock(Path.class);
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DiagramMetadataStoreTest {
+
+    private static final String URI = "default://master@diagrams/diagram.bpmn";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private Metadata metadata;
+
+    private File storeDir;
+
+    @Before
+    public void setUp() {
+        storeDir = new File(folder.getRoot(),
+                            "metadata");
+        when(metadata.getTitle()).thenReturn("title");
+        when(metadata.getShapeSetId()).thenReturn("shapeSetId");
+        when(metadata.getCanvasRootUUID()).thenReturn("canvasRootUUID");
+    }
+
+    @Test
+    public void testGetStoredVersion() {
+        final DiagramMetadataStore store = new DiagramMetadataStore(null);
+        store.put(URI,
+                  "v1",
+                  metadata);
+
+        assertNotNull(store.get(URI,
+                                "v1"));
+        assertNull(store.get(URI,
+                             "v2"));
+        assertNull(store.get("default://master@diagrams/other.bpmn",
+                             "v1"));
+    }
+
+    @Test
+    public void testEntriesSurviveTheStore() {
+        final char[] thumbData = new char[100000];
+        Arrays.fill(thumbData,
+                    'a');
+        when(metadata.getThumbData()).thenReturn(new String(thumbData));
+        new DiagramMetadataStore(storeDir).put(URI,
+                                               "v1",
+                                               metadata);
+
+        final DiagramMetadataStore store = new DiagramMetadataStore(storeDir);
+        assertNull(store.get(URI,
+                             "v2"));
+        final DiagramMetadataStore.StoredMetadata stored = store.get(URI,
+                                                                     "v1");
+        assertNotNull(stored);
+        final Metadata applied = mock(Metadata.class);
+        stored.applyTo(applied);
+        verify(applied).setTitle("title");
+        verify(applied).setShapeSetId("shapeSetId");
+        verify(applied).setCanvasRootUUID("canvasRootUUID");
+        verify(applied).setThumbData(new String(thumbData));
+    }
+
+    @Test
+    public void testNewVersionOverwritesTheEntry() {
+        final DiagramMetadataStore store = new DiagramMetadataStore(storeDir);
+        store.put(URI,
+                  "v1",
+                  metadata);
+        store.put(URI,
+                  "v2",
+                  metadata);
+
+        assertEquals(1,
+                     storeDir.listFiles().length);
+        final DiagramMetadataStore reloaded = new DiagramMetadataStore(storeDir);
+        assertNull(reloaded.get(URI,
+                                "v1"));
+        assertNotNull(reloaded.get(URI,
+                                   "v2"));
+    }
+
+    @Test
+    public void testRemove() {
+        final DiagramMetadataStore store = new DiagramMetadataStore(storeDir);
+        store.put(URI,
+                  "v1",
+                  metadata);
+        store.remove(URI);
+
+        assertNull(store.get(URI,
+                             "v1"));
+        assertEquals(0,
+                     storeDir.listFiles().length);
+    }
+}
@@ -16,18 +16,26 @@
 
 package org.kie.workbench.common.stunner.core.client.canvas;
 
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
 
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.user.client.Window;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
 import org.kie.workbench.common.stunner.core.client.api.ClientDefinitionManager;
 import org.kie.workbench.common.stunner.core.client.api.ShapeManager;
+import org.kie.workbench.common.stunner.core.client.canvas.command.DrawCanvasCommand;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.actions.TextPropertyProviderFactory;
+import org.kie.workbench.common.stunner.core.client.canvas.event.CanvasDrawTimingEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementAddedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementRemovedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementsClearEvent;
+import org.kie.workbench.common.stunner.core.client.command.CanvasCommand;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandFactory;
 import org.kie.workbench.common.stunner.core.client.service.ClientFactoryService;
 import org.kie.workbench.common.stunner.core.client.shape.Shape;
@@ -38,6 +46,9 @@ import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContextImpl;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.processing.index.GraphIndexBuilder;
 import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
@@ -55,6 +66,8 @@ import org.uberfire.mvp.ParameterizedCommand;
 @Dependent
 public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> extends BaseCanvasHandler<D, C> {
 
+    private static Logger LOGGER = Logger.getLogger(CanvasHandlerImpl.class.getName());
+
     private final ClientFactoryService clientFactoryServices;
     private final CanvasCommandFactory<AbstractCanvasHandler> commandFactory;
     private final GraphIndexBuilder<? extends MutableIndex<Node, Edge>> indexBuilder;
@@ -63,8 +76,12 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
     private final Event<CanvasElementRemovedEvent> canvasElementRemovedEvent;
     private final Event<CanvasElementUpdatedEvent> canvasElementUpdatedEvent;
     private final Event<CanvasElementsClearEvent> canvasElementsClearEvent;
+    private final Event<CanvasDrawTimingEvent> canvasDrawTimingEvent;
 
     private MutableIndex<?, ?> graphIndex;
+    private boolean progressiveDraw;
+    private long drawStartTime;
+    private DrawCanvasCommand pendingDraw;
 
     @Inject
     public CanvasHandlerImpl(final ClientDefinitionManager clientDefinitionManager,
@@ -78,7 +95,8 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
                              final Event<CanvasElementAddedEvent> canvasElementAddedEvent,
                              final Event<CanvasElementRemovedEvent> canvasElementRemovedEvent,
                              final Event<CanvasElementUpdatedEvent> canvasElementUpdatedEvent,
-                             final Event<CanvasElementsClearEvent> canvasElementsClearEvent) {
+                             final Event<CanvasElementsClearEvent> canvasElementsClearEvent,
+                             final Event<CanvasDrawTimingEvent> canvasDrawTimingEvent) {
         super(clientDefinitionManager,
               graphUtils,
               shapeManager,
@@ -91,6 +109,20 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
         this.canvasElementRemovedEvent = canvasElementRemovedEvent;
         this.canvasElementUpdatedEvent = canvasElementUpdatedEvent;
         this.canvasElementsClearEvent = canvasElementsClearEvent;
+        this.canvasDrawTimingEvent = canvasDrawTimingEvent;
+    }
+
+    /**
+     * Draws the elements in the visible area of the canvas first, and the rest of them later on, when enabled.
+     * It only brings the first paint forward: the load callback, and so the canvas controls, still runs once all
+     * the elements are drawn. Both times are reported by the {@link CanvasDrawTimingEvent}.
+     */
+    public void setProgressiveDraw(final boolean progressiveDraw) {
+        this.progressiveDraw = progressiveDraw;
+    }
+
+    public boolean isProgressiveDraw() {
+        return progressiveDraw;
     }
 
     @Override
@@ -119,13 +151,53 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
         loadCallback.execute();
     }
 
+    @Override
+    public void draw(final D diagram,
+                     final ParameterizedCommand<CommandResult<?>> loadCallback) {
+        drawStartTime = System.currentTimeMillis();
+        super.draw(diagram,
+                   loadCallback);
+    }
+
     @Override
     public void draw(final ParameterizedCommand<CommandResult<?>> loadCallback) {
-        loadCallback.execute(commandFactory.draw().execute(this));
+        final long startTime = drawStartTime > 0 ? drawStartTime : System.currentTimeMillis();
+        drawStartTime = 0;
+        cancelPendingDraw();
+        final CanvasCommand<AbstractCanvasHandler> command = commandFactory.draw();
+        if (progressiveDraw && command instanceof DrawCanvasCommand) {
+            final DrawCanvasCommand drawCommand = (DrawCanvasCommand) command;
+            final long[] firstPaintTime = {0};
+            drawCommand.progressive(getViewport(),
+                                    getScheduler(),
+                                    result -> {
+                                        if (pendingDraw == drawCommand) {
+                                            pendingDraw = null;
+                                        }
+                                        fireDrawTiming(startTime,
+                                                       firstPaintTime[0] > 0 ? firstPaintTime[0] : System.currentTimeMillis(),
+                                                       drawCommand.getFirstPassSize(),
+                                                       drawCommand.getSize());
+                                        loadCallback.execute(result);
+                                    });
+            pendingDraw = drawCommand;
+            drawCommand.execute(this);
+            firstPaintTime[0] = System.currentTimeMillis();
+        } else {
+            final CommandResult<?> result = command.execute(this);
+            final long endTime = System.currentTimeMillis();
+            final int size = command instanceof DrawCanvasCommand ? ((DrawCanvasCommand) command).getSize() : -1;
+            loadCallback.execute(result);
+            fireDrawTiming(startTime,
+                           endTime,
+                           size,
+                           size);
+        }
     }
 
     @Override
     public void clearCanvas() {
+        cancelPendingDraw();
         super.clearCanvas();
         canvasElementsClearEvent.fire(new CanvasElementsClearEvent(this));
     }
@@ -166,6 +238,7 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
 
     @Override
     protected void destroyGraphIndex(final Command callback) {
+        cancelPendingDraw();
         if (null != graphIndex) {
             graphIndex.clear();
             graphIndex = null;
@@ -173,6 +246,57 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
         callback.execute();
     }
 
+    /**
+     * The area of the canvas that is visible on load, in canvas coordinates.
+     */
+    protected Bounds getViewport() {
+        final C canvas = getCanvas();
+        final double width = Math.min(canvas.getWidth(),
+                                      Window.getClientWidth());
+        final double height = Math.min(canvas.getHeight(),
+                                       Window.getClientHeight());
+        final Transform transform = null != canvas.getLayer() ? canvas.getLayer().getTransform() : null;
+        if (null == transform) {
+            return BoundsImpl.build(0,
+                                    0,
+                                    width,
+                                    height);
+        }
+        final Point2D ul = transform.inverse(0,
+                                             0);
+        final Point2D lr = transform.inverse(width,
+                                             height);
+        return BoundsImpl.build(ul.getX(),
+                                ul.getY(),
+                                lr.getX(),
+                                lr.getY());
+    }
+
+    protected Scheduler getScheduler() {
+        return Scheduler.get();
+    }
+
+    private void cancelPendingDraw() {
+        if (null != pendingDraw) {
+            pendingDraw.cancel();
+            pendingDraw = null;
+        }
+    }
+
+    private void fireDrawTiming(final long startTime,
+                                final long firstPaintTime,
+                                final int firstPassSize,
+                                final int size) {
+        final CanvasDrawTimingEvent event = new CanvasDrawTimingEvent(this,
+                                                                      firstPaintTime - startTime,
+                                                                      System.currentTimeMillis() - startTime,
+                                                                      firstPassSize,
+                                                                      size);
+        LOGGER.log(Level.FINE,
+                   "Diagram drawn " + event);
+        canvasDrawTimingEvent.fire(event);
+    }
+
     private GraphIndexBuilder<? extends MutableIndex<Node, Edge>> getIndexBuilder() {
         return indexBuilder;
     }
@@ -16,17 +16,27 @@
 
 package org.kie.workbench.common.stunner.core.client.canvas.command;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiPredicate;
 
+import com.google.gwt.core.client.Scheduler;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
+import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.command.impl.CompositeCommand;
+import org.kie.workbench.common.stunner.core.command.util.CommandUtils;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
@@ -34,11 +44,33 @@ import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.A
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.AbstractContentTraverseCallback;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ViewTraverseProcessor;
+import org.uberfire.mvp.ParameterizedCommand;
 
+/**
+ * Draws the whole graph into the canvas.
+ * <p>
+ * By default all the elements are drawn at once. When drawing progressively, see
+ * {@link #progressive(Bounds, Scheduler, ParameterizedCommand)}, the nodes inside the given viewport, their parents
+ * and docked nodes, and the connectors between them are drawn on execution, and the rest of the elements are drawn
+ * later on in time slices, so the browser stays responsive while they are drawn. The connectors with an endpoint
+ * out of the viewport are drawn once both endpoints have been drawn. The pending slices are dropped by
+ * {@link #cancel()}.
+ */
 public class DrawCanvasCommand extends AbstractCanvasCommand {
 
+    /**
+     * The time, in milliseconds, that a slice of the progressive draw can take, to keep the browser responsive.
+     */
+    static final int SLICE_DURATION = 16;
+
     private final ChildrenTraverseProcessor childrenTraverseProcessor;
     private final ViewTraverseProcessor viewTraverseProcessor;
+    private Bounds viewport;
+    private Scheduler scheduler;
+    private ParameterizedCommand<CommandResult<CanvasViolation>> completeCallback;
+    private int size;
+    private int firstPassSize;
+    private boolean cancelled;
 
     public DrawCanvasCommand(final ChildrenTraverseProcessor childrenTraverseProcessor,
                              final ViewTraverseProcessor viewTraverseProcessor) {
@@ -46,14 +78,57 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
         this.viewTraverseProcessor = viewTraverseProcessor;
     }
 
+    /**
+     * Draws the elements in the viewport on execution, and schedules the draw of the rest of them.
+     * @param viewport The visible area of the canvas, in canvas coordinates.
+     * @param scheduler The scheduler for the time slices that draw the rest of the elements.
+     * @param completeCallback Callback to run once all the elements are drawn, with the aggregated result.
+     */
+    public DrawCanvasCommand progressive(final Bounds viewport,
+                                         final Scheduler scheduler,
+                                         final ParameterizedCommand<CommandResult<CanvasViolation>> completeCallback) {
+        this.viewport = viewport;
+        this.scheduler = scheduler;
+        this.completeCallback = completeCallback;
+        return this;
+    }
+
+    public boolean isProgressive() {
+        return null != scheduler;
+    }
+
+    /**
+     * Stops drawing the elements left for the next time slices, the complete callback won't run.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * The number of elements to draw.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * The number of elements drawn on execution, all of them unless drawing progressively.
+     */
+    public int getFirstPassSize() {
+        return firstPassSize;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public CommandResult<CanvasViolation> execute(final AbstractCanvasHandler context) {
         final Graph graph = context.getGraphIndex().getGraph();
         final String shapeSetId = getShapeSetId(context);
-
-        final CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation> commandBuilder =
-                new CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation>().forward();
+        final Map<String, DrawEntry> nodeEntries = new HashMap<>();
+        final List<DrawEntry> entries = new ArrayList<>();
 
         // Aggregate all nodes in the parent-child-dock hierarchy.
         childrenTraverseProcessor
@@ -94,22 +169,42 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
                               }
 
                               private void addNode(final Node node) {
-                                  commandBuilder.addCommand(new AddCanvasNodeCommand(node,
-                                                                                     shapeSetId));
+                                  addEntry(null,
+                                           node,
+                                           new AddCanvasNodeCommand(node,
+                                                                    shapeSetId));
                               }
 
                               private void addChildNode(final Node<View, Edge> parent,
                                                         final Node<View, Edge> node) {
-                                  commandBuilder.addCommand(new AddCanvasChildNodeCommand(parent,
-                                                                                          node,
-                                                                                          shapeSetId));
+                                  addEntry(parent,
+                                           node,
+                                           new AddCanvasChildNodeCommand(parent,
+                                                                         node,
+                                                                         shapeSetId));
                               }
 
                               private void addDockedNode(final Node<View, Edge> parent,
                                                          final Node<View, Edge> node) {
-                                  commandBuilder.addCommand(new AddCanvasDockedNodeCommand(parent,
-                                                                                           node,
-                                                                                           shapeSetId));
+                                  addEntry(parent,
+                                           node,
+                                           new AddCanvasDockedNodeCommand(parent,
+                                                                          node,
+                                                                          shapeSetId));
+                              }
+
+                              private void addEntry(final Node parent,
+                                                    final Node<View, Edge> node,
+                                                    final AbstractCanvasCommand command) {
+                                  final DrawEntry entry = new DrawEntry(command,
+                                                                        null != parent ? nodeEntries.get(parent.getUUID()) : null);
+                                  nodeEntries.put(node.getUUID(),
+                                                  entry);
+                                  entries.add(entry);
+                                  if (isProgressive() && isInViewport(entry,
+                                                                      node)) {
+                                      entry.setVisible();
+                                  }
                               }
                           });
 
@@ -121,14 +216,43 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
                               @Override
                               public void startEdgeTraversal(final Edge<View<?>, Node> edge) {
                                   super.startEdgeTraversal(edge);
-                                  commandBuilder.addCommand(new AddCanvasConnectorCommand(edge,
-                                                                                          shapeSetId));
+                                  final DrawEntry entry = new DrawEntry(new AddCanvasConnectorCommand(edge,
+                                                                                                      shapeSetId),
+                                                                        null);
+                                  entries.add(entry);
+                                  if (isProgressive() && isDrawnFirst(nodeEntries,
+                                                                      edge)) {
+                                      entry.visible = true;
+                                  }
                               }
                           });
 
-        return commandBuilder
+        size = entries.size();
+        final CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation> commandBuilder =
+                new CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation>().forward();
+        final List<Command<AbstractCanvasHandler, CanvasViolation>> deferred = new ArrayList<>();
+        for (final DrawEntry entry : entries) {
+            if (!isProgressive() || entry.visible) {
+                commandBuilder.addCommand(entry.command);
+            } else {
+                deferred.add(entry.command);
+            }
+        }
+        firstPassSize = size - deferred.size();
+
+        final CommandResult<CanvasViolation> result = commandBuilder
                 .build()
                 .execute(context);
+        if (isProgressive()) {
+            if (deferred.isEmpty() || CommandUtils.isError(result)) {
+                completeCallback.execute(result);
+            } else {
+                scheduler.scheduleIncremental(new DrawSlices(context,
+                                                             deferred.iterator(),
+                                                             result));
+            }
+        }
+        return result;
     }
 
     @Override
@@ -136,6 +260,34 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
         throw new UnsupportedOperationException("Undo operation for [" + this.getClass().getName() + "[ is not supported..");
     }
 
+    private boolean isInViewport(final DrawEntry entry,
+                                 final Node<View, Edge> node) {
+        if (null == node.getContent() || null == node.getContent().getBounds()) {
+            return true;
+        }
+        final Bounds bounds = node.getContent().getBounds();
+        final double offsetX = null != entry.parent ? entry.parent.x : 0d;
+        final double offsetY = null != entry.parent ? entry.parent.y : 0d;
+        entry.x = offsetX + bounds.getUpperLeft().getX();
+        entry.y = offsetY + bounds.getUpperLeft().getY();
+        final double width = bounds.getLowerRight().getX() - bounds.getUpperLeft().getX();
+        final double height = bounds.getLowerRight().getY() - bounds.getUpperLeft().getY();
+        return entry.x <= viewport.getLowerRight().getX() &&
+                entry.x + width >= viewport.getUpperLeft().getX() &&
+                entry.y <= viewport.getLowerRight().getY() &&
+                entry.y + height >= viewport.getUpperLeft().getY();
+    }
+
+    private static boolean isDrawnFirst(final Map<String, DrawEntry> nodeEntries,
+                                        final Edge<View<?>, Node> edge) {
+        final DrawEntry source = null != edge.getSourceNode() ? nodeEntries.get(edge.getSourceNode().getUUID()) : null;
+        final DrawEntry target = null != edge.getTargetNode() ? nodeEntries.get(edge.getTargetNode().getUUID()) : null;
+        if (null == source && null == target) {
+            return true;
+        }
+        return (null == source || source.visible) && (null == target || target.visible);
+    }
+
     private BiPredicate<AbstractCanvasHandler, String> isCanvasRoot() {
         return (handler, uuid) -> getCanvasRootUUID(handler)
                 .map(s -> s.equals(uuid))
@@ -149,4 +301,74 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
     private String getShapeSetId(final AbstractCanvasHandler context) {
         return context.getDiagram().getMetadata().getShapeSetId();
     }
+
+    private static class DrawEntry {
+
+        private final AbstractCanvasCommand command;
+        private final DrawEntry parent;
+        private boolean visible;
+        private double x;
+        private double y;
+
+        private DrawEntry(final AbstractCanvasCommand command,
+                          final DrawEntry parent) {
+            this.command = command;
+            this.parent = parent;
+        }
+
+        /**
+         * The shapes of the parents are drawn before the ones of their children and docked nodes.
+         */
+        private void setVisible() {
+            DrawEntry entry = this;
+            while (null != entry && !entry.visible) {
+                entry.visible = true;
+                entry = entry.parent;
+            }
+        }
+    }
+
+    private class DrawSlices implements Scheduler.RepeatingCommand {
+
+        private final AbstractCanvasHandler context;
+        private final Diagram diagram;
+        private final Iterator<Command<AbstractCanvasHandler, CanvasViolation>> commands;
+        private final CanvasCommandResultBuilder resultBuilder;
+
+        private DrawSlices(final AbstractCanvasHandler context,
+                           final Iterator<Command<AbstractCanvasHandler, CanvasViolation>> commands,
+                           final CommandResult<CanvasViolation> firstPassResult) {
+            this.context = context;
+            this.diagram = context.getDiagram();
+            this.commands = commands;
+            this.resultBuilder = new CanvasCommandResultBuilder();
+            addResult(firstPassResult);
+        }
+
+        @Override
+        public boolean execute() {
+            // The draw has been cancelled, or the canvas has been cleared or is drawing another diagram.
+            if (cancelled || context.getDiagram() != diagram) {
+                return false;
+            }
+            final long sliceEnd = System.currentTimeMillis() + SLICE_DURATION;
+            while (commands.hasNext()) {
+                if (System.currentTimeMillis() >= sliceEnd) {
+                    return true;
+                }
+                addResult(commands.next().execute(context));
+            }
+            completeCallback.execute(resultBuilder.build());
+            return false;
+        }
+
+        private void addResult(final CommandResult<CanvasViolation> result) {
+            if (null != result.getViolations()) {
+                resultBuilder.addViolations(CommandUtils.toList(result.getViolations()));
+            }
+            if (CommandUtils.isError(result)) {
+                resultBuilder.setType(CommandResult.Type.ERROR);
+            }
+        }
+    }
 }
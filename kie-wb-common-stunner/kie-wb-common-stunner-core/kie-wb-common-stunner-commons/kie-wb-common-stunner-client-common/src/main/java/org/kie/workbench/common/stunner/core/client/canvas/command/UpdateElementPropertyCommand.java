@@ -15,15 +15,26 @@
  */
 package org.kie.workbench.common.stunner.core.client.canvas.command;
 
+import java.util.Objects;
+
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
+import org.kie.workbench.common.stunner.core.command.MergeableCommand;
+import org.kie.workbench.common.stunner.core.command.util.CommandSizeEstimator;
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.impl.UpdateElementPropertyValueCommand;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
-public class UpdateElementPropertyCommand extends AbstractCanvasGraphCommand {
+public class UpdateElementPropertyCommand extends AbstractCanvasGraphCommand
+        implements MergeableCommand<AbstractCanvasHandler, CanvasViolation>,
+                   HasEstimatedSize {
+
+    // The command, its graph and canvas commands, and the references they keep.
+    private static final long BASE_SIZE = 160;
 
     private final Element element;
     private final String propertyId;
@@ -54,6 +65,33 @@ public class UpdateElementPropertyCommand extends AbstractCanvasGraphCommand {
         return new UpdateCanvasElementPropertyCommand(element);
     }
 
+    /**
+     * Consecutive updates of the same property of an element can be merged, as undoing them just restores
+     * the value previous to the first update.
+     */
+    @Override
+    public boolean isMergeableWith(final Command<AbstractCanvasHandler, CanvasViolation> previous) {
+        if (previous instanceof UpdateElementPropertyCommand) {
+            final UpdateElementPropertyCommand other = (UpdateElementPropertyCommand) previous;
+            return Objects.equals(propertyId,
+                                  other.getPropertyId()) &&
+                    null != element &&
+                    null != other.getElement() &&
+                    Objects.equals(element.getUUID(),
+                                   other.getElement().getUUID());
+        }
+        return false;
+    }
+
+    /**
+     * Both the new value and the old one, captured by the graph command, are retained. The old value is
+     * estimated as the new one, as both usually are of the same type and similar size.
+     */
+    @Override
+    public long getEstimatedSize() {
+        return BASE_SIZE + 2 * CommandSizeEstimator.estimateValue(value);
+    }
+
     public Element getElement() {
         return element;
     }
@@ -77,7 +77,7 @@ public class DefaultEditorSession
                                 final @Request SessionCommandManager<AbstractCanvasHandler> requestCommandManager,
                                 final StunnerPreferencesRegistry stunnerPreferencesRegistry) {
         this.session = session;
-        this.commandRegistry = registryFactory.newCommandRegistry();
+        this.commandRegistry = registryFactory.newUndoCommandRegistry();
         this.sessionCommandManager = sessionCommandManager;
         this.requestCommandManager = requestCommandManager;
         this.canvasCommandManager = canvasCommandManager;
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.client.canvas.command;
+
+import java.util.Collections;
+
+import com.google.gwt.core.client.Scheduler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
+import org.kie.workbench.common.stunner.core.client.shape.impl.ConnectorShape;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.util.CommandUtils;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnectorImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseCallback;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ContentTraverseCallback;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ViewTraverseProcessor;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.mvp.ParameterizedCommand;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DrawCanvasCommandTest extends AbstractCanvasCommandTest {
+
+    @Mock
+    private ChildrenTraverseProcessor childrenTraverseProcessor;
+    @Mock
+    private ViewTraverseProcessor viewTraverseProcessor;
+    @Mock
+    private Scheduler scheduler;
+    @Mock
+    private ParameterizedCommand<CommandResult<CanvasViolation>> completeCallback;
+    @Mock
+    private ConnectorShape shape;
+
+    private Node visibleNode;
+    private Node otherVisibleNode;
+    private Node hiddenNode;
+    private Node hiddenChild;
+    private Edge visibleEdge;
+    private Edge hiddenEdge;
+
+    private DrawCanvasCommand tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        super.setUp();
+        visibleNode = newNode("visible",
+                              10,
+                              10);
+        otherVisibleNode = newNode("otherVisible",
+                                   300,
+                                   200);
+        hiddenNode = newNode("hidden",
+                             2000,
+                             2000);
+        // The bounds of children are relative to the parent ones.
+        hiddenChild = newNode("hiddenChild",
+                              10,
+                              10);
+        visibleEdge = newEdge("visibleEdge",
+                              visibleNode,
+                              otherVisibleNode);
+        hiddenEdge = newEdge("hiddenEdge",
+                             visibleNode,
+                             hiddenNode);
+        when(canvas.getShape(anyString())).thenReturn(shape);
+        doAnswer(invocation -> {
+            final ChildrenTraverseCallback callback = (ChildrenTraverseCallback) invocation.getArguments()[1];
+            callback.startNodeTraversal(visibleNode);
+            callback.startNodeTraversal(hiddenNode);
+            callback.startNodeTraversal(Collections.singletonList(hiddenNode),
+                                        hiddenChild);
+            callback.startNodeTraversal(otherVisibleNode);
+            return null;
+        }).when(childrenTraverseProcessor).traverse(eq(graph),
+                                                    any(ChildrenTraverseCallback.class));
+        doAnswer(invocation -> {
+            final ContentTraverseCallback callback = (ContentTraverseCallback) invocation.getArguments()[1];
+            callback.startEdgeTraversal(hiddenEdge);
+            callback.startEdgeTraversal(visibleEdge);
+            return null;
+        }).when(viewTraverseProcessor).traverse(eq(graph),
+                                                any(ContentTraverseCallback.class));
+        tested = new DrawCanvasCommand(childrenTraverseProcessor,
+                                       viewTraverseProcessor);
+    }
+
+    @Test
+    public void testExecute() {
+        final CommandResult<CanvasViolation> result = tested.execute(canvasHandler);
+
+        assertFalse(CommandUtils.isError(result));
+        assertFalse(tested.isProgressive());
+        assertEquals(6,
+                     tested.getSize());
+        assertEquals(6,
+                     tested.getFirstPassSize());
+        verifyDrawn(visibleNode,
+                    otherVisibleNode,
+                    hiddenNode,
+                    hiddenChild,
+                    visibleEdge,
+                    hiddenEdge);
+        verify(canvasHandler).addChild(hiddenNode,
+                                       hiddenChild);
+        verify(scheduler,
+               never()).scheduleIncremental(any(Scheduler.RepeatingCommand.class));
+    }
+
+    @Test
+    public void testExecuteProgressive() {
+        tested.progressive(BoundsImpl.build(0,
+                                            0,
+                                            1000,
+                                            800),
+                           scheduler,
+                           completeCallback);
+
+        final CommandResult<CanvasViolation> result = tested.execute(canvasHandler);
+
+        assertFalse(CommandUtils.isError(result));
+        assertTrue(tested.isProgressive());
+        assertEquals(6,
+                     tested.getSize());
+        assertEquals(3,
+                     tested.getFirstPassSize());
+        verifyDrawn(visibleNode,
+                    otherVisibleNode,
+                    visibleEdge);
+        verifyNotDrawn(hiddenNode,
+                       hiddenChild,
+                       hiddenEdge);
+        verify(completeCallback,
+               never()).execute(any(CommandResult.class));
+
+        final ArgumentCaptor<Scheduler.RepeatingCommand> slicesCaptor = ArgumentCaptor.forClass(Scheduler.RepeatingCommand.class);
+        verify(scheduler).scheduleIncremental(slicesCaptor.capture());
+        final Scheduler.RepeatingCommand slices = slicesCaptor.getValue();
+        while (slices.execute()) {
+            // Draws a slice each time.
+        }
+
+        verifyDrawn(hiddenNode,
+                    hiddenChild,
+                    hiddenEdge);
+        verify(canvasHandler).addChild(hiddenNode,
+                                       hiddenChild);
+        verify(completeCallback).execute(any(CommandResult.class));
+    }
+
+    @Test
+    public void testExecuteProgressiveDrawsParentsOfVisibleNodes() {
+        // The child bounds are inside the viewport, its parent ones are not.
+        tested.progressive(BoundsImpl.build(2000,
+                                            2000,
+                                            2005,
+                                            2005),
+                           scheduler,
+                           completeCallback);
+        hiddenNode.setContent(new ViewImpl<>(new Object(),
+                                             BoundsImpl.build(2010,
+                                                              2010,
+                                                              2050,
+                                                              2050)));
+        hiddenChild.setContent(new ViewImpl<>(new Object(),
+                                              BoundsImpl.build(-15,
+                                                               -15,
+                                                               0,
+                                                               0)));
+
+        tested.execute(canvasHandler);
+
+        verifyDrawn(hiddenNode,
+                    hiddenChild);
+        verifyNotDrawn(visibleNode,
+                       otherVisibleNode,
+                       visibleEdge,
+                       hiddenEdge);
+    }
+
+    @Test
+    public void testExecuteProgressiveWithAllElementsVisible() {
+        tested.progressive(BoundsImpl.build(0,
+                                            0,
+                                            5000,
+                                            5000),
+                           scheduler,
+                           completeCallback);
+
+        tested.execute(canvasHandler);
+
+        assertEquals(6,
+                     tested.getFirstPassSize());
+        verify(scheduler,
+               never()).scheduleIncremental(any(Scheduler.RepeatingCommand.class));
+        verify(completeCallback).execute(any(CommandResult.class));
+    }
+
+    @Test
+    public void testExecuteProgressiveStopsWhenDiagramChanges() {
+        tested.progressive(BoundsImpl.build(0,
+                                            0,
+                                            1000,
+                                            800),
+                           scheduler,
+                           completeCallback);
+        tested.execute(canvasHandler);
+        final ArgumentCaptor<Scheduler.RepeatingCommand> slicesCaptor = ArgumentCaptor.forClass(Scheduler.RepeatingCommand.class);
+        verify(scheduler).scheduleIncremental(slicesCaptor.capture());
+
+        when(canvasHandler.getDiagram()).thenReturn(mock(Diagram.class));
+
+        assertFalse(slicesCaptor.getValue().execute());
+        verifyNotDrawn(hiddenNode,
+                       hiddenChild,
+                       hiddenEdge);
+        verify(completeCallback,
+               never()).execute(any(CommandResult.class));
+    }
+
+    @Test
+    public void testExecuteProgressiveStopsWhenCancelled() {
+        tested.progressive(BoundsImpl.build(0,
+                                            0,
+                                            1000,
+                                            800),
+                           scheduler,
+                           completeCallback);
+        tested.execute(canvasHandler);
+        final ArgumentCaptor<Scheduler.RepeatingCommand> slicesCaptor = ArgumentCaptor.forClass(Scheduler.RepeatingCommand.class);
+        verify(scheduler).scheduleIncremental(slicesCaptor.capture());
+
+        // Same diagram, as when it is drawn again.
+        tested.cancel();
+
+        assertTrue(tested.isCancelled());
+        assertFalse(slicesCaptor.getValue().execute());
+        verifyNotDrawn(hiddenNode,
+                       hiddenChild,
+                       hiddenEdge);
+        verify(completeCallback,
+               never()).execute(any(CommandResult.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyDrawn(final Element... elements) {
+        for (final Element element : elements) {
+            verify(canvasHandler,
+                   times(1)).register(eq(SHAPE_SET_ID),
+                                      eq(element));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyNotDrawn(final Element... elements) {
+        for (final Element element : elements) {
+            verify(canvasHandler,
+                   never()).register(eq(SHAPE_SET_ID),
+                                     eq(element));
+        }
+    }
+
+    private static Node<View<Object>, Edge> newNode(final String uuid,
+                                                    final double x,
+                                                    final double y) {
+        final NodeImpl<View<Object>> node = new NodeImpl<>(uuid);
+        node.setContent(new ViewImpl<>(new Object(),
+                                       BoundsImpl.build(x,
+                                                        y,
+                                                        x + 50,
+                                                        y + 50)));
+        return node;
+    }
+
+    private static Edge newEdge(final String uuid,
+                                final Node source,
+                                final Node target) {
+        final EdgeImpl<ViewConnectorImpl<Object>> edge = new EdgeImpl<>(uuid);
+        edge.setContent(new ViewConnectorImpl<>(new Object(),
+                                                BoundsImpl.build()));
+        edge.setSourceNode(source);
+        edge.setTargetNode(target);
+        return edge;
+    }
+}
@@ -32,6 +32,9 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -72,4 +75,36 @@ public class UpdateElementPropertyCommandTest {
         assertEquals(command.getClass(),
                      UpdateElementPropertyValueCommand.class);
     }
+
+    @Test
+    public void testIsMergeableWith() {
+        final UpdateElementPropertyCommand command = new UpdateElementPropertyCommand(element,
+                                                                                      "name",
+                                                                                      "value2");
+
+        assertTrue(command.isMergeableWith(new UpdateElementPropertyCommand(node,
+                                                                            "name",
+                                                                            "value1")));
+        assertFalse(command.isMergeableWith(new UpdateElementPropertyCommand(node,
+                                                                             "documentation",
+                                                                             "value1")));
+        final Element otherElement = mock(Element.class);
+        when(otherElement.getUUID()).thenReturn(UUID.randomUUID().toString());
+        assertFalse(command.isMergeableWith(new UpdateElementPropertyCommand(otherElement,
+                                                                             "name",
+                                                                             "value1")));
+        assertFalse(command.isMergeableWith(mock(AbstractCanvasCommand.class)));
+    }
+
+    @Test
+    public void testEstimatedSizeGrowsWithTheValue() {
+        final UpdateElementPropertyCommand small = new UpdateElementPropertyCommand(element,
+                                                                                    "name",
+                                                                                    "a");
+        final UpdateElementPropertyCommand big = new UpdateElementPropertyCommand(element,
+                                                                                  "name",
+                                                                                  new String(new char[10_000]));
+
+        assertTrue(big.getEstimatedSize() > small.getEstimatedSize() + 2 * 10_000);
+    }
 }
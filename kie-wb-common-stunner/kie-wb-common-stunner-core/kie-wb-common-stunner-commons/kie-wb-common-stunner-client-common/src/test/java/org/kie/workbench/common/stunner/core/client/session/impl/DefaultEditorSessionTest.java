@@ -87,7 +87,7 @@ public class DefaultEditorSessionTest {
     @Before
     @SuppressWarnings("unchecked")
     public void setUp() {
-        when(registryFactory.newCommandRegistry()).thenReturn(commandRegistry);
+        when(registryFactory.newUndoCommandRegistry()).thenReturn(commandRegistry);
         when(managedSession.onCanvasControlRegistered(any(Consumer.class))).thenReturn(managedSession);
         when(managedSession.onCanvasControlDestroyed(any(Consumer.class))).thenReturn(managedSession);
         when(managedSession.onCanvasHandlerControlRegistered(any(Consumer.class))).thenReturn(managedSession);
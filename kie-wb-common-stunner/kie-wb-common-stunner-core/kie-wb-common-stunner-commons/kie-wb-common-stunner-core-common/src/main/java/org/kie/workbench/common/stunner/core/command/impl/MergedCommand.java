@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.command.impl;
+
+import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
+import org.kie.workbench.common.stunner.core.command.MergeableCommand;
+import org.kie.workbench.common.stunner.core.command.util.CommandSizeEstimator;
+
+/**
+ * A single command history entry for two or more consecutive commands that have been merged.
+ * It keeps just the first and the last of them: executing it applies the changes of the last command, and undoing it
+ * reverts the changes of the first one, so the ones in between are not retained.
+ * @param <T> The content type.
+ * @param <V> The violation type.
+ */
+public class MergedCommand<T, V>
+        implements MergeableCommand<T, V>,
+                   HasEstimatedSize {
+
+    private final Command<T, V> first;
+    private final Command<T, V> last;
+
+    public MergedCommand(final Command<T, V> first,
+                         final Command<T, V> last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Merges the given <code>command</code> with the <code>previous</code> one, if any of them has been already merged,
+     * the result keeps the first and the last commands of both.
+     */
+    public static <T, V> MergedCommand<T, V> merge(final Command<T, V> previous,
+                                                   final Command<T, V> command) {
+        return new MergedCommand<>(firstOf(previous),
+                                   lastOf(command));
+    }
+
+    /**
+     * Returns the last command executed for the given history entry.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, V> Command<T, V> lastOf(final Command<T, V> command) {
+        return command instanceof MergedCommand ? ((MergedCommand<T, V>) command).getLast() : command;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, V> Command<T, V> firstOf(final Command<T, V> command) {
+        return command instanceof MergedCommand ? ((MergedCommand<T, V>) command).getFirst() : command;
+    }
+
+    @Override
+    public CommandResult<V> allow(final T context) {
+        return last.allow(context);
+    }
+
+    @Override
+    public CommandResult<V> execute(final T context) {
+        return last.execute(context);
+    }
+
+    @Override
+    public CommandResult<V> undo(final T context) {
+        return first.undo(context);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean isMergeableWith(final Command<T, V> previous) {
+        return last instanceof MergeableCommand &&
+                ((MergeableCommand<T, V>) last).isMergeableWith(lastOf(previous));
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        return CommandSizeEstimator.estimate(first) + CommandSizeEstimator.estimate(last);
+    }
+
+    public Command<T, V> getFirst() {
+        return first;
+    }
+
+    public Command<T, V> getLast() {
+        return last;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + getClass().getName() + "] {first=[" + first + "], last=[" + last + "]}";
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.command.util;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
+import org.kie.workbench.common.stunner.core.command.impl.AbstractCompositeCommand;
+
+/**
+ * Rough estimations of the memory, in bytes, retained by commands and by the values they keep.
+ * <p>
+ * The estimations do not pretend to be accurate, as the actual sizes depend on the runtime (JVM or browser), but
+ * to be proportional to the actual ones, so the command registries can bound the memory used by the history.
+ */
+public final class CommandSizeEstimator {
+
+    public static final long OBJECT_SIZE = 16;
+    public static final long REFERENCE_SIZE = 8;
+    static final long DEFAULT_COMMAND_SIZE = 256;
+    static final long DEFAULT_VALUE_SIZE = 64;
+    private static final int MAX_DEPTH = 3;
+
+    private CommandSizeEstimator() {
+    }
+
+    /**
+     * Estimates the memory retained by a command. Commands that do not provide their own estimation, by implementing
+     * {@link HasEstimatedSize}, are considered of a default size.
+     */
+    public static long estimate(final Command<?, ?> command) {
+        if (null == command) {
+            return 0;
+        }
+        if (command instanceof HasEstimatedSize) {
+            return ((HasEstimatedSize) command).getEstimatedSize();
+        }
+        if (command instanceof AbstractCompositeCommand) {
+            long size = OBJECT_SIZE;
+            for (final Command<?, ?> child : ((AbstractCompositeCommand<?, ?>) command).getCommands()) {
+                size += REFERENCE_SIZE + estimate(child);
+            }
+            return size;
+        }
+        return DEFAULT_COMMAND_SIZE;
+    }
+
+    /**
+     * Estimates the memory retained by a value, eg: a property value. Strings, boxed primitives, collections, maps
+     * and arrays are estimated from their contents, any other object is considered of a default size.
+     */
+    public static long estimateValue(final Object value) {
+        return estimateValue(value,
+                             0);
+    }
+
+    private static long estimateValue(final Object value,
+                                      final int depth) {
+        if (null == value) {
+            return 0;
+        }
+        if (value instanceof HasEstimatedSize) {
+            return ((HasEstimatedSize) value).getEstimatedSize();
+        }
+        if (value instanceof String) {
+            return OBJECT_SIZE + 24 + 2L * ((String) value).length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            return OBJECT_SIZE;
+        }
+        if (depth >= MAX_DEPTH) {
+            return DEFAULT_VALUE_SIZE;
+        }
+        if (value instanceof Collection) {
+            long size = OBJECT_SIZE * 2;
+            for (final Object item : (Collection<?>) value) {
+                size += REFERENCE_SIZE + estimateValue(item,
+                                                       depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = OBJECT_SIZE * 2;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += OBJECT_SIZE;
+                size += estimateValue(entry.getKey(),
+                                      depth + 1);
+                size += estimateValue(entry.getValue(),
+                                      depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Object[]) {
+            long size = OBJECT_SIZE;
+            for (final Object item : (Object[]) value) {
+                size += REFERENCE_SIZE + estimateValue(item,
+                                                       depth + 1);
+            }
+            return size;
+        }
+        return DEFAULT_VALUE_SIZE;
+    }
+}
@@ -30,6 +30,7 @@ import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 /**
@@ -86,6 +87,8 @@ public final class MorphNodeCommand extends AbstractGraphCommand {
 
             candidate.getLabels().clear();
             candidate.getLabels().addAll(newLabels);
+            GraphUtils.updateLabels(getGraph(context),
+                                    candidate);
         }
         return results;
     }
@@ -40,6 +40,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     ChildrenTraverseProcessor childrenTraverseProcessor;
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private GraphBoundsSpatialIndex index;
 
     @Inject
     public GraphBoundsIndexerImpl(final ChildrenTraverseProcessor childrenTraverseProcessor) {
@@ -49,6 +50,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
         this.graph = graph;
+        this.index = null;
         return this;
     }
 
@@ -99,66 +101,51 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     @Override
     public double[] getTrimmedBounds() {
-        final double[] result = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
+        return getIndex().getTrimmedBounds();
+    }
+
+    @SuppressWarnings("unchecked")
+    public Node<View<?>, Edge> findElementAt(final double x,
+                                             final double y) {
+        return getIndex().getAt(x,
+                                y);
+    }
+
+    GraphBoundsSpatialIndex getIndex() {
+        if (null == index) {
+            index = buildIndex();
+        }
+        return index;
+    }
+
+    private GraphBoundsSpatialIndex buildIndex() {
+        final GraphBoundsSpatialIndex spatialIndex = new GraphBoundsSpatialIndex();
         childrenTraverseProcessor
-                .setRootUUID(this.rootUUID)
+                .setRootUUID(null)
                 .traverse(graph,
                           new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
 
                               @Override
                               public void onNodeTraverse(final Node<View, Edge> node,
+                                                         final boolean isRootDescendant,
                                                          final double parentX,
                                                          final double parentY) {
-                                  final String uuid = node.getUUID();
-                                  final boolean isRoot = null != GraphBoundsIndexerImpl.this.rootUUID
-                                          && GraphBoundsIndexerImpl.this.rootUUID.equals(uuid);
-                                  if (!isRoot) {
-                                      final double[] absCoords = getNodeAbsoluteCoordinates(node,
-                                                                                            parentX,
-                                                                                            parentY);
-                                      final double x = absCoords[0];
-                                      final double y = absCoords[1];
-                                      final double w = absCoords[2];
-                                      final double h = absCoords[3];
-                                      if (x < result[0]) {
-                                          result[0] = x;
-                                      }
-                                      if (y < result[1]) {
-                                          result[1] = y;
-                                      }
-                                      if (w > result[2]) {
-                                          result[2] = w;
-                                      }
-                                      if (h > result[3]) {
-                                          result[3] = h;
-                                      }
+                                  if (isRoot(node)) {
+                                      spatialIndex.addRoot(node);
+                                  } else {
+                                      spatialIndex.add(node,
+                                                       getNodeAbsoluteCoordinates(node,
+                                                                                  parentX,
+                                                                                  parentY),
+                                                       null == rootUUID || isRootDescendant);
                                   }
                               }
                           }));
-        return result;
+        return spatialIndex;
     }
 
-    @SuppressWarnings("unchecked")
-    public Node<View<?>, Edge> findElementAt(final double x,
-                                             final double y) {
-        final Node[] result = new Node[1];
-        childrenTraverseProcessor.traverse(graph,
-                                           new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                                               @Override
-                                               public void onNodeTraverse(final Node<View, Edge> node,
-                                                                          final double parentX,
-                                                                          final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
-                                                   }
-                                               }
-                                           }));
-        return result[0];
+    private boolean isRoot(final Node node) {
+        return null != rootUUID && rootUUID.equals(node.getUUID());
     }
 
     private Point2D getNodeCoordinates(final Node node) {
@@ -186,31 +173,10 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return new double[]{ulX, ulY, lrX, lrY};
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
-            return true;
-        }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
-        }
-        return false;
-    }
-
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
         this.rootUUID = uuid;
+        this.index = null;
         return this;
     }
 
@@ -219,11 +185,16 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         this.graph = null;
         this.rootUUID = null;
         this.childrenTraverseProcessor = null;
+        if (null != index) {
+            index.clear();
+            index = null;
+        }
     }
 
     private abstract class NodeBoundsTraverseCallback {
 
         public abstract void onNodeTraverse(final Node<View, Edge> node,
+                                            final boolean isRootDescendant,
                                             final double parentX,
                                             final double parentY);
     }
@@ -256,8 +227,12 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         private void onStartNodeTraversal(final Optional<List<Node<View, Edge>>> parents,
                                           final Node<View, Edge> node) {
             final double[] parentLocation = {0, 0};
+            final boolean[] isRootDescendant = {false};
             if (parents.isPresent()) {
                 parents.get().forEach(parent -> {
+                    if (isRoot(parent)) {
+                        isRootDescendant[0] = true;
+                    }
                     final Point2D nodeCoordinates = getNodeCoordinates(parent);
                     if (null != nodeCoordinates) {
                         parentLocation[0] += nodeCoordinates.getX();
@@ -266,6 +241,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
                 });
             }
             callback.onNodeTraverse(node,
+                                    isRootDescendant[0],
                                     parentLocation[0],
                                     parentLocation[1]);
         }
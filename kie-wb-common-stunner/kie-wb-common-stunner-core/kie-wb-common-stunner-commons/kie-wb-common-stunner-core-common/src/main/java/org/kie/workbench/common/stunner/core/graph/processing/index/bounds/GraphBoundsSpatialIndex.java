@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.workbench.common.stunner.core.graph.Node;
+
+/**
+ * A uniform grid bucket index over the absolute bounds of the graph nodes.
+ * <p>
+ * Each node is registered in every cell its bounds overlap, so a point hit test only has to check the
+ * nodes in a single cell. Nodes are kept together with their traversal order, as the top most node at a
+ * given point is the one that was indexed last.
+ * <p>
+ * The accumulated bounds of the indexed nodes are kept updated on each addition, so the trimmed bounds
+ * of the graph are available without any traversal.
+ */
+public class GraphBoundsSpatialIndex {
+
+    static final double DEFAULT_CELL_SIZE = 250d;
+    static final int MAX_CELLS_PER_ENTRY = 256;
+
+    private final double cellSize;
+    private final Map<Integer, Map<Integer, List<Entry>>> cells = new HashMap<>();
+    private final List<Entry> oversizedEntries = new LinkedList<>();
+    private final double[] trimmedBounds = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
+    private Entry rootEntry;
+    private int order;
+    private int size;
+
+    public GraphBoundsSpatialIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public GraphBoundsSpatialIndex(final double cellSize) {
+        this.cellSize = cellSize;
+        this.order = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Registers the canvas root node. The root node is present at any location, so it's
+     * returned by any hit test where no other node registered after it is found.
+     */
+    public GraphBoundsSpatialIndex addRoot(final Node node) {
+        this.rootEntry = new Entry(node,
+                                   order++,
+                                   null);
+        size++;
+        return this;
+    }
+
+    /**
+     * Registers a node given its absolute bounds, as <code>{ulX, ulY, lrX, lrY}</code>.
+     * @param trimmed whether the node's bounds must be considered for the trimmed bounds.
+     */
+    public GraphBoundsSpatialIndex add(final Node node,
+                                       final double[] absoluteBounds,
+                                       final boolean trimmed) {
+        final Entry entry = new Entry(node,
+                                      order++,
+                                      absoluteBounds);
+        final int minCellX = toCell(absoluteBounds[0]);
+        final int minCellY = toCell(absoluteBounds[1]);
+        final int maxCellX = toCell(absoluteBounds[2]);
+        final int maxCellY = toCell(absoluteBounds[3]);
+        final long cellCount = ((long) (maxCellX - minCellX + 1)) * ((long) (maxCellY - minCellY + 1));
+        if (cellCount > MAX_CELLS_PER_ENTRY) {
+            oversizedEntries.add(entry);
+        } else {
+            for (int cx = minCellX; cx <= maxCellX; cx++) {
+                final Map<Integer, List<Entry>> column = cells.computeIfAbsent(cx,
+                                                                               k -> new HashMap<>());
+                for (int cy = minCellY; cy <= maxCellY; cy++) {
+                    column.computeIfAbsent(cy,
+                                           k -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+        if (trimmed) {
+            accumulate(absoluteBounds);
+        }
+        size++;
+        return this;
+    }
+
+    /**
+     * Returns the top most node which bounds contain the given point, or <code>null</code> if none.
+     */
+    public Node getAt(final double x,
+                      final double y) {
+        Entry result = rootEntry;
+        final Map<Integer, List<Entry>> column = cells.get(toCell(x));
+        if (null != column) {
+            final List<Entry> cell = column.get(toCell(y));
+            if (null != cell) {
+                result = top(result,
+                             cell,
+                             x,
+                             y);
+            }
+        }
+        result = top(result,
+                     oversizedEntries,
+                     x,
+                     y);
+        return null != result ? result.node : null;
+    }
+
+    /**
+     * Returns the accumulated bounds for the indexed nodes, as <code>{ulX, ulY, lrX, lrY}</code>.
+     */
+    public double[] getTrimmedBounds() {
+        return new double[]{trimmedBounds[0], trimmedBounds[1], trimmedBounds[2], trimmedBounds[3]};
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        cells.clear();
+        oversizedEntries.clear();
+        rootEntry = null;
+        order = 0;
+        size = 0;
+        trimmedBounds[0] = Double.MAX_VALUE;
+        trimmedBounds[1] = Double.MAX_VALUE;
+        trimmedBounds[2] = 0;
+        trimmedBounds[3] = 0;
+    }
+
+    private void accumulate(final double[] bounds) {
+        if (bounds[0] < trimmedBounds[0]) {
+            trimmedBounds[0] = bounds[0];
+        }
+        if (bounds[1] < trimmedBounds[1]) {
+            trimmedBounds[1] = bounds[1];
+        }
+        if (bounds[2] > trimmedBounds[2]) {
+            trimmedBounds[2] = bounds[2];
+        }
+        if (bounds[3] > trimmedBounds[3]) {
+            trimmedBounds[3] = bounds[3];
+        }
+    }
+
+    private int toCell(final double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static Entry top(final Entry current,
+                             final List<Entry> candidates,
+                             final double x,
+                             final double y) {
+        Entry result = current;
+        for (final Entry candidate : candidates) {
+            if ((null == result || candidate.order > result.order) && candidate.contains(x,
+                                                                                         y)) {
+                result = candidate;
+            }
+        }
+        return result;
+    }
+
+    private static final class Entry {
+
+        private final Node node;
+        private final int order;
+        private final double[] bounds;
+
+        private Entry(final Node node,
+                      final int order,
+                      final double[] bounds) {
+            this.node = node;
+            this.order = order;
+            this.bounds = bounds;
+        }
+
+        private boolean contains(final double x,
+                                 final double y) {
+            return x >= bounds[0] && x <= bounds[2] &&
+                    y >= bounds[1] && y <= bounds[3];
+        }
+    }
+}
@@ -18,25 +18,47 @@ package org.kie.workbench.common.stunner.core.graph.store;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Node;
 
+/**
+ * Node store that also keeps the count of nodes for each label, so cardinality checks don't have to
+ * visit every node in the graph. The index is built on the first query and then updated as nodes are
+ * added or removed; the labels of a node already in the store must be re-indexed through
+ * {@link #updateLabels(Node)} once changed.
+ */
 @Portable
 public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
 
     protected Map<String, Node> nodes = new HashMap<String, Node>();
 
+    // Not marshalled, built again on demand.
+    private transient Map<String, Integer> labelCounts;
+    private transient Map<String, Set<String>> indexedLabels;
+
     @Override
     public Node add(final Node node) {
-        return nodes.put(node.getUUID(),
-                         node);
+        final Node previous = nodes.put(node.getUUID(),
+                                        node);
+        if (null != labelCounts) {
+            unindex(node.getUUID());
+            index(node);
+        }
+        return previous;
     }
 
     @Override
     public Node remove(final String uuid) {
-        return nodes.remove(uuid);
+        final Node removed = nodes.remove(uuid);
+        if (null != labelCounts && null != removed) {
+            unindex(uuid);
+        }
+        return removed;
     }
 
     @Override
@@ -52,11 +74,100 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
     @Override
     public void clear() {
         nodes.clear();
+        labelCounts = null;
+        indexedLabels = null;
     }
 
     @Override
     public Iterator<Node> iterator() {
-        return nodes.values().iterator();
+        final Iterator<Node> iterator = nodes.values().iterator();
+        return new Iterator<Node>() {
+
+            private Node current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Node next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                if (null != labelCounts) {
+                    unindex(current.getUUID());
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the number of nodes for each label in the <code>filter</code>, or for every label if
+     * it's null. Labels not used along the graph are not returned.
+     */
+    public Map<String, Integer> getLabelsCount(final Set<String> filter) {
+        final Map<String, Integer> counts = getLabelCounts();
+        final Map<String, Integer> result = new LinkedHashMap<>();
+        if (null == filter) {
+            result.putAll(counts);
+        } else {
+            filter.stream()
+                    .filter(counts::containsKey)
+                    .forEach(label -> result.put(label,
+                                                 counts.get(label)));
+        }
+        return result;
     }
 
+    /**
+     * Re-indexes the labels of a node in the store, once they have been updated.
+     */
+    public void updateLabels(final Node node) {
+        if (null != labelCounts && nodes.containsKey(node.getUUID())) {
+            unindex(node.getUUID());
+            index(node);
+        }
+    }
+
+    private Map<String, Integer> getLabelCounts() {
+        if (null == labelCounts) {
+            labelCounts = new HashMap<>();
+            indexedLabels = new HashMap<>();
+            nodes.values().forEach(this::index);
+        }
+        return labelCounts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void index(final Node node) {
+        final Set<String> labels = node.getLabels();
+        if (null != labels && !labels.isEmpty()) {
+            final Set<String> copy = new LinkedHashSet<>(labels);
+            indexedLabels.put(node.getUUID(),
+                              copy);
+            copy.forEach(label -> labelCounts.merge(label,
+                                                    1,
+                                                    Integer::sum));
+        }
+    }
+
+    private void unindex(final String uuid) {
+        final Set<String> labels = indexedLabels.remove(uuid);
+        if (null != labels) {
+            labels.forEach(label -> {
+                final int count = labelCounts.get(label) - 1;
+                if (count > 0) {
+                    labelCounts.put(label,
+                                    count);
+                } else {
+                    labelCounts.remove(label);
+                }
+            });
+        }
+    }
 }
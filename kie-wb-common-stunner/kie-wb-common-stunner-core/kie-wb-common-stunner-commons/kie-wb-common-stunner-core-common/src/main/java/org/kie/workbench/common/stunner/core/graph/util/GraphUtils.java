@@ -41,6 +41,7 @@ import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
 
 import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
 
@@ -111,10 +112,15 @@ public class GraphUtils {
     /**
      * Does not returns labels not being used on the graph,
      * even if included in the <code>filter</code>.
+     * Graphs backed by a {@link GraphNodeStoreImpl} are answered from its label index.
      */
     @SuppressWarnings("unchecked")
     public static Map<String, Integer> getLabelsCount(final Graph<?, ? extends Node> target,
                                                       final Set<String> filter) {
+        final Iterable<? extends Node> nodes = target.nodes();
+        if (nodes instanceof GraphNodeStoreImpl) {
+            return ((GraphNodeStoreImpl) nodes).getLabelsCount(filter);
+        }
         final Map<String, Integer> labels = new LinkedHashMap<>();
         target.nodes().forEach(node -> {
             final Set<String> nodeRoles = node.getLabels();
@@ -132,6 +138,17 @@ public class GraphUtils {
         return labels;
     }
 
+    /**
+     * Keeps the label index of the graph up to date once the labels of one of its nodes have changed.
+     */
+    public static void updateLabels(final Graph<?, ? extends Node> target,
+                                    final Node node) {
+        final Iterable<? extends Node> nodes = target.nodes();
+        if (nodes instanceof GraphNodeStoreImpl) {
+            ((GraphNodeStoreImpl) nodes).updateLabels(node);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static List<String> getParentIds(final DefinitionManager definitionManager,
                                             final Graph<? extends DefinitionSet, ? extends Node> graph,
@@ -34,6 +34,9 @@ import org.kie.workbench.common.stunner.core.registry.rule.RuleHandlerRegistry;
 
 public abstract class AbstractRegistryFactory implements RegistryFactory {
 
+    // The maximum estimated memory retained by an undo history, in bytes.
+    static final long UNDO_HISTORY_MAX_BYTES = 16 * 1024 * 1024;
+
     private AdapterManager adapterManager;
 
     protected AbstractRegistryFactory() {
@@ -63,6 +66,12 @@ public abstract class AbstractRegistryFactory implements RegistryFactory {
         return new CommandRegistryImpl<C>();
     }
 
+    @Override
+    public <C extends Command> CommandRegistry<C> newUndoCommandRegistry() {
+        return new CommandRegistryImpl<C>(UNDO_HISTORY_MAX_BYTES,
+                                          true);
+    }
+
     @Override
     public <T extends Factory<?>> FactoryRegistry<T> newFactoryRegistry() {
         return new FactoryRegistryImpl<T>(adapterManager);
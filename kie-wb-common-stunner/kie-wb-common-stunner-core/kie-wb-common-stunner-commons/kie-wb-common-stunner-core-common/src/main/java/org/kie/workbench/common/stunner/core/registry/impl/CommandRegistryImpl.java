@@ -16,28 +16,76 @@
 
 package org.kie.workbench.common.stunner.core.registry.impl;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.AbstractList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
 
 import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.MergeableCommand;
+import org.kie.workbench.common.stunner.core.command.impl.MergedCommand;
+import org.kie.workbench.common.stunner.core.command.util.CommandSizeEstimator;
 import org.kie.workbench.common.stunner.core.registry.command.CommandRegistry;
 
 /**
- * The default generic implementation for the CommandRegistry type.
- * It's implemented for achieving an in-memory and lightweight registry approach, don't do an overuse of it.
- * Note: The Stack class behavior when using the iterator is not the expected one, so used
- * ArrayDeque instead of an Stack to provide right iteration order.
+ * Command registry that keeps the commands in a circular buffer, so registering and removing commands, and evicting
+ * the oldest ones once the registry is full, do not copy or shift the rest of them.
+ * <p>
+ * Besides the maximum number of commands, the registry can be bounded by the estimated memory, in bytes, retained by
+ * the commands (see {@link CommandSizeEstimator}). It can also merge consecutive commands into a single entry
+ * when they implement {@link MergeableCommand}, which is only suitable for undo histories.
  */
 public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C> {
 
-    private final Deque<C> commands = new ArrayDeque<>();
-    private int maxStackSize = 200;
+    public static final int DEFAULT_MAX_SIZE = 200;
+    public static final long UNBOUNDED_BYTES = Long.MAX_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<C> history = new History();
+    private final boolean mergeCommands;
+    private Object[] commands = new Object[INITIAL_CAPACITY];
+    private long[] sizes = new long[INITIAL_CAPACITY];
+    // The index of the oldest command.
+    private int head = 0;
+    private int size = 0;
+    private long estimatedSize = 0;
+    private int maxStackSize = DEFAULT_MAX_SIZE;
+    private long maxBytes;
+
+    public CommandRegistryImpl() {
+        this(UNBOUNDED_BYTES,
+             false);
+    }
+
+    public CommandRegistryImpl(final long maxBytes,
+                               final boolean mergeCommands) {
+        this.maxBytes = maxBytes;
+        this.mergeCommands = mergeCommands;
+    }
 
     @Override
     public void setMaxSize(final int size) {
         this.maxStackSize = size;
+        evictOldest();
+    }
+
+    /**
+     * Sets the maximum estimated memory, in bytes, retained by the registered commands.
+     * The most recent command is always kept, even if it exceeds the limit.
+     */
+    public void setMaxBytes(final long maxBytes) {
+        this.maxBytes = maxBytes;
+        evictOldest();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Returns the estimated memory, in bytes, retained by the registered commands.
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
     }
 
     @Override
@@ -52,7 +100,12 @@ public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C
 
     @Override
     public void clear() {
-        commands.clear();
+        for (int i = 0; i < size; i++) {
+            commands[index(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        estimatedSize = 0;
     }
 
     @Override
@@ -62,30 +115,110 @@ public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C
 
     @Override
     public boolean isEmpty() {
-        return commands.isEmpty();
+        return size == 0;
     }
 
+    /**
+     * Returns a read-only view of the registered commands, the most recent first. It is not a copy, so it reflects
+     * further changes of the registry.
+     */
     @Override
     public List<C> getCommandHistory() {
-        return commands.stream().collect(Collectors.toList());
+        return history;
     }
 
     @Override
     public C peek() {
-        return commands.peek();
+        return size > 0 ? get(size - 1) : null;
     }
 
     @Override
     public C pop() {
-        return commands.pop();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        final int index = index(size - 1);
+        final C command = get(size - 1);
+        commands[index] = null;
+        estimatedSize -= sizes[index];
+        size--;
+        return command;
     }
 
+    @SuppressWarnings("unchecked")
     private void addIntoStack(final C command) {
         if (null != command) {
-            if ((commands.size() + 1) > maxStackSize) {
-                commands.removeLast();
+            final C last = peek();
+            if (mergeCommands && null != last && command instanceof MergeableCommand &&
+                    ((MergeableCommand) command).isMergeableWith(MergedCommand.lastOf(last))) {
+                replaceLast((C) MergedCommand.merge(last,
+                                                    command));
+            } else {
+                ensureCapacity();
+                final int index = index(size);
+                commands[index] = command;
+                sizes[index] = CommandSizeEstimator.estimate(command);
+                estimatedSize += sizes[index];
+                size++;
             }
-            commands.push(command);
+            evictOldest();
+        }
+    }
+
+    private void replaceLast(final C command) {
+        final int index = index(size - 1);
+        commands[index] = command;
+        estimatedSize -= sizes[index];
+        sizes[index] = CommandSizeEstimator.estimate(command);
+        estimatedSize += sizes[index];
+    }
+
+    private void evictOldest() {
+        while (size > maxStackSize || (size > 1 && estimatedSize > maxBytes)) {
+            commands[head] = null;
+            estimatedSize -= sizes[head];
+            head = (head + 1) % commands.length;
+            size--;
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size == commands.length) {
+            final Object[] newCommands = new Object[commands.length * 2];
+            final long[] newSizes = new long[commands.length * 2];
+            for (int i = 0; i < size; i++) {
+                newCommands[i] = commands[index(i)];
+                newSizes[i] = sizes[index(i)];
+            }
+            commands = newCommands;
+            sizes = newSizes;
+            head = 0;
+        }
+    }
+
+    // The position in the buffer of the i-th command, from the oldest one.
+    private int index(final int i) {
+        return (head + i) % commands.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private C get(final int i) {
+        return (C) commands[index(i)];
+    }
+
+    private class History extends AbstractList<C> {
+
+        @Override
+        public C get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return CommandRegistryImpl.this.get(size - 1 - index);
+        }
+
+        @Override
+        public int size() {
+            return size;
         }
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.indexing.bounds;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.processing.index.bounds.GraphBoundsSpatialIndex;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GraphBoundsSpatialIndexTest {
+
+    @Mock
+    private Node root;
+
+    @Mock
+    private Node container;
+
+    @Mock
+    private Node child;
+
+    @Mock
+    private Node huge;
+
+    private GraphBoundsSpatialIndex tested;
+
+    @Before
+    public void setup() {
+        tested = new GraphBoundsSpatialIndex(100d);
+    }
+
+    @Test
+    public void testGetAtEmpty() {
+        assertNull(tested.getAt(10d,
+                                10d));
+        assertEquals(0,
+                     tested.size());
+    }
+
+    @Test
+    public void testGetAtTopMost() {
+        tested.add(container,
+                   new double[]{0d, 0d, 500d, 500d},
+                   true);
+        tested.add(child,
+                   new double[]{320d, 320d, 380d, 380d},
+                   true);
+        assertEquals(container,
+                     tested.getAt(10d,
+                                  10d));
+        assertEquals(child,
+                     tested.getAt(350d,
+                                  350d));
+        assertEquals(container,
+                     tested.getAt(400d,
+                                  400d));
+        assertNull(tested.getAt(600d,
+                                600d));
+        assertEquals(2,
+                     tested.size());
+    }
+
+    @Test
+    public void testGetAtRootFallback() {
+        tested.addRoot(root);
+        tested.add(child,
+                   new double[]{10d, 10d, 50d, 50d},
+                   true);
+        assertEquals(child,
+                     tested.getAt(20d,
+                                  20d));
+        assertEquals(root,
+                     tested.getAt(2000d,
+                                  -2000d));
+    }
+
+    @Test
+    public void testGetAtOversizedEntries() {
+        tested.add(huge,
+                   new double[]{-10000d, -10000d, 10000d, 10000d},
+                   true);
+        tested.add(child,
+                   new double[]{10d, 10d, 50d, 50d},
+                   true);
+        assertEquals(child,
+                     tested.getAt(20d,
+                                  20d));
+        assertEquals(huge,
+                     tested.getAt(9000d,
+                                  -9000d));
+    }
+
+    @Test
+    public void testTrimmedBounds() {
+        tested.add(container,
+                   new double[]{20d, 30d, 500d, 400d},
+                   true);
+        tested.add(child,
+                   new double[]{10d, 50d, 300d, 600d},
+                   true);
+        tested.add(huge,
+                   new double[]{-10000d, -10000d, 10000d, 10000d},
+                   false);
+        assertArrayEquals(new double[]{10d, 30d, 500d, 600d},
+                          tested.getTrimmedBounds(),
+                          0.001d);
+    }
+
+    @Test
+    public void testClear() {
+        tested.addRoot(root);
+        tested.add(child,
+                   new double[]{10d, 10d, 50d, 50d},
+                   true);
+        tested.clear();
+        assertNull(tested.getAt(20d,
+                                20d));
+        assertEquals(0,
+                     tested.size());
+        assertArrayEquals(new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0d, 0d},
+                          tested.getTrimmedBounds(),
+                          0.001d);
+    }
+}
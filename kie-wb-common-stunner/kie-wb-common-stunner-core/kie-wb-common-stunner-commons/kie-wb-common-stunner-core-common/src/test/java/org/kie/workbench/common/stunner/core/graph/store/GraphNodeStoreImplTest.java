@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.store;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GraphNodeStoreImplTest {
+
+    private GraphNodeStoreImpl tested;
+
+    @Before
+    public void setup() {
+        tested = new GraphNodeStoreImpl();
+        tested.add(newNode("n1",
+                           "all",
+                           "task"));
+        tested.add(newNode("n2",
+                           "all",
+                           "task"));
+        tested.add(newNode("n3",
+                           "all",
+                           "event"));
+    }
+
+    @Test
+    public void testLabelsCount() {
+        final Map<String, Integer> counts = tested.getLabelsCount(null);
+        assertEquals(3,
+                     counts.size());
+        assertEquals(3,
+                     counts.get("all").intValue());
+        assertEquals(2,
+                     counts.get("task").intValue());
+        assertEquals(1,
+                     counts.get("event").intValue());
+    }
+
+    @Test
+    public void testLabelsCountFiltered() {
+        final Map<String, Integer> counts = tested.getLabelsCount(Collections.singleton("task"));
+        assertEquals(1,
+                     counts.size());
+        assertEquals(2,
+                     counts.get("task").intValue());
+        assertTrue(tested.getLabelsCount(Collections.singleton("gateway")).isEmpty());
+    }
+
+    @Test
+    public void testLabelsCountAfterAddAndRemove() {
+        tested.getLabelsCount(null);
+        tested.add(newNode("n4",
+                           "all",
+                           "gateway"));
+        tested.remove("n3");
+        // Replacing a node takes the labels of the new one.
+        tested.add(newNode("n1",
+                           "all",
+                           "gateway"));
+
+        final Map<String, Integer> counts = tested.getLabelsCount(null);
+        assertEquals(3,
+                     counts.get("all").intValue());
+        assertEquals(1,
+                     counts.get("task").intValue());
+        assertEquals(2,
+                     counts.get("gateway").intValue());
+        assertFalse(counts.containsKey("event"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLabelsCountAfterUpdateLabels() {
+        tested.getLabelsCount(null);
+        final Node node = tested.get("n3");
+        node.getLabels().clear();
+        node.getLabels().add("task");
+        tested.updateLabels(node);
+
+        final Map<String, Integer> counts = tested.getLabelsCount(null);
+        assertEquals(3,
+                     counts.get("task").intValue());
+        assertEquals(2,
+                     counts.get("all").intValue());
+        assertFalse(counts.containsKey("event"));
+    }
+
+    @Test
+    public void testLabelsCountAfterIteratorRemove() {
+        tested.getLabelsCount(null);
+        final Iterator<Node> iterator = tested.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getLabels().contains("task")) {
+                iterator.remove();
+            }
+        }
+
+        final Map<String, Integer> counts = tested.getLabelsCount(null);
+        assertEquals(1,
+                     counts.get("all").intValue());
+        assertFalse(counts.containsKey("task"));
+    }
+
+    @Test
+    public void testLabelsCountAfterClear() {
+        tested.getLabelsCount(null);
+        tested.clear();
+        assertTrue(tested.getLabelsCount(null).isEmpty());
+        tested.add(newNode("n5",
+                           "all"));
+        assertEquals(1,
+                     tested.getLabelsCount(null).get("all").intValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node newNode(final String uuid,
+                                final String... labels) {
+        final NodeImpl<Object> node = new NodeImpl<>(uuid);
+        Collections.addAll(node.getLabels(),
+                           labels);
+        return node;
+    }
+}
@@ -17,19 +17,27 @@
 package org.kie.workbench.common.stunner.core.registry.impl;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.HasEstimatedSize;
+import org.kie.workbench.common.stunner.core.command.MergeableCommand;
+import org.kie.workbench.common.stunner.core.command.impl.MergedCommand;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CommandRegistryImplTest {
@@ -171,4 +179,265 @@ public class CommandRegistryImplTest {
         assertTrue(tested.getCommandHistory().contains(commandTwo));
         assertTrue(tested.getCommandHistory().contains(commandThree));
     }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPopEmpty() {
+        tested.pop();
+    }
+
+    @Test
+    public void testPeekEmpty() {
+        assertNull(tested.peek());
+    }
+
+    @Test
+    public void testRegisterAndPopMoreThanInitialCapacity() {
+        final Command[] commands = new Command[50];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = mock(Command.class);
+            tested.register(commands[i]);
+            if (i % 3 == 0) {
+                assertEquals(commands[i],
+                             tested.pop());
+                tested.register(commands[i]);
+            }
+        }
+        final List<Command> history = tested.getCommandHistory();
+        assertEquals(50,
+                     history.size());
+        for (int i = 0; i < commands.length; i++) {
+            assertEquals(commands[commands.length - 1 - i],
+                         history.get(i));
+        }
+        for (int i = commands.length - 1; i >= 0; i--) {
+            assertEquals(commands[i],
+                         tested.pop());
+        }
+        assertTrue(tested.isEmpty());
+    }
+
+    @Test
+    public void testStackSizeWrappingAround() {
+        final Command[] commands = new Command[25];
+        tested.setMaxSize(10);
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = mock(Command.class);
+            tested.register(commands[i]);
+        }
+        final List<Command> history = tested.getCommandHistory();
+        assertEquals(10,
+                     history.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(commands[commands.length - 1 - i],
+                         history.get(i));
+        }
+    }
+
+    @Test
+    public void testCommandHistoryIsAView() {
+        final List<Command> history = tested.getCommandHistory();
+        tested.register(command);
+        tested.register(command1);
+        assertEquals(2,
+                     history.size());
+        assertEquals(command1,
+                     history.get(0));
+        tested.pop();
+        assertEquals(1,
+                     history.size());
+        assertSame(history,
+                   tested.getCommandHistory());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCommandHistoryIsReadOnly() {
+        tested.register(command);
+        tested.getCommandHistory().clear();
+    }
+
+    @Test
+    public void testAddCommandMaxBytesExceeded() {
+        tested.setMaxBytes(1000);
+        final Command commandOne = new SizedCommand(400);
+        final Command commandTwo = new SizedCommand(400);
+        final Command commandThree = new SizedCommand(400);
+
+        tested.register(commandOne);
+        tested.register(commandTwo);
+        assertEquals(800,
+                     tested.getEstimatedSize());
+        tested.register(commandThree);
+
+        assertEquals(2,
+                     tested.getCommandHistory().size());
+        assertEquals(commandThree,
+                     tested.getCommandHistory().get(0));
+        assertEquals(commandTwo,
+                     tested.getCommandHistory().get(1));
+        assertEquals(800,
+                     tested.getEstimatedSize());
+        tested.pop();
+        assertEquals(400,
+                     tested.getEstimatedSize());
+    }
+
+    @Test
+    public void testMostRecentCommandIsKeptIfMaxBytesExceeded() {
+        tested.setMaxBytes(1000);
+        final Command big = new SizedCommand(5000);
+        tested.register(command);
+        tested.register(big);
+        assertEquals(1,
+                     tested.getCommandHistory().size());
+        assertEquals(big,
+                     tested.peek());
+    }
+
+    @Test
+    public void testDefaultCommandsSize() {
+        tested.register(command);
+        tested.register(command1);
+        assertTrue(tested.getEstimatedSize() > 0);
+        tested.clear();
+        assertEquals(0,
+                     tested.getEstimatedSize());
+    }
+
+    @Test
+    public void testNotMergedByDefault() {
+        tested.register(new PropertyCommand("p1"));
+        tested.register(new PropertyCommand("p1"));
+        assertEquals(2,
+                     tested.getCommandHistory().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMergeCommands() {
+        tested = new CommandRegistryImpl<>(CommandRegistryImpl.UNBOUNDED_BYTES,
+                                           true);
+        final PropertyCommand first = new PropertyCommand("p1");
+        final PropertyCommand second = new PropertyCommand("p1");
+        final PropertyCommand third = new PropertyCommand("p1");
+        final PropertyCommand other = new PropertyCommand("p2");
+
+        tested.register(first);
+        tested.register(second);
+        tested.register(third);
+
+        assertEquals(1,
+                     tested.getCommandHistory().size());
+        final MergedCommand merged = (MergedCommand) tested.peek();
+        assertEquals(first,
+                     merged.getFirst());
+        assertEquals(third,
+                     merged.getLast());
+        assertEquals(2 * PropertyCommand.SIZE,
+                     tested.getEstimatedSize());
+
+        final Object context = new Object();
+        merged.undo(context);
+        verify(first.delegate).undo(context);
+        merged.execute(context);
+        verify(third.delegate).execute(context);
+
+        tested.register(other);
+        assertEquals(2,
+                     tested.getCommandHistory().size());
+        assertEquals(other,
+                     tested.peek());
+    }
+
+    @Test
+    public void testMergeCommandsAgain() {
+        tested = new CommandRegistryImpl<>(CommandRegistryImpl.UNBOUNDED_BYTES,
+                                           true);
+        final PropertyCommand first = new PropertyCommand("p1");
+        final PropertyCommand second = new PropertyCommand("p1");
+        tested.register(first);
+        tested.register(second);
+        // Eg: the merged command is undone and redone.
+        final Command merged = tested.pop();
+        tested.register(merged);
+        assertEquals(merged,
+                     tested.peek());
+        tested.register(merged);
+        assertEquals(1,
+                     tested.getCommandHistory().size());
+        assertEquals(first,
+                     ((MergedCommand) tested.peek()).getFirst());
+        assertEquals(second,
+                     ((MergedCommand) tested.peek()).getLast());
+    }
+
+    private static class SizedCommand implements Command<Object, Object>,
+                                                 HasEstimatedSize {
+
+        private final long size;
+
+        private SizedCommand(final long size) {
+            this.size = size;
+        }
+
+        @Override
+        public CommandResult<Object> allow(final Object context) {
+            return null;
+        }
+
+        @Override
+        public CommandResult<Object> execute(final Object context) {
+            return null;
+        }
+
+        @Override
+        public CommandResult<Object> undo(final Object context) {
+            return null;
+        }
+
+        @Override
+        public long getEstimatedSize() {
+            return size;
+        }
+    }
+
+    private static class PropertyCommand implements MergeableCommand<Object, Object>,
+                                                    HasEstimatedSize {
+
+        private static final long SIZE = 100;
+
+        private final String propertyId;
+        private final Command<Object, Object> delegate;
+
+        @SuppressWarnings("unchecked")
+        private PropertyCommand(final String propertyId) {
+            this.propertyId = propertyId;
+            this.delegate = mock(Command.class);
+        }
+
+        @Override
+        public boolean isMergeableWith(final Command<Object, Object> previous) {
+            return previous instanceof PropertyCommand &&
+                    propertyId.equals(((PropertyCommand) previous).propertyId);
+        }
+
+        @Override
+        public CommandResult<Object> allow(final Object context) {
+            return delegate.allow(context);
+        }
+
+        @Override
+        public CommandResult<Object> execute(final Object context) {
+            return delegate.execute(context);
+        }
+
+        @Override
+        public CommandResult<Object> undo(final Object context) {
+            return delegate.undo(context);
+        }
+
+        @Override
+        public long getEstimatedSize() {
+            return SIZE;
+        }
+    }
 }
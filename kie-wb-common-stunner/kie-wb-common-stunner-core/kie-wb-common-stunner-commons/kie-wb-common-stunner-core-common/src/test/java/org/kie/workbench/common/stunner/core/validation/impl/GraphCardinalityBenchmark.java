@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.validation.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStore;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+import org.kie.workbench.common.stunner.core.registry.RegistryFactory;
+import org.kie.workbench.common.stunner.core.registry.impl.RuleHandlerRegistryImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleManagerImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleSetImpl;
+import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
+import org.kie.workbench.common.stunner.core.rule.context.impl.RuleContextBuilder;
+import org.kie.workbench.common.stunner.core.rule.handler.impl.CardinalityEvaluationHandler;
+import org.kie.workbench.common.stunner.core.rule.handler.impl.ElementCardinalityEvaluationHandler;
+import org.kie.workbench.common.stunner.core.rule.impl.Occurrences;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the cardinality rule evaluation of graphs of 500, 2,000 and 10,000 nodes when the labels are counted from
+ * the {@link GraphNodeStoreImpl} label index, and when every check visits all the nodes, as they did before.
+ * <p>
+ * Two workloads are measured: a full {@link GraphValidatorImpl} validation, which evaluates the graph cardinality
+ * rules once, and the cardinality check of adding every node, as run by the add and register node commands, which
+ * used to be quadratic on the graph size.
+ * <p>
+ * Run it from the IDE or with "mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=...".
+ */
+public class GraphCardinalityBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 10;
+    private static final String[] ROLES = {"task", "gateway", "event", "subprocess"};
+
+    public static void main(String[] args) throws Exception {
+        final RuleManagerImpl ruleManager = newRuleManager();
+        final RuleSet ruleSet = new RuleSetImpl("benchmark",
+                                                Arrays.asList(new Occurrences("all-occurrences",
+                                                                              "all",
+                                                                              0,
+                                                                              -1),
+                                                              new Occurrences("task-occurrences",
+                                                                              "task",
+                                                                              0,
+                                                                              -1),
+                                                              new Occurrences("event-occurrences",
+                                                                              "event",
+                                                                              1,
+                                                                              -1)));
+        final GraphValidatorImpl validator = new GraphValidatorImpl(null,
+                                                                    ruleManager,
+                                                                    new TreeWalkTraverseProcessorImpl());
+
+        System.out.println(String.format("%-8s %-9s %16s %16s",
+                                         "nodes",
+                                         "store",
+                                         "validation ms",
+                                         "add checks ms"));
+        for (int size : new int[]{500, 2_000, 10_000}) {
+            run(size,
+                "indexed",
+                newGraph(new GraphNodeStoreImpl(),
+                         size),
+                validator,
+                ruleManager,
+                ruleSet);
+            run(size,
+                "scanning",
+                newGraph(new ScanningNodeStore(),
+                         size),
+                validator,
+                ruleManager,
+                ruleSet);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void run(final int size,
+                            final String store,
+                            final Graph<?, Node> graph,
+                            final GraphValidatorImpl validator,
+                            final RuleManagerImpl ruleManager,
+                            final RuleSet ruleSet) {
+        final double validation = measure(() -> validator.validate(graph,
+                                                                   ruleSet,
+                                                                   violations -> {
+                                                                   }));
+        final double addChecks = measure(() -> {
+            for (final Node node : graph.nodes()) {
+                ruleManager.evaluate(ruleSet,
+                                     RuleContextBuilder.GraphContexts.cardinality(graph,
+                                                                                  Optional.of((Element) node),
+                                                                                  Optional.of(CardinalityContext.Operation.ADD)));
+            }
+        });
+        System.out.println(String.format("%-8d %-9s %16.2f %16.2f",
+                                         size,
+                                         store,
+                                         validation,
+                                         addChecks));
+    }
+
+    private static double measure(final Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / (ITERATIONS * 1_000_000.0);
+    }
+
+    private static RuleManagerImpl newRuleManager() {
+        final RegistryFactory registryFactory = mock(RegistryFactory.class);
+        when(registryFactory.newRuleHandlerRegistry()).thenReturn(new RuleHandlerRegistryImpl());
+        final RuleManagerImpl ruleManager = new RuleManagerImpl(registryFactory);
+        final CardinalityEvaluationHandler cardinalityEvaluationHandler = new CardinalityEvaluationHandler();
+        ruleManager.registry().register(cardinalityEvaluationHandler);
+        ruleManager.registry().register(new ElementCardinalityEvaluationHandler(null,
+                                                                                cardinalityEvaluationHandler));
+        return ruleManager;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Graph<?, Node> newGraph(final GraphNodeStore<Node> store,
+                                           final int size) {
+        final GraphImpl<String> graph = new GraphImpl<>("graph",
+                                                        store);
+        graph.setContent("benchmark");
+        for (int i = 0; i < size; i++) {
+            final NodeImpl<Object> node = new NodeImpl<>("node" + i);
+            node.getLabels().add("all");
+            node.getLabels().add(ROLES[i % ROLES.length]);
+            graph.addNode(node);
+        }
+        return graph;
+    }
+
+    /**
+     * Store without label index, so the labels are counted by visiting all the nodes.
+     */
+    private static class ScanningNodeStore implements GraphNodeStore<Node> {
+
+        private final Map<String, Node> nodes = new HashMap<>();
+
+        @Override
+        public Node add(final Node node) {
+            return nodes.put(node.getUUID(),
+                             node);
+        }
+
+        @Override
+        public Node remove(final String uuid) {
+            return nodes.remove(uuid);
+        }
+
+        @Override
+        public Node get(final String uuid) {
+            return nodes.get(uuid);
+        }
+
+        @Override
+        public int size() {
+            return nodes.size();
+        }
+
+        @Override
+        public void clear() {
+            nodes.clear();
+        }
+
+        @Override
+        public Iterator<Node> iterator() {
+            return nodes.values().iterator();
+        }
+    }
+}
@@ -60,6 +60,11 @@ public class DelegateDiagramService implements DiagramService {
         return convert(projectDiagramService.getDiagramByPath(path));
     }
 
+    @Override
+    public Metadata getMetadataByPath(Path path) {
+        return projectDiagramService.getMetadataByPath(path);
+    }
+
     @Override
     public boolean accepts(Path path) {
         return projectDiagramService.accepts(path);
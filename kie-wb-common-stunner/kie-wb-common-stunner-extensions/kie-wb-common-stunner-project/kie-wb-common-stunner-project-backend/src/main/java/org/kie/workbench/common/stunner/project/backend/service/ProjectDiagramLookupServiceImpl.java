@@ -38,7 +38,7 @@ public class ProjectDiagramLookupServiceImpl
         extends AbstractDiagramLookupService<ProjectMetadata, ProjectDiagram>
         implements ProjectDiagramLookupService {
 
-    private final VFSLookupManager<ProjectDiagram> vfsLookupManager;
+    private final VFSLookupManager<ProjectMetadata> vfsLookupManager;
     private final ProjectDiagramService diagramService;
 
     protected ProjectDiagramLookupServiceImpl() {
@@ -47,7 +47,7 @@ public class ProjectDiagramLookupServiceImpl
     }
 
     @Inject
-    public ProjectDiagramLookupServiceImpl(final VFSLookupManager<ProjectDiagram> vfsLookupManager,
+    public ProjectDiagramLookupServiceImpl(final VFSLookupManager<ProjectMetadata> vfsLookupManager,
                                            final ProjectDiagramService diagramService) {
         this.vfsLookupManager = vfsLookupManager;
         this.diagramService = diagramService;
@@ -65,12 +65,12 @@ public class ProjectDiagramLookupServiceImpl
 
     @Override
     @SuppressWarnings("unchecked")
-    protected List<ProjectDiagram> getItems(final DiagramLookupRequest request) {
+    protected List<ProjectMetadata> getItems(final DiagramLookupRequest request) {
         return vfsLookupManager.getItemsByPath(request.getPath());
     }
 
     @Override
-    protected boolean matches(String criteria, ProjectDiagram item) {
+    protected boolean matches(String criteria, ProjectMetadata item) {
         return true;
     }
 }
@@ -91,6 +91,14 @@ public class DelegateDiagramServiceTest {
         assertEqualDiagram(diagram);
     }
 
+    @Test
+    public void getMetadataByPath() {
+        when(projectDiagramService.getMetadataByPath(path)).thenReturn(projectMetadata);
+        Metadata metadata = delegateDiagramService.getMetadataByPath(path);
+        verify(projectDiagramService).getMetadataByPath(path);
+        assertEquals(metadata, projectMetadata);
+    }
+
     @Test
     public void accepts() {
         boolean accepts = delegateDiagramService.accepts(path);
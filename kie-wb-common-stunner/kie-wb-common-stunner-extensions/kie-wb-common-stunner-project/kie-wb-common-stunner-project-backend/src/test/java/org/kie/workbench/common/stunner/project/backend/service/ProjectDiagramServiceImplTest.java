@@ -165,6 +165,17 @@ public class ProjectDiagramServiceImplTest {
                      diagram);
     }
 
+    @Test
+    public void testGetMetadataByPath() {
+        ProjectMetadata projectMetadata = mock(ProjectMetadata.class);
+        when(diagramServiceController.getMetadataByPath(path)).thenReturn(projectMetadata);
+        ProjectMetadata result = diagramService.getMetadataByPath(path);
+        verify(diagramServiceController,
+               times(1)).getMetadataByPath(path);
+        assertEquals(result,
+                     projectMetadata);
+    }
+
     @Test
     public void testAccepts() {
         when(diagramServiceController.accepts(path)).thenReturn(true);
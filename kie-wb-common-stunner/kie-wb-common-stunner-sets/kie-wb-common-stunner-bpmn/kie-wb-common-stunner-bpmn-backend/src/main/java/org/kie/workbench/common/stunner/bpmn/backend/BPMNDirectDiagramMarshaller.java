@@ -16,14 +16,17 @@
 
 package org.kie.workbench.common.stunner.bpmn.backend;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import javax.xml.stream.XMLStreamException;
 
 import bpsim.impl.BpsimFactoryImpl;
 import bpsim.impl.BpsimPackageImpl;
@@ -37,6 +40,9 @@ import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
 import org.jboss.drools.DroolsPackage;
 import org.jboss.drools.impl.DroolsFactoryImpl;
 import org.jboss.drools.impl.DroolsPackageImpl;
@@ -47,6 +53,7 @@ import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.BpmnNo
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.ConverterFactory;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.DefinitionResolver;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.GraphBuilder;
+import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.StreamingDefinitionsReader;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.workitem.service.WorkItemDefinitionBackendService;
@@ -75,6 +82,16 @@ public class BPMNDirectDiagramMarshaller implements DiagramMarshaller<Graph, Met
 
     private static final Logger LOG = LoggerFactory.getLogger(BPMNDirectDiagramMarshaller.class);
 
+    /**
+     * Enables the {@link StreamingDefinitionsReader}, see {@link #setStreamingReader(boolean)}.
+     */
+    public static final String STREAMING_READER_PROPERTY = "org.kie.workbench.stunner.bpmn.streamingReader";
+
+    // Shared by all the loads, so the SAX parsers and the XML name to
+    // EMF feature lookups are reused instead of built again for every diagram.
+    private static final XMLParserPool PARSER_POOL = new XMLParserPoolImpl();
+    private static final Map<Object, Object> XML_NAME_TO_FEATURE_MAP = Collections.synchronizedMap(new HashMap<>());
+
     private final XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller;
     private final DefinitionManager definitionManager;
     private final RuleManager ruleManager;
@@ -82,6 +99,7 @@ public class BPMNDirectDiagramMarshaller implements DiagramMarshaller<Graph, Met
     private final TypedFactoryManager typedFactoryManager;
     private final GraphCommandFactory commandFactory;
     private final GraphCommandManager commandManager;
+    private boolean streamingReader = Boolean.getBoolean(STREAMING_READER_PROPERTY);
 
     @Inject
     public BPMNDirectDiagramMarshaller(
@@ -138,7 +156,7 @@ public class BPMNDirectDiagramMarshaller implements DiagramMarshaller<Graph, Met
         // definition resolver provides utlities to access elements of the BPMN datamodel
         DefinitionResolver definitionResolver =
                 new DefinitionResolver(
-                        parseDefinitions(inputStream),
+                        readDefinitions(inputStream),
                         workItemDefinitionService.execute(metadata));
 
         metadata.setCanvasRootUUID(definitionResolver.getDefinitions().getId());
@@ -202,6 +220,38 @@ public class BPMNDirectDiagramMarshaller implements DiagramMarshaller<Graph, Met
         return diagramMetadataMarshaller;
     }
 
+    /**
+     * Reads the processes with the {@link StreamingDefinitionsReader} instead of loading them as EMF
+     * resources. The processes containing elements it doesn't support are still loaded as EMF resources.
+     */
+    public void setStreamingReader(final boolean streamingReader) {
+        this.streamingReader = streamingReader;
+    }
+
+    private Definitions readDefinitions(final InputStream inputStream) throws IOException {
+        if (!streamingReader) {
+            return parseDefinitions(inputStream);
+        }
+        // kept, so the EMF resource can load it when the streaming reader cannot
+        final byte[] content = toByteArray(inputStream);
+        try {
+            return StreamingDefinitionsReader.read(new ByteArrayInputStream(content));
+        } catch (StreamingDefinitionsReader.UnsupportedElementException | XMLStreamException e) {
+            LOG.debug("Loading the process as an EMF resource: " + e.getMessage());
+            return parseDefinitions(new ByteArrayInputStream(content));
+        }
+    }
+
+    private static byte[] toByteArray(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
     private static Definitions parseDefinitions(final InputStream inputStream) throws IOException {
         DroolsPackageImpl.init();
         BpsimPackageImpl.init();
@@ -229,6 +279,8 @@ public class BPMNDirectDiagramMarshaller implements DiagramMarshaller<Graph, Met
         options.put(JBPMBpmn2ResourceImpl.OPTION_DISABLE_NOTIFY, true);
         options.put(JBPMBpmn2ResourceImpl.OPTION_PROCESS_DANGLING_HREF,
                     JBPMBpmn2ResourceImpl.OPTION_PROCESS_DANGLING_HREF_RECORD);
+        options.put(XMLResource.OPTION_USE_PARSER_POOL, PARSER_POOL);
+        options.put(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP, XML_NAME_TO_FEATURE_MAP);
 
         resource.load(inputStream, options);
 
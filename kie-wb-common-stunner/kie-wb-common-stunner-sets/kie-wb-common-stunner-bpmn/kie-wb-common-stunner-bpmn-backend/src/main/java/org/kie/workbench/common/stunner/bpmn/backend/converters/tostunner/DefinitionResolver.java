@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import bpsim.BPSimDataType;
@@ -35,6 +36,7 @@ import org.eclipse.bpmn2.Signal;
 import org.eclipse.bpmn2.di.BPMNEdge;
 import org.eclipse.bpmn2.di.BPMNPlane;
 import org.eclipse.bpmn2.di.BPMNShape;
+import org.eclipse.dd.di.DiagramElement;
 import org.eclipse.emf.ecore.util.FeatureMap;
 import org.kie.workbench.common.stunner.bpmn.workitem.WorkItemDefinition;
 
@@ -61,6 +63,10 @@ public class DefinitionResolver {
     private final Definitions definitions;
     private final Process process;
     private final BPMNPlane plane;
+    // Shapes and edges by the id of their BPMN element, see indexPlaneElements()
+    private Map<String, BPMNShape> shapes;
+    private Map<String, BPMNEdge> edges;
+    private int indexedPlaneElements = -1;
 
     public DefinitionResolver(
             Definitions definitions,
@@ -171,18 +177,44 @@ public class DefinitionResolver {
     }
 
     public BPMNShape getShape(String elementId) {
-        return plane.getPlaneElement().stream()
-                .filter(dia -> dia instanceof BPMNShape)
-                .map(shape -> (BPMNShape) shape)
-                .filter(shape -> shape.getBpmnElement().getId().equals(elementId))
-                .findFirst().orElse(null);
+        indexPlaneElements();
+        return shapes.get(elementId);
     }
 
     public BPMNEdge getEdge(String elementId) {
-        return plane.getPlaneElement().stream()
-                .filter(dia -> dia instanceof BPMNEdge)
-                .map(edge -> (BPMNEdge) edge)
-                .filter(edge -> edge.getBpmnElement().getId().equals(elementId))
-                .findFirst().get();
+        indexPlaneElements();
+        BPMNEdge edge = edges.get(elementId);
+        if (edge == null) {
+            throw new NoSuchElementException("No BPMNEdge found for element " + elementId);
+        }
+        return edge;
+    }
+
+    /**
+     * Indexes the shapes and edges of the plane in a single pass, so resolving
+     * the shape of every element doesn't scan the whole plane each time.
+     * The index is built again if elements were added to or removed from the plane.
+     */
+    private void indexPlaneElements() {
+        List<DiagramElement> planeElements = plane.getPlaneElement();
+        if (planeElements.size() == indexedPlaneElements) {
+            return;
+        }
+        shapes = new HashMap<>();
+        edges = new HashMap<>();
+        for (DiagramElement dia : planeElements) {
+            if (dia instanceof BPMNShape) {
+                BPMNShape shape = (BPMNShape) dia;
+                if (shape.getBpmnElement() != null) {
+                    shapes.putIfAbsent(shape.getBpmnElement().getId(), shape);
+                }
+            } else if (dia instanceof BPMNEdge) {
+                BPMNEdge edge = (BPMNEdge) dia;
+                if (edge.getBpmnElement() != null) {
+                    edges.putIfAbsent(edge.getBpmnElement().getId(), edge);
+                }
+            }
+        }
+        indexedPlaneElements = planeElements.size();
     }
 }
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.bpmn2.BaseElement;
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.Documentation;
+import org.eclipse.bpmn2.FlowElement;
+import org.eclipse.bpmn2.FlowNode;
+import org.eclipse.bpmn2.FormalExpression;
+import org.eclipse.bpmn2.ItemDefinition;
+import org.eclipse.bpmn2.Process;
+import org.eclipse.bpmn2.Property;
+import org.eclipse.bpmn2.SequenceFlow;
+import org.eclipse.bpmn2.StartEvent;
+import org.eclipse.bpmn2.di.BPMNDiagram;
+import org.eclipse.bpmn2.di.BPMNEdge;
+import org.eclipse.bpmn2.di.BPMNPlane;
+import org.eclipse.bpmn2.di.BPMNShape;
+import org.eclipse.dd.dc.Bounds;
+import org.eclipse.dd.dc.Point;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.impl.EStructuralFeatureImpl;
+import org.jboss.drools.DroolsPackage;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.util.Utils;
+
+import static org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.Factories.bpmn2;
+import static org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.Factories.dc;
+import static org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.Factories.di;
+import static org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.Factories.metaData;
+
+/**
+ * Reads BPMN2 XML with StAX straight into the Eclipse BPMN2 elements read by the
+ * node and edge converters, without loading it as an EMF resource.
+ * <p>
+ * The process is read first, then the BPMNDI shapes and edges, and the references
+ * between elements (sequence flow ends, BPMNDI elements, variable types) are resolved
+ * by id at the end of the document, instead of through EMF proxies.
+ * <p>
+ * Only the elements the node and edge converters need are supported: item definitions,
+ * process variables, none start and end events, tasks, exclusive, parallel and inclusive
+ * gateways, sequence flows, and their documentation, metadata and custom attributes.
+ * Any other element raises an {@link UnsupportedElementException}, so the caller can read
+ * the process with the EMF resource instead.
+ */
+public class StreamingDefinitionsReader {
+
+    static final String BPMN2 = "http://www.omg.org/spec/BPMN/20100524/MODEL";
+    static final String BPMNDI = "http://www.omg.org/spec/BPMN/20100524/DI";
+    static final String DC = "http://www.omg.org/spec/DD/20100524/DC";
+    static final String DI = "http://www.omg.org/spec/DD/20100524/DI";
+    static final String DROOLS = DroolsPackage.eNS_URI;
+
+    private static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
+    private final XMLStreamReader reader;
+    private final Map<String, BaseElement> elements = new HashMap<>();
+    // resolved once the whole document was read, as BPMNDI elements may refer to any element
+    private final List<Runnable> references = new ArrayList<>();
+
+    private StreamingDefinitionsReader(XMLStreamReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the definitions of the given BPMN2 document.
+     * @throws UnsupportedElementException if the document contains elements not supported by this reader.
+     */
+    public static Definitions read(InputStream inputStream) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            return new StreamingDefinitionsReader(reader).readDocument();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Definitions readDocument() throws XMLStreamException {
+        reader.nextTag();
+        expect(BPMN2, "definitions");
+        Definitions definitions = bpmn2.createDefinitions();
+        definitions.setId(attribute("id"));
+        Process process = null;
+        while (nextChild()) {
+            if (is(BPMN2, "itemDefinition")) {
+                definitions.getRootElements().add(readItemDefinition());
+            } else if (is(BPMN2, "process") && process == null) {
+                process = readProcess();
+                definitions.getRootElements().add(process);
+            } else if (is(BPMNDI, "BPMNDiagram")) {
+                definitions.getDiagrams().add(readDiagram());
+            } else {
+                throw unsupported();
+            }
+        }
+        references.forEach(Runnable::run);
+        return definitions;
+    }
+
+    private ItemDefinition readItemDefinition() throws XMLStreamException {
+        ItemDefinition itemDefinition = bpmn2.createItemDefinition();
+        register(itemDefinition);
+        itemDefinition.setStructureRef(attribute("structureRef"));
+        readChildren(itemDefinition);
+        return itemDefinition;
+    }
+
+    private Process readProcess() throws XMLStreamException {
+        Process process = bpmn2.createProcess();
+        register(process);
+        process.setName(attribute("name"));
+        process.setIsExecutable(Boolean.parseBoolean(attribute("isExecutable")));
+        readCustomAttributes(process);
+        while (nextChild()) {
+            if (is(BPMN2, "property")) {
+                process.getProperties().add(readProperty());
+            } else if (is(BPMN2, "sequenceFlow")) {
+                process.getFlowElements().add(readSequenceFlow());
+            } else if (is(BPMN2, "startEvent")) {
+                process.getFlowElements().add(readFlowNode(bpmn2.createStartEvent()));
+            } else if (is(BPMN2, "endEvent")) {
+                process.getFlowElements().add(readFlowNode(bpmn2.createEndEvent()));
+            } else if (is(BPMN2, "task")) {
+                process.getFlowElements().add(readFlowNode(bpmn2.createTask()));
+            } else if (is(BPMN2, "exclusiveGateway")) {
+                process.getFlowElements().add(readFlowNode(bpmn2.createExclusiveGateway()));
+            } else if (is(BPMN2, "parallelGateway")) {
+                process.getFlowElements().add(readFlowNode(bpmn2.createParallelGateway()));
+            } else if (is(BPMN2, "inclusiveGateway")) {
+                process.getFlowElements().add(readFlowNode(bpmn2.createInclusiveGateway()));
+            } else {
+                readCommonChild(process);
+            }
+        }
+        return process;
+    }
+
+    private Property readProperty() throws XMLStreamException {
+        Property property = bpmn2.createProperty();
+        register(property);
+        property.setName(attribute("name"));
+        String itemSubjectRef = attribute("itemSubjectRef");
+        resolve(itemSubjectRef, ItemDefinition.class, property::setItemSubjectRef);
+        readChildren(property);
+        return property;
+    }
+
+    private FlowElement readFlowNode(FlowNode node) throws XMLStreamException {
+        register(node);
+        node.setName(attribute("name"));
+        if (node instanceof StartEvent) {
+            String isInterrupting = attribute("isInterrupting");
+            ((StartEvent) node).setIsInterrupting(isInterrupting == null || Boolean.parseBoolean(isInterrupting));
+        }
+        readCustomAttributes(node);
+        // the service tasks are bound to work item definitions, the EMF reader handles them
+        if (node.getAnyAttribute().stream().anyMatch(e -> "taskName".equals(e.getEStructuralFeature().getName()))) {
+            throw unsupported();
+        }
+        while (nextChild()) {
+            if (is(BPMN2, "incoming") || is(BPMN2, "outgoing")) {
+                // the sequence flows refer to their source and target
+                reader.getElementText();
+            } else {
+                readCommonChild(node);
+            }
+        }
+        return node;
+    }
+
+    private SequenceFlow readSequenceFlow() throws XMLStreamException {
+        SequenceFlow sequenceFlow = bpmn2.createSequenceFlow();
+        register(sequenceFlow);
+        sequenceFlow.setName(attribute("name"));
+        resolve(attribute("sourceRef"), FlowNode.class, sequenceFlow::setSourceRef);
+        resolve(attribute("targetRef"), FlowNode.class, sequenceFlow::setTargetRef);
+        readCustomAttributes(sequenceFlow);
+        while (nextChild()) {
+            if (is(BPMN2, "conditionExpression")) {
+                FormalExpression expression = bpmn2.createFormalExpression();
+                expression.setLanguage(attribute("language"));
+                expression.setBody(reader.getElementText());
+                sequenceFlow.setConditionExpression(expression);
+            } else {
+                readCommonChild(sequenceFlow);
+            }
+        }
+        return sequenceFlow;
+    }
+
+    private BPMNDiagram readDiagram() throws XMLStreamException {
+        BPMNDiagram diagram = di.createBPMNDiagram();
+        diagram.setId(attribute("id"));
+        while (nextChild()) {
+            if (is(BPMNDI, "BPMNPlane") && diagram.getPlane() == null) {
+                diagram.setPlane(readPlane());
+            } else {
+                skip();
+            }
+        }
+        return diagram;
+    }
+
+    private BPMNPlane readPlane() throws XMLStreamException {
+        BPMNPlane plane = di.createBPMNPlane();
+        plane.setId(attribute("id"));
+        resolve(attribute("bpmnElement"), BaseElement.class, plane::setBpmnElement);
+        while (nextChild()) {
+            if (is(BPMNDI, "BPMNShape")) {
+                plane.getPlaneElement().add(readShape());
+            } else if (is(BPMNDI, "BPMNEdge")) {
+                plane.getPlaneElement().add(readEdge());
+            } else {
+                skip();
+            }
+        }
+        return plane;
+    }
+
+    private BPMNShape readShape() throws XMLStreamException {
+        BPMNShape shape = di.createBPMNShape();
+        shape.setId(attribute("id"));
+        resolve(attribute("bpmnElement"), BaseElement.class, shape::setBpmnElement);
+        while (nextChild()) {
+            if (is(DC, "Bounds")) {
+                Bounds bounds = dc.createBounds();
+                bounds.setX(floatAttribute("x"));
+                bounds.setY(floatAttribute("y"));
+                bounds.setWidth(floatAttribute("width"));
+                bounds.setHeight(floatAttribute("height"));
+                shape.setBounds(bounds);
+            }
+            skip();
+        }
+        return shape;
+    }
+
+    private BPMNEdge readEdge() throws XMLStreamException {
+        BPMNEdge edge = di.createBPMNEdge();
+        edge.setId(attribute("id"));
+        resolve(attribute("bpmnElement"), BaseElement.class, edge::setBpmnElement);
+        while (nextChild()) {
+            if (is(DI, "waypoint")) {
+                Point point = dc.createPoint();
+                point.setX(floatAttribute("x"));
+                point.setY(floatAttribute("y"));
+                edge.getWaypoint().add(point);
+            }
+            skip();
+        }
+        return edge;
+    }
+
+    /**
+     * Reads the children every element may have: its documentation and its metadata.
+     */
+    private void readCommonChild(BaseElement element) throws XMLStreamException {
+        if (is(BPMN2, "documentation")) {
+            Documentation documentation = bpmn2.createDocumentation();
+            documentation.setText(reader.getElementText());
+            element.getDocumentation().add(documentation);
+        } else if (is(BPMN2, "extensionElements")) {
+            readExtensionElements(element);
+        } else {
+            throw unsupported();
+        }
+    }
+
+    private void readChildren(BaseElement element) throws XMLStreamException {
+        while (nextChild()) {
+            readCommonChild(element);
+        }
+    }
+
+    private void readExtensionElements(BaseElement element) throws XMLStreamException {
+        while (nextChild()) {
+            if (!is(DROOLS, "metaData")) {
+                throw unsupported();
+            }
+            String name = attribute("name");
+            String value = null;
+            while (nextChild()) {
+                if (!is(DROOLS, "metaValue")) {
+                    throw unsupported();
+                }
+                value = reader.getElementText();
+            }
+            Utils.setMetaDataExtensionValue(element, name, value);
+        }
+    }
+
+    /**
+     * Keeps the attributes of other namespaces, as the drools ones, as any attributes of the element.
+     */
+    private void readCustomAttributes(BaseElement element) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if (namespace == null || namespace.isEmpty() || XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(namespace)) {
+                continue;
+            }
+            EStructuralFeature feature = metaData.demandFeature(namespace, reader.getAttributeLocalName(i), false, false);
+            element.getAnyAttribute().add(
+                    new EStructuralFeatureImpl.SimpleFeatureMapEntry((EStructuralFeature.Internal) feature,
+                                                                     reader.getAttributeValue(i)));
+        }
+    }
+
+    private void register(BaseElement element) {
+        String id = attribute("id");
+        element.setId(id);
+        if (id != null) {
+            elements.put(id, element);
+        }
+    }
+
+    private <T extends BaseElement> void resolve(String id, Class<T> type, Consumer<T> setter) {
+        if (id == null) {
+            return;
+        }
+        references.add(() -> {
+            BaseElement element = elements.get(id);
+            if (type.isInstance(element)) {
+                setter.accept(type.cast(element));
+            }
+        });
+    }
+
+    /**
+     * Moves to the next child of the current element, returns false once the element ends.
+     */
+    private boolean nextChild() throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // Moves to the end of the current element, ignoring its content
+    private void skip() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private boolean is(String namespace, String localName) {
+        return localName.equals(reader.getLocalName()) && namespace.equals(reader.getNamespaceURI());
+    }
+
+    private void expect(String namespace, String localName) {
+        if (!is(namespace, localName)) {
+            throw unsupported();
+        }
+    }
+
+    private String attribute(String localName) {
+        return reader.getAttributeValue(null, localName);
+    }
+
+    private float floatAttribute(String localName) {
+        String value = attribute(localName);
+        return value == null ? 0f : Float.parseFloat(value);
+    }
+
+    private UnsupportedElementException unsupported() {
+        return new UnsupportedElementException(reader.getName());
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Raised for the elements the streaming reader doesn't support.
+     */
+    public static class UnsupportedElementException extends RuntimeException {
+
+        private final QName element;
+
+        UnsupportedElementException(QName element) {
+            super("Element not supported by the streaming reader: " + element);
+            this.element = element;
+        }
+
+        public QName getElement() {
+            return element;
+        }
+    }
+}
@@ -95,6 +95,20 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         String bpmnStr = ioService.readAllString(path);
         ClassLoader moduleClassLoader = getModuleClassLoader(module);
 
+        if (IndexingMode.PARSE.equals(getIndexingMode())) {
+            // single pass: the reference data is collected while the process is read, no knowledge base is built
+            final List<BpmnProcessDataEventListener> processDataList = parseProcessDefinitions(bpmnStr,
+                                                                                               moduleClassLoader,
+                                                                                               false,
+                                                                                               path);
+            for (BpmnProcessDataEventListener processData : processDataList) {
+                addReferencedResourcesToIndexBuilder(builder,
+                                                     processData);
+                builder.setPackageName(processData.getProcess().getPackageName());
+            }
+            return builder;
+        }
+
         try {
             List<BpmnProcessDataEventListener> processDataList = buildProcessDefinition(bpmnStr,
                                                                                         moduleClassLoader);
@@ -131,41 +145,68 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
          *
          * So until we can refactor the ProcessBuilderImpl logic (using functional logic for conditional handling?)
          * to be used here, let's keep it simple (as in, parsing the BPMN2 a second time when the build fails..)
+         *
+         * Use the PARSE indexing mode to skip the build, see {@link IndexingMode}.
          */
+        for (BpmnProcessDataEventListener processData : parseProcessDefinitions(bpmnStr,
+                                                                                moduleClassLoader,
+                                                                                true,
+                                                                                path)) {
+            addReferencedResourcesToIndexBuilder(builder,
+                                                 processData);
+        }
+
+        return builder;
+    }
 
-        // parse process definitions
+    // Protected method for testing
+    protected IndexingMode getIndexingMode() {
+        return IndexingMode.fromSystemProperty();
+    }
+
+    /**
+     * Reads the process definitions, collecting the reference data through the {@link BpmnProcessDataEventListener}
+     * without building them.
+     */
+    protected List<BpmnProcessDataEventListener> parseProcessDefinitions(final String bpmnStr,
+                                                                         final ClassLoader moduleClassLoader,
+                                                                         final boolean validate,
+                                                                         final Path path) {
         XmlProcessReader processReader = new XmlProcessReader(modules,
                                                               moduleClassLoader);
         List<Process> processes = Collections.emptyList();
         try {
             processes = processReader.read(new StringReader(bpmnStr));
         } catch (Exception e) {
-            logger.info("Unable to index because BPMN2 parsing failed [" + path.toString() + "]: " + e.getMessage());
+            logger.info("Unable to index because BPMN2 parsing failed [" + path + "]: " + e.getMessage());
         }
 
         // complete process definition processing
+        final List<BpmnProcessDataEventListener> processDataList = new ArrayList<>();
         if (processes != null) {
             for (Process process : processes) {
-                Resource resource = new ReaderResource(new StringReader(bpmnStr));
-                ProcessValidationError[] errors;
-
-                ProcessValidator validator = ProcessValidatorRegistry.getInstance().getValidator(process,
-                                                                                                 resource);
-                errors = validator.validateProcess(process);
-                if (errors.length > 0) {
-                    logger.error("Trying to finish indexing process '" + process.getId() + "/" + process.getName() + "' despite " + errors.length + " validation errors.");
+                if (validate) {
+                    Resource resource = new ReaderResource(new StringReader(bpmnStr));
+                    ProcessValidationError[] errors;
+
+                    ProcessValidator validator = ProcessValidatorRegistry.getInstance().getValidator(process,
+                                                                                                     resource);
+                    errors = validator.validateProcess(process);
+                    if (errors.length > 0) {
+                        logger.error("Trying to finish indexing process '" + process.getId() + "/" + process.getName() + "' despite " + errors.length + " validation errors.");
+                    }
                 }
                 processReader.getProcessBuildData().onBuildComplete(process);
 
                 BpmnProcessDataEventListener helper = (BpmnProcessDataEventListener) process.getMetaData().get(BpmnProcessDataEventListener.NAME);
-                addReferencedResourcesToIndexBuilder(builder,
-                                                     helper);
+                if (helper != null) {
+                    processDataList.add(helper);
+                }
             }
         } else {
-            logger.warn("No process was found in file: " + path.toUri());
+            logger.warn("No process was found in file: " + (path != null ? path.toUri() : null));
         }
-
-        return builder;
+        return processDataList;
     }
 
     // Protected method for testing
@@ -173,7 +214,7 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         return classLoaderHelper.getModuleClassLoader(module);
     }
 
-    private List<BpmnProcessDataEventListener> buildProcessDefinition(String bpmn2Content,
+    protected List<BpmnProcessDataEventListener> buildProcessDefinition(String bpmn2Content,
                                                                       ClassLoader moduleClassLoader) throws IllegalArgumentException {
         if (StringUtils.isEmpty(bpmn2Content)) {
             return Collections.<BpmnProcessDataEventListener>emptyList();
@@ -215,6 +256,42 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         return processDataList;
     }
 
+    /**
+     * How BPMN2 files are processed in order to collect their indexing information.
+     * <p>
+     * The mode is configured through the {@value #PROPERTY} system property.
+     */
+    public enum IndexingMode {
+
+        /**
+         * Processes are built into a knowledge base, so the types referenced from the dialect
+         * expressions (scripts, constraints) are indexed as well. Processes failing to build are parsed
+         * and validated again to index as much information as possible.
+         */
+        BUILD,
+
+        /**
+         * Processes are only parsed once, the reference data is collected straight from the reader.
+         * Types referenced from dialect expressions are not indexed.
+         */
+        PARSE;
+
+        public static final String PROPERTY = "org.kie.workbench.stunner.bpmn.indexing.mode";
+
+        public static IndexingMode fromSystemProperty() {
+            final String mode = System.getProperty(PROPERTY);
+            if (StringUtils.isEmpty(mode)) {
+                return BUILD;
+            }
+            try {
+                return IndexingMode.valueOf(mode.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown BPMN2 indexing mode '" + mode + "', using " + BUILD + ".");
+                return BUILD;
+            }
+        }
+    }
+
     protected DefaultIndexBuilder getIndexBuilder(Path path,
                                                   Module module) {
         final Package pkg = moduleService.resolvePackage(Paths.convert(path));
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner;
+
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.SequenceFlow;
+import org.eclipse.bpmn2.Task;
+import org.eclipse.bpmn2.di.BPMNDiagram;
+import org.eclipse.bpmn2.di.BPMNEdge;
+import org.eclipse.bpmn2.di.BPMNShape;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.Factories.bpmn2;
+import static org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.Factories.di;
+
+public class DefinitionResolverTest {
+
+    private DefinitionResolver definitionResolver;
+
+    @Before
+    public void setUp() {
+        Definitions definitions = bpmn2.createDefinitions();
+        definitions.getRootElements().add(bpmn2.createProcess());
+        BPMNDiagram bpmnDiagram = di.createBPMNDiagram();
+        bpmnDiagram.setPlane(di.createBPMNPlane());
+        definitions.getDiagrams().add(bpmnDiagram);
+
+        definitionResolver = new DefinitionResolver(definitions, Collections.emptyList());
+    }
+
+    @Test
+    public void getShapeAndEdge() {
+        BPMNShape task1 = shapeOf("TASK_1");
+        BPMNShape task2 = shapeOf("TASK_2");
+        BPMNEdge flow = edgeOf("FLOW_1");
+
+        assertSame(task1, definitionResolver.getShape("TASK_1"));
+        assertSame(task2, definitionResolver.getShape("TASK_2"));
+        assertSame(flow, definitionResolver.getEdge("FLOW_1"));
+        assertNull(definitionResolver.getShape("UNKNOWN"));
+    }
+
+    @Test
+    public void getShapeAddedAfterFirstLookup() {
+        shapeOf("TASK_1");
+        definitionResolver.getShape("TASK_1");
+
+        BPMNShape task2 = shapeOf("TASK_2");
+        assertSame(task2, definitionResolver.getShape("TASK_2"));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void getUnknownEdge() {
+        edgeOf("FLOW_1");
+        definitionResolver.getEdge("UNKNOWN");
+    }
+
+    private BPMNShape shapeOf(String id) {
+        Task task = bpmn2.createTask();
+        task.setId(id);
+
+        BPMNShape shape = di.createBPMNShape();
+        shape.setBpmnElement(task);
+        definitionResolver.getPlane().getPlaneElement().add(shape);
+        return shape;
+    }
+
+    private BPMNEdge edgeOf(String id) {
+        SequenceFlow sequenceFlow = bpmn2.createSequenceFlow();
+        sequenceFlow.setId(id);
+
+        BPMNEdge edge = di.createBPMNEdge();
+        edge.setBpmnElement(sequenceFlow);
+        definitionResolver.getPlane().getPlaneElement().add(edge);
+        return edge;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.EndEvent;
+import org.eclipse.bpmn2.ExclusiveGateway;
+import org.eclipse.bpmn2.FormalExpression;
+import org.eclipse.bpmn2.Process;
+import org.eclipse.bpmn2.SequenceFlow;
+import org.eclipse.bpmn2.StartEvent;
+import org.eclipse.bpmn2.Task;
+import org.eclipse.bpmn2.di.BPMNShape;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.bpmn.backend.converters.customproperties.CustomAttribute;
+import org.kie.workbench.common.stunner.bpmn.backend.converters.customproperties.CustomElement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingDefinitionsReaderTest {
+
+    private static final String HEADER =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                    "<bpmn2:definitions xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" " +
+                    "xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" " +
+                    "xmlns:bpmndi=\"http://www.omg.org/spec/BPMN/20100524/DI\" " +
+                    "xmlns:dc=\"http://www.omg.org/spec/DD/20100524/DC\" " +
+                    "xmlns:di=\"http://www.omg.org/spec/DD/20100524/DI\" " +
+                    "xmlns:drools=\"http://www.jboss.org/drools\" id=\"_Definitions\">\n";
+
+    private static final String PROCESS =
+            HEADER +
+                    "  <bpmn2:itemDefinition id=\"_varItem\" structureRef=\"String\"/>\n" +
+                    "  <bpmn2:process id=\"test.Process\" drools:packageName=\"org.jbpm\" drools:version=\"2.0\" name=\"Test\" isExecutable=\"true\">\n" +
+                    "    <bpmn2:property id=\"var\" itemSubjectRef=\"_varItem\"/>\n" +
+                    "    <bpmn2:startEvent id=\"start\" name=\"\">\n" +
+                    "      <bpmn2:outgoing>flow1</bpmn2:outgoing>\n" +
+                    "    </bpmn2:startEvent>\n" +
+                    "    <bpmn2:task id=\"task\" name=\"Task\" drools:bgcolor=\"#fafad2\">\n" +
+                    "      <bpmn2:documentation><![CDATA[Some documentation]]></bpmn2:documentation>\n" +
+                    "      <bpmn2:extensionElements>\n" +
+                    "        <drools:metaData name=\"elementname\">\n" +
+                    "          <drools:metaValue><![CDATA[Task name]]></drools:metaValue>\n" +
+                    "        </drools:metaData>\n" +
+                    "      </bpmn2:extensionElements>\n" +
+                    "      <bpmn2:incoming>flow1</bpmn2:incoming>\n" +
+                    "      <bpmn2:outgoing>flow2</bpmn2:outgoing>\n" +
+                    "    </bpmn2:task>\n" +
+                    "    <bpmn2:exclusiveGateway id=\"gateway\" drools:dg=\"flow3\" gatewayDirection=\"Diverging\"/>\n" +
+                    "    <bpmn2:endEvent id=\"end\" name=\"\"/>\n" +
+                    "    <bpmn2:sequenceFlow id=\"flow1\" sourceRef=\"start\" targetRef=\"task\"/>\n" +
+                    "    <bpmn2:sequenceFlow id=\"flow2\" sourceRef=\"task\" targetRef=\"gateway\"/>\n" +
+                    "    <bpmn2:sequenceFlow id=\"flow3\" drools:priority=\"1\" sourceRef=\"gateway\" targetRef=\"end\">\n" +
+                    "      <bpmn2:conditionExpression xsi:type=\"bpmn2:tFormalExpression\" language=\"http://www.java.com/java\">return true;</bpmn2:conditionExpression>\n" +
+                    "    </bpmn2:sequenceFlow>\n" +
+                    "  </bpmn2:process>\n" +
+                    "  <bpmndi:BPMNDiagram id=\"_Diagram\">\n" +
+                    "    <bpmndi:BPMNPlane id=\"_Plane\" bpmnElement=\"test.Process\">\n" +
+                    "      <bpmndi:BPMNShape id=\"task_shape\" bpmnElement=\"task\">\n" +
+                    "        <dc:Bounds height=\"80.0\" width=\"100.0\" x=\"150.0\" y=\"50.0\"/>\n" +
+                    "        <bpmndi:BPMNLabel/>\n" +
+                    "      </bpmndi:BPMNShape>\n" +
+                    "      <bpmndi:BPMNEdge id=\"flow1_edge\" bpmnElement=\"flow1\">\n" +
+                    "        <di:waypoint xsi:type=\"dc:Point\" x=\"30.0\" y=\"90.0\"/>\n" +
+                    "        <di:waypoint xsi:type=\"dc:Point\" x=\"150.0\" y=\"90.0\"/>\n" +
+                    "      </bpmndi:BPMNEdge>\n" +
+                    "    </bpmndi:BPMNPlane>\n" +
+                    "  </bpmndi:BPMNDiagram>\n" +
+                    "</bpmn2:definitions>\n";
+
+    @Test
+    public void testRead() throws Exception {
+        Definitions definitions = read(PROCESS);
+        DefinitionResolver definitionResolver = new DefinitionResolver(definitions, Collections.emptyList());
+
+        assertEquals("_Definitions", definitions.getId());
+        Process process = definitionResolver.getProcess();
+        assertEquals("test.Process", process.getId());
+        assertEquals("Test", process.getName());
+        assertTrue(process.isIsExecutable());
+        assertEquals("org.jbpm", CustomAttribute.packageName.of(process).get());
+        assertEquals("2.0", CustomAttribute.version.of(process).get());
+        assertEquals("var", process.getProperties().get(0).getId());
+        assertEquals("String", process.getProperties().get(0).getItemSubjectRef().getStructureRef());
+
+        assertEquals(7, process.getFlowElements().size());
+        StartEvent start = (StartEvent) process.getFlowElements().get(0);
+        Task task = (Task) process.getFlowElements().get(1);
+        ExclusiveGateway gateway = (ExclusiveGateway) process.getFlowElements().get(2);
+        EndEvent end = (EndEvent) process.getFlowElements().get(3);
+        assertTrue(start.isIsInterrupting());
+        assertEquals("Task", task.getName());
+        assertEquals("Task name", CustomElement.name.of(task).get());
+        assertEquals("Some documentation", task.getDocumentation().get(0).getText());
+        assertEquals("flow3", CustomAttribute.dg.of(gateway).get());
+
+        SequenceFlow flow1 = (SequenceFlow) process.getFlowElements().get(4);
+        assertSame(start, flow1.getSourceRef());
+        assertSame(task, flow1.getTargetRef());
+        SequenceFlow flow3 = (SequenceFlow) process.getFlowElements().get(6);
+        assertSame(gateway, flow3.getSourceRef());
+        assertSame(end, flow3.getTargetRef());
+        assertEquals("1", CustomAttribute.priority.of(flow3).get());
+        FormalExpression condition = (FormalExpression) flow3.getConditionExpression();
+        assertEquals("http://www.java.com/java", condition.getLanguage());
+        assertEquals("return true;", condition.getBody());
+
+        assertSame(process, definitionResolver.getPlane().getBpmnElement());
+        BPMNShape shape = definitionResolver.getShape("task");
+        assertEquals(150f, shape.getBounds().getX(), 0f);
+        assertEquals(50f, shape.getBounds().getY(), 0f);
+        assertEquals(100f, shape.getBounds().getWidth(), 0f);
+        assertEquals(80f, shape.getBounds().getHeight(), 0f);
+        assertEquals(2, definitionResolver.getEdge("flow1").getWaypoint().size());
+        assertEquals(150f, definitionResolver.getEdge("flow1").getWaypoint().get(1).getX(), 0f);
+    }
+
+    @Test(expected = StreamingDefinitionsReader.UnsupportedElementException.class)
+    public void testReadUnsupportedElement() throws Exception {
+        read(HEADER +
+                     "  <bpmn2:process id=\"test.Process\">\n" +
+                     "    <bpmn2:userTask id=\"task\"/>\n" +
+                     "  </bpmn2:process>\n" +
+                     "</bpmn2:definitions>\n");
+    }
+
+    @Test(expected = StreamingDefinitionsReader.UnsupportedElementException.class)
+    public void testReadUnsupportedEventDefinition() throws Exception {
+        read(HEADER +
+                     "  <bpmn2:process id=\"test.Process\">\n" +
+                     "    <bpmn2:startEvent id=\"start\">\n" +
+                     "      <bpmn2:signalEventDefinition id=\"signal\"/>\n" +
+                     "    </bpmn2:startEvent>\n" +
+                     "  </bpmn2:process>\n" +
+                     "</bpmn2:definitions>\n");
+    }
+
+    @Test(expected = StreamingDefinitionsReader.UnsupportedElementException.class)
+    public void testReadServiceTask() throws Exception {
+        read(HEADER +
+                     "  <bpmn2:process id=\"test.Process\">\n" +
+                     "    <bpmn2:task id=\"task\" drools:taskName=\"Email\"/>\n" +
+                     "  </bpmn2:process>\n" +
+                     "</bpmn2:definitions>\n");
+    }
+
+    private static Definitions read(String xml) throws Exception {
+        return StreamingDefinitionsReader.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -145,6 +145,7 @@ public abstract class BPMNDiagramMarshallerBase {
 
     protected BPMNDiagramMarshaller oldMarshaller;
     protected BPMNDirectDiagramMarshaller newMarshaller;
+    protected BPMNDirectDiagramMarshaller streamingMarshaller;
     protected WorkItemDefinitionMockRegistry workItemDefinitionMockRegistry;
 
     @SuppressWarnings("unchecked")
@@ -343,6 +344,16 @@ public abstract class BPMNDiagramMarshallerBase {
                 applicationFactoryManager,
                 commandFactory,
                 commandManager);
+
+        streamingMarshaller = new BPMNDirectDiagramMarshaller(
+                new XMLEncoderDiagramMetadataMarshaller(),
+                definitionManager,
+                rulesManager,
+                widService,
+                applicationFactoryManager,
+                commandFactory,
+                commandManager);
+        streamingMarshaller.setStreamingReader(true);
     }
 
     @SuppressWarnings("unchecked")
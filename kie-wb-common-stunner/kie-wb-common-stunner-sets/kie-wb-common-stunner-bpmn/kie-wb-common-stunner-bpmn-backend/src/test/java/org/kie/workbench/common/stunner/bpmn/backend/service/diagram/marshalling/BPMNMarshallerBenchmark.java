@@ -0,0 +1,265 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.service.diagram.marshalling;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.kie.workbench.common.stunner.bpmn.backend.service.diagram.Unmarshalling;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+
+/**
+ * Measures the unmarshall and marshall throughput, latency percentiles, allocation and peak heap
+ * usage of the legacy {@link Marshaller#OLD} (JSON-bridged) and the {@link Marshaller#NEW} (direct)
+ * BPMN marshallers, on a corpus of processes generated by {@link BPMNProcessGenerator}.
+ * The direct marshaller is also measured with its streaming reader enabled, as "STREAM". The
+ * tasks-* processes are read by the streaming reader, the other ones contain elements it doesn't
+ * support yet, so they are still loaded as EMF resources.
+ * <p>
+ * The peak heap usage is the growth of the heap pools during a single operation, after a full GC.
+ * <p>
+ * Marshallers of other modules, as the case management one, are measured on the same corpus by
+ * calling {@link #run(Map, String[])} with them along with the BPMN ones.
+ * <p>
+ * Run it from the IDE or with "mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=..." and,
+ * optionally, the number of measured iterations as argument. Allocation is only reported on JVMs
+ * supporting per thread allocation accounting.
+ */
+public class BPMNMarshallerBenchmark extends BPMNDiagramMarshallerBase {
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    public static void main(String[] args) throws Exception {
+        BPMNMarshallerBenchmark benchmark = new BPMNMarshallerBenchmark();
+        benchmark.init();
+        run(benchmark.getMarshallers(),
+            args);
+    }
+
+    /**
+     * Returns the BPMN marshallers to measure, by the name they are reported with.
+     */
+    public Map<String, DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>>> getMarshallers() {
+        Map<String, DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>>> marshallers = new LinkedHashMap<>();
+        marshallers.put(Marshaller.OLD.name(),
+                        oldMarshaller);
+        marshallers.put(Marshaller.NEW.name(),
+                        newMarshaller);
+        marshallers.put("STREAM",
+                        streamingMarshaller);
+        return marshallers;
+    }
+
+    /**
+     * Measures each of the given marshallers on every process of the corpus and prints the results.
+     * The optional first argument is the number of measured iterations.
+     */
+    public static void run(Map<String, DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>>> marshallers,
+                           String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+
+        Map<String, String> corpus = new LinkedHashMap<>();
+        corpus.put("tasks-100",
+                   new BPMNProcessGenerator().tasks(100).generate());
+        corpus.put("tasks-1000",
+                   new BPMNProcessGenerator().tasks(1000).generate());
+        corpus.put("tasks-5000",
+                   new BPMNProcessGenerator().tasks(5000).generate());
+        corpus.put("lanes-20x500",
+                   new BPMNProcessGenerator().tasks(500).lanes(20).generate());
+        corpus.put("subprocesses-10x100",
+                   new BPMNProcessGenerator().tasks(100).subProcessDepth(10).generate());
+        corpus.put("dataIO-200x10",
+                   new BPMNProcessGenerator().tasks(200).dataIO(10).generate());
+
+        System.out.println(String.format("%-22s %-6s %-10s %10s %10s %10s %10s %12s %10s",
+                                         "process",
+                                         "impl",
+                                         "operation",
+                                         "ops/s",
+                                         "p50 ms",
+                                         "p90 ms",
+                                         "p99 ms",
+                                         "alloc MB/op",
+                                         "peak MB"));
+        for (Map.Entry<String, String> process : corpus.entrySet()) {
+            for (Map.Entry<String, DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>>> marshaller : marshallers.entrySet()) {
+                run(process.getKey(),
+                    process.getValue(),
+                    marshaller.getKey(),
+                    marshaller.getValue(),
+                    iterations);
+            }
+        }
+    }
+
+    private static void run(String name,
+                            String xml,
+                            String marshallerName,
+                            DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller,
+                            int iterations) {
+        try {
+            report(name,
+                   marshallerName,
+                   "unmarshall",
+                   measure(iterations,
+                           () -> Unmarshalling.unmarshall(marshaller,
+                                                          getStream(xml))));
+            Diagram<Graph, Metadata> diagram = Unmarshalling.unmarshall(marshaller,
+                                                                        getStream(xml));
+            report(name,
+                   marshallerName,
+                   "marshall",
+                   measure(iterations,
+                           () -> marshaller.marshall(diagram)));
+        } catch (Exception e) {
+            System.out.println(String.format("%-22s %-6s failed: %s",
+                                             name,
+                                             marshallerName,
+                                             e));
+        }
+    }
+
+    private static InputStream getStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Result measure(int iterations,
+                                  Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long[] latencies = new long[iterations];
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long operationStart = System.nanoTime();
+            operation.run();
+            latencies[i] = System.nanoTime() - operationStart;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        Arrays.sort(latencies);
+        return new Result(iterations / (elapsed / 1_000_000_000.0),
+                          percentile(latencies,
+                                     50),
+                          percentile(latencies,
+                                     90),
+                          percentile(latencies,
+                                     99),
+                          allocatedBefore < 0 ? -1 : allocated / (double) iterations,
+                          peakHeapBytes(operation));
+    }
+
+    private static long peakHeapBytes(Operation operation) throws Exception {
+        System.gc();
+        long usedBefore = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+                usedBefore += pool.getUsage().getUsed();
+            }
+        }
+        operation.run();
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return Math.max(peak - usedBefore,
+                        0);
+    }
+
+    private static double percentile(long[] sortedLatencies,
+                                     int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index,
+                                        0)] / 1_000_000.0;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotSpotThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (hotSpotThreadMXBean.isThreadAllocatedMemorySupported() && hotSpotThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return hotSpotThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static void report(String name,
+                               String marshaller,
+                               String operation,
+                               Result result) {
+        System.out.println(String.format("%-22s %-6s %-10s %10.2f %10.2f %10.2f %10.2f %12s %10.2f",
+                                         name,
+                                         marshaller,
+                                         operation,
+                                         result.throughput,
+                                         result.p50,
+                                         result.p90,
+                                         result.p99,
+                                         result.allocatedBytes < 0 ?
+                                                 "n/a" :
+                                                 String.format("%.2f",
+                                                               result.allocatedBytes / (1024 * 1024)),
+                                         result.peakHeapBytes / (1024.0 * 1024)));
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        Object run() throws Exception;
+    }
+
+    private static class Result {
+
+        private final double throughput;
+        private final double p50;
+        private final double p90;
+        private final double p99;
+        private final double allocatedBytes;
+        private final long peakHeapBytes;
+
+        private Result(double throughput,
+                       double p50,
+                       double p90,
+                       double p99,
+                       double allocatedBytes,
+                       long peakHeapBytes) {
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+    }
+}
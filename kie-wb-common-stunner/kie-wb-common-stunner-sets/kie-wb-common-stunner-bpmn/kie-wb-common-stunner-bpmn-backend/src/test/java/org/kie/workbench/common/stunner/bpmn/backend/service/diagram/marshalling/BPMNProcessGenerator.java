@@ -0,0 +1,422 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.service.diagram.marshalling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates jBPM BPMN2 processes of a given size and structure, in the same format as the
+ * test resources written by the designer: a start event, a chain of tasks and an end event,
+ * optionally spread across lanes, nested into embedded subprocesses or with data inputs and
+ * outputs on every task.
+ */
+public class BPMNProcessGenerator {
+
+    private static final int COLUMNS = 10;
+    private static final double CELL_WIDTH = 150;
+    private static final double CELL_HEIGHT = 130;
+    private static final double TASK_WIDTH = 100;
+    private static final double TASK_HEIGHT = 80;
+    private static final double LANE_HEADER = 40;
+
+    private int tasks = 10;
+    private int lanes = 0;
+    private int subProcessDepth = 0;
+    private int dataIO = 0;
+
+    private final StringBuilder process = new StringBuilder();
+    private final StringBuilder diagram = new StringBuilder();
+    private final Map<String, double[]> bounds = new HashMap<>();
+    private final Map<String, List<String>> laneNodes = new HashMap<>();
+    private int ids;
+
+    public BPMNProcessGenerator tasks(int tasks) {
+        this.tasks = tasks;
+        return this;
+    }
+
+    /**
+     * Spreads the tasks of the process across the given number of lanes.
+     */
+    public BPMNProcessGenerator lanes(int lanes) {
+        this.lanes = lanes;
+        return this;
+    }
+
+    /**
+     * Nests the tasks into the given number of embedded subprocesses, one inside the other.
+     */
+    public BPMNProcessGenerator subProcessDepth(int subProcessDepth) {
+        this.subProcessDepth = subProcessDepth;
+        return this;
+    }
+
+    /**
+     * Makes every task a user task with the given number of data inputs and outputs,
+     * each of them mapped to a process variable.
+     */
+    public BPMNProcessGenerator dataIO(int dataIO) {
+        this.dataIO = dataIO;
+        return this;
+    }
+
+    public String generate() {
+        process.setLength(0);
+        diagram.setLength(0);
+        bounds.clear();
+        laneNodes.clear();
+        ids = 0;
+
+        final String processId = "benchmark.Process";
+        if (subProcessDepth > 0) {
+            level(subProcessDepth,
+                  0,
+                  0);
+        } else {
+            chain(0,
+                  0);
+        }
+
+        final StringBuilder xml = new StringBuilder(process.length() + diagram.length() + 4096);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<bpmn2:definitions xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xmlns=\"http://www.omg.org/bpmn20\" ")
+                .append("xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" xmlns:bpmndi=\"http://www.omg.org/spec/BPMN/20100524/DI\" ")
+                .append("xmlns:bpsim=\"http://www.bpsim.org/schemas/1.0\" xmlns:color=\"http://www.omg.org/spec/BPMN/non-normative/color\" ")
+                .append("xmlns:dc=\"http://www.omg.org/spec/DD/20100524/DC\" xmlns:di=\"http://www.omg.org/spec/DD/20100524/DI\" ")
+                .append("xmlns:drools=\"http://www.jboss.org/drools\" id=\"_BenchmarkDefinitions\" ")
+                .append("exporter=\"jBPM Designer\" exporterVersion=\"6.2.0\" expressionLanguage=\"http://www.mvel.org/2.0\" ")
+                .append("targetNamespace=\"http://www.omg.org/bpmn20\" typeLanguage=\"http://www.java.com/javaTypes\">\n");
+        for (int i = 0; i < dataIO; i++) {
+            xml.append("  <bpmn2:itemDefinition id=\"_var").append(i).append("Item\" structureRef=\"String\"/>\n");
+        }
+        xml.append("  <bpmn2:process id=\"").append(processId)
+                .append("\" drools:packageName=\"org.jbpm\" drools:version=\"1.0\" name=\"Benchmark\" isExecutable=\"true\">\n");
+        for (int i = 0; i < dataIO; i++) {
+            xml.append("    <bpmn2:property id=\"var").append(i).append("\" itemSubjectRef=\"_var").append(i).append("Item\"/>\n");
+        }
+        if (lanes > 0) {
+            xml.append("    <bpmn2:laneSet id=\"_BenchmarkLaneSet\">\n");
+            for (int lane = 0; lane < lanes; lane++) {
+                final String laneId = laneId(lane);
+                xml.append("      <bpmn2:lane id=\"").append(laneId).append("\" name=\"Lane").append(lane).append("\">\n");
+                metaData(xml,
+                         "        ",
+                         "Lane" + lane);
+                for (String node : laneNodes.getOrDefault(laneId,
+                                                          new ArrayList<>())) {
+                    xml.append("        <bpmn2:flowNodeRef>").append(node).append("</bpmn2:flowNodeRef>\n");
+                }
+                xml.append("      </bpmn2:lane>\n");
+            }
+            xml.append("    </bpmn2:laneSet>\n");
+        }
+        xml.append(process);
+        xml.append("  </bpmn2:process>\n")
+                .append("  <bpmndi:BPMNDiagram id=\"_BenchmarkDiagram\">\n")
+                .append("    <bpmndi:BPMNPlane id=\"_BenchmarkPlane\" bpmnElement=\"").append(processId).append("\">\n");
+        if (lanes > 0) {
+            final double laneWidth = COLUMNS * CELL_WIDTH + LANE_HEADER + 200;
+            final double laneHeight = laneHeight();
+            for (int lane = 0; lane < lanes; lane++) {
+                shape(laneId(lane),
+                      0,
+                      lane * laneHeight,
+                      laneWidth,
+                      laneHeight);
+            }
+        }
+        xml.append(diagram);
+        xml.append("    </bpmndi:BPMNPlane>\n")
+                .append("  </bpmndi:BPMNDiagram>\n")
+                .append("</bpmn2:definitions>\n");
+        return xml.toString();
+    }
+
+    /**
+     * Writes an embedded subprocess containing the next level, or the task chain for the innermost one,
+     * and returns its size.
+     */
+    private double[] level(int depth,
+                           double x,
+                           double y) {
+        final String startId = nextId("StartEvent");
+        final String endId = nextId("EndEvent");
+        final String subProcessId = nextId("SubProcess");
+        final String toSubProcess = nextId("SequenceFlow");
+        final String toEnd = nextId("SequenceFlow");
+
+        startEvent(startId,
+                   toSubProcess,
+                   x + 20,
+                   y + 20);
+        final double childX = x + 80;
+        final double childY = y + 40;
+        process.append("<bpmn2:subProcess id=\"").append(subProcessId).append("\" name=\"").append(subProcessId).append("\">\n");
+        metaData(process,
+                 "",
+                 subProcessId);
+        process.append("<bpmn2:incoming>").append(toSubProcess).append("</bpmn2:incoming>\n")
+                .append("<bpmn2:outgoing>").append(toEnd).append("</bpmn2:outgoing>\n");
+        final double[] content = depth > 1 ?
+                level(depth - 1,
+                      childX + 20,
+                      childY + 20) :
+                chain(childX + 20,
+                      childY + 20);
+        process.append("</bpmn2:subProcess>\n");
+        final double subProcessWidth = content[0] + 40;
+        final double subProcessHeight = content[1] + 40;
+        shape(subProcessId,
+              childX,
+              childY,
+              subProcessWidth,
+              subProcessHeight);
+        endEvent(endId,
+                 toEnd,
+                 x + 20,
+                 childY + subProcessHeight - 28);
+        sequenceFlow(toSubProcess,
+                     startId,
+                     subProcessId);
+        sequenceFlow(toEnd,
+                     subProcessId,
+                     endId);
+        return new double[]{subProcessWidth + 80, subProcessHeight + 40};
+    }
+
+    /**
+     * Writes the start event, the tasks and the end event, connected in sequence, and returns their size.
+     */
+    private double[] chain(double x,
+                           double y) {
+        final String startId = nextId("StartEvent");
+        String incoming = nextId("SequenceFlow");
+        startEvent(startId,
+                   incoming,
+                   x,
+                   y + (TASK_HEIGHT - 30) / 2 + (lanes > 0 ? LANE_HEADER : 0));
+        addToLane(startId,
+                  0);
+        String previous = startId;
+        final double tasksX = x + 60 + (lanes > 0 ? LANE_HEADER : 0);
+        final int rowsPerLane = rowsPerLane();
+        for (int i = 0; i < tasks; i++) {
+            final String taskId = nextId("Task");
+            final String outgoing = nextId("SequenceFlow");
+            final int lane = lanes > 0 ? i % lanes : 0;
+            final int slot = lanes > 0 ? i / lanes : i;
+            final double taskX = tasksX + (slot % COLUMNS) * CELL_WIDTH;
+            final double taskY = lanes > 0 ?
+                    lane * laneHeight() + LANE_HEADER + (slot / COLUMNS) * CELL_HEIGHT :
+                    y + (i / COLUMNS) * CELL_HEIGHT;
+            task(taskId,
+                 incoming,
+                 outgoing,
+                 taskX,
+                 taskY);
+            addToLane(taskId,
+                      lane);
+            sequenceFlow(incoming,
+                         previous,
+                         taskId);
+            previous = taskId;
+            incoming = outgoing;
+        }
+        final String endId = nextId("EndEvent");
+        final int endSlot = lanes > 0 ? tasks / lanes : tasks;
+        final double endX = tasksX + (endSlot % COLUMNS) * CELL_WIDTH;
+        final double endY = lanes > 0 ?
+                LANE_HEADER + (endSlot / COLUMNS) * CELL_HEIGHT :
+                y + (tasks / COLUMNS) * CELL_HEIGHT;
+        endEvent(endId,
+                 incoming,
+                 endX,
+                 endY);
+        addToLane(endId,
+                  0);
+        sequenceFlow(incoming,
+                     previous,
+                     endId);
+        final int rows = lanes > 0 ? rowsPerLane * lanes : tasks / COLUMNS + 1;
+        return new double[]{tasksX - x + COLUMNS * CELL_WIDTH, rows * CELL_HEIGHT};
+    }
+
+    private void startEvent(String id,
+                            String outgoing,
+                            double x,
+                            double y) {
+        process.append("<bpmn2:startEvent id=\"").append(id).append("\" name=\"\">\n");
+        metaData(process,
+                 "",
+                 "");
+        process.append("<bpmn2:outgoing>").append(outgoing).append("</bpmn2:outgoing>\n")
+                .append("</bpmn2:startEvent>\n");
+        shape(id,
+              x,
+              y,
+              30,
+              30);
+    }
+
+    private void endEvent(String id,
+                          String incoming,
+                          double x,
+                          double y) {
+        process.append("<bpmn2:endEvent id=\"").append(id).append("\" name=\"\">\n");
+        metaData(process,
+                 "",
+                 "");
+        process.append("<bpmn2:incoming>").append(incoming).append("</bpmn2:incoming>\n")
+                .append("</bpmn2:endEvent>\n");
+        shape(id,
+              x,
+              y,
+              28,
+              28);
+    }
+
+    private void task(String id,
+                      String incoming,
+                      String outgoing,
+                      double x,
+                      double y) {
+        final String element = dataIO > 0 ? "bpmn2:userTask" : "bpmn2:task";
+        process.append('<').append(element).append(" id=\"").append(id).append("\" name=\"").append(id).append("\">\n");
+        metaData(process,
+                 "",
+                 id);
+        process.append("<bpmn2:incoming>").append(incoming).append("</bpmn2:incoming>\n")
+                .append("<bpmn2:outgoing>").append(outgoing).append("</bpmn2:outgoing>\n");
+        if (dataIO > 0) {
+            dataIO(id);
+        }
+        process.append("</").append(element).append(">\n");
+        shape(id,
+              x,
+              y,
+              TASK_WIDTH,
+              TASK_HEIGHT);
+    }
+
+    private void dataIO(String taskId) {
+        process.append("<bpmn2:ioSpecification id=\"").append(nextId("IOSpecification")).append("\">\n");
+        for (int i = 0; i < dataIO; i++) {
+            process.append("<bpmn2:dataInput id=\"").append(taskId).append("_in").append(i)
+                    .append("InputX\" drools:dtype=\"String\" itemSubjectRef=\"_var").append(i)
+                    .append("Item\" name=\"in").append(i).append("\"/>\n");
+        }
+        for (int i = 0; i < dataIO; i++) {
+            process.append("<bpmn2:dataOutput id=\"").append(taskId).append("_out").append(i)
+                    .append("OutputX\" drools:dtype=\"String\" itemSubjectRef=\"_var").append(i)
+                    .append("Item\" name=\"out").append(i).append("\"/>\n");
+        }
+        process.append("<bpmn2:inputSet id=\"").append(nextId("InputSet")).append("\">\n");
+        for (int i = 0; i < dataIO; i++) {
+            process.append("<bpmn2:dataInputRefs>").append(taskId).append("_in").append(i).append("InputX</bpmn2:dataInputRefs>\n");
+        }
+        process.append("</bpmn2:inputSet>\n")
+                .append("<bpmn2:outputSet id=\"").append(nextId("OutputSet")).append("\">\n");
+        for (int i = 0; i < dataIO; i++) {
+            process.append("<bpmn2:dataOutputRefs>").append(taskId).append("_out").append(i).append("OutputX</bpmn2:dataOutputRefs>\n");
+        }
+        process.append("</bpmn2:outputSet>\n")
+                .append("</bpmn2:ioSpecification>\n");
+        for (int i = 0; i < dataIO; i++) {
+            process.append("<bpmn2:dataInputAssociation id=\"").append(nextId("DataInputAssociation")).append("\">\n")
+                    .append("<bpmn2:sourceRef>var").append(i).append("</bpmn2:sourceRef>\n")
+                    .append("<bpmn2:targetRef>").append(taskId).append("_in").append(i).append("InputX</bpmn2:targetRef>\n")
+                    .append("</bpmn2:dataInputAssociation>\n");
+        }
+        for (int i = 0; i < dataIO; i++) {
+            process.append("<bpmn2:dataOutputAssociation id=\"").append(nextId("DataOutputAssociation")).append("\">\n")
+                    .append("<bpmn2:sourceRef>").append(taskId).append("_out").append(i).append("OutputX</bpmn2:sourceRef>\n")
+                    .append("<bpmn2:targetRef>var").append(i).append("</bpmn2:targetRef>\n")
+                    .append("</bpmn2:dataOutputAssociation>\n");
+        }
+    }
+
+    private void sequenceFlow(String id,
+                              String sourceId,
+                              String targetId) {
+        process.append("<bpmn2:sequenceFlow id=\"").append(id)
+                .append("\" sourceRef=\"").append(sourceId)
+                .append("\" targetRef=\"").append(targetId).append("\"/>\n");
+        final double[] source = bounds.get(sourceId);
+        final double[] target = bounds.get(targetId);
+        diagram.append("      <bpmndi:BPMNEdge id=\"").append(id).append("_edge\" bpmnElement=\"").append(id).append("\">\n");
+        waypoint(source[0] + source[2] / 2,
+                 source[1] + source[3] / 2);
+        waypoint(target[0] + target[2] / 2,
+                 target[1] + target[3] / 2);
+        diagram.append("      </bpmndi:BPMNEdge>\n");
+    }
+
+    private void waypoint(double x,
+                          double y) {
+        diagram.append("        <di:waypoint xsi:type=\"dc:Point\" x=\"").append(x).append("\" y=\"").append(y).append("\"/>\n");
+    }
+
+    private void shape(String id,
+                       double x,
+                       double y,
+                       double width,
+                       double height) {
+        bounds.put(id,
+                   new double[]{x, y, width, height});
+        diagram.append("      <bpmndi:BPMNShape id=\"").append(id).append("_shape\" bpmnElement=\"").append(id).append("\">\n")
+                .append("        <dc:Bounds height=\"").append(height).append("\" width=\"").append(width)
+                .append("\" x=\"").append(x).append("\" y=\"").append(y).append("\"/>\n")
+                .append("      </bpmndi:BPMNShape>\n");
+    }
+
+    private static void metaData(StringBuilder xml,
+                                 String indent,
+                                 String name) {
+        xml.append(indent).append("<bpmn2:extensionElements>\n")
+                .append(indent).append("  <drools:metaData name=\"elementname\">\n")
+                .append(indent).append("    <drools:metaValue><![CDATA[").append(name).append("]]></drools:metaValue>\n")
+                .append(indent).append("  </drools:metaData>\n")
+                .append(indent).append("</bpmn2:extensionElements>\n");
+    }
+
+    private void addToLane(String nodeId,
+                           int lane) {
+        if (lanes > 0) {
+            laneNodes.computeIfAbsent(laneId(lane),
+                                      id -> new ArrayList<>()).add(nodeId);
+        }
+    }
+
+    private int rowsPerLane() {
+        return lanes > 0 ? tasks / lanes / COLUMNS + 1 : 0;
+    }
+
+    private double laneHeight() {
+        return rowsPerLane() * CELL_HEIGHT + LANE_HEADER;
+    }
+
+    private static String laneId(int lane) {
+        return "_Lane" + lane;
+    }
+
+    private String nextId(String prefix) {
+        return "_" + prefix + "_" + (ids++);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.service.diagram.marshalling;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+
+public class BPMNProcessGeneratorTest extends BPMNDiagramMarshallerBase {
+
+    @Before
+    public void setUp() {
+        super.init();
+    }
+
+    // BPMNDiagram, StartNode, EndNode and the tasks
+    @Test
+    public void testTasks() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(newMarshaller,
+                                                      getStream(new BPMNProcessGenerator().tasks(25).generate()));
+        assertDiagram(diagram,
+                      28);
+    }
+
+    @Test
+    public void testLanes() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(newMarshaller,
+                                                      getStream(new BPMNProcessGenerator().tasks(25).lanes(4).generate()));
+        assertDiagram(diagram,
+                      32);
+    }
+
+    // Every subprocess comes with its own StartNode and EndNode
+    @Test
+    public void testSubProcesses() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(newMarshaller,
+                                                      getStream(new BPMNProcessGenerator().tasks(25).subProcessDepth(3).generate()));
+        assertDiagram(diagram,
+                      37);
+    }
+
+    @Test
+    public void testDataIO() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(newMarshaller,
+                                                      getStream(new BPMNProcessGenerator().tasks(25).dataIO(5).generate()));
+        assertDiagram(diagram,
+                      28);
+    }
+
+    @Test
+    public void testTasksWithTheStreamingReader() throws Exception {
+        String process = new BPMNProcessGenerator().tasks(25).generate();
+        Diagram<Graph, Metadata> diagram = unmarshall(streamingMarshaller,
+                                                      getStream(process));
+        assertDiagram(diagram,
+                      28);
+        assertDiagramEquals(unmarshall(newMarshaller,
+                                       getStream(process)),
+                            diagram,
+                            "tasks-25");
+    }
+
+    // Lanes are not supported by the streaming reader, the process is loaded as an EMF resource
+    @Test
+    public void testLanesWithTheStreamingReader() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(streamingMarshaller,
+                                                      getStream(new BPMNProcessGenerator().tasks(25).lanes(4).generate()));
+        assertDiagram(diagram,
+                      32);
+    }
+}
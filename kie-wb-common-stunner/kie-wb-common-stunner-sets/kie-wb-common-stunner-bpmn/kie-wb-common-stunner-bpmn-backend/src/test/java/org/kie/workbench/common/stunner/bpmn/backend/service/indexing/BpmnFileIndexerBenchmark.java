@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.service.indexing;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnProcessDataEventListener;
+
+/**
+ * Compares the BUILD and PARSE indexing modes of the BpmnFileIndexer on generated processes of increasing size.
+ * <p>
+ * It's not run as part of the test suite, run it from the IDE or with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.kie.workbench.common.stunner.bpmn.backend.service.indexing.BpmnFileIndexerBenchmark
+ * </pre>
+ */
+public class BpmnFileIndexerBenchmark {
+
+    private static final int[] PROCESS_SIZES = {50, 200, 1000};
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    public static void main(final String[] args) {
+        final BpmnFileIndexerIndexingModeTest.IndexerUnderTest indexer = new BpmnFileIndexerIndexingModeTest.IndexerUnderTest();
+        System.out.println(String.format("%-10s %-8s %12s",
+                                         "tasks",
+                                         "mode",
+                                         "avg ms/file"));
+        for (final int size : PROCESS_SIZES) {
+            final String bpmn = generateProcess(size);
+            report(size,
+                   "BUILD",
+                   measure(bpmn,
+                           content -> {
+                               // the BUILD mode always parses the process again after building it
+                               indexer.build(content);
+                               return indexer.parse(content);
+                           }));
+            report(size,
+                   "PARSE",
+                   measure(bpmn,
+                           indexer::parse));
+        }
+    }
+
+    private static double measure(final String bpmn,
+                                  final Function<String, List<BpmnProcessDataEventListener>> indexing) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            check(indexing.apply(bpmn));
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            check(indexing.apply(bpmn));
+        }
+        return (System.nanoTime() - start) / 1_000_000d / ITERATIONS;
+    }
+
+    private static void check(final List<BpmnProcessDataEventListener> result) {
+        if (result.size() != 1) {
+            throw new IllegalStateException("The generated process could not be indexed.");
+        }
+    }
+
+    private static void report(final int size,
+                               final String mode,
+                               final double avgMillis) {
+        System.out.println(String.format("%-10d %-8s %12.2f",
+                                         size,
+                                         mode,
+                                         avgMillis));
+    }
+
+    /**
+     * Generates a sequential process with the given number of tasks, alternating script tasks, user tasks
+     * with on-entry scripts and signal catching events, which use a set of process variables and globals.
+     */
+    static String generateProcess(final int tasks) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<definitions id=\"Definition\" targetNamespace=\"\"")
+                .append(" typeLanguage=\"http://www.java.com/javaTypes\"")
+                .append(" expressionLanguage=\"http://www.mvel.org/2.0\"")
+                .append(" xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\"")
+                .append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"")
+                .append(" xmlns:tns=\"http://www.jboss.org/drools\">\n")
+                .append("  <itemDefinition id=\"_stringItem\" structureRef=\"String\"/>\n")
+                .append("  <itemDefinition id=\"_integerItem\" structureRef=\"java.lang.Integer\"/>\n")
+                .append("  <process processType=\"Private\" isExecutable=\"true\" id=\"org.jbpm.benchmark\"")
+                .append(" name=\"Benchmark\" tns:packageName=\"org.jbpm\" tns:version=\"1\">\n")
+                .append("    <extensionElements>\n")
+                .append("      <tns:global identifier=\"log\" type=\"java.util.List\"/>\n")
+                .append("    </extensionElements>\n");
+        for (int i = 0; i < 10; i++) {
+            sb.append("    <property id=\"text").append(i).append("\" itemSubjectRef=\"_stringItem\"/>\n")
+                    .append("    <property id=\"count").append(i).append("\" itemSubjectRef=\"_integerItem\"/>\n");
+        }
+        sb.append("    <startEvent id=\"_start\" name=\"Start\"/>\n");
+        String previous = "_start";
+        for (int i = 0; i < tasks; i++) {
+            final String id = "_n" + i;
+            switch (i % 3) {
+                case 0:
+                    sb.append("    <scriptTask id=\"").append(id).append("\" name=\"Script ").append(i)
+                            .append("\" scriptFormat=\"http://www.java.com/java\">\n")
+                            .append("      <script>kcontext.setVariable(\"text").append(i % 10)
+                            .append("\", \"value ").append(i).append("\");</script>\n")
+                            .append("    </scriptTask>\n");
+                    break;
+                case 1:
+                    sb.append("    <task id=\"").append(id).append("\" name=\"Task ").append(i)
+                            .append("\" tns:taskName=\"Task").append(i % 20).append("\">\n")
+                            .append("      <extensionElements>\n")
+                            .append("        <tns:onEntry-script scriptFormat=\"http://www.java.com/java\">\n")
+                            .append("          <tns:script>log.add(\"entry ").append(i).append("\");</tns:script>\n")
+                            .append("        </tns:onEntry-script>\n")
+                            .append("      </extensionElements>\n")
+                            .append("    </task>\n");
+                    break;
+                default:
+                    sb.append("    <intermediateCatchEvent id=\"").append(id).append("\" name=\"Catch ").append(i).append("\">\n")
+                            .append("      <signalEventDefinition signalRef=\"Signal").append(i % 20).append("\"/>\n")
+                            .append("    </intermediateCatchEvent>\n");
+            }
+            sb.append("    <sequenceFlow id=\"").append(previous).append("-").append(id)
+                    .append("\" sourceRef=\"").append(previous).append("\" targetRef=\"").append(id).append("\"/>\n");
+            previous = id;
+        }
+        sb.append("    <endEvent id=\"_end\" name=\"End\"/>\n")
+                .append("    <sequenceFlow id=\"").append(previous).append("-_end\" sourceRef=\"").append(previous)
+                .append("\" targetRef=\"_end\"/>\n")
+                .append("  </process>\n")
+                .append("</definitions>\n");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.service.indexing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Scanner;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnFileIndexer;
+import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnFileIndexer.IndexingMode;
+import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnProcessDataEventListener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BpmnFileIndexerIndexingModeTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(IndexingMode.PROPERTY);
+    }
+
+    @Test
+    public void testIndexingModeFromSystemProperty() {
+        assertEquals(IndexingMode.BUILD,
+                     IndexingMode.fromSystemProperty());
+
+        System.setProperty(IndexingMode.PROPERTY,
+                           "parse");
+        assertEquals(IndexingMode.PARSE,
+                     IndexingMode.fromSystemProperty());
+
+        System.setProperty(IndexingMode.PROPERTY,
+                           "unknown");
+        assertEquals(IndexingMode.BUILD,
+                     IndexingMode.fromSystemProperty());
+    }
+
+    @Test
+    public void testParseCollectsReferences() throws IOException {
+        final List<BpmnProcessDataEventListener> processDataList = new IndexerUnderTest().parse(loadText("signal.bpmn"));
+
+        assertEquals(1,
+                     processDataList.size());
+        final BpmnProcessDataEventListener processData = processDataList.get(0);
+        assertEquals("org.jbpm.signal",
+                     processData.getProcess().getId());
+        assertEquals("defaultPackage",
+                     processData.getProcess().getPackageName());
+
+        final List<String> sharedReferences = processData.getSharedReferences().stream()
+                .map(Object::toString)
+                .collect(Collectors.toList());
+        assertTrue(sharedReferences.stream().anyMatch(ref -> ref.endsWith("=> MySignal")));
+        assertTrue(sharedReferences.stream().anyMatch(ref -> ref.endsWith("=> person")));
+        assertTrue(sharedReferences.stream().anyMatch(ref -> ref.endsWith("=> MyTask")));
+    }
+
+    @Test
+    public void testParseInvalidContent() {
+        assertTrue(new IndexerUnderTest().parse("<definitions").isEmpty());
+    }
+
+    static String loadText(final String fileName) throws IOException {
+        try (InputStream stream = BpmnFileIndexerIndexingModeTest.class.getResourceAsStream(fileName);
+             Scanner scanner = new Scanner(stream,
+                                           "UTF-8")) {
+            return scanner.useDelimiter("\\A").next();
+        }
+    }
+
+    static class IndexerUnderTest extends BpmnFileIndexer {
+
+        List<BpmnProcessDataEventListener> parse(final String bpmnStr) {
+            return parseProcessDefinitions(bpmnStr,
+                                           getClass().getClassLoader(),
+                                           false,
+                                           null);
+        }
+
+        List<BpmnProcessDataEventListener> build(final String bpmnStr) {
+            return buildProcessDefinition(bpmnStr,
+                                          getClass().getClassLoader());
+        }
+    }
+}
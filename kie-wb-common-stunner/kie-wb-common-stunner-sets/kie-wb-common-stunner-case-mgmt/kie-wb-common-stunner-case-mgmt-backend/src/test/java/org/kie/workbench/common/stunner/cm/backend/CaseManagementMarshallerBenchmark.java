@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.cm.backend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.workbench.common.stunner.backend.definition.factory.TestScopeModelFactory;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphObjectBuilderFactory;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.AssigneeTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.AssignmentsTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.BooleanTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.Bpmn2OryxPropertyManager;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.Bpmn2OryxPropertySerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.ColorTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.DoubleTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.EnumTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.IntegerTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.ScriptTypeListTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.ScriptTypeTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.StringTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.TaskTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.TimerSettingsTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.property.VariablesTypeSerializer;
+import org.kie.workbench.common.stunner.bpmn.backend.service.diagram.TaskTypeMorphDefinition;
+import org.kie.workbench.common.stunner.bpmn.backend.service.diagram.WorkItemDefinitionMockRegistry;
+import org.kie.workbench.common.stunner.bpmn.backend.service.diagram.marshalling.BPMNMarshallerBenchmark;
+import org.kie.workbench.common.stunner.bpmn.definition.BusinessRuleTask;
+import org.kie.workbench.common.stunner.bpmn.definition.NoneTask;
+import org.kie.workbench.common.stunner.bpmn.definition.ScriptTask;
+import org.kie.workbench.common.stunner.bpmn.definition.UserTask;
+import org.kie.workbench.common.stunner.cm.CaseManagementDefinitionSet;
+import org.kie.workbench.common.stunner.cm.backend.marshall.json.oryx.CaseManagementOryxIdMappings;
+import org.kie.workbench.common.stunner.cm.backend.marshall.json.oryx.CaseManagementOryxManager;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.bind.BackendBindableMorphAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect.BackendDefinitionAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect.BackendDefinitionSetAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect.BackendPropertyAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect.BackendPropertySetAdapter;
+import org.kie.workbench.common.stunner.core.backend.service.XMLEncoderDiagramMetadataMarshaller;
+import org.kie.workbench.common.stunner.core.definition.adapter.AdapterManager;
+import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
+import org.kie.workbench.common.stunner.core.definition.clone.CloneManager;
+import org.kie.workbench.common.stunner.core.definition.morph.MorphDefinition;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.factory.graph.EdgeFactory;
+import org.kie.workbench.common.stunner.core.factory.graph.ElementFactory;
+import org.kie.workbench.common.stunner.core.factory.graph.GraphFactory;
+import org.kie.workbench.common.stunner.core.factory.graph.NodeFactory;
+import org.kie.workbench.common.stunner.core.factory.impl.EdgeFactoryImpl;
+import org.kie.workbench.common.stunner.core.factory.impl.GraphFactoryImpl;
+import org.kie.workbench.common.stunner.core.factory.impl.NodeFactoryImpl;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.command.GraphCommandManagerImpl;
+import org.kie.workbench.common.stunner.core.graph.command.impl.GraphCommandFactory;
+import org.kie.workbench.common.stunner.core.graph.processing.index.map.MapIndexBuilder;
+import org.kie.workbench.common.stunner.core.registry.definition.AdapterRegistry;
+import org.kie.workbench.common.stunner.core.rule.RuleEvaluationContext;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
+import org.kie.workbench.common.stunner.core.util.DefinitionUtils;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the {@link BPMNMarshallerBenchmark} with the {@link CaseManagementDiagramMarshaller} along with the
+ * BPMN marshallers, reported as "CM". The processes of the corpus are read by the case management marshaller
+ * into its own definition set, as the case management editor does.
+ * <p>
+ * Same arguments as {@link BPMNMarshallerBenchmark}.
+ */
+public class CaseManagementMarshallerBenchmark extends BPMNMarshallerBenchmark {
+
+    private static final String CM_DEF_SET_ID = BindableAdapterUtils.getDefinitionSetId(CaseManagementDefinitionSet.class);
+
+    public static void main(String[] args) throws Exception {
+        CaseManagementMarshallerBenchmark benchmark = new CaseManagementMarshallerBenchmark();
+        benchmark.init();
+        Map<String, DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>>> marshallers = benchmark.getMarshallers();
+        marshallers.put("CM",
+                        newCaseManagementMarshaller());
+        run(marshallers,
+            args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CaseManagementDiagramMarshaller newCaseManagementMarshaller() {
+        DefinitionManager definitionManager = mock(DefinitionManager.class);
+        AdapterManager adapterManager = mock(AdapterManager.class);
+        AdapterRegistry adapterRegistry = mock(AdapterRegistry.class);
+        FactoryManager factoryManager = mock(FactoryManager.class);
+        RuleManager rulesManager = mock(RuleManager.class);
+        WorkItemDefinitionMockRegistry workItemDefinitionRegistry = new WorkItemDefinitionMockRegistry();
+
+        // Definition manager.
+        DefinitionUtils definitionUtils = new DefinitionUtils(definitionManager,
+                                                              factoryManager,
+                                                              null);
+        BackendDefinitionAdapter definitionAdapter = new BackendDefinitionAdapter(definitionUtils);
+        BackendDefinitionSetAdapter definitionSetAdapter = new BackendDefinitionSetAdapter(definitionAdapter);
+        BackendPropertySetAdapter propertySetAdapter = new BackendPropertySetAdapter();
+        BackendPropertyAdapter propertyAdapter = new BackendPropertyAdapter();
+        when(definitionManager.adapters()).thenReturn(adapterManager);
+        when(adapterManager.registry()).thenReturn(adapterRegistry);
+        when(adapterManager.forDefinitionSet()).thenReturn(definitionSetAdapter);
+        when(adapterManager.forDefinition()).thenReturn(definitionAdapter);
+        when(adapterManager.forPropertySet()).thenReturn(propertySetAdapter);
+        when(adapterManager.forProperty()).thenReturn(propertyAdapter);
+        when(adapterRegistry.getDefinitionSetAdapter(any(Class.class))).thenReturn(definitionSetAdapter);
+        when(adapterRegistry.getDefinitionAdapter(any(Class.class))).thenReturn(definitionAdapter);
+        when(adapterRegistry.getPropertySetAdapter(any(Class.class))).thenReturn(propertySetAdapter);
+        when(adapterRegistry.getPropertyAdapter(any(Class.class))).thenReturn(propertyAdapter);
+
+        // Factories for the case management definition set.
+        TestScopeModelFactory modelFactory = new TestScopeModelFactory(new CaseManagementDefinitionSet.CaseManagementDefinitionSetBuilder().build());
+        GraphFactory graphFactory = new GraphFactoryImpl(definitionManager);
+        NodeFactory<Object> nodeFactory = new NodeFactoryImpl(definitionUtils);
+        EdgeFactory<Object> edgeFactory = new EdgeFactoryImpl(definitionManager);
+        doAnswer(invocation -> modelFactory.build((String) invocation.getArguments()[0]))
+                .when(factoryManager).newDefinition(anyString());
+        doAnswer(invocation -> newElement((String) invocation.getArguments()[0],
+                                          (String) invocation.getArguments()[1],
+                                          modelFactory,
+                                          graphFactory,
+                                          nodeFactory,
+                                          edgeFactory))
+                .when(factoryManager).newElement(anyString(),
+                                                 anyString());
+        doAnswer(invocation -> newElement((String) invocation.getArguments()[0],
+                                          BindableAdapterUtils.getGenericClassName((Class) invocation.getArguments()[1]),
+                                          modelFactory,
+                                          graphFactory,
+                                          nodeFactory,
+                                          edgeFactory))
+                .when(factoryManager).newElement(anyString(),
+                                                 any(Class.class));
+
+        // Oryx.
+        EnumTypeSerializer enumTypeSerializer = new EnumTypeSerializer(definitionUtils);
+        List<Bpmn2OryxPropertySerializer<?>> propertySerializers = new ArrayList<>();
+        propertySerializers.add(new StringTypeSerializer());
+        propertySerializers.add(new BooleanTypeSerializer());
+        propertySerializers.add(new ColorTypeSerializer());
+        propertySerializers.add(new DoubleTypeSerializer());
+        propertySerializers.add(new IntegerTypeSerializer());
+        propertySerializers.add(enumTypeSerializer);
+        propertySerializers.add(new AssigneeTypeSerializer());
+        propertySerializers.add(new AssignmentsTypeSerializer());
+        propertySerializers.add(new VariablesTypeSerializer());
+        propertySerializers.add(new TimerSettingsTypeSerializer());
+        propertySerializers.add(new ScriptTypeTypeSerializer());
+        propertySerializers.add(new ScriptTypeListTypeSerializer());
+        propertySerializers.add(new TaskTypeSerializer(definitionUtils,
+                                                       enumTypeSerializer));
+        CaseManagementOryxManager oryxManager = new CaseManagementOryxManager(new CaseManagementOryxIdMappings(definitionManager),
+                                                                              new Bpmn2OryxPropertyManager(propertySerializers));
+        oryxManager.init();
+
+        // Task morphing.
+        Collection<MorphDefinition> morphDefinitions = new ArrayList<>();
+        morphDefinitions.add(new TaskTypeMorphDefinition());
+        BackendBindableMorphAdapter<Object> morphAdapter = new BackendBindableMorphAdapter(definitionUtils,
+                                                                                           factoryManager,
+                                                                                           mock(CloneManager.class),
+                                                                                           morphDefinitions);
+        when(adapterRegistry.getMorphAdapter(eq(UserTask.class))).thenReturn(morphAdapter);
+        when(adapterRegistry.getMorphAdapter(eq(NoneTask.class))).thenReturn(morphAdapter);
+        when(adapterRegistry.getMorphAdapter(eq(ScriptTask.class))).thenReturn(morphAdapter);
+        when(adapterRegistry.getMorphAdapter(eq(BusinessRuleTask.class))).thenReturn(morphAdapter);
+        when(rulesManager.evaluate(any(RuleSet.class),
+                                   any(RuleEvaluationContext.class))).thenReturn(new DefaultRuleViolations());
+
+        return new CaseManagementDiagramMarshaller(new XMLEncoderDiagramMetadataMarshaller(),
+                                                   new BPMNGraphObjectBuilderFactory(definitionManager,
+                                                                                     oryxManager,
+                                                                                     () -> workItemDefinitionRegistry),
+                                                   definitionManager,
+                                                   new MapIndexBuilder(),
+                                                   oryxManager,
+                                                   factoryManager,
+                                                   null,
+                                                   rulesManager,
+                                                   new GraphCommandManagerImpl(null,
+                                                                               null,
+                                                                               null),
+                                                   new GraphCommandFactory());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object newElement(String uuid,
+                                     String id,
+                                     TestScopeModelFactory modelFactory,
+                                     GraphFactory graphFactory,
+                                     NodeFactory<Object> nodeFactory,
+                                     EdgeFactory<Object> edgeFactory) {
+        if (CaseManagementDefinitionSet.class.getName().equals(id)) {
+            return graphFactory.build(uuid,
+                                      CM_DEF_SET_ID);
+        }
+        Object model = modelFactory.accepts(id) ? modelFactory.build(id) : null;
+        if (null != model) {
+            Class<? extends ElementFactory> element = BackendDefinitionAdapter.getGraphFactory(model.getClass());
+            if (element.isAssignableFrom(NodeFactory.class)) {
+                return nodeFactory.build(uuid,
+                                         model);
+            } else if (element.isAssignableFrom(EdgeFactory.class)) {
+                return edgeFactory.build(uuid,
+                                         model);
+            }
+        }
+        return null;
+    }
+}
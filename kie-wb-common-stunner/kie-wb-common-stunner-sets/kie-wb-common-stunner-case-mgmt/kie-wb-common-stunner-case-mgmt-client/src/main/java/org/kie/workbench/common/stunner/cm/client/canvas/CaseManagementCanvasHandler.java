@@ -28,6 +28,7 @@ import org.kie.workbench.common.stunner.core.client.api.ShapeManager;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandlerImpl;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.actions.TextPropertyProviderFactory;
+import org.kie.workbench.common.stunner.core.client.canvas.event.CanvasDrawTimingEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementAddedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementRemovedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
@@ -62,6 +63,7 @@ public class CaseManagementCanvasHandler<D extends Diagram, C extends WiresCanva
                                        final Event<CanvasElementRemovedEvent> canvasElementRemovedEvent,
                                        final Event<CanvasElementUpdatedEvent> canvasElementUpdatedEvent,
                                        final Event<CanvasElementsClearEvent> canvasElementsClearEvent,
+                                       final Event<CanvasDrawTimingEvent> canvasDrawTimingEvent,
                                        final @CaseManagementEditor CanvasCommandFactory<AbstractCanvasHandler> canvasCommandFactory) {
         super(clientDefinitionManager,
               canvasCommandFactory,
@@ -74,7 +76,8 @@ public class CaseManagementCanvasHandler<D extends Diagram, C extends WiresCanva
               canvasElementAddedEvent,
               canvasElementRemovedEvent,
               canvasElementUpdatedEvent,
-              canvasElementsClearEvent);
+              canvasElementsClearEvent,
+              canvasDrawTimingEvent);
     }
 
     @Override
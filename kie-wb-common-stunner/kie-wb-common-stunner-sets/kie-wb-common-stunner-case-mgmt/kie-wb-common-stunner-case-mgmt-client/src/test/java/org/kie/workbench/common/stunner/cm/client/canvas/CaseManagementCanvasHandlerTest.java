@@ -31,6 +31,7 @@ import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler
 import org.kie.workbench.common.stunner.core.client.canvas.Layer;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.actions.TextPropertyProvider;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.actions.TextPropertyProviderFactory;
+import org.kie.workbench.common.stunner.core.client.canvas.event.CanvasDrawTimingEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementAddedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementRemovedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
@@ -120,6 +121,9 @@ public class CaseManagementCanvasHandlerTest {
     @Mock
     private EventSourceMock<CanvasElementsClearEvent> canvasElementsClearEvent;
 
+    @Mock
+    private EventSourceMock<CanvasDrawTimingEvent> canvasDrawTimingEvent;
+
     @Mock
     private CanvasCommandFactory<AbstractCanvasHandler> canvasCommandFactory;
 
@@ -145,6 +149,7 @@ public class CaseManagementCanvasHandlerTest {
                                                        canvasElementRemovedEvent,
                                                        canvasElementUpdatedEvent,
                                                        canvasElementsClearEvent,
+                                                       canvasDrawTimingEvent,
                                                        canvasCommandFactory);
         this.handler.handle(canvas);
         when(canvas.getLayer()).thenReturn(layer);